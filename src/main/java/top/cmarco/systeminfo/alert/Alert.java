@@ -0,0 +1,99 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing a state change of an {@link AlertRule} or of an anomaly of a metric.
+ */
+public final class Alert {
+
+    private final String name;
+    private final String metricId;
+    private final String condition;
+    private final State state;
+    private final double value;
+    private final long timestamp;
+
+    Alert(@NotNull final String name, @NotNull final String metricId, @NotNull final String condition,
+          @NotNull final State state, final double value, final long timestamp) {
+        this.name = name;
+        this.metricId = metricId;
+        this.condition = condition;
+        this.state = state;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    Alert(@NotNull final AlertRule rule, @NotNull final State state, final double value, final long timestamp) {
+        this(rule.getName(), rule.getMetric().getId(), rule.getCondition(), state, value, timestamp);
+    }
+
+    /**
+     * @return The name of the rule, or of the anomaly, that changed state.
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The id of the watched metric.
+     */
+    @NotNull
+    public String getMetricId() {
+        return metricId;
+    }
+
+    /**
+     * @return The condition that fired.
+     */
+    @NotNull
+    public String getCondition() {
+        return condition;
+    }
+
+    @NotNull
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return The metric value that caused the change.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return The UNIX time of the change.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The state an alert rule moved to.
+     */
+    public enum State {
+        FIRING,
+        RESOLVED
+    }
+}
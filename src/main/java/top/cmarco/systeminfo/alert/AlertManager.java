@@ -0,0 +1,179 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates the alert rules of the config.yml on every {@link SystemSnapshot} and delivers their state changes,
+ * together with the anomalies flagged by the {@link AnomalyDetector}, to the staff in game, the console and an optional webhook.
+ * <p>
+ * Rules are compiled once into predicates, so every snapshot costs a single pass over the rules.
+ * Reloading swaps the whole rule and sink arrays, the snapshot thread always sees a consistent set.
+ */
+public final class AlertManager {
+
+    private static final AlertRule[] NO_RULES = new AlertRule[0];
+    private static final AlertSink[] NO_SINKS = new AlertSink[0];
+
+    private final SystemInfo plugin;
+    private final AnomalyDetector anomalyDetector;
+    private volatile AlertRule[] rules = NO_RULES;
+    private volatile AlertSink[] sinks = NO_SINKS;
+    private boolean listening = false;
+
+    /**
+     * Constructs a new instance of AlertManager with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public AlertManager(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+        this.anomalyDetector = new AnomalyDetector(plugin, this);
+    }
+
+    /**
+     * Compiles the rules and creates the sinks from the config.yml, replacing the previous ones.
+     * Invalid rules are skipped with a warning.
+     */
+    public synchronized void load() {
+        closeSinks();
+        final SystemInfoConfig config = plugin.getSystemInfoConfig();
+        anomalyDetector.configure(config);
+        if (!listening) {
+            listening = true;
+            plugin.getSystemValues().addSnapshotListener(this::evaluate);
+        }
+        if (!config.isAlertsEnabled()) {
+            rules = NO_RULES;
+            return;
+        }
+
+        final List<AlertRule> compiledRules = new ArrayList<>();
+        for (final String name : config.getAlertRuleNames()) {
+            final String metricId = config.getAlertRuleMetric(name);
+            final AlertMetric metric = metricId == null ? null : AlertMetric.fromId(metricId);
+            if (metric == null) {
+                plugin.getLogger().warning("Skipping the alert rule " + name + ", unknown metric: " + metricId);
+                continue;
+            }
+            try {
+                compiledRules.add(new AlertRule(name, metric, config.getAlertRuleCondition(name), config.getAlertRuleClear(name),
+                        config.getAlertRuleFor(name), config.getAlertRuleCooldown(name)));
+            } catch (IllegalArgumentException exception) {
+                plugin.getLogger().warning("Skipping the alert rule " + name + "!");
+                plugin.getLogger().warning(exception.getLocalizedMessage());
+            }
+        }
+
+        final List<AlertSink> createdSinks = new ArrayList<>();
+        createdSinks.add(new StaffAlertSink(config.getAlertPermission()));
+        if (config.isAlertConsoleEnabled()) {
+            createdSinks.add(new ConsoleAlertSink(plugin.getLogger()));
+        }
+        if (config.isAlertWebhookEnabled()) {
+            try {
+                createdSinks.add(new WebhookAlertSink(new URL(config.getAlertWebhookUrl()), config.getAlertWebhookTimeout(),
+                        config.getAlertWebhookServerName(), plugin.getLogger()));
+            } catch (MalformedURLException exception) {
+                plugin.getLogger().warning("Could not start the alert webhook!");
+                plugin.getLogger().warning(exception.getLocalizedMessage());
+            }
+        }
+
+        sinks = createdSinks.toArray(NO_SINKS);
+        rules = compiledRules.toArray(NO_RULES);
+    }
+
+    /**
+     * Evaluates every rule and scores the anomaly series against a new snapshot. Called by the snapshot thread.
+     *
+     * @param snapshot The latest snapshot.
+     */
+    private void evaluate(@NotNull final SystemSnapshot snapshot) {
+        final AlertRule[] rules = this.rules;
+        final long now = snapshot.getTimestamp();
+        for (final AlertRule rule : rules) {
+            final Alert alert = rule.evaluate(rule.getMetric().value(snapshot), now);
+            if (alert != null) {
+                final AlertMetric metric = rule.getMetric();
+                deliver(alert, alert.getState() == Alert.State.FIRING
+                        ? Messages.ALERT_FIRING.format(rule.getName(), metric.getDisplayName(), metric.format(alert.getValue()), rule.getCondition())
+                        : Messages.ALERT_RESOLVED.format(rule.getName(), metric.getDisplayName(), metric.format(alert.getValue())));
+            }
+        }
+        anomalyDetector.update(snapshot);
+    }
+
+    /**
+     * Delivers an alert to every sink.
+     *
+     * @param alert   The alert.
+     * @param message The colored chat message.
+     */
+    void deliver(@NotNull final Alert alert, @NotNull final String message) {
+        for (final AlertSink sink : sinks) {
+            sink.deliver(alert, message);
+        }
+    }
+
+    /**
+     * @return The compiled alert rules.
+     */
+    @NotNull
+    public List<AlertRule> getRules() {
+        return Collections.unmodifiableList(Arrays.asList(rules));
+    }
+
+    /**
+     * @return The anomaly detector of the CPU, MSPT and network series.
+     */
+    @NotNull
+    public AnomalyDetector getAnomalyDetector() {
+        return anomalyDetector;
+    }
+
+    /**
+     * Closes every sink and saves the anomaly baselines, called when the plugin is disabled.
+     */
+    public synchronized void shutdown() {
+        rules = NO_RULES;
+        closeSinks();
+        anomalyDetector.save();
+    }
+
+    private void closeSinks() {
+        final AlertSink[] previous = sinks;
+        sinks = NO_SINKS;
+        for (final AlertSink sink : previous) {
+            sink.close();
+        }
+    }
+}
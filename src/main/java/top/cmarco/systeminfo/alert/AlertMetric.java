@@ -0,0 +1,187 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.tick.TickStats;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+/**
+ * The metrics alert rules can watch. A metric is NaN while it is not available, and rules ignore such samples.
+ * The MSPT metrics are only available with exact tick durations: the intervals measured on Spigot and Folia
+ * sit at 50 ms on an idle server, so any threshold near the tick budget would fire forever.
+ */
+public enum AlertMetric {
+
+    CPU("cpu", "CPU load") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            return snapshot.getCpuLoad() < 0d ? Double.NaN : snapshot.getCpuLoad();
+        }
+    },
+
+    CPU_TEMPERATURE("cpu-temperature", "CPU temperature") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            return snapshot.getCpuTemperature() <= 0d ? Double.NaN : snapshot.getCpuTemperature();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.fixed(value, 1) + "°C";
+        }
+    },
+
+    MEMORY_USED("memory-used", "Memory usage") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            return percent(snapshot.getMemoryUsed(), snapshot.getMemoryTotal());
+        }
+    },
+
+    SWAP_USED("swap-used", "Swap usage") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            return snapshot.getSwapUsed();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.bytes((long) value);
+        }
+    },
+
+    HEAP_USED("heap-used", "JVM heap usage") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            return percent(snapshot.getJvmHeapUsed(), snapshot.getJvmHeapMax());
+        }
+    },
+
+    MSPT("mspt", "MSPT") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            final TickStats tickStats = snapshot.getTickStats();
+            return tickStats == null || !tickStats.isExact() ? Double.NaN : tickStats.getAverageMspt();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.fixed(value, 1) + "ms";
+        }
+    },
+
+    MSPT_P95("mspt-p95", "MSPT p95") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            final TickStats tickStats = snapshot.getTickStats();
+            return tickStats == null || !tickStats.isExact() ? Double.NaN : tickStats.getP95Mspt();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.fixed(value, 1) + "ms";
+        }
+    },
+
+    TPS("tps", "TPS") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            final TickStats tickStats = snapshot.getTickStats();
+            return tickStats == null ? Double.NaN : tickStats.getTps();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.fixed(value, 2);
+        }
+    },
+
+    DISK_FREE("disk-free", "World disk free space") {
+        @Override
+        public double value(@NotNull final SystemSnapshot snapshot) {
+            return percent(snapshot.getWorldDiskUsable(), snapshot.getWorldDiskTotal());
+        }
+    };
+
+    private final String id;
+    private final String displayName;
+
+    AlertMetric(@NotNull final String id, @NotNull final String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    /**
+     * Extracts the value of this metric from a snapshot.
+     *
+     * @param snapshot The snapshot.
+     * @return The metric value, or NaN when not available.
+     */
+    public abstract double value(@NotNull SystemSnapshot snapshot);
+
+    /**
+     * @param value A metric value.
+     * @return The value with its unit of measure.
+     */
+    @NotNull
+    public String format(final double value) {
+        return FastFormat.percent(value, 1);
+    }
+
+    /**
+     * @return The name used by the alert rules in the config.yml.
+     */
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    @NotNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    private static double percent(final long part, final long total) {
+        return total <= 0L ? Double.NaN : part * 100d / total;
+    }
+
+    /**
+     * Find a metric by its identifier.
+     *
+     * @param id The identifier, case insensitive.
+     * @return The metric, or null if unknown.
+     */
+    @Nullable
+    public static AlertMetric fromId(@NotNull final String id) {
+        for (final AlertMetric metric : values()) {
+            if (metric.id.equalsIgnoreCase(id)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
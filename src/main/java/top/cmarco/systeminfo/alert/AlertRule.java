@@ -0,0 +1,172 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * An alert rule compiled from the config.yml: a metric, the condition that triggers it and the one that resolves it.
+ * <p>
+ * A rule fires once its condition has held for the for-duration, and resolves only once the clear condition holds,
+ * so a metric hovering around the threshold does not flap. After firing, a rule stays silent for the cooldown.
+ * The state is only touched by the thread evaluating the snapshots.
+ */
+public final class AlertRule {
+
+    private final String name;
+    private final AlertMetric metric;
+    private final String condition;
+    private final DoublePredicate trigger, clear;
+    private final long forMillis, cooldownMillis;
+
+    private long pendingSince = -1L;
+    private long lastFired = Long.MIN_VALUE;
+    private boolean firing = false, notified = false;
+
+    /**
+     * @param name           The rule name.
+     * @param metric         The watched metric.
+     * @param condition      The trigger condition, such as "&gt; 90".
+     * @param clearCondition The resolve condition, or null to resolve as soon as the trigger condition stops holding.
+     * @param forMillis      How long the condition must hold before firing.
+     * @param cooldownMillis The minimum time between two notifications of this rule.
+     * @throws IllegalArgumentException If a condition cannot be parsed.
+     */
+    public AlertRule(@NotNull final String name, @NotNull final AlertMetric metric, @NotNull final String condition,
+                     @Nullable final String clearCondition, final long forMillis, final long cooldownMillis) {
+        this.name = name;
+        this.metric = metric;
+        this.condition = condition.trim();
+        this.trigger = compile(condition);
+        this.clear = clearCondition == null || clearCondition.trim().isEmpty() ? trigger.negate() : compile(clearCondition);
+        this.forMillis = Math.max(0L, forMillis);
+        this.cooldownMillis = Math.max(0L, cooldownMillis);
+    }
+
+    /**
+     * Compiles a condition made of a comparison operator and a number, such as "&gt;= 50".
+     *
+     * @param condition The condition.
+     * @return The compiled predicate.
+     * @throws IllegalArgumentException If the condition cannot be parsed.
+     */
+    @NotNull
+    static DoublePredicate compile(@NotNull final String condition) {
+        final String trimmed = condition.trim();
+        final int operatorLength = trimmed.startsWith(">=") || trimmed.startsWith("<=") || trimmed.startsWith("==") ? 2 : 1;
+        final double threshold;
+        try {
+            threshold = Double.parseDouble(trimmed.substring(Math.min(operatorLength, trimmed.length())).trim());
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid threshold in condition '" + condition + "'");
+        }
+
+        switch (trimmed.substring(0, Math.min(operatorLength, trimmed.length()))) {
+            case ">":
+                return value -> value > threshold;
+            case ">=":
+                return value -> value >= threshold;
+            case "<":
+                return value -> value < threshold;
+            case "<=":
+                return value -> value <= threshold;
+            case "==":
+                return value -> value == threshold;
+            default:
+                throw new IllegalArgumentException("Invalid operator in condition '" + condition + "', use >, >=, <, <= or ==");
+        }
+    }
+
+    /**
+     * Evaluates the rule against a new sample.
+     *
+     * @param value The metric value, NaN values are ignored.
+     * @param now   The sample time in milliseconds.
+     * @return The alert to deliver, or null when nothing changed or the rule is cooling down.
+     */
+    @Nullable
+    Alert evaluate(final double value, final long now) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+
+        if (firing) {
+            if (!clear.test(value)) {
+                return null;
+            }
+            firing = false;
+            pendingSince = -1L;
+            return notified ? new Alert(this, Alert.State.RESOLVED, value, now) : null;
+        }
+
+        if (!trigger.test(value)) {
+            pendingSince = -1L;
+            return null;
+        }
+        if (pendingSince < 0L) {
+            pendingSince = now;
+        }
+        if (now - pendingSince < forMillis) {
+            return null;
+        }
+
+        firing = true;
+        notified = lastFired == Long.MIN_VALUE || now - lastFired >= cooldownMillis;
+        if (!notified) {
+            return null;
+        }
+        lastFired = now;
+        return new Alert(this, Alert.State.FIRING, value, now);
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public AlertMetric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return The trigger condition as written in the config.yml.
+     */
+    @NotNull
+    public String getCondition() {
+        return condition;
+    }
+
+    /**
+     * @return How long the condition must hold before firing, in milliseconds.
+     */
+    public long getForMillis() {
+        return forMillis;
+    }
+
+    /**
+     * @return Whether the rule is currently firing.
+     */
+    public boolean isFiring() {
+        return firing;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A destination for the alerts raised by the {@link AlertManager}.
+ * Alerts are delivered by the snapshot thread, so implementations must not block.
+ */
+public interface AlertSink {
+
+    /**
+     * Delivers an alert.
+     *
+     * @param alert   The alert.
+     * @param message The rendered chat message, with color codes.
+     */
+    void deliver(@NotNull Alert alert, @NotNull String message);
+
+    /**
+     * Releases the resources of this sink, called when the plugin is disabled or the alerts are reloaded.
+     */
+    default void close() {
+    }
+}
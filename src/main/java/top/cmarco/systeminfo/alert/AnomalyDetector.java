@@ -0,0 +1,304 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Flags anomalies on the CPU, MSPT and network series, catching slow degradations and unusual spikes
+ * that static thresholds miss, without firing on the daily peaks of the server.
+ * <p>
+ * Every sample is scored by an {@link EwmaBaseline}: against the baseline of the same hour of the day once it has
+ * learnt a few days, against the short term baseline before that. A metric becomes anomalous after a few consecutive
+ * samples beyond the threshold, and normal again after as many samples within it. Each sample costs constant time
+ * and allocates nothing, objects are only created when a metric changes state.
+ * <p>
+ * The seasonal baselines are saved to anomalies.dat at the end of every hour and when the plugin is disabled.
+ */
+public final class AnomalyDetector {
+
+    private static final int MAGIC = 0x5349414E; // "SIAN"
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final SystemInfo plugin;
+    private final AlertManager alertManager;
+    private final File file;
+    private final AnomalyMetric[] metrics = AnomalyMetric.values();
+    private final EwmaBaseline[] baselines = new EwmaBaseline[metrics.length];
+    private final boolean[] anomalous = new boolean[metrics.length];
+    private final int[] streaks = new int[metrics.length];
+
+    private volatile boolean enabled = false;
+    private volatile double alpha, seasonalAlpha, threshold;
+    private volatile int consecutive, seasonalWarmup;
+    private volatile long warmup;
+    private volatile TimeZone timeZone = TimeZone.getDefault();
+
+    private AnomalyEvent[] events = new AnomalyEvent[0]; // guarded by this, ring buffer.
+    private int eventStart = 0, eventCount = 0;
+
+    private SystemSnapshot previous = null;
+    private long currentHour = Long.MIN_VALUE;
+    private boolean loaded = false;
+
+    AnomalyDetector(@NotNull final SystemInfo plugin, @NotNull final AlertManager alertManager) {
+        this.plugin = plugin;
+        this.alertManager = alertManager;
+        this.file = new File(plugin.getDataFolder(), "anomalies.dat");
+        for (int i = 0; i < metrics.length; i++) {
+            baselines[i] = new EwmaBaseline(metrics[i].getMinimumDeviation());
+        }
+    }
+
+    /**
+     * Reads the settings of the config.yml. The learnt baselines are kept.
+     *
+     * @param config The plugin config.
+     */
+    void configure(@NotNull final SystemInfoConfig config) {
+        alpha = config.getAnomalyAlpha();
+        seasonalAlpha = config.getAnomalySeasonalAlpha();
+        threshold = config.getAnomalyThreshold();
+        consecutive = config.getAnomalyConsecutive();
+        warmup = config.getAnomalyWarmup();
+        seasonalWarmup = config.getAnomalySeasonalWarmup();
+        timeZone = TimeZone.getDefault();
+        resizeEvents(config.getAnomalyMaxEvents());
+        enabled = config.isAnomalyDetectionEnabled();
+    }
+
+    /**
+     * Scores the metrics of a new snapshot. Called by the snapshot thread.
+     *
+     * @param snapshot The latest snapshot.
+     */
+    void update(@NotNull final SystemSnapshot snapshot) {
+        final SystemSnapshot previous = this.previous;
+        this.previous = snapshot;
+        if (!enabled) {
+            return;
+        }
+        if (!loaded) {
+            loaded = true;
+            load();
+        }
+
+        final long timestamp = snapshot.getTimestamp();
+        final long hour = Math.floorDiv(timestamp + timeZone.getOffset(timestamp), HOUR_MILLIS);
+        final boolean hourEnded = currentHour != Long.MIN_VALUE && hour != currentHour;
+        currentHour = hour;
+
+        for (int i = 0; i < metrics.length; i++) {
+            final double value = metrics[i].sample(previous, snapshot);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            final double score = baselines[i].update(value, hour, alpha, seasonalAlpha, warmup, seasonalWarmup);
+            check(i, value, score, timestamp);
+        }
+
+        if (hourEnded) {
+            save();
+        }
+    }
+
+    private void check(final int index, final double value, final double score, final long timestamp) {
+        final boolean outside = Math.abs(score) >= threshold;
+        if (outside == anomalous[index]) {
+            streaks[index] = 0;
+            return;
+        }
+        if (++streaks[index] < consecutive) {
+            return;
+        }
+        streaks[index] = 0;
+        anomalous[index] = outside;
+
+        final AnomalyMetric metric = metrics[index];
+        final EwmaBaseline baseline = baselines[index];
+        final String condition = "|z| >= " + FastFormat.fixed(threshold, 1);
+        if (outside) {
+            addEvent(new AnomalyEvent(metric, timestamp, value, baseline.getLastExpected(), score, baseline.isLastSeasonal()));
+            alertManager.deliver(new Alert("anomaly-" + metric.getId(), metric.getId(), condition, Alert.State.FIRING, value, timestamp),
+                    Messages.ANOMALY_DETECTED.format(metric.getDisplayName(), metric.format(value), metric.format(baseline.getLastExpected()),
+                            FastFormat.fixed(score, 1), baseline.isLastSeasonal() ? "hour of day" : "short term"));
+        } else {
+            alertManager.deliver(new Alert("anomaly-" + metric.getId(), metric.getId(), condition, Alert.State.RESOLVED, value, timestamp),
+                    Messages.ANOMALY_RESOLVED.format(metric.getDisplayName(), metric.format(value)));
+        }
+    }
+
+    private synchronized void resizeEvents(final int capacity) {
+        if (capacity == events.length) {
+            return;
+        }
+        final List<AnomalyEvent> kept = getEvents(null, capacity);
+        events = new AnomalyEvent[capacity];
+        eventStart = 0;
+        eventCount = kept.size();
+        for (int i = 0; i < eventCount; i++) {
+            events[i] = kept.get(eventCount - 1 - i);
+        }
+    }
+
+    private synchronized void addEvent(@NotNull final AnomalyEvent event) {
+        if (eventCount < events.length) {
+            events[(eventStart + eventCount++) % events.length] = event;
+        } else {
+            events[eventStart] = event;
+            eventStart = (eventStart + 1) % events.length;
+        }
+    }
+
+    /**
+     * Get the most recent anomalies.
+     *
+     * @param metric The metric, or null for every metric.
+     * @param limit  The maximum amount of anomalies.
+     * @return The anomalies, newest first.
+     */
+    @NotNull
+    public synchronized List<AnomalyEvent> getEvents(@Nullable final AnomalyMetric metric, final int limit) {
+        final List<AnomalyEvent> result = new ArrayList<>();
+        for (int i = eventCount - 1; i >= 0 && result.size() < limit; i--) {
+            final AnomalyEvent event = events[(eventStart + i) % events.length];
+            if (metric == null || event.getMetric() == metric) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return True if the detector is enabled in the config.yml.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param metric A metric.
+     * @return True if the metric is currently anomalous.
+     */
+    public boolean isAnomalous(@NotNull final AnomalyMetric metric) {
+        return anomalous[metric.ordinal()];
+    }
+
+    /**
+     * @param metric A metric.
+     * @return The latest sample of the metric, NaN before the first one.
+     */
+    public double getLastValue(@NotNull final AnomalyMetric metric) {
+        return baselines[metric.ordinal()].getLastValue();
+    }
+
+    /**
+     * @param metric A metric.
+     * @return The value the latest sample of the metric was expected to be, NaN before the first one.
+     */
+    public double getExpected(@NotNull final AnomalyMetric metric) {
+        return baselines[metric.ordinal()].getLastExpected();
+    }
+
+    /**
+     * @param metric A metric.
+     * @return The z-score of the latest sample of the metric.
+     */
+    public double getScore(@NotNull final AnomalyMetric metric) {
+        return baselines[metric.ordinal()].getLastScore();
+    }
+
+    /**
+     * @param metric A metric.
+     * @return True if the latest sample was compared with the baseline of the same hour of the day.
+     */
+    public boolean isSeasonal(@NotNull final AnomalyMetric metric) {
+        return baselines[metric.ordinal()].isLastSeasonal();
+    }
+
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not an anomaly baselines file");
+            }
+            final int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                final AnomalyMetric metric = AnomalyMetric.fromId(input.readUTF());
+                final EwmaBaseline baseline = metric == null ? new EwmaBaseline(0d) : baselines[metric.ordinal()];
+                baseline.read(input);
+            }
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Could not load the anomaly baselines, they will be learnt again!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Saves the seasonal baselines, does nothing if they were never loaded.
+     */
+    synchronized void save() {
+        if (!loaded) {
+            return;
+        }
+
+        try {
+            final File folder = file.getParentFile();
+            if (!folder.isDirectory() && !folder.mkdirs()) {
+                throw new IOException("Could not create " + folder.getAbsolutePath());
+            }
+
+            final File temporary = new File(folder, file.getName() + ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(metrics.length);
+                for (int i = 0; i < metrics.length; i++) {
+                    output.writeUTF(metrics[i].getId());
+                    baselines[i].write(output);
+                }
+            }
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Could not save the anomaly baselines!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing the start of an anomaly detected on a metric series.
+ */
+public final class AnomalyEvent {
+
+    private final AnomalyMetric metric;
+    private final long timestamp;
+    private final double value;
+    private final double expected;
+    private final double score;
+    private final boolean seasonal;
+
+    AnomalyEvent(@NotNull final AnomalyMetric metric, final long timestamp, final double value,
+                 final double expected, final double score, final boolean seasonal) {
+        this.metric = metric;
+        this.timestamp = timestamp;
+        this.value = value;
+        this.expected = expected;
+        this.score = score;
+        this.seasonal = seasonal;
+    }
+
+    @NotNull
+    public AnomalyMetric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return The UNIX time the anomaly was confirmed at.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return The metric value that confirmed the anomaly.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return The value the baseline expected.
+     */
+    public double getExpected() {
+        return expected;
+    }
+
+    /**
+     * @return The distance from the expected value in standard deviations.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * @return True if the value was compared with the baseline of the same hour of the day, false for the short term one.
+     */
+    public boolean isSeasonal() {
+        return seasonal;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.tick.TickStats;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+/**
+ * The metric series watched by the {@link AnomalyDetector}. A sample is NaN while the metric is not available.
+ */
+public enum AnomalyMetric {
+
+    CPU("cpu", "CPU load", 2d) {
+        @Override
+        double sample(@Nullable final SystemSnapshot previous, @NotNull final SystemSnapshot current) {
+            return current.getCpuLoad() < 0d ? Double.NaN : current.getCpuLoad();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.percent(value, 1);
+        }
+    },
+
+    MSPT("mspt", "MSPT", 1d) {
+        @Override
+        double sample(@Nullable final SystemSnapshot previous, @NotNull final SystemSnapshot current) {
+            final TickStats tickStats = current.getTickStats();
+            return tickStats == null ? Double.NaN : tickStats.getAverageMspt();
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.fixed(value, 1) + "ms";
+        }
+    },
+
+    NETWORK("network", "Bandwidth", 4096d) {
+        /**
+         * Uses the Minecraft protocol traffic when available, otherwise the traffic of the server network interface.
+         */
+        @Override
+        double sample(@Nullable final SystemSnapshot previous, @NotNull final SystemSnapshot current) {
+            final NetworkStatsData networkStats = current.getNetworkStats();
+            if (networkStats != null) {
+                return networkStats.getLastSentBytes() + networkStats.getLastReceivedBytes();
+            }
+            if (previous == null || current.getTimestamp() <= previous.getTimestamp()) {
+                return Double.NaN;
+            }
+            final long bytes = current.getInterfaceBytesSent() + current.getInterfaceBytesReceived()
+                    - previous.getInterfaceBytesSent() - previous.getInterfaceBytesReceived();
+            return Math.max(0d, bytes * 1000d / (current.getTimestamp() - previous.getTimestamp()));
+        }
+
+        @NotNull
+        @Override
+        public String format(final double value) {
+            return FastFormat.rate((long) value);
+        }
+    };
+
+    private final String id;
+    private final String displayName;
+    private final double minimumDeviation;
+
+    AnomalyMetric(@NotNull final String id, @NotNull final String displayName, final double minimumDeviation) {
+        this.id = id;
+        this.displayName = displayName;
+        this.minimumDeviation = minimumDeviation;
+    }
+
+    /**
+     * Extracts the value of this metric from a snapshot.
+     *
+     * @param previous The snapshot sampled before, null for the first sample.
+     * @param current  The latest snapshot.
+     * @return The metric value, or NaN when not available.
+     */
+    abstract double sample(@Nullable SystemSnapshot previous, @NotNull SystemSnapshot current);
+
+    /**
+     * @param value A metric value.
+     * @return The value with its unit of measure.
+     */
+    @NotNull
+    public abstract String format(double value);
+
+    /**
+     * @return The name used by the anomalies command.
+     */
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    @NotNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the smallest standard deviation used to score a sample, so that an idle metric
+     * with an almost null variance does not flag every small change.
+     *
+     * @return The minimum standard deviation in the unit of the metric.
+     */
+    double getMinimumDeviation() {
+        return minimumDeviation;
+    }
+
+    /**
+     * Find a metric by its identifier.
+     *
+     * @param id The identifier, case insensitive.
+     * @return The metric, or null if unknown.
+     */
+    @Nullable
+    public static AnomalyMetric fromId(@NotNull final String id) {
+        for (final AnomalyMetric metric : values()) {
+            if (metric.id.equalsIgnoreCase(id)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Logger;
+
+/**
+ * Logs alerts to the server console: firing alerts as warnings, resolved alerts as information.
+ */
+public final class ConsoleAlertSink implements AlertSink {
+
+    private final Logger logger;
+
+    /**
+     * @param logger The plugin logger.
+     */
+    public ConsoleAlertSink(@NotNull final Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void deliver(@NotNull final Alert alert, @NotNull final String message) {
+        final String text = ChatColor.stripColor(message);
+        if (alert.getState() == Alert.State.FIRING) {
+            logger.warning(text);
+        } else {
+            logger.info(text);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Online baselines of a single metric series, updated in constant time and without allocating.
+ * <p>
+ * The short term baseline is an exponentially weighted mean and variance of every sample.
+ * The seasonal baseline keeps one mean and variance per hour of the day: the samples of the current hour
+ * are accumulated with Welford's algorithm, and folded into the bucket of that hour once the hour ends,
+ * so every bucket learns from one aggregate per day. Its variance adds the spread within the hour
+ * to the spread of the hourly means across days.
+ * <p>
+ * Only accessed by the snapshot thread, except for the reads of the command.
+ */
+final class EwmaBaseline {
+
+    static final int HOURS = 24;
+    private static final int MIN_HOUR_SAMPLES = 60;
+
+    private final double minimumDeviation;
+    private double mean, variance;
+    private long samples = 0L;
+
+    private final double[] hourMean = new double[HOURS];
+    private final double[] hourVariance = new double[HOURS];
+    private final double[] hourSpread = new double[HOURS];
+    private final int[] hourDays = new int[HOURS];
+
+    private long currentHour = Long.MIN_VALUE;
+    private long currentCount = 0L;
+    private double currentMean, currentM2;
+
+    private volatile double lastValue = Double.NaN, lastExpected = Double.NaN, lastScore = 0d;
+    private volatile boolean lastSeasonal = false;
+
+    EwmaBaseline(final double minimumDeviation) {
+        this.minimumDeviation = minimumDeviation;
+    }
+
+    /**
+     * Scores a sample against the baselines, then folds it into them.
+     * The seasonal baseline is used once its bucket has learnt enough days, the short term one otherwise.
+     *
+     * @param value          The sample.
+     * @param hour           The hours elapsed since the epoch in local time.
+     * @param alpha          The smoothing factor of the short term baseline.
+     * @param seasonalAlpha  The smoothing factor of the seasonal baseline.
+     * @param warmup         The samples the short term baseline needs before scoring.
+     * @param seasonalWarmup The days a seasonal bucket needs before scoring.
+     * @return The z-score of the sample, 0 while the baselines are warming up.
+     */
+    double update(final double value, final long hour, final double alpha, final double seasonalAlpha,
+                  final long warmup, final int seasonalWarmup) {
+        if (hour != currentHour) {
+            rollHour(seasonalAlpha);
+            currentHour = hour;
+        }
+
+        final int hourOfDay = (int) Math.floorMod(hour, (long) HOURS);
+        double expected = mean, score = 0d;
+        boolean seasonal = false;
+        if (hourDays[hourOfDay] >= seasonalWarmup) {
+            expected = hourMean[hourOfDay];
+            score = (value - expected) / deviation(hourVariance[hourOfDay] + hourSpread[hourOfDay]);
+            seasonal = true;
+        } else if (samples >= warmup) {
+            score = (value - expected) / deviation(variance);
+        }
+
+        if (samples++ == 0L) {
+            mean = value;
+        } else {
+            final double difference = value - mean;
+            final double increment = alpha * difference;
+            mean += increment;
+            variance = (1d - alpha) * (variance + difference * increment);
+        }
+
+        currentCount++;
+        final double difference = value - currentMean;
+        currentMean += difference / currentCount;
+        currentM2 += difference * (value - currentMean);
+
+        lastValue = value;
+        lastExpected = samples > 1L || seasonal ? expected : Double.NaN;
+        lastScore = score;
+        lastSeasonal = seasonal;
+        return score;
+    }
+
+    /**
+     * Folds the samples of the hour that just ended into its seasonal bucket.
+     * Hours with too few samples, such as the one the server started in, are discarded.
+     */
+    private void rollHour(final double seasonalAlpha) {
+        if (currentHour != Long.MIN_VALUE && currentCount >= MIN_HOUR_SAMPLES) {
+            final int hourOfDay = (int) Math.floorMod(currentHour, (long) HOURS);
+            final double withinVariance = currentM2 / currentCount;
+            if (hourDays[hourOfDay] == 0) {
+                hourMean[hourOfDay] = currentMean;
+                hourVariance[hourOfDay] = withinVariance;
+                hourSpread[hourOfDay] = 0d;
+            } else {
+                final double difference = currentMean - hourMean[hourOfDay];
+                final double increment = seasonalAlpha * difference;
+                hourMean[hourOfDay] += increment;
+                hourSpread[hourOfDay] = (1d - seasonalAlpha) * (hourSpread[hourOfDay] + difference * increment);
+                hourVariance[hourOfDay] += seasonalAlpha * (withinVariance - hourVariance[hourOfDay]);
+            }
+            if (hourDays[hourOfDay] < Integer.MAX_VALUE) {
+                hourDays[hourOfDay]++;
+            }
+        }
+        currentCount = 0L;
+        currentMean = 0d;
+        currentM2 = 0d;
+    }
+
+    private double deviation(final double variance) {
+        return Math.max(minimumDeviation, Math.sqrt(Math.max(0d, variance)));
+    }
+
+    /**
+     * @return The latest sample.
+     */
+    double getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * @return The value the latest sample was expected to be, NaN before the first sample.
+     */
+    double getLastExpected() {
+        return lastExpected;
+    }
+
+    /**
+     * @return The z-score of the latest sample.
+     */
+    double getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * @return True if the latest sample was scored against the seasonal baseline.
+     */
+    boolean isLastSeasonal() {
+        return lastSeasonal;
+    }
+
+    /**
+     * @param hourOfDay The hour of the day, from 0 to 23.
+     * @return The days the bucket of an hour has learnt from.
+     */
+    int getSeasonalDays(final int hourOfDay) {
+        return hourDays[hourOfDay];
+    }
+
+    /**
+     * Writes the seasonal baseline, the short term one is relearnt within minutes.
+     *
+     * @param output The stream to write to.
+     * @throws IOException If the write fails.
+     */
+    void write(@NotNull final DataOutputStream output) throws IOException {
+        for (int hour = 0; hour < HOURS; hour++) {
+            output.writeDouble(hourMean[hour]);
+            output.writeDouble(hourVariance[hour]);
+            output.writeDouble(hourSpread[hour]);
+            output.writeInt(hourDays[hour]);
+        }
+    }
+
+    /**
+     * Reads a seasonal baseline written by {@link #write(DataOutputStream)}.
+     *
+     * @param input The stream to read from.
+     * @throws IOException If the read fails.
+     */
+    void read(@NotNull final DataInputStream input) throws IOException {
+        for (int hour = 0; hour < HOURS; hour++) {
+            hourMean[hour] = input.readDouble();
+            hourVariance[hour] = input.readDouble();
+            hourSpread[hour] = input.readDouble();
+            hourDays[hour] = Math.max(0, input.readInt());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.Utils;
+
+/**
+ * Sends alerts in chat to every online player with a permission.
+ */
+public final class StaffAlertSink implements AlertSink {
+
+    private final String permission;
+
+    /**
+     * @param permission The permission a player needs to receive alerts.
+     */
+    public StaffAlertSink(@NotNull final String permission) {
+        this.permission = permission;
+    }
+
+    @Override
+    public void deliver(@NotNull final Alert alert, @NotNull final String message) {
+        if (Utils.isFolia()) {
+            for (final Player player : Bukkit.getOnlinePlayers()) {
+                SystemInfo.getScheduler().runTask(player, () -> send(player, message));
+            }
+        } else {
+            SystemInfo.getScheduler().runTask(() -> {
+                for (final Player player : Bukkit.getOnlinePlayers()) {
+                    send(player, message);
+                }
+            });
+        }
+    }
+
+    private void send(@NotNull final Player player, @NotNull final String message) {
+        if (player.hasPermission(permission)) {
+            player.sendMessage(message);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.alert;
+
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Posts alerts as JSON to an HTTP webhook, from a dedicated thread so a slow endpoint never delays the snapshots.
+ * <p>
+ * The body carries the alert fields, plus its message as "content" and "text"
+ * so Discord and Slack compatible webhooks display it without an adapter.
+ * When the endpoint cannot keep up, at most {@link #QUEUE_SIZE} alerts wait and newer ones are dropped.
+ */
+public final class WebhookAlertSink implements AlertSink {
+
+    private static final int QUEUE_SIZE = 64;
+
+    private final URL url;
+    private final int timeoutMillis;
+    private final String server;
+    private final Logger logger;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param url           The webhook url.
+     * @param timeoutMillis The connect and read timeout.
+     * @param server        The name of this server, sent with every alert.
+     * @param logger        The plugin logger, used to report failed deliveries.
+     */
+    public WebhookAlertSink(@NotNull final URL url, final int timeoutMillis, @NotNull final String server, @NotNull final Logger logger) {
+        this.url = url;
+        this.timeoutMillis = timeoutMillis;
+        this.server = server;
+        this.logger = logger;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+            final Thread thread = new Thread(runnable, "SystemInfo Alert Webhook");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void deliver(@NotNull final Alert alert, @NotNull final String message) {
+        final byte[] body = toJson(alert, ChatColor.stripColor(message)).getBytes(StandardCharsets.UTF_8);
+        try {
+            executor.execute(() -> post(body));
+        } catch (RejectedExecutionException exception) {
+            logger.warning("Dropped the alert " + alert.getName() + ", the webhook is not keeping up!");
+        }
+    }
+
+    private void post(@NotNull final byte[] body) {
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            try {
+                connection.setConnectTimeout(timeoutMillis);
+                connection.setReadTimeout(timeoutMillis);
+                connection.setDoOutput(true);
+                connection.setRequestMethod("POST");
+                connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+                connection.setRequestProperty("User-Agent", "SystemInfo");
+                connection.setFixedLengthStreamingMode(body.length);
+                try (OutputStream outputStream = connection.getOutputStream()) {
+                    outputStream.write(body);
+                }
+                final int status = connection.getResponseCode();
+                if (status >= 400) {
+                    throw new IOException("HTTP " + status + " from " + url.getHost());
+                }
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException exception) {
+            logger.warning("Could not deliver an alert to the webhook!");
+            logger.warning(exception.getLocalizedMessage());
+        }
+    }
+
+    @NotNull
+    private String toJson(@NotNull final Alert alert, @NotNull final String message) {
+        final StringBuilder json = new StringBuilder(256).append('{');
+        appendString(json, "server", server).append(',');
+        appendString(json, "rule", alert.getName()).append(',');
+        appendString(json, "metric", alert.getMetricId()).append(',');
+        appendString(json, "condition", alert.getCondition()).append(',');
+        appendString(json, "state", alert.getState().name().toLowerCase()).append(',');
+        json.append("\"value\":").append(Double.isFinite(alert.getValue()) ? Double.toString(alert.getValue()) : "null").append(',');
+        json.append("\"timestamp\":").append(alert.getTimestamp()).append(',');
+        appendString(json, "content", message).append(',');
+        appendString(json, "text", message);
+        return json.append('}').toString();
+    }
+
+    @NotNull
+    private static StringBuilder appendString(@NotNull final StringBuilder json, @NotNull final String key, @NotNull final String value) {
+        json.append('"').append(key).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
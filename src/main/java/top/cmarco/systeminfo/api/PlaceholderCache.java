@@ -0,0 +1,177 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.protocol.TcpHealthData;
+import top.cmarco.systeminfo.protocol.TcpSocketStats;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Lookup table of pre-rendered placeholder values.
+ * <p>
+ * Values are rendered on the snapshot thread once their time to live has expired, so resolving
+ * a placeholder is a single hash map lookup returning an already built string.
+ */
+final class PlaceholderCache implements Consumer<SystemSnapshot> {
+
+    /**
+     * A time to live meaning the value is rendered once and never refreshed.
+     */
+    static final long NEVER_EXPIRES = -1L;
+
+    /**
+     * Snapshots are sampled every second with some jitter, so values expiring slightly
+     * after the current sample are refreshed now instead of waiting for the next one.
+     */
+    private static final long SAMPLE_SLACK_MILLIS = 100L;
+
+    static final int TCP_SEND_QUEUE = 0, TCP_RECV_QUEUE = 1, TCP_RETRANSMITS = 2, TCP_RTO = 3;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Integer> tcpIndexes = new HashMap<>();
+    private volatile Map<UUID, String[]> tcpValues = Collections.emptyMap();
+    private TcpHealthData renderedTcpHealth;
+
+    /**
+     * Adds a placeholder to the table. Must be called before the cache is registered as snapshot listener.
+     *
+     * @param name       The placeholder params.
+     * @param ttlMillis  How long a rendered value is reused, or {@link #NEVER_EXPIRES}.
+     * @param renderer   The function rendering the value from a snapshot.
+     */
+    void register(@NotNull final String name, final long ttlMillis, @NotNull final Function<SystemSnapshot, String> renderer) {
+        entries.put(name, new Entry(ttlMillis, renderer));
+    }
+
+    /**
+     * Adds a per-player TCP placeholder to the table.
+     *
+     * @param name  The placeholder params.
+     * @param index One of the TCP_* value indexes.
+     */
+    void registerTcp(@NotNull final String name, final int index) {
+        tcpIndexes.put(name, index);
+    }
+
+    /**
+     * Renders every expired value from the latest snapshot.
+     *
+     * @param snapshot The latest snapshot.
+     */
+    @Override
+    public void accept(@NotNull final SystemSnapshot snapshot) {
+        final long now = System.currentTimeMillis();
+        for (final Entry entry : entries.values()) {
+            if (entry.value == null || (entry.ttlMillis != NEVER_EXPIRES && now >= entry.expiresAt - SAMPLE_SLACK_MILLIS)) {
+                entry.value = entry.renderer.apply(snapshot);
+                entry.expiresAt = now + entry.ttlMillis;
+            }
+        }
+
+        final TcpHealthData tcpHealth = snapshot.getTcpHealth();
+        if (tcpHealth != null && tcpHealth != renderedTcpHealth) {
+            renderedTcpHealth = tcpHealth;
+            tcpValues = renderTcp(tcpHealth);
+        }
+    }
+
+    @NotNull
+    private static Map<UUID, String[]> renderTcp(@NotNull final TcpHealthData tcpHealth) {
+        final Map<UUID, TcpSocketStats> playerStats = tcpHealth.getPlayerStats();
+        final Map<UUID, String[]> rendered = new HashMap<>(playerStats.size() * 2);
+        for (final Map.Entry<UUID, TcpSocketStats> entry : playerStats.entrySet()) {
+            final TcpSocketStats stats = entry.getValue();
+            final String[] values = new String[4];
+            values[TCP_SEND_QUEUE] = Utils.formatData(stats.getSendQueue());
+            values[TCP_RECV_QUEUE] = Utils.formatData(stats.getReceiveQueue());
+            values[TCP_RETRANSMITS] = Integer.toString(stats.getRetransmits());
+            values[TCP_RTO] = stats.getRtoMillis() + "ms";
+            rendered.put(entry.getKey(), values);
+        }
+        return rendered;
+    }
+
+    /**
+     * Checks whether the params name a placeholder of the table.
+     *
+     * @param params The placeholder params.
+     * @return True for registered placeholders, rendered or not.
+     */
+    boolean isRegistered(@NotNull final String params) {
+        return entries.containsKey(params);
+    }
+
+    /**
+     * Checks whether the params name a per-player TCP placeholder.
+     *
+     * @param params The placeholder params.
+     * @return True for TCP placeholders.
+     */
+    boolean isTcp(@NotNull final String params) {
+        return tcpIndexes.containsKey(params);
+    }
+
+    /**
+     * Gets the rendered value of a placeholder.
+     *
+     * @param params The placeholder params.
+     * @return The rendered value, or null if the placeholder is unknown or not rendered yet.
+     */
+    @Nullable
+    String get(@NotNull final String params) {
+        final Entry entry = entries.get(params);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Gets the rendered value of a per-player TCP placeholder.
+     *
+     * @param params The placeholder params.
+     * @param uuid   The player unique id.
+     * @return The rendered value, or null if the player has no matching connection.
+     */
+    @Nullable
+    String getTcp(@NotNull final String params, @NotNull final UUID uuid) {
+        final String[] values = tcpValues.get(uuid);
+        final Integer index = tcpIndexes.get(params);
+        return values == null || index == null ? null : values[index];
+    }
+
+    private static final class Entry {
+        private final long ttlMillis;
+        private final Function<SystemSnapshot, String> renderer;
+        private volatile String value;
+        private long expiresAt;
+
+        private Entry(final long ttlMillis, @NotNull final Function<SystemSnapshot, String> renderer) {
+            this.ttlMillis = ttlMillis;
+            this.renderer = renderer;
+        }
+    }
+}
@@ -21,11 +21,16 @@ package top.cmarco.systeminfo.api;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
 import top.cmarco.systeminfo.oshi.SystemValues;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.protocol.BukkitNetworkingManager;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.utils.FastFormat;
 import top.cmarco.systeminfo.utils.Utils;
 
+import java.util.function.Function;
+
 /**
  * The `SystemInfoPlaceholderExtension` class is an extension for PlaceholderAPI that provides placeholders
  * related to system information. These placeholders can be used in plugins to dynamically display system
@@ -33,7 +38,10 @@ import top.cmarco.systeminfo.utils.Utils;
  */
 public final class SystemInfoPlaceholderExtension extends PlaceholderExpansion {
 
+    private static final String WARMING_UP = "Warming up"; // Answered until the first snapshot is sampled.
+
     private final SystemInfo systemInfo;
+    private final PlaceholderCache placeholderCache = new PlaceholderCache();
 
     /**
      * Initializes a new instance of the `SystemInfoPlaceholderExtension` class.
@@ -42,6 +50,12 @@ public final class SystemInfoPlaceholderExtension extends PlaceholderExpansion {
      */
     public SystemInfoPlaceholderExtension(@NotNull SystemInfo systemInfo) {
         this.systemInfo = systemInfo;
+        final SystemValues values = systemInfo.getSystemValues();
+        registerPlaceholders(values);
+        if (values.isReady()) {
+            placeholderCache.accept(values.getSnapshot());
+        }
+        values.addSnapshotListener(placeholderCache);
     }
 
     /**
@@ -94,58 +108,80 @@ public final class SystemInfoPlaceholderExtension extends PlaceholderExpansion {
         return this.systemInfo.getDescription().getVersion();
     }
 
+    /**
+     * Fills the placeholder cache with the renderer and time to live of every placeholder.
+     *
+     * @param values The system values, used by the placeholders that never change.
+     */
+    private void registerPlaceholders(@NotNull final SystemValues values) {
+        final SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+
+        registerNetwork(config, "packet_count_sent_total", stats -> Long.toString(stats.getTotalSentPackets()));
+        registerNetwork(config, "packet_count_recv_total", stats -> Long.toString(stats.getTotalReceivedPackets()));
+        registerNetwork(config, "packet_data_sent_total", stats -> Utils.formatData(stats.getTotalSentBytes()));
+        registerNetwork(config, "packet_data_recv_total", stats -> Utils.formatData(stats.getTotalReceivedBytes()));
+        registerNetwork(config, "packet_count_sent_now", stats -> stats.getLastSentPackets() + "/s");
+        registerNetwork(config, "packet_count_recv_now", stats -> stats.getLastReceivedPackets() + "/s");
+        registerNetwork(config, "packet_data_sent_now", stats -> FastFormat.rate(stats.getLastSentBytes()));
+        registerNetwork(config, "packet_data_recv_now", stats -> FastFormat.rate(stats.getLastReceivedBytes()));
+
+        placeholderCache.registerTcp("tcp_send_queue", PlaceholderCache.TCP_SEND_QUEUE);
+        placeholderCache.registerTcp("tcp_recv_queue", PlaceholderCache.TCP_RECV_QUEUE);
+        placeholderCache.registerTcp("tcp_retransmits", PlaceholderCache.TCP_RETRANSMITS);
+        placeholderCache.registerTcp("tcp_rto", PlaceholderCache.TCP_RTO);
+
+        // rendered from the first snapshot, which is only sampled once the hardware is discovered.
+        register(config, "cpu-model", PlaceholderCache.NEVER_EXPIRES, snapshot -> values.getCpuModel() + " " + values.getCpuModelName());
+        register(config, "cpu-frequency", PlaceholderCache.NEVER_EXPIRES, snapshot -> values.getCpuMaxFrequency());
+        register(config, "cpu-temperature", snapshot -> snapshot.getCpuTemperature() != 0d
+                ? FastFormat.fixed(snapshot.getCpuTemperature(), 1) + "C°" : "Unavailable");
+        register(config, "cpu-load", snapshot -> FastFormat.percent(snapshot.getCpuLoad(), 2));
+        register(config, "swap-max", snapshot -> Utils.formatData(snapshot.getSwapTotal()));
+        register(config, "swap-used", snapshot -> Utils.formatData(snapshot.getSwapUsed()));
+        register(config, "memory-max", snapshot -> Utils.formatData(snapshot.getMemoryTotal()));
+        register(config, "memory-available", snapshot -> Utils.formatData(snapshot.getMemoryAvailable()));
+        register(config, "memory-used", snapshot -> Utils.formatData(snapshot.getMemoryUsed()));
+        register(config, "processes", snapshot -> Integer.toString(snapshot.getProcessCount()));
+    }
+
+    private void register(@NotNull final SystemInfoConfig config, @NotNull final String name,
+                          @NotNull final Function<SystemSnapshot, String> renderer) {
+        register(config, name, config.getPlaceholderDefaultTtl(), renderer);
+    }
+
+    private void register(@NotNull final SystemInfoConfig config, @NotNull final String name, final long defaultTtl,
+                          @NotNull final Function<SystemSnapshot, String> renderer) {
+        placeholderCache.register(name, config.getPlaceholderTtl(name, defaultTtl), renderer);
+    }
+
+    private void registerNetwork(@NotNull final SystemInfoConfig config, @NotNull final String name,
+                                 @NotNull final Function<NetworkStatsData, String> renderer) {
+        register(config, name, snapshot -> {
+            final NetworkStatsData stats = snapshot.getNetworkStats();
+            return stats != null ? renderer.apply(stats) : "Unavailable";
+        });
+    }
+
     /**
      * Handles requests for specific placeholders and returns the corresponding system information.
+     * Values are pre-rendered by the {@link PlaceholderCache}, so this method does not allocate.
      *
-     * @param p      The offline player for whom the placeholder is being requested (not used in this context).
+     * @param p      The offline player for whom the placeholder is being requested (only used by tcp placeholders).
      * @param params The name of the requested placeholder.
-     * @return The value of the requested placeholder, or null if the placeholder name is not recognized.
+     * @return The value of the requested placeholder, "Warming up" before the first snapshot,
+     * or null if the placeholder name is not recognized.
      */
     @Override
     public String onRequest(@NotNull final OfflinePlayer p, @NotNull final String params) {
-        final SystemValues values = systemInfo.getSystemValues();
-        final BukkitNetworkingManager networkingManager = systemInfo.getNetworkingManager();
-        final boolean networkingEnabled = networkingManager != null;
-
-        switch (params) {
-            case "packet_count_sent_total":
-                return networkingEnabled ? Long.toString(networkingManager.getTotalSentPackets()) : "Unavailable";
-            case "packet_count_recv_total":
-                return networkingEnabled ? Long.toString(networkingManager.getTotalReceivedPackets()) : "Unavailable";
-            case "packet_data_sent_total":
-                return networkingEnabled ? Utils.formatData(networkingManager.getTotalSentBytes()) : "Unavailable";
-            case "packet_data_recv_total":
-                return networkingEnabled ? Utils.formatData(networkingManager.getTotalReceivedBytes()) : "Unavailable";
-            case "packet_count_sent_now":
-                return networkingEnabled ? Long.toString(networkingManager.getLastSentPackets()) + "/s" : "Unavailable";
-            case "packet_count_recv_now":
-                return networkingEnabled ? Long.toString(networkingManager.getLastReceivedPackets()) + "/s" : "Unavailable";
-            case "packet_data_sent_now":
-                return networkingEnabled ? Utils.formatData(networkingManager.getLastSentBytes()) + "/s" : "Unavailable";
-            case "packet_data_recv_now":
-                return networkingEnabled ? Utils.formatData(networkingManager.getLastReceivedBytes()) + "/s" : "Unavailable";
-            case "cpu-model":
-                return String.format("%s %s", values.getCpuModel(), values.getCpuModelName());
-            case "cpu-frequency":
-                return values.getCpuMaxFrequency();
-            case "cpu-temperature":
-                return values.getCpuTemperature();
-            case "cpu-load":
-                return String.format("%.2f",values.getLastCpuLoad()) + "%";
-            case "swap-max":
-                return values.getTotalSwap();
-            case "swap-used":
-                return values.getUsedSwap();
-            case "memory-max":
-                return values.getMaxMemory();
-            case "memory-available":
-                return values.getAvailableMemory();
-            case "memory-used":
-                return values.getUsedMemory();
-            case "processes":
-                return Integer.toString(values.getRunningProcesses());
-            default:
-                return null;
+        final String value = placeholderCache.get(params);
+        if (value != null) {
+            return value;
         }
+        if (!placeholderCache.isTcp(params)) {
+            return placeholderCache.isRegistered(params) ? WARMING_UP : null;
+        }
+
+        final String tcpValue = placeholderCache.getTcp(params, p.getUniqueId());
+        return tcpValue != null ? tcpValue : "Unavailable";
     }
 }
@@ -0,0 +1,141 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the hardware benchmarks away from the server threads.
+ * <p>
+ * Every run gets a coordinator thread and a dedicated pool of daemon worker threads, all with the lowest
+ * priority so the operating system keeps favouring the tick threads. Only one benchmark runs at a time,
+ * since two benchmarks would measure each other, and the threads are discarded once the run completes.
+ */
+public final class BenchmarkExecutor {
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private volatile ExecutorService workers = null;
+    private volatile Thread coordinator = null;
+
+    /**
+     * Starts a benchmark unless another benchmark is running.
+     *
+     * @param threads   The amount of worker threads, 0 or less for every logical processor.
+     * @param benchmark The benchmark, receiving the worker pool and the amount of workers.
+     * @param <T>       The benchmark result type.
+     * @return The future result, or null if another benchmark is running.
+     */
+    @Nullable
+    public <T> CompletableFuture<T> run(final int threads, @NotNull final Function<WorkerPool, T> benchmark) {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+
+        final int workerCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        final ExecutorService pool = Executors.newFixedThreadPool(workerCount, threadFactory());
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        workers = pool;
+
+        final Thread thread = threadFactory().newThread(() -> {
+            try {
+                future.complete(benchmark.apply(new WorkerPool(pool, workerCount)));
+            } catch (final Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                pool.shutdownNow();
+                workers = null;
+                coordinator = null;
+                running.set(false);
+            }
+        });
+        coordinator = thread;
+        thread.start();
+        return future;
+    }
+
+    /**
+     * @return True while a benchmark is running.
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Interrupts the running benchmark, if any. Called when the plugin is disabled.
+     */
+    public void shutdown() {
+        final ExecutorService pool = workers;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+        final Thread thread = coordinator;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @NotNull
+    private ThreadFactory threadFactory() {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "SystemInfo Benchmark #" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+    }
+
+    /**
+     * The worker threads of a benchmark run.
+     */
+    public static final class WorkerPool {
+
+        private final ExecutorService executor;
+        private final int size;
+
+        private WorkerPool(@NotNull final ExecutorService executor, final int size) {
+            this.executor = executor;
+            this.size = size;
+        }
+
+        /**
+         * @return The executor running the worker threads.
+         */
+        @NotNull
+        public ExecutorService getExecutor() {
+            return executor;
+        }
+
+        /**
+         * @return The amount of worker threads.
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+}
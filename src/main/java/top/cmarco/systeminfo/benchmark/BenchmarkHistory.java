@@ -0,0 +1,264 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the results of every benchmark run in a compact binary file of the plugin folder,
+ * and compares new runs with a rolling baseline made of the previous runs of the same kind.
+ * <p>
+ * A metric is flagged as a regression when it is worse than the baseline mean both by a relative margin
+ * and by a number of standard deviations, combining the spread of the baseline with the spread within the new run,
+ * so the ordinary noise of a shared host is not reported. The file is loaded on first use and appended to,
+ * it is only rewritten when the oldest runs are dropped or when a truncated tail has to be discarded.
+ */
+public final class BenchmarkHistory {
+
+    private static final int MAGIC = 0x53494248; // "SIBH"
+    private static final int MIN_BASELINE_RUNS = 3;
+
+    private final SystemInfo plugin;
+    private final File file;
+    private List<BenchmarkRecord> records = null; // guarded by this, oldest first.
+
+    /**
+     * Constructs a new instance of BenchmarkHistory with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public BenchmarkHistory(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "benchmarks.dat");
+    }
+
+    /**
+     * Get the most recent runs.
+     *
+     * @param kind  The benchmark kind, or null for every kind.
+     * @param limit The maximum amount of runs.
+     * @return The runs, newest first.
+     */
+    @NotNull
+    public synchronized List<BenchmarkRecord> getRecords(@Nullable final BenchmarkKind kind, final int limit) {
+        final List<BenchmarkRecord> result = new ArrayList<>();
+        final List<BenchmarkRecord> all = load();
+        for (int i = all.size() - 1; i >= 0 && result.size() < limit; i--) {
+            if (kind == null || all.get(i).getKind() == kind) {
+                result.add(all.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the most recent run of a kind.
+     *
+     * @param kind The benchmark kind.
+     * @return The run, or null if the kind never ran.
+     */
+    @Nullable
+    public BenchmarkRecord getLatest(@NotNull final BenchmarkKind kind) {
+        final List<BenchmarkRecord> latest = getRecords(kind, 1);
+        return latest.isEmpty() ? null : latest.get(0);
+    }
+
+    /**
+     * Compares a new run with the baseline, then stores it with the fingerprint of this machine.
+     * Regressions are also logged to the console.
+     *
+     * @param kind    The benchmark kind.
+     * @param metrics The headline metrics of the run.
+     * @return The metrics significantly worse than the baseline, empty if there is none or the baseline is too short.
+     */
+    @NotNull
+    public synchronized List<BenchmarkRegression> record(@NotNull final BenchmarkKind kind, @NotNull final List<BenchmarkRecord.Metric> metrics) {
+        final SystemInfoConfig config = plugin.getSystemInfoConfig();
+        final List<BenchmarkRegression> regressions = findRegressions(getRecords(kind, config.getBenchmarkBaselineRuns()),
+                metrics, config.getBenchmarkRegressionThreshold(), config.getBenchmarkRegressionMinChange());
+
+        final BenchmarkRecord record = new BenchmarkRecord(kind, System.currentTimeMillis(),
+                HardwareFingerprint.of(plugin.getSystemValues()), metrics, !regressions.isEmpty());
+        final List<BenchmarkRecord> all = load();
+        all.add(record);
+        final int maxRecords = config.getBenchmarkHistoryMaxRecords();
+        try {
+            if (all.size() > maxRecords) {
+                all.subList(0, all.size() - maxRecords).clear();
+                rewrite(all);
+            } else {
+                append(record);
+            }
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Could not save the benchmark history!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+
+        for (final BenchmarkRegression regression : regressions) {
+            plugin.getLogger().warning(kind.getDisplayName() + " benchmark regression: " + regression.getMetric().getName()
+                    + " is " + FastFormat.percent(regression.getChange(), 1) + " off the baseline of "
+                    + regression.getBaselineRuns() + " runs.");
+        }
+        return regressions;
+    }
+
+    /**
+     * Compares every metric of a run with the same metric of the baseline runs.
+     *
+     * @param baseline  The previous runs of the same kind.
+     * @param metrics   The metrics of the new run.
+     * @param threshold The standard deviations a metric must be worse by.
+     * @param minChange The percentage a metric must be worse by.
+     * @return The regressed metrics.
+     */
+    @NotNull
+    static List<BenchmarkRegression> findRegressions(@NotNull final List<BenchmarkRecord> baseline,
+                                                     @NotNull final List<BenchmarkRecord.Metric> metrics,
+                                                     final double threshold, final double minChange) {
+        final List<BenchmarkRegression> regressions = new ArrayList<>();
+        final double[] values = new double[baseline.size()];
+        for (final BenchmarkRecord.Metric metric : metrics) {
+            int count = 0;
+            for (final BenchmarkRecord record : baseline) {
+                final BenchmarkRecord.Metric previous = record.getMetric(metric.getName());
+                if (previous != null) {
+                    values[count++] = previous.getValue();
+                }
+            }
+            if (count < MIN_BASELINE_RUNS) {
+                continue;
+            }
+
+            double mean = 0d;
+            for (int i = 0; i < count; i++) {
+                mean += values[i];
+            }
+            mean /= count;
+            double variance = 0d;
+            for (int i = 0; i < count; i++) {
+                variance += (values[i] - mean) * (values[i] - mean);
+            }
+            final double deviation = Math.sqrt(variance / (count - 1));
+            if (mean == 0d) {
+                continue;
+            }
+
+            final double runDeviation = metric.getValue() * metric.getDeviation() / 100d;
+            final double noise = Math.sqrt(deviation * deviation + runDeviation * runDeviation);
+            final double worseBy = metric.getUnit().isHigherBetter() ? mean - metric.getValue() : metric.getValue() - mean;
+            if (worseBy / Math.abs(mean) * 100d >= minChange && worseBy > threshold * noise) {
+                regressions.add(new BenchmarkRegression(metric, mean, deviation, count));
+            }
+        }
+        return regressions;
+    }
+
+    /* ---------------------- */
+
+    @NotNull
+    private List<BenchmarkRecord> load() {
+        if (records != null) {
+            return records;
+        }
+
+        records = new ArrayList<>();
+        if (!file.isFile()) {
+            return records;
+        }
+
+        boolean truncated = false;
+        try {
+            final ByteArrayInputStream bytes = new ByteArrayInputStream(Files.readAllBytes(file.toPath()));
+            final DataInputStream input = new DataInputStream(bytes);
+            if (input.readInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not a benchmark history file");
+            }
+            while (bytes.available() > 0) {
+                final BenchmarkRecord record;
+                try {
+                    record = BenchmarkRecord.read(input);
+                } catch (EOFException exception) {
+                    truncated = true; // the server stopped while a run was appended.
+                    break;
+                }
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Could not load the benchmark history, keeping the readable runs only!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+            truncated = true;
+        }
+
+        if (truncated) {
+            try {
+                rewrite(records);
+            } catch (IOException exception) {
+                plugin.getLogger().warning("Could not save the benchmark history!");
+                plugin.getLogger().warning(exception.getLocalizedMessage());
+            }
+        }
+        return records;
+    }
+
+    private void append(@NotNull final BenchmarkRecord record) throws IOException {
+        if (!file.isFile()) {
+            rewrite(Collections.singletonList(record));
+            return;
+        }
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            record.write(output);
+        }
+    }
+
+    private void rewrite(@NotNull final List<BenchmarkRecord> records) throws IOException {
+        final File folder = file.getParentFile();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder.getAbsolutePath());
+        }
+
+        final File temporary = new File(folder, file.getName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            for (final BenchmarkRecord record : records) {
+                record.write(output);
+            }
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
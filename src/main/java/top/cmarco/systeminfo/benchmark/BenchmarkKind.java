@@ -0,0 +1,69 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The kinds of benchmark whose results are kept in the {@link BenchmarkHistory}.
+ */
+public enum BenchmarkKind {
+    CPU("cpu", "CPU"),
+    MEMORY("memory", "Memory"),
+    DISK("disk", "Disk"),
+    NETWORK("network", "Network");
+
+    private final String id;
+    private final String displayName;
+
+    BenchmarkKind(@NotNull final String id, @NotNull final String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return The identifier used by commands and by the history file.
+     */
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    @NotNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Find a benchmark kind by its identifier.
+     *
+     * @param id The identifier, case insensitive.
+     * @return The kind, or null if unknown.
+     */
+    @Nullable
+    public static BenchmarkKind fromId(@NotNull final String id) {
+        for (final BenchmarkKind kind : values()) {
+            if (kind.id.equalsIgnoreCase(id)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
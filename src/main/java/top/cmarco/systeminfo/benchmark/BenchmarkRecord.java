@@ -0,0 +1,206 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable class representing a benchmark run kept in the {@link BenchmarkHistory}:
+ * its headline metrics and the fingerprint of the machine it ran on.
+ */
+public final class BenchmarkRecord {
+
+    private final BenchmarkKind kind;
+    private final long timestamp;
+    private final HardwareFingerprint fingerprint;
+    private final List<Metric> metrics;
+    private final boolean regressed;
+
+    BenchmarkRecord(@NotNull final BenchmarkKind kind, final long timestamp, @NotNull final HardwareFingerprint fingerprint,
+                    @NotNull final List<Metric> metrics, final boolean regressed) {
+        this.kind = kind;
+        this.timestamp = timestamp;
+        this.fingerprint = fingerprint;
+        this.metrics = Collections.unmodifiableList(metrics);
+        this.regressed = regressed;
+    }
+
+    @NotNull
+    public BenchmarkKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The UNIX time the run completed at.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @NotNull
+    public HardwareFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    @NotNull
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Find a metric of this run by its name.
+     *
+     * @param name The metric name.
+     * @return The metric, or null if this run did not measure it.
+     */
+    @Nullable
+    public Metric getMetric(@NotNull final String name) {
+        for (final Metric metric : metrics) {
+            if (metric.name.equals(name)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Whether the run was flagged as a regression when it was recorded.
+     */
+    public boolean isRegressed() {
+        return regressed;
+    }
+
+    /* ---------------------- */
+
+    void write(@NotNull final DataOutput output) throws IOException {
+        output.writeUTF(kind.getId());
+        output.writeLong(timestamp);
+        output.writeUTF(fingerprint.getCpuModel());
+        output.writeUTF(fingerprint.getCpuStepping());
+        output.writeLong(fingerprint.getMemoryTotal());
+        output.writeUTF(fingerprint.getKernelVersion());
+        output.writeUTF(fingerprint.getJvmVersion());
+        output.writeBoolean(regressed);
+        output.writeByte(metrics.size());
+        for (final Metric metric : metrics) {
+            output.writeUTF(metric.name);
+            output.writeByte(metric.unit.ordinal());
+            output.writeDouble(metric.value);
+            output.writeDouble(metric.deviation);
+        }
+    }
+
+    /**
+     * Reads a record written by {@link #write(DataOutput)}.
+     *
+     * @param input The input.
+     * @return The record, or null if it belongs to a benchmark kind this version does not know.
+     * @throws IOException If the input ends or is corrupted.
+     */
+    @Nullable
+    static BenchmarkRecord read(@NotNull final DataInput input) throws IOException {
+        final BenchmarkKind kind = BenchmarkKind.fromId(input.readUTF());
+        final long timestamp = input.readLong();
+        final HardwareFingerprint fingerprint = new HardwareFingerprint(input.readUTF(), input.readUTF(), input.readLong(),
+                input.readUTF(), input.readUTF());
+        final boolean regressed = input.readBoolean();
+        final int count = input.readUnsignedByte();
+        final List<Metric> metrics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = input.readUTF();
+            final int unit = input.readUnsignedByte();
+            if (unit >= Unit.values().length) {
+                throw new IOException("Unknown metric unit " + unit);
+            }
+            metrics.add(new Metric(name, Unit.values()[unit], input.readDouble(), input.readDouble()));
+        }
+        return kind == null ? null : new BenchmarkRecord(kind, timestamp, fingerprint, metrics, regressed);
+    }
+
+    /**
+     * The unit of a metric, which also tells whether higher values are better.
+     */
+    public enum Unit {
+        SCORE(true),
+        BYTES_PER_SECOND(true),
+        OPERATIONS_PER_SECOND(true),
+        NANOSECONDS(false),
+        MICROSECONDS(false),
+        MILLISECONDS(false);
+
+        private final boolean higherBetter;
+
+        Unit(final boolean higherBetter) {
+            this.higherBetter = higherBetter;
+        }
+
+        public boolean isHigherBetter() {
+            return higherBetter;
+        }
+    }
+
+    /**
+     * A single headline number of a benchmark run.
+     */
+    public static final class Metric {
+
+        private final String name;
+        private final Unit unit;
+        private final double value, deviation;
+
+        /**
+         * @param name      The metric name, stable across versions.
+         * @param unit      The metric unit.
+         * @param value     The measured value.
+         * @param deviation The relative standard deviation within the run as a percentage, 0 if unknown.
+         */
+        public Metric(@NotNull final String name, @NotNull final Unit unit, final double value, final double deviation) {
+            this.name = name;
+            this.unit = unit;
+            this.value = value;
+            this.deviation = deviation;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public Unit getUnit() {
+            return unit;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public double getDeviation() {
+            return deviation;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing a metric of a new benchmark run that is significantly worse than its baseline.
+ */
+public final class BenchmarkRegression {
+
+    private final BenchmarkRecord.Metric metric;
+    private final double baselineMean, baselineDeviation;
+    private final int baselineRuns;
+
+    BenchmarkRegression(@NotNull final BenchmarkRecord.Metric metric, final double baselineMean,
+                        final double baselineDeviation, final int baselineRuns) {
+        this.metric = metric;
+        this.baselineMean = baselineMean;
+        this.baselineDeviation = baselineDeviation;
+        this.baselineRuns = baselineRuns;
+    }
+
+    /**
+     * @return The metric of the new run.
+     */
+    @NotNull
+    public BenchmarkRecord.Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return The mean of the metric across the baseline runs.
+     */
+    public double getBaselineMean() {
+        return baselineMean;
+    }
+
+    /**
+     * @return The standard deviation of the metric across the baseline runs.
+     */
+    public double getBaselineDeviation() {
+        return baselineDeviation;
+    }
+
+    /**
+     * @return The amount of runs the baseline is made of.
+     */
+    public int getBaselineRuns() {
+        return baselineRuns;
+    }
+
+    /**
+     * @return The signed change from the baseline mean as a percentage.
+     */
+    public double getChange() {
+        return baselineMean == 0d ? 0d : (metric.getValue() - baselineMean) / baselineMean * 100d;
+    }
+}
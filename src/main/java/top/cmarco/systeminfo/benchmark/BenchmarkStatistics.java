@@ -0,0 +1,116 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of the samples collected by a benchmark.
+ */
+public final class BenchmarkStatistics {
+
+    private final double mean, standardDeviation, min, max;
+    private final double[] sorted;
+
+    private BenchmarkStatistics(@NotNull final double[] sorted) {
+        this.sorted = sorted;
+        double sum = 0d;
+        for (final double value : sorted) {
+            sum += value;
+        }
+        this.mean = sorted.length == 0 ? 0d : sum / sorted.length;
+
+        double squares = 0d;
+        for (final double value : sorted) {
+            squares += (value - mean) * (value - mean);
+        }
+        this.standardDeviation = sorted.length < 2 ? 0d : Math.sqrt(squares / (sorted.length - 1));
+        this.min = sorted.length == 0 ? 0d : sorted[0];
+        this.max = sorted.length == 0 ? 0d : sorted[sorted.length - 1];
+    }
+
+    /**
+     * Computes the statistics of the first samples of an array.
+     *
+     * @param samples The samples, not modified.
+     * @param count   The amount of samples to consider.
+     * @return The statistics.
+     */
+    @NotNull
+    public static BenchmarkStatistics of(@NotNull final double[] samples, final int count) {
+        final double[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new BenchmarkStatistics(sorted);
+    }
+
+    /**
+     * Computes the statistics of every sample of an array.
+     *
+     * @param samples The samples, not modified.
+     * @return The statistics.
+     */
+    @NotNull
+    public static BenchmarkStatistics of(@NotNull final double[] samples) {
+        return of(samples, samples.length);
+    }
+
+    /**
+     * Gets a percentile of the samples, using the nearest rank.
+     *
+     * @param percentile The percentile, between 0 and 1.
+     * @return The sample at the percentile, or 0 without samples.
+     */
+    public double getPercentile(final double percentile) {
+        if (sorted.length == 0) {
+            return 0d;
+        }
+        return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1))];
+    }
+
+    /**
+     * Gets the standard deviation relative to the mean, the lower the more reproducible the result.
+     *
+     * @return The coefficient of variation as a percentage.
+     */
+    public double getRelativeDeviation() {
+        return mean == 0d ? 0d : standardDeviation / mean * 100d;
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link CpuWorkload} on one thread and then on every worker thread.
+ * <p>
+ * Every measurement runs the workload for a fixed time and counts the completed units of work,
+ * after some warmup iterations that let the JIT compile the workload.
+ */
+public final class CpuBenchmark {
+
+    private static volatile long sink = 0L; // keeps the checksums alive.
+
+    private final int warmupIterations, iterations;
+    private final long iterationNanos;
+
+    /**
+     * @param warmupIterations The discarded iterations run before measuring.
+     * @param iterations       The measured iterations.
+     * @param iterationMillis  The duration of every iteration in milliseconds.
+     */
+    public CpuBenchmark(final int warmupIterations, final int iterations, final long iterationMillis) {
+        this.warmupIterations = Math.max(0, warmupIterations);
+        this.iterations = Math.max(1, iterations);
+        this.iterationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, iterationMillis));
+    }
+
+    /**
+     * Estimates how long {@link #run(BenchmarkExecutor.WorkerPool)} takes.
+     *
+     * @return The duration in milliseconds.
+     */
+    public long getEstimatedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(iterationNanos) * (warmupIterations + iterations) * 2L * CpuWorkload.values().length;
+    }
+
+    /**
+     * Runs the benchmark. Must be called by the coordinator thread of a {@link BenchmarkExecutor}.
+     *
+     * @param pool The worker threads.
+     * @return The results.
+     * @throws CancellationException If the benchmark is interrupted.
+     */
+    @NotNull
+    public CpuBenchmarkResult run(@NotNull final BenchmarkExecutor.WorkerPool pool) {
+        final List<CpuBenchmarkResult.WorkloadResult> results = new ArrayList<>();
+        for (final CpuWorkload workload : CpuWorkload.values()) {
+            final BenchmarkStatistics single = measure(pool, workload, 1);
+            final BenchmarkStatistics multi = measure(pool, workload, pool.getSize());
+            results.add(new CpuBenchmarkResult.WorkloadResult(workload, single, multi, pool.getSize()));
+        }
+        return new CpuBenchmarkResult(pool.getSize(), results);
+    }
+
+    @NotNull
+    private BenchmarkStatistics measure(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final CpuWorkload workload,
+                                        final int threads) {
+        final List<CpuWorkload.Operation> operations = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            operations.add(workload.create(0x5DEECE66DL * (i + 1)));
+        }
+
+        final double[] samples = new double[iterations];
+        try {
+            for (int iteration = -warmupIterations; iteration < iterations; iteration++) {
+                final long start = System.nanoTime();
+                final long deadline = start + iterationNanos;
+                final List<Callable<Long>> tasks = new ArrayList<>(threads);
+                for (final CpuWorkload.Operation operation : operations) {
+                    tasks.add(() -> runUntil(operation, deadline));
+                }
+
+                long units = 0L;
+                for (final Future<Long> future : pool.getExecutor().invokeAll(tasks)) {
+                    units += future.get();
+                }
+                final long elapsed = System.nanoTime() - start;
+
+                if (iteration >= 0) {
+                    samples[iteration] = units * 1E9d / elapsed;
+                }
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The CPU benchmark was interrupted");
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException("The " + workload.getDisplayName() + " workload failed", exception.getCause());
+        } finally {
+            operations.forEach(CpuWorkload.Operation::close);
+        }
+        return BenchmarkStatistics.of(samples);
+    }
+
+    private static long runUntil(@NotNull final CpuWorkload.Operation operation, final long deadline) {
+        long units = 0L, checksum = 0L;
+        do {
+            checksum += operation.run();
+            units++;
+        } while (System.nanoTime() < deadline);
+        sink ^= checksum;
+        return units;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable class representing the results of a {@link CpuBenchmark} run.
+ * Scores are units of work per second, the overall scores are the geometric mean of every workload score.
+ */
+public final class CpuBenchmarkResult {
+
+    private final int threads;
+    private final List<WorkloadResult> workloads;
+
+    CpuBenchmarkResult(final int threads, @NotNull final List<WorkloadResult> workloads) {
+        this.threads = threads;
+        this.workloads = Collections.unmodifiableList(workloads);
+    }
+
+    /**
+     * @return The amount of threads used by the multi-core runs.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return The results of every workload.
+     */
+    @NotNull
+    public List<WorkloadResult> getWorkloads() {
+        return workloads;
+    }
+
+    /**
+     * @return The overall single-core score.
+     */
+    public double getSingleScore() {
+        double logSum = 0d;
+        for (final WorkloadResult workload : workloads) {
+            logSum += Math.log(Math.max(1d, workload.getSingle().getMean()));
+        }
+        return workloads.isEmpty() ? 0d : Math.exp(logSum / workloads.size());
+    }
+
+    /**
+     * @return The overall multi-core score.
+     */
+    public double getMultiScore() {
+        double logSum = 0d;
+        for (final WorkloadResult workload : workloads) {
+            logSum += Math.log(Math.max(1d, workload.getMulti().getMean()));
+        }
+        return workloads.isEmpty() ? 0d : Math.exp(logSum / workloads.size());
+    }
+
+    /**
+     * Gets how close the multi-core score is to the single-core score times the threads.
+     *
+     * @return The scaling efficiency as a percentage.
+     */
+    public double getScalingEfficiency() {
+        final double single = getSingleScore();
+        return single == 0d ? 0d : getMultiScore() / (single * threads) * 100d;
+    }
+
+    /**
+     * @return The headline metrics kept in the {@link BenchmarkHistory}.
+     */
+    @NotNull
+    public List<BenchmarkRecord.Metric> toMetrics() {
+        double singleDeviation = 0d, multiDeviation = 0d;
+        for (final WorkloadResult workload : workloads) {
+            singleDeviation += workload.getSingle().getRelativeDeviation();
+            multiDeviation += workload.getMulti().getRelativeDeviation();
+        }
+        final int count = Math.max(1, workloads.size());
+        return Arrays.asList(
+                new BenchmarkRecord.Metric("single", BenchmarkRecord.Unit.SCORE, getSingleScore(), singleDeviation / count),
+                new BenchmarkRecord.Metric("multi", BenchmarkRecord.Unit.SCORE, getMultiScore(), multiDeviation / count));
+    }
+
+    /**
+     * The results of a single workload.
+     */
+    public static final class WorkloadResult {
+
+        private final CpuWorkload workload;
+        private final BenchmarkStatistics single, multi;
+        private final int threads;
+
+        WorkloadResult(@NotNull final CpuWorkload workload, @NotNull final BenchmarkStatistics single,
+                       @NotNull final BenchmarkStatistics multi, final int threads) {
+            this.workload = workload;
+            this.single = single;
+            this.multi = multi;
+            this.threads = threads;
+        }
+
+        @NotNull
+        public CpuWorkload getWorkload() {
+            return workload;
+        }
+
+        /**
+         * @return The units of work per second of a single thread.
+         */
+        @NotNull
+        public BenchmarkStatistics getSingle() {
+            return single;
+        }
+
+        /**
+         * @return The units of work per second of every thread together.
+         */
+        @NotNull
+        public BenchmarkStatistics getMulti() {
+            return multi;
+        }
+
+        /**
+         * @return The scaling efficiency of this workload as a percentage.
+         */
+        public double getScalingEfficiency() {
+            return single.getMean() == 0d ? 0d : multi.getMean() / (single.getMean() * threads) * 100d;
+        }
+    }
+}
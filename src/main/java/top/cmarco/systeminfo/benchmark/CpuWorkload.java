@@ -0,0 +1,280 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Deflater;
+
+/**
+ * The workloads of the CPU benchmark. Every workload creates a per-thread operation that performs
+ * one fixed unit of work and returns a checksum, so the JIT cannot remove the work.
+ */
+public enum CpuWorkload {
+
+    /**
+     * Multiplications, shifts and divisions on a small integer array, mostly limited by the ALUs.
+     */
+    INTEGER("Integer") {
+        @NotNull
+        @Override
+        Operation create(final long seed) {
+            final int[] data = new int[1024];
+            long state = seed;
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (int) (state = xorShift(state));
+            }
+            return () -> {
+                long accumulator = 0L;
+                for (int i = 0; i < data.length; i++) {
+                    int value = data[i] * 0x9E3779B1 + (data[i] >>> 7);
+                    value ^= value << 13;
+                    accumulator += value / ((value & 0xFF) | 1);
+                    data[i] = value;
+                }
+                return accumulator;
+            };
+        }
+    },
+
+    /**
+     * A Mandelbrot tile, limited by the floating-point units.
+     */
+    FLOATING_POINT("Floating Point") {
+        @NotNull
+        @Override
+        Operation create(final long seed) {
+            final double[] offset = {(seed & 0xFF) / 1024d};
+            return () -> {
+                long iterations = 0L;
+                for (int y = 0; y < 32; y++) {
+                    for (int x = 0; x < 32; x++) {
+                        final double cr = -2.0d + x / 16d + offset[0];
+                        final double ci = -1.0d + y / 16d;
+                        double zr = 0d, zi = 0d;
+                        int n = 0;
+                        while (n < 64 && zr * zr + zi * zi < 4d) {
+                            final double temp = zr * zr - zi * zi + cr;
+                            zi = 2d * zr * zi + ci;
+                            zr = temp;
+                            n++;
+                        }
+                        iterations += n;
+                    }
+                }
+                offset[0] = (offset[0] + 0.001d) % 0.25d;
+                return iterations;
+            };
+        }
+    },
+
+    /**
+     * SHA-256 of a 4 KiB buffer, as done for resource packs and authentication.
+     */
+    HASHING("Hashing") {
+        @NotNull
+        @Override
+        Operation create(final long seed) {
+            final MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (final NoSuchAlgorithmException exception) {
+                throw new IllegalStateException("SHA-256 is not available", exception);
+            }
+            final byte[] buffer = randomBytes(seed, 4096);
+            return () -> {
+                digest.update(buffer);
+                final byte[] hash = digest.digest();
+                buffer[hash[0] & 0xFF] ^= hash[1];
+                return hash[0];
+            };
+        }
+    },
+
+    /**
+     * Deflate of a 16 KiB block of chunk-like data, as done when saving regions and sending chunks.
+     */
+    COMPRESSION("Compression") {
+        @NotNull
+        @Override
+        Operation create(final long seed) {
+            final byte[] input = new byte[16 * 1024];
+            final byte[] output = new byte[32 * 1024];
+            final Deflater deflater = new Deflater();
+            long state = seed;
+            for (int i = 0; i < input.length; i++) {
+                // long runs of the same block id with some noise, similar to serialized chunk sections.
+                state = xorShift(state);
+                input[i] = (state & 0x7) == 0 ? (byte) state : (byte) (i >> 6);
+            }
+            return new Operation() {
+                @Override
+                public long run() {
+                    deflater.reset();
+                    deflater.setInput(input);
+                    deflater.finish();
+                    long compressed = 0L;
+                    while (!deflater.finished()) {
+                        compressed += deflater.deflate(output);
+                    }
+                    input[(int) (compressed & 0x3FFF)]++;
+                    return compressed;
+                }
+
+                @Override
+                public void close() {
+                    deflater.end();
+                }
+            };
+        }
+    },
+
+    /**
+     * Entities moving on a block grid with collision checks and random decisions,
+     * dominated by unpredictable branches and scattered memory accesses like an entity tick.
+     */
+    GAME_LOGIC("Game Logic") {
+        @NotNull
+        @Override
+        Operation create(final long seed) {
+            final int size = 64, entities = 256;
+            final byte[] blocks = randomBytes(seed, size * size);
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = (byte) ((blocks[i] & 0x3) == 0 ? 1 : 0); // a quarter of the blocks are solid.
+            }
+            final int[] x = new int[entities], z = new int[entities], health = new int[entities];
+            final long[] random = {seed | 1L};
+            for (int i = 0; i < entities; i++) {
+                random[0] = xorShift(random[0]);
+                x[i] = (int) (random[0] & (size - 1));
+                z[i] = (int) ((random[0] >>> 8) & (size - 1));
+                health[i] = 20;
+            }
+            return () -> {
+                long moves = 0L;
+                for (int i = 0; i < entities; i++) {
+                    random[0] = xorShift(random[0]);
+                    int targetX = x[i], targetZ = z[i];
+                    switch ((int) (random[0] & 0x7)) {
+                        case 0:
+                            targetX++;
+                            break;
+                        case 1:
+                            targetX--;
+                            break;
+                        case 2:
+                            targetZ++;
+                            break;
+                        case 3:
+                            targetZ--;
+                            break;
+                        case 4:
+                            health[i] = health[i] < 20 ? health[i] + 1 : health[i];
+                            continue;
+                        default:
+                            // look for the closest neighbour, like a mob targeting.
+                            int closest = Integer.MAX_VALUE;
+                            for (int j = (i + 1) & (entities - 1), k = 0; k < 8; j = (j + 31) & (entities - 1), k++) {
+                                final int distance = Math.abs(x[j] - x[i]) + Math.abs(z[j] - z[i]);
+                                if (distance < closest) {
+                                    closest = distance;
+                                    targetX = x[i] + Integer.signum(x[j] - x[i]);
+                                    targetZ = z[i] + Integer.signum(z[j] - z[i]);
+                                }
+                            }
+                            break;
+                    }
+                    targetX &= size - 1;
+                    targetZ &= size - 1;
+                    if (blocks[targetZ * size + targetX] == 0) {
+                        x[i] = targetX;
+                        z[i] = targetZ;
+                        moves++;
+                    } else if (--health[i] <= 0) {
+                        health[i] = 20;
+                    }
+                }
+                return moves;
+            };
+        }
+    };
+
+    private final String displayName;
+
+    CpuWorkload(@NotNull final String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Creates the operation of a single thread. The operation is not thread safe.
+     *
+     * @param seed The seed of the workload data.
+     * @return The operation, performing one unit of work per call.
+     */
+    @NotNull
+    abstract Operation create(long seed);
+
+    /**
+     * @return The name shown in the results.
+     */
+    @NotNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * One unit of work of a workload, bound to a single thread.
+     */
+    interface Operation extends AutoCloseable {
+
+        /**
+         * Performs one unit of work.
+         *
+         * @return A checksum of the work.
+         */
+        long run();
+
+        /**
+         * Releases the native resources of the operation.
+         */
+        @Override
+        default void close() {
+        }
+    }
+
+    static long xorShift(long state) {
+        state ^= state << 13;
+        state ^= state >>> 7;
+        state ^= state << 17;
+        return state;
+    }
+
+    @NotNull
+    static byte[] randomBytes(final long seed, final int length) {
+        final byte[] bytes = new byte[length];
+        long state = seed | 1L;
+        for (int i = 0; i < length; i++) {
+            state = xorShift(state);
+            bytes[i] = (byte) state;
+        }
+        return bytes;
+    }
+}
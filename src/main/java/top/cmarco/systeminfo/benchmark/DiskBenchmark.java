@@ -0,0 +1,280 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and the sync latency of the filesystem holding a directory, usually the world container.
+ * <p>
+ * A single test file is written inside a temporary directory, so the benchmark hits the same volume as the autosaves.
+ * Every worker thread owns a region of the file for the sequential and mapped tests, while the random tests spread
+ * 4 KiB blocks over the whole file. The reads are served by the page cache when the file fits in the free memory,
+ * so the file size should exceed it to measure the device itself. The file and the directory are always deleted.
+ */
+public final class DiskBenchmark {
+
+    private static final int SEQUENTIAL_BLOCK = 1 << 20;
+    private static final int RANDOM_BLOCK = 4 << 10;
+    private static final long MAP_CHUNK = 1L << 30;
+
+    private static volatile long sink = 0L; // keeps the read results alive.
+
+    private final Path parent;
+    private final long fileSize;
+    private final long randomNanos;
+    private final int syncSamples;
+
+    /**
+     * @param parent       The directory whose filesystem is measured.
+     * @param fileSize     The size of the test file in bytes.
+     * @param randomMillis How long every random test runs.
+     * @param syncSamples  The amount of synced writes timed by the latency test.
+     */
+    public DiskBenchmark(@NotNull final Path parent, final long fileSize, final long randomMillis, final int syncSamples) {
+        this.parent = parent;
+        this.fileSize = Math.max(SEQUENTIAL_BLOCK, fileSize / SEQUENTIAL_BLOCK * SEQUENTIAL_BLOCK);
+        this.randomNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(100L, randomMillis));
+        this.syncSamples = Math.max(1, syncSamples);
+    }
+
+    /**
+     * Runs the benchmark. Must be called by the coordinator thread of a {@link BenchmarkExecutor}.
+     *
+     * @param pool The worker threads, one per concurrent I/O stream.
+     * @return The results.
+     * @throws CancellationException If the benchmark is interrupted.
+     * @throws IllegalStateException If the filesystem cannot hold the test file or an I/O operation fails.
+     */
+    @NotNull
+    public DiskBenchmarkResult run(@NotNull final BenchmarkExecutor.WorkerPool pool) {
+        Path directory = null, file = null;
+        try {
+            final FileStore store = Files.getFileStore(parent);
+            if (store.getUsableSpace() < fileSize + fileSize / 10) {
+                throw new IllegalStateException("Not enough free space on " + store.name() + " for a " + (fileSize >> 20) + " MB test file");
+            }
+
+            directory = Files.createTempDirectory(parent, ".systeminfo-benchmark-");
+            file = directory.resolve("benchmark.bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                final double sequentialWrite = sequential(pool, channel, true);
+                final BenchmarkStatistics syncLatency = syncLatency(pool, channel);
+                final double randomWrite = random(pool, channel, true);
+                final double sequentialRead = sequential(pool, channel, false);
+                final double randomRead = random(pool, channel, false);
+                final double mappedRead = mappedRead(pool, channel);
+                return new DiskBenchmarkResult(pool.getSize(), fileSize, store.name(), store.type(), sequentialWrite,
+                        sequentialRead, randomWrite, randomRead, mappedRead, syncLatency);
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The disk benchmark was interrupted");
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException("The disk benchmark failed", exception.getCause());
+        } catch (final IOException exception) {
+            throw new IllegalStateException("The disk benchmark failed", exception);
+        } finally {
+            delete(file);
+            delete(directory);
+        }
+    }
+
+    /* ---------------------- */
+
+    /**
+     * Writes or reads the whole file in 1 MiB blocks, every thread streaming its own region.
+     * The writes are synced before stopping the clock, so the page cache cannot hide them.
+     *
+     * @return The throughput in bytes per second.
+     */
+    private double sequential(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final FileChannel channel,
+                              final boolean write) throws InterruptedException, ExecutionException, IOException {
+        final int threads = pool.getSize();
+        final long blocks = fileSize / SEQUENTIAL_BLOCK;
+        final List<Callable<Long>> tasks = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            final long from = blocks * thread / threads * SEQUENTIAL_BLOCK;
+            final long to = blocks * (thread + 1) / threads * SEQUENTIAL_BLOCK;
+            final long seed = thread + 1L;
+            tasks.add(() -> {
+                final ByteBuffer buffer = block(SEQUENTIAL_BLOCK, seed);
+                for (long position = from; position < to; position += SEQUENTIAL_BLOCK) {
+                    transfer(channel, buffer, position, write);
+                }
+                return to - from;
+            });
+        }
+
+        final long start = System.nanoTime();
+        final long bytes = invokeAll(pool, tasks);
+        if (write) {
+            channel.force(false);
+        }
+        return bytes * 1E9d / (System.nanoTime() - start);
+    }
+
+    /**
+     * Writes or reads 4 KiB blocks at random aligned positions until the test time runs out.
+     *
+     * @return The throughput in bytes per second.
+     */
+    private double random(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final FileChannel channel,
+                          final boolean write) throws InterruptedException, ExecutionException, IOException {
+        final int threads = pool.getSize();
+        final long blocks = fileSize / RANDOM_BLOCK;
+        final long start = System.nanoTime();
+        final long deadline = start + randomNanos;
+        final List<Callable<Long>> tasks = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            final long seed = 0x9E3779B97F4A7C15L * (thread + 1);
+            tasks.add(() -> {
+                final ByteBuffer buffer = block(RANDOM_BLOCK, seed);
+                long state = seed, bytes = 0L;
+                do {
+                    state = CpuWorkload.xorShift(state);
+                    transfer(channel, buffer, (state >>> 1) % blocks * RANDOM_BLOCK, write);
+                    bytes += RANDOM_BLOCK;
+                } while (System.nanoTime() < deadline);
+                return bytes;
+            });
+        }
+
+        final long bytes = invokeAll(pool, tasks);
+        if (write) {
+            channel.force(false);
+        }
+        return bytes * 1E9d / (System.nanoTime() - start);
+    }
+
+    /**
+     * Maps the file and reads every long of it, every thread scanning its own region.
+     *
+     * @return The throughput in bytes per second.
+     */
+    private double mappedRead(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final FileChannel channel)
+            throws InterruptedException, ExecutionException {
+        final int threads = pool.getSize();
+        final long blocks = fileSize / SEQUENTIAL_BLOCK;
+        final List<Callable<Long>> tasks = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            final long from = blocks * thread / threads * SEQUENTIAL_BLOCK;
+            final long to = blocks * (thread + 1) / threads * SEQUENTIAL_BLOCK;
+            tasks.add(() -> {
+                long checksum = 0L;
+                for (long chunk = from; chunk < to; chunk += MAP_CHUNK) {
+                    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk, Math.min(MAP_CHUNK, to - chunk));
+                    final int limit = buffer.limit();
+                    for (int i = 0; i < limit; i += Long.BYTES) {
+                        checksum += buffer.getLong(i);
+                    }
+                }
+                sink ^= checksum;
+                return to - from;
+            });
+        }
+
+        final long start = System.nanoTime();
+        final long bytes = invokeAll(pool, tasks);
+        return bytes * 1E9d / (System.nanoTime() - start);
+    }
+
+    /**
+     * Times single 4 KiB writes each followed by a full sync, as a durable save of a small file would do.
+     *
+     * @return The latency of every synced write in microseconds.
+     */
+    @NotNull
+    private BenchmarkStatistics syncLatency(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final FileChannel channel)
+            throws InterruptedException, ExecutionException {
+        return pool.getExecutor().submit(() -> {
+            final ByteBuffer buffer = block(RANDOM_BLOCK, 0x5DEECE66DL);
+            final long blocks = fileSize / RANDOM_BLOCK;
+            final double[] samples = new double[syncSamples];
+            for (int i = 0; i < syncSamples; i++) {
+                final long start = System.nanoTime();
+                transfer(channel, buffer, i % blocks * RANDOM_BLOCK, true);
+                channel.force(true);
+                samples[i] = (System.nanoTime() - start) / 1E3d;
+            }
+            return BenchmarkStatistics.of(samples);
+        }).get();
+    }
+
+    /* ---------------------- */
+
+    private static long invokeAll(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final List<Callable<Long>> tasks)
+            throws InterruptedException, ExecutionException {
+        long total = 0L;
+        for (final Future<Long> future : pool.getExecutor().invokeAll(tasks)) {
+            total += future.get();
+        }
+        return total;
+    }
+
+    /**
+     * Creates a direct buffer filled with incompressible bytes, so compressing filesystems cannot shrink the writes.
+     */
+    @NotNull
+    private static ByteBuffer block(final int size, final long seed) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        buffer.put(CpuWorkload.randomBytes(seed, size));
+        return buffer;
+    }
+
+    private static void transfer(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer, final long position,
+                                 final boolean write) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            final int transferred = write ? channel.write(buffer, position + buffer.position())
+                    : channel.read(buffer, position + buffer.position());
+            if (transferred < 0) {
+                throw new IOException("Unexpected end of the test file at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private static void delete(final Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException exception) {
+            path.toFile().deleteOnExit(); // still mapped on Windows, released once the JVM exits.
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable class representing the results of a {@link DiskBenchmark} run.
+ * Throughputs are in bytes per second.
+ */
+public final class DiskBenchmarkResult {
+
+    private static final int RANDOM_BLOCK = 4 << 10;
+
+    private final int threads;
+    private final long fileSize;
+    private final String storeName, storeType;
+    private final double sequentialWrite, sequentialRead, randomWrite, randomRead, mappedRead;
+    private final BenchmarkStatistics syncLatency;
+
+    DiskBenchmarkResult(final int threads, final long fileSize, @NotNull final String storeName, @NotNull final String storeType,
+                        final double sequentialWrite, final double sequentialRead, final double randomWrite,
+                        final double randomRead, final double mappedRead, @NotNull final BenchmarkStatistics syncLatency) {
+        this.threads = threads;
+        this.fileSize = fileSize;
+        this.storeName = storeName;
+        this.storeType = storeType;
+        this.sequentialWrite = sequentialWrite;
+        this.sequentialRead = sequentialRead;
+        this.randomWrite = randomWrite;
+        this.randomRead = randomRead;
+        this.mappedRead = mappedRead;
+        this.syncLatency = syncLatency;
+    }
+
+    /**
+     * @return The amount of concurrent I/O streams.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return The size of the test file in bytes.
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * @return The name of the measured filesystem, usually its device.
+     */
+    @NotNull
+    public String getStoreName() {
+        return storeName;
+    }
+
+    /**
+     * @return The type of the measured filesystem, such as ext4.
+     */
+    @NotNull
+    public String getStoreType() {
+        return storeType;
+    }
+
+    public double getSequentialWrite() {
+        return sequentialWrite;
+    }
+
+    public double getSequentialRead() {
+        return sequentialRead;
+    }
+
+    public double getRandomWrite() {
+        return randomWrite;
+    }
+
+    public double getRandomRead() {
+        return randomRead;
+    }
+
+    /**
+     * @return The 4 KiB random writes per second.
+     */
+    public double getRandomWriteIops() {
+        return randomWrite / RANDOM_BLOCK;
+    }
+
+    /**
+     * @return The 4 KiB random reads per second.
+     */
+    public double getRandomReadIops() {
+        return randomRead / RANDOM_BLOCK;
+    }
+
+    /**
+     * @return The read throughput of the memory mapped file.
+     */
+    public double getMappedRead() {
+        return mappedRead;
+    }
+
+    /**
+     * @return The latency of a 4 KiB write followed by a sync, in microseconds.
+     */
+    @NotNull
+    public BenchmarkStatistics getSyncLatency() {
+        return syncLatency;
+    }
+
+    /**
+     * @return The headline metrics kept in the {@link BenchmarkHistory}.
+     */
+    @NotNull
+    public List<BenchmarkRecord.Metric> toMetrics() {
+        return Arrays.asList(
+                new BenchmarkRecord.Metric("sequential-read", BenchmarkRecord.Unit.BYTES_PER_SECOND, sequentialRead, 0d),
+                new BenchmarkRecord.Metric("sequential-write", BenchmarkRecord.Unit.BYTES_PER_SECOND, sequentialWrite, 0d),
+                new BenchmarkRecord.Metric("random-read", BenchmarkRecord.Unit.OPERATIONS_PER_SECOND, getRandomReadIops(), 0d),
+                new BenchmarkRecord.Metric("random-write", BenchmarkRecord.Unit.OPERATIONS_PER_SECOND, getRandomWriteIops(), 0d),
+                new BenchmarkRecord.Metric("mapped-read", BenchmarkRecord.Unit.BYTES_PER_SECOND, mappedRead, 0d),
+                new BenchmarkRecord.Metric("sync-p50", BenchmarkRecord.Unit.MICROSECONDS, syncLatency.getPercentile(0.50d), 0d),
+                new BenchmarkRecord.Metric("sync-p99", BenchmarkRecord.Unit.MICROSECONDS, syncLatency.getPercentile(0.99d), 0d));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemValues;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable class describing the hardware and software a benchmark ran on,
+ * so a change of results can be told apart from a change of host.
+ */
+public final class HardwareFingerprint {
+
+    private final String cpuModel, cpuStepping;
+    private final long memoryTotal;
+    private final String kernelVersion, jvmVersion;
+
+    HardwareFingerprint(@NotNull final String cpuModel, @NotNull final String cpuStepping, final long memoryTotal,
+                        @NotNull final String kernelVersion, @NotNull final String jvmVersion) {
+        this.cpuModel = cpuModel;
+        this.cpuStepping = cpuStepping;
+        this.memoryTotal = memoryTotal;
+        this.kernelVersion = kernelVersion;
+        this.jvmVersion = jvmVersion;
+    }
+
+    /**
+     * Take the fingerprint of the machine running the server.
+     *
+     * @param systemValues The system values.
+     * @return The current fingerprint.
+     */
+    @NotNull
+    public static HardwareFingerprint of(@NotNull final SystemValues systemValues) {
+        final RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
+        return new HardwareFingerprint(systemValues.getCpuModelName(), systemValues.getCpuStepping(),
+                systemValues.getMaxMemory2(), systemValues.getKernelVersion(),
+                runtimeMXBean.getVmVendor() + " " + runtimeMXBean.getVmVersion());
+    }
+
+    @NotNull
+    public String getCpuModel() {
+        return cpuModel;
+    }
+
+    @NotNull
+    public String getCpuStepping() {
+        return cpuStepping;
+    }
+
+    /**
+     * @return The total physical memory in bytes.
+     */
+    public long getMemoryTotal() {
+        return memoryTotal;
+    }
+
+    @NotNull
+    public String getKernelVersion() {
+        return kernelVersion;
+    }
+
+    @NotNull
+    public String getJvmVersion() {
+        return jvmVersion;
+    }
+
+    /**
+     * @return A short identifier of this fingerprint.
+     */
+    @NotNull
+    public String getId() {
+        return String.format("%08x", hashCode());
+    }
+
+    /**
+     * Lists what changed from another fingerprint.
+     *
+     * @param previous The older fingerprint.
+     * @return A readable line for every difference, empty if they match.
+     */
+    @NotNull
+    public List<String> getDifferences(@NotNull final HardwareFingerprint previous) {
+        final List<String> differences = new ArrayList<>();
+        if (!cpuModel.equals(previous.cpuModel)) {
+            differences.add("CPU: " + previous.cpuModel + " -> " + cpuModel);
+        }
+        if (!cpuStepping.equals(previous.cpuStepping)) {
+            differences.add("CPU stepping: " + previous.cpuStepping + " -> " + cpuStepping);
+        }
+        if (memoryTotal != previous.memoryTotal) {
+            differences.add("Memory: " + previous.memoryTotal + " -> " + memoryTotal + " bytes");
+        }
+        if (!kernelVersion.equals(previous.kernelVersion)) {
+            differences.add("Kernel: " + previous.kernelVersion + " -> " + kernelVersion);
+        }
+        if (!jvmVersion.equals(previous.jvmVersion)) {
+            differences.add("JVM: " + previous.jvmVersion + " -> " + jvmVersion);
+        }
+        return differences;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof HardwareFingerprint)) {
+            return false;
+        }
+        final HardwareFingerprint other = (HardwareFingerprint) object;
+        return memoryTotal == other.memoryTotal && cpuModel.equals(other.cpuModel) && cpuStepping.equals(other.cpuStepping)
+                && kernelVersion.equals(other.kernelVersion) && jvmVersion.equals(other.jvmVersion);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cpuModel, cpuStepping, memoryTotal, kernelVersion, jvmVersion);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the memory bandwidth with the four STREAM kernels and the memory latency with a pointer chase.
+ * <p>
+ * Every buffer is allocated off-heap, so the benchmark does not grow the server heap nor trigger collections.
+ * The bandwidth kernels run on every worker thread, each on its own slice of the arrays, since a single core
+ * cannot saturate the memory controller. The latency test follows a random cycle through one cache line at a
+ * time across growing working sets, so the time per load steps up whenever the working set leaves a cache level.
+ */
+public final class MemoryBenchmark {
+
+    private static final int CACHE_LINE = 64;
+    private static final int INTS_PER_LINE = CACHE_LINE / Integer.BYTES;
+    private static final long MIN_LATENCY_LOADS = 4_000_000L;
+    private static final double SCALAR = 3.0d;
+
+    private static volatile double sink = 0d; // keeps the kernel results alive.
+
+    private final long arrayBytes;
+    private final long maxWorkingSet;
+    private final int iterations;
+
+    /**
+     * @param arrayBytes    The size of every STREAM array in bytes.
+     * @param maxWorkingSet The largest working set of the latency test in bytes.
+     * @param iterations    The times every kernel is repeated, the best run is kept.
+     */
+    public MemoryBenchmark(final long arrayBytes, final long maxWorkingSet, final int iterations) {
+        this.arrayBytes = Math.max(1L << 20, Math.min(Integer.MAX_VALUE, arrayBytes)) & ~(CACHE_LINE - 1L);
+        this.maxWorkingSet = Math.max(16L << 10, Math.min(Integer.MAX_VALUE, maxWorkingSet));
+        this.iterations = Math.max(1, iterations);
+    }
+
+    /**
+     * Runs the benchmark. Must be called by the coordinator thread of a {@link BenchmarkExecutor}.
+     *
+     * @param pool The worker threads.
+     * @return The results.
+     * @throws CancellationException If the benchmark is interrupted.
+     */
+    @NotNull
+    public MemoryBenchmarkResult run(@NotNull final BenchmarkExecutor.WorkerPool pool) {
+        try {
+            final List<MemoryBenchmarkResult.Bandwidth> bandwidths = measureBandwidth(pool);
+            final List<MemoryBenchmarkResult.Latency> latencies = measureLatency(pool);
+            return new MemoryBenchmarkResult(pool.getSize(), arrayBytes, bandwidths, latencies);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The memory benchmark was interrupted");
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException("The memory benchmark failed", exception.getCause());
+        }
+    }
+
+    /* ---------------------- */
+
+    @NotNull
+    private List<MemoryBenchmarkResult.Bandwidth> measureBandwidth(@NotNull final BenchmarkExecutor.WorkerPool pool)
+            throws InterruptedException, ExecutionException {
+        final int threads = pool.getSize();
+        final int elements = (int) (arrayBytes / Double.BYTES);
+        final ByteBuffer a = allocate(arrayBytes), b = allocate(arrayBytes), c = allocate(arrayBytes);
+
+        final DoubleBuffer[][] slices = new DoubleBuffer[threads][];
+        final int sliceElements = elements / threads;
+        for (int thread = 0; thread < threads; thread++) {
+            final int from = thread * sliceElements;
+            final int to = thread == threads - 1 ? elements : from + sliceElements;
+            slices[thread] = new DoubleBuffer[]{slice(a, from, to), slice(b, from, to), slice(c, from, to)};
+        }
+
+        runKernel(pool, slices, StreamKernel.INIT); // touches every page before measuring.
+        final List<MemoryBenchmarkResult.Bandwidth> results = new ArrayList<>();
+        for (final StreamKernel kernel : StreamKernel.MEASURED) {
+            final double[] samples = new double[iterations];
+            for (int i = 0; i < iterations; i++) {
+                final long elapsed = runKernel(pool, slices, kernel);
+                samples[i] = (double) kernel.bytesPerElement * elements / (elapsed / 1E9d);
+            }
+            results.add(new MemoryBenchmarkResult.Bandwidth(kernel.displayName, BenchmarkStatistics.of(samples)));
+        }
+        return results;
+    }
+
+    private static long runKernel(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final DoubleBuffer[][] slices,
+                                  @NotNull final StreamKernel kernel) throws InterruptedException, ExecutionException {
+        final List<Callable<Double>> tasks = new ArrayList<>(slices.length);
+        for (final DoubleBuffer[] slice : slices) {
+            tasks.add(() -> kernel.run(slice[0], slice[1], slice[2]));
+        }
+
+        final long start = System.nanoTime();
+        double checksum = 0d;
+        for (final Future<Double> future : pool.getExecutor().invokeAll(tasks)) {
+            checksum += future.get();
+        }
+        final long elapsed = System.nanoTime() - start;
+        sink += checksum;
+        return elapsed;
+    }
+
+    private enum StreamKernel {
+        INIT("Init", 24) {
+            @Override
+            double run(@NotNull final DoubleBuffer a, @NotNull final DoubleBuffer b, @NotNull final DoubleBuffer c) {
+                final int length = a.limit();
+                for (int i = 0; i < length; i++) {
+                    a.put(i, 1.0d);
+                    b.put(i, 2.0d);
+                    c.put(i, 0.0d);
+                }
+                return a.get(length - 1);
+            }
+        },
+        COPY("Copy", 16) {
+            @Override
+            double run(@NotNull final DoubleBuffer a, @NotNull final DoubleBuffer b, @NotNull final DoubleBuffer c) {
+                final int length = a.limit();
+                for (int i = 0; i < length; i++) {
+                    c.put(i, a.get(i));
+                }
+                return c.get(length - 1);
+            }
+        },
+        SCALE("Scale", 16) {
+            @Override
+            double run(@NotNull final DoubleBuffer a, @NotNull final DoubleBuffer b, @NotNull final DoubleBuffer c) {
+                final int length = a.limit();
+                for (int i = 0; i < length; i++) {
+                    b.put(i, SCALAR * c.get(i));
+                }
+                return b.get(length - 1);
+            }
+        },
+        ADD("Add", 24) {
+            @Override
+            double run(@NotNull final DoubleBuffer a, @NotNull final DoubleBuffer b, @NotNull final DoubleBuffer c) {
+                final int length = a.limit();
+                for (int i = 0; i < length; i++) {
+                    c.put(i, a.get(i) + b.get(i));
+                }
+                return c.get(length - 1);
+            }
+        },
+        TRIAD("Triad", 24) {
+            @Override
+            double run(@NotNull final DoubleBuffer a, @NotNull final DoubleBuffer b, @NotNull final DoubleBuffer c) {
+                final int length = a.limit();
+                for (int i = 0; i < length; i++) {
+                    a.put(i, b.get(i) + SCALAR * c.get(i));
+                }
+                return a.get(length - 1);
+            }
+        };
+
+        private static final StreamKernel[] MEASURED = {COPY, SCALE, ADD, TRIAD};
+
+        private final String displayName;
+        private final int bytesPerElement;
+
+        StreamKernel(@NotNull final String displayName, final int bytesPerElement) {
+            this.displayName = displayName;
+            this.bytesPerElement = bytesPerElement;
+        }
+
+        abstract double run(@NotNull DoubleBuffer a, @NotNull DoubleBuffer b, @NotNull DoubleBuffer c);
+    }
+
+    /* ---------------------- */
+
+    @NotNull
+    private List<MemoryBenchmarkResult.Latency> measureLatency(@NotNull final BenchmarkExecutor.WorkerPool pool)
+            throws InterruptedException, ExecutionException {
+        final List<MemoryBenchmarkResult.Latency> results = new ArrayList<>();
+        for (long workingSet = 16L << 10; workingSet <= maxWorkingSet; workingSet <<= 1) {
+            final long size = workingSet;
+            final double[] samples = new double[iterations];
+            // a single thread, but on a worker so it keeps the lowest priority.
+            final IntBuffer chain = pool.getExecutor().submit(() -> buildChain(size)).get();
+            if (results.isEmpty()) {
+                pool.getExecutor().submit(() -> chase(chain)).get(); // discarded, lets the JIT compile the loop.
+            }
+            for (int i = 0; i < iterations; i++) {
+                samples[i] = pool.getExecutor().submit(() -> chase(chain)).get();
+            }
+            results.add(new MemoryBenchmarkResult.Latency(size, BenchmarkStatistics.of(samples)));
+        }
+        return results;
+    }
+
+    /**
+     * Links the first int of every cache line of the working set into a single random cycle (Sattolo's algorithm),
+     * so every load depends on the previous one and the hardware prefetchers cannot guess the next line.
+     */
+    @NotNull
+    private static IntBuffer buildChain(final long workingSet) {
+        final int lines = (int) (workingSet / CACHE_LINE);
+        final IntBuffer chain = allocate(workingSet).asIntBuffer();
+        final int[] order = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            order[i] = i;
+        }
+
+        long random = 0x2545F4914F6CDD1DL;
+        for (int i = lines - 1; i > 0; i--) {
+            random = CpuWorkload.xorShift(random);
+            final int j = (int) ((random >>> 1) % i);
+            final int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int i = 0; i < lines; i++) {
+            chain.put(order[i] * INTS_PER_LINE, order[(i + 1) % lines] * INTS_PER_LINE);
+        }
+        return chain;
+    }
+
+    /**
+     * Follows the chain, once to load it into the caches and then measuring.
+     *
+     * @return The nanoseconds per load.
+     */
+    private static double chase(@NotNull final IntBuffer chain) {
+        final int lines = chain.limit() / INTS_PER_LINE;
+        int pointer = 0;
+        for (int i = 0; i < lines; i++) {
+            pointer = chain.get(pointer);
+        }
+
+        final long loads = Math.max(MIN_LATENCY_LOADS, lines * 2L);
+        final long start = System.nanoTime();
+        for (long i = 0; i < loads; i++) {
+            pointer = chain.get(pointer);
+        }
+        final long elapsed = System.nanoTime() - start;
+        sink += pointer;
+        return (double) elapsed / loads;
+    }
+
+    /* ---------------------- */
+
+    @NotNull
+    private static ByteBuffer allocate(final long bytes) {
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    @NotNull
+    private static DoubleBuffer slice(@NotNull final ByteBuffer buffer, final int from, final int to) {
+        final ByteBuffer duplicate = buffer.duplicate().order(ByteOrder.nativeOrder());
+        final java.nio.Buffer view = duplicate; // Java 8 compatible Buffer calls.
+        view.limit(to * Double.BYTES);
+        view.position(from * Double.BYTES);
+        return duplicate.slice().order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable class representing the results of a {@link MemoryBenchmark} run.
+ */
+public final class MemoryBenchmarkResult {
+
+    private final int threads;
+    private final long arrayBytes;
+    private final List<Bandwidth> bandwidths;
+    private final List<Latency> latencies;
+
+    MemoryBenchmarkResult(final int threads, final long arrayBytes, @NotNull final List<Bandwidth> bandwidths,
+                          @NotNull final List<Latency> latencies) {
+        this.threads = threads;
+        this.arrayBytes = arrayBytes;
+        this.bandwidths = Collections.unmodifiableList(bandwidths);
+        this.latencies = Collections.unmodifiableList(latencies);
+    }
+
+    /**
+     * @return The amount of threads used by the bandwidth kernels.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return The size of every STREAM array in bytes.
+     */
+    public long getArrayBytes() {
+        return arrayBytes;
+    }
+
+    /**
+     * @return The results of the copy, scale, add and triad kernels.
+     */
+    @NotNull
+    public List<Bandwidth> getBandwidths() {
+        return bandwidths;
+    }
+
+    /**
+     * @return The load latency of every working set, from the smallest to the largest.
+     */
+    @NotNull
+    public List<Latency> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return The headline metrics kept in the {@link BenchmarkHistory}: the best bandwidth of every kernel
+     * and the latency of the largest working set.
+     */
+    @NotNull
+    public List<BenchmarkRecord.Metric> toMetrics() {
+        final List<BenchmarkRecord.Metric> metrics = new ArrayList<>();
+        for (final Bandwidth bandwidth : bandwidths) {
+            metrics.add(new BenchmarkRecord.Metric(bandwidth.kernel.toLowerCase(), BenchmarkRecord.Unit.BYTES_PER_SECOND,
+                    bandwidth.getBest(), bandwidth.statistics.getRelativeDeviation()));
+        }
+        if (!latencies.isEmpty()) {
+            final Latency latency = latencies.get(latencies.size() - 1);
+            metrics.add(new BenchmarkRecord.Metric("latency", BenchmarkRecord.Unit.NANOSECONDS,
+                    latency.getBest(), latency.statistics.getRelativeDeviation()));
+        }
+        return metrics;
+    }
+
+    /**
+     * The results of a single STREAM kernel.
+     */
+    public static final class Bandwidth {
+
+        private final String kernel;
+        private final BenchmarkStatistics statistics;
+
+        Bandwidth(@NotNull final String kernel, @NotNull final BenchmarkStatistics statistics) {
+            this.kernel = kernel;
+            this.statistics = statistics;
+        }
+
+        @NotNull
+        public String getKernel() {
+            return kernel;
+        }
+
+        /**
+         * @return The bandwidth of every iteration in bytes per second.
+         */
+        @NotNull
+        public BenchmarkStatistics getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * @return The best bandwidth in bytes per second, as STREAM reports it.
+         */
+        public double getBest() {
+            return statistics.getMax();
+        }
+    }
+
+    /**
+     * The load latency of a single working set.
+     */
+    public static final class Latency {
+
+        private final long workingSet;
+        private final BenchmarkStatistics statistics;
+
+        Latency(final long workingSet, @NotNull final BenchmarkStatistics statistics) {
+            this.workingSet = workingSet;
+            this.statistics = statistics;
+        }
+
+        /**
+         * @return The working set size in bytes.
+         */
+        public long getWorkingSet() {
+            return workingSet;
+        }
+
+        /**
+         * @return The nanoseconds per load of every iteration.
+         */
+        @NotNull
+        public BenchmarkStatistics getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * @return The lowest nanoseconds per load.
+         */
+        public double getBest() {
+            return statistics.getMin();
+        }
+    }
+}
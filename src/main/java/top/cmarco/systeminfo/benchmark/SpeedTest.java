@@ -0,0 +1,307 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the network throughput and latency between this machine and an HTTP endpoint.
+ * <p>
+ * Every worker thread opens its own HTTP stream, so a single TCP congestion window does not limit the result.
+ * Transfers are bound by time rather than by size: a download is requested again when the body ends before the
+ * test time, and uploads are sent as fixed size POST requests until the time runs out. The first fifth of every
+ * transfer is excluded from the throughput, since it is dominated by the TCP slow start.
+ * The latency is the TCP connect time to the download host, which costs exactly one round trip.
+ */
+public final class SpeedTest {
+
+    private static final int BUFFER_SIZE = 64 << 10;
+    private static final long UPLOAD_REQUEST_BYTES = 32L << 20;
+    private static final int TIMEOUT_MILLIS = 5_000;
+    private static final long SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    private final URL downloadUrl;
+    private final URL uploadUrl;
+    private final long durationNanos;
+    private final int latencySamples;
+    private final long progressNanos;
+    private final ProgressListener listener;
+
+    /**
+     * @param downloadUrl    The resource downloaded by the streams, any size works.
+     * @param uploadUrl      The resource receiving the POST requests, or null to skip the upload test.
+     * @param durationMillis How long every transfer direction runs.
+     * @param latencySamples The amount of TCP connects timed.
+     * @param progressMillis The wall-clock interval between progress reports.
+     * @param listener       The progress listener, called by the coordinator thread.
+     */
+    public SpeedTest(@NotNull final URL downloadUrl, @Nullable final URL uploadUrl, final long durationMillis,
+                     final int latencySamples, final long progressMillis, @NotNull final ProgressListener listener) {
+        this.downloadUrl = downloadUrl;
+        this.uploadUrl = uploadUrl;
+        this.durationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1_000L, durationMillis));
+        this.latencySamples = Math.max(1, latencySamples);
+        this.progressNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(250L, progressMillis));
+        this.listener = listener;
+    }
+
+    /**
+     * @return A rough estimate of how long the test runs in milliseconds.
+     */
+    public long getEstimatedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos) * (uploadUrl == null ? 1L : 2L);
+    }
+
+    /**
+     * Runs the test. Must be called by the coordinator thread of a {@link BenchmarkExecutor}.
+     *
+     * @param pool The worker threads, one per stream.
+     * @return The results.
+     * @throws CancellationException If the test is interrupted.
+     * @throws IllegalStateException If the endpoint cannot be reached.
+     */
+    @NotNull
+    public SpeedTestResult run(@NotNull final BenchmarkExecutor.WorkerPool pool) {
+        try {
+            final double[] latencies = measureLatency();
+            final double download = transfer(pool, Phase.DOWNLOAD);
+            final double upload = uploadUrl == null ? -1d : transfer(pool, Phase.UPLOAD);
+            return new SpeedTestResult(pool.getSize(), downloadUrl.getHost(), BenchmarkStatistics.of(latencies),
+                    jitter(latencies), download, upload);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The speedtest was interrupted");
+        } catch (final IOException exception) {
+            throw new IllegalStateException("Could not reach " + downloadUrl.getHost() + ": " + exception.getLocalizedMessage(), exception);
+        }
+    }
+
+    /* ---------------------- */
+
+    /**
+     * Times TCP connects to the download host, resolving it only once so DNS is not measured.
+     *
+     * @return The connect time of every sample in milliseconds.
+     */
+    @NotNull
+    private double[] measureLatency() throws IOException, InterruptedException {
+        final int port = downloadUrl.getPort() == -1 ? downloadUrl.getDefaultPort() : downloadUrl.getPort();
+        final InetSocketAddress address = new InetSocketAddress(InetAddress.getByName(downloadUrl.getHost()), port);
+        final double[] samples = new double[latencySamples];
+        for (int i = 0; i < latencySamples; i++) {
+            try (Socket socket = new Socket()) {
+                final long start = System.nanoTime();
+                socket.connect(address, TIMEOUT_MILLIS);
+                samples[i] = (System.nanoTime() - start) / 1E6d;
+            }
+            Thread.sleep(50L); // spreads the samples, so they see the jitter of the link.
+        }
+        return samples;
+    }
+
+    /**
+     * Computes the mean difference between consecutive samples, the way VoIP tools define jitter.
+     */
+    private static double jitter(@NotNull final double[] samples) {
+        double sum = 0d;
+        for (int i = 1; i < samples.length; i++) {
+            sum += Math.abs(samples[i] - samples[i - 1]);
+        }
+        return samples.length < 2 ? 0d : sum / (samples.length - 1);
+    }
+
+    /**
+     * Runs one stream per worker thread until the test time runs out, reporting the progress meanwhile.
+     *
+     * @return The aggregated throughput after the slow start in bytes per second.
+     */
+    private double transfer(@NotNull final BenchmarkExecutor.WorkerPool pool, @NotNull final Phase phase)
+            throws IOException, InterruptedException {
+        final LongAdder bytes = new LongAdder();
+        final long start = System.nanoTime();
+        final long deadline = start + durationNanos;
+        final List<Future<?>> streams = new ArrayList<>(pool.getSize());
+        for (int stream = 0; stream < pool.getSize(); stream++) {
+            final long seed = 0x9E3779B97F4A7C15L * (stream + 1);
+            streams.add(pool.getExecutor().submit(() -> {
+                if (phase == Phase.DOWNLOAD) {
+                    download(bytes, deadline);
+                } else {
+                    upload(bytes, deadline, seed);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            final long rampEnd = start + durationNanos / 5;
+            long rampTime = start, rampBytes = -1L, reportTime = start, reportBytes = 0L, now;
+            while ((now = System.nanoTime()) < deadline) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(SAMPLE_NANOS, deadline - now));
+                now = System.nanoTime();
+                final long total = bytes.sum();
+                if (rampBytes < 0L && now >= rampEnd) {
+                    rampTime = now;
+                    rampBytes = total;
+                }
+                if (now - reportTime >= progressNanos && now < deadline) {
+                    listener.onProgress(phase, (now - start) * 100d / durationNanos, (total - reportBytes) * 1E9d / (now - reportTime));
+                    reportTime = now;
+                    reportBytes = total;
+                }
+            }
+            final long total = bytes.sum();
+            final long end = System.nanoTime();
+
+            IOException failure = null;
+            for (final Future<?> stream : streams) {
+                try {
+                    stream.get();
+                } catch (final ExecutionException exception) {
+                    failure = exception.getCause() instanceof IOException ? (IOException) exception.getCause()
+                            : new IOException(exception.getCause());
+                }
+            }
+            if (total == 0L && failure != null) {
+                throw failure;
+            }
+            return (total - Math.max(0L, rampBytes)) * 1E9d / (end - rampTime);
+        } finally {
+            streams.forEach(stream -> stream.cancel(true));
+        }
+    }
+
+    private void download(@NotNull final LongAdder bytes, final long deadline) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (System.nanoTime() < deadline) {
+            final HttpURLConnection connection = open(downloadUrl);
+            try {
+                checkStatus(connection);
+                try (InputStream inputStream = connection.getInputStream()) {
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        bytes.add(read);
+                        if (System.nanoTime() >= deadline) {
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private void upload(@NotNull final LongAdder bytes, final long deadline, final long seed) throws IOException {
+        final byte[] buffer = CpuWorkload.randomBytes(seed, BUFFER_SIZE);
+        while (System.nanoTime() < deadline) {
+            final HttpURLConnection connection = open(uploadUrl);
+            try {
+                connection.setDoOutput(true);
+                connection.setRequestMethod("POST");
+                connection.setRequestProperty("Content-Type", "application/octet-stream");
+                connection.setFixedLengthStreamingMode(UPLOAD_REQUEST_BYTES);
+
+                // the stream is not closed on timeout, since closing an incomplete fixed length body throws.
+                final OutputStream outputStream = connection.getOutputStream();
+                for (long sent = 0L; sent < UPLOAD_REQUEST_BYTES; sent += BUFFER_SIZE) {
+                    outputStream.write(buffer);
+                    bytes.add(BUFFER_SIZE);
+                    if (System.nanoTime() >= deadline) {
+                        return;
+                    }
+                }
+                outputStream.close();
+                checkStatus(connection);
+            } finally {
+                connection.disconnect();
+            }
+        }
+    }
+
+    @NotNull
+    private static HttpURLConnection open(@NotNull final URL url) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.setUseCaches(false);
+        connection.setRequestProperty("User-Agent", "SystemInfo");
+        connection.setRequestProperty("Accept-Encoding", "identity");
+        return connection;
+    }
+
+    private static void checkStatus(@NotNull final HttpURLConnection connection) throws IOException {
+        final int status = connection.getResponseCode();
+        if (status >= 400) {
+            throw new IOException("HTTP " + status + " from " + connection.getURL().getHost());
+        }
+    }
+
+    /**
+     * The transfer direction of a test phase.
+     */
+    public enum Phase {
+        DOWNLOAD("Download"),
+        UPLOAD("Upload");
+
+        private final String displayName;
+
+        Phase(@NotNull final String displayName) {
+            this.displayName = displayName;
+        }
+
+        @NotNull
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Receives the progress of a running test.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called every progress interval while a transfer runs.
+         *
+         * @param phase          The running phase.
+         * @param percent        The elapsed part of the phase as a percentage.
+         * @param bytesPerSecond The throughput since the previous report.
+         */
+        void onProgress(@NotNull Phase phase, double percent, double bytesPerSecond);
+    }
+}
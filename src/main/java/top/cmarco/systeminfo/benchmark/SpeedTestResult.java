@@ -0,0 +1,112 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable class representing the results of a {@link SpeedTest} run.
+ * Throughputs are in bytes per second, latencies in milliseconds.
+ */
+public final class SpeedTestResult {
+
+    private final int streams;
+    private final String host;
+    private final BenchmarkStatistics latency;
+    private final double jitter, download, upload;
+
+    SpeedTestResult(final int streams, @NotNull final String host, @NotNull final BenchmarkStatistics latency,
+                    final double jitter, final double download, final double upload) {
+        this.streams = streams;
+        this.host = host;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.download = download;
+        this.upload = upload;
+    }
+
+    /**
+     * @return The amount of parallel HTTP streams.
+     */
+    public int getStreams() {
+        return streams;
+    }
+
+    /**
+     * @return The host of the tested endpoint.
+     */
+    @NotNull
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return The TCP connect time of every latency sample.
+     */
+    @NotNull
+    public BenchmarkStatistics getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return The mean difference between consecutive latency samples.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * @return The aggregated download throughput.
+     */
+    public double getDownload() {
+        return download;
+    }
+
+    /**
+     * @return Whether the upload test ran.
+     */
+    public boolean hasUpload() {
+        return upload >= 0d;
+    }
+
+    /**
+     * @return The aggregated upload throughput, or a negative value when the upload test did not run.
+     */
+    public double getUpload() {
+        return upload;
+    }
+
+    /**
+     * @return The headline metrics kept in the {@link BenchmarkHistory}.
+     */
+    @NotNull
+    public List<BenchmarkRecord.Metric> toMetrics() {
+        final List<BenchmarkRecord.Metric> metrics = new ArrayList<>(3);
+        metrics.add(new BenchmarkRecord.Metric("download", BenchmarkRecord.Unit.BYTES_PER_SECOND, download, 0d));
+        if (hasUpload()) {
+            metrics.add(new BenchmarkRecord.Metric("upload", BenchmarkRecord.Unit.BYTES_PER_SECOND, upload, 0d));
+        }
+        metrics.add(new BenchmarkRecord.Metric("latency", BenchmarkRecord.Unit.MILLISECONDS,
+                latency.getPercentile(0.50d), latency.getRelativeDeviation()));
+        return metrics;
+    }
+}
@@ -19,7 +19,9 @@
 package top.cmarco.systeminfo.commands;
 
 import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
 
 import java.util.List;
@@ -58,4 +60,18 @@ public abstract class SystemInfoCommand extends Command {
         super(name, description, usageMessage, aliases);
         this.systemInfo = systemInfo;
     }
+
+    /**
+     * Tells the sender to retry later while the hardware is still being discovered in the background.
+     *
+     * @param sender The command sender.
+     * @return True if the hardware is not discovered yet, and the command must not touch OSHI.
+     */
+    protected boolean warmingUp(@NotNull CommandSender sender) {
+        if (systemInfo.getSystemValues().isReady()) {
+            return false;
+        }
+        sender.sendMessage(Messages.WARMING_UP.value(true));
+        return true;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.commands.benchmark;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.benchmark.BenchmarkKind;
+import top.cmarco.systeminfo.benchmark.BenchmarkRecord;
+import top.cmarco.systeminfo.benchmark.BenchmarkRegression;
+import top.cmarco.systeminfo.benchmark.HardwareFingerprint;
+import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+import java.util.List;
+
+/**
+ * Utility class storing finished benchmark runs in the {@link top.cmarco.systeminfo.benchmark.BenchmarkHistory}
+ * and telling the sender how they compare with the previous runs.
+ */
+public final class BenchmarkReports {
+
+    private BenchmarkReports() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Records a finished run, then reports the hardware changes and the regressions to the sender.
+     *
+     * @param systemInfo The SystemInfo plugin instance.
+     * @param sender     The sender who started the run.
+     * @param kind       The benchmark kind.
+     * @param metrics    The headline metrics of the run.
+     */
+    public static void record(@NotNull SystemInfo systemInfo, @NotNull CommandSender sender, @NotNull BenchmarkKind kind,
+                              @NotNull List<BenchmarkRecord.Metric> metrics) {
+        final BenchmarkRecord previous = systemInfo.getBenchmarkHistory().getLatest(kind);
+        final List<BenchmarkRegression> regressions = systemInfo.getBenchmarkHistory().record(kind, metrics);
+
+        if (previous != null) {
+            final List<String> differences = HardwareFingerprint.of(systemInfo.getSystemValues()).getDifferences(previous.getFingerprint());
+            if (!differences.isEmpty()) {
+                sender.sendMessage(Messages.BENCHMARK_HARDWARE_CHANGED.format(String.join(", ", differences)));
+            }
+        }
+
+        for (final BenchmarkRegression regression : regressions) {
+            final BenchmarkRecord.Metric metric = regression.getMetric();
+            sender.sendMessage(Messages.BENCHMARK_REGRESSION.format(metric.getName(), format(metric.getValue(), metric.getUnit()),
+                    format(regression.getBaselineMean(), metric.getUnit()), FastFormat.percent(regression.getChange(), 1)));
+        }
+    }
+
+    /**
+     * Formats a metric value with its unit.
+     *
+     * @param value The value.
+     * @param unit  The unit.
+     * @return The formatted value.
+     */
+    @NotNull
+    public static String format(double value, @NotNull BenchmarkRecord.Unit unit) {
+        switch (unit) {
+            case BYTES_PER_SECOND:
+                return FastFormat.rate((long) value);
+            case OPERATIONS_PER_SECOND:
+                return FastFormat.fixed(value, 0) + "/s";
+            case NANOSECONDS:
+                return FastFormat.fixed(value, 1) + "ns";
+            case MICROSECONDS:
+                return FastFormat.fixed(value, 0) + "µs";
+            case MILLISECONDS:
+                return FastFormat.fixed(value, 1) + "ms";
+            default:
+                return FastFormat.fixed(value, 0);
+        }
+    }
+}
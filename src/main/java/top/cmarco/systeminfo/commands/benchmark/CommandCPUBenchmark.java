@@ -20,13 +20,32 @@ package top.cmarco.systeminfo.commands.benchmark;
 
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.PhysicalMemory;
+import top.cmarco.systeminfo.benchmark.BenchmarkKind;
+import top.cmarco.systeminfo.benchmark.BenchmarkStatistics;
+import top.cmarco.systeminfo.benchmark.CpuBenchmark;
+import top.cmarco.systeminfo.benchmark.CpuBenchmarkResult;
+import top.cmarco.systeminfo.benchmark.DiskBenchmark;
+import top.cmarco.systeminfo.benchmark.DiskBenchmarkResult;
+import top.cmarco.systeminfo.benchmark.MemoryBenchmark;
+import top.cmarco.systeminfo.benchmark.MemoryBenchmarkResult;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.oshi.SystemValues;
 import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.FastFormat;
 
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class represents a Spigot command to perform a CPU benchmark test.
+ * The benchmark runs on the low priority threads of the {@link top.cmarco.systeminfo.benchmark.BenchmarkExecutor},
+ * never on the server threads, and reports the single-core and multi-core scores of every workload.
+ * The "memory" and "disk" arguments run the {@link MemoryBenchmark} and the {@link DiskBenchmark} instead.
  */
 public final class CommandCPUBenchmark extends SystemInfoCommand {
 
@@ -36,11 +55,212 @@ public final class CommandCPUBenchmark extends SystemInfoCommand {
      * @param systemInfo   The `SystemInfo` instance to use for system information.
      */
     public CommandCPUBenchmark(@NotNull SystemInfo systemInfo) {
-        super(systemInfo, "cpubenchmark", "Benchmark your CPU.", "/<command>", Collections.singletonList("benchmark"));
+        super(systemInfo, "cpubenchmark", "Benchmark your CPU.", "/<command> [memory|disk]", Collections.singletonList("benchmark"));
     }
 
+    /**
+     * Executes the "/cpubenchmark" command.
+     *
+     * @param sender The command sender.
+     * @param s      The command name.
+     * @param args   The command arguments.
+     * @return True if the command was executed successfully; otherwise, false.
+     */
     @Override
-    public boolean execute(CommandSender commandSender, String s, String[] strings) {
-        return false;
+    public boolean execute(CommandSender sender, @NotNull String s, String[] args) {
+        if (args.length > 1) {
+            sender.sendMessage(Messages.OUT_OF_ARGS.value(true));
+            return true;
+        }
+        if (warmingUp(sender)) {
+            return true;
+        }
+        if (args.length == 1) {
+            if (args[0].equalsIgnoreCase("memory")) {
+                runMemoryBenchmark(sender);
+            } else if (args[0].equalsIgnoreCase("disk")) {
+                runDiskBenchmark(sender);
+            } else {
+                sender.sendMessage(Messages.INVALID_ARGS.value(true));
+            }
+            return true;
+        }
+        if (!sender.hasPermission("systeminfo.commands.cpubenchmark")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return true;
+        }
+
+        final SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+        final CpuBenchmark benchmark = new CpuBenchmark(config.getCpuBenchmarkWarmupIterations(),
+                config.getCpuBenchmarkIterations(), config.getCpuBenchmarkIterationTime());
+        final CompletableFuture<CpuBenchmarkResult> future = systemInfo.getBenchmarkExecutor()
+                .run(config.getBenchmarkThreads(), benchmark::run);
+
+        if (future == null) {
+            sender.sendMessage(Messages.BENCHMARK_RUNNING.value(true));
+            return true;
+        }
+
+        sender.sendMessage(Messages.CPU_BENCHMARK_STARTED.format(FastFormat.duration(benchmark.getEstimatedMillis())));
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Messages.BENCHMARK_FAILED.format(throwable.getLocalizedMessage()));
+                return;
+            }
+            printResult(sender, result);
+            BenchmarkReports.record(systemInfo, sender, BenchmarkKind.CPU, result.toMetrics());
+        });
+        return true;
+    }
+
+    /**
+     * Starts a memory benchmark and reports its results once completed.
+     *
+     * @param sender The command sender.
+     */
+    private void runMemoryBenchmark(@NotNull CommandSender sender) {
+        if (!sender.hasPermission("systeminfo.commands.memorybenchmark")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+
+        final SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+        final MemoryBenchmark benchmark = new MemoryBenchmark(config.getMemoryBenchmarkArraySize(),
+                config.getMemoryBenchmarkMaxWorkingSet(), config.getMemoryBenchmarkIterations());
+        final CompletableFuture<MemoryBenchmarkResult> future = systemInfo.getBenchmarkExecutor()
+                .run(config.getBenchmarkThreads(), benchmark::run);
+
+        if (future == null) {
+            sender.sendMessage(Messages.BENCHMARK_RUNNING.value(true));
+            return;
+        }
+
+        sender.sendMessage(Messages.MEMORY_BENCHMARK_STARTED.value(true));
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Messages.BENCHMARK_FAILED.format(throwable.getLocalizedMessage()));
+                return;
+            }
+            printResult(sender, result);
+            BenchmarkReports.record(systemInfo, sender, BenchmarkKind.MEMORY, result.toMetrics());
+        });
+    }
+
+    /**
+     * Starts a disk benchmark on the filesystem of the world container and reports its results once completed.
+     *
+     * @param sender The command sender.
+     */
+    private void runDiskBenchmark(@NotNull CommandSender sender) {
+        if (!sender.hasPermission("systeminfo.commands.diskbenchmark")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+
+        final SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+        final Path worldContainer = systemInfo.getServer().getWorldContainer().toPath().toAbsolutePath();
+        final DiskBenchmark benchmark = new DiskBenchmark(worldContainer, config.getDiskBenchmarkFileSize(),
+                config.getDiskBenchmarkRandomTime(), config.getDiskBenchmarkSyncSamples());
+        final CompletableFuture<DiskBenchmarkResult> future = systemInfo.getBenchmarkExecutor()
+                .run(config.getDiskBenchmarkThreads(), benchmark::run);
+
+        if (future == null) {
+            sender.sendMessage(Messages.BENCHMARK_RUNNING.value(true));
+            return;
+        }
+
+        sender.sendMessage(Messages.DISK_BENCHMARK_STARTED.format(worldContainer));
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Messages.BENCHMARK_FAILED.format(throwable.getLocalizedMessage()));
+                return;
+            }
+            printResult(sender, result);
+            BenchmarkReports.record(systemInfo, sender, BenchmarkKind.DISK, result.toMetrics());
+        });
+    }
+
+    /**
+     * Displays the results of a CPU benchmark.
+     *
+     * @param sender The command sender.
+     * @param result The benchmark results.
+     */
+    private void printResult(@NotNull CommandSender sender, @NotNull CpuBenchmarkResult result) {
+        sender.sendMessage(Messages.CPU_BENCHMARK_HEADER.value(true));
+        sender.sendMessage(Messages.BENCHMARK_PROCESSOR.format(systemInfo.getSystemValues().getCpuModelName()));
+        sender.sendMessage(Messages.CPU_BENCHMARK_SCORES.format(FastFormat.fixed(result.getSingleScore(), 0),
+                FastFormat.fixed(result.getMultiScore(), 0)));
+        sender.sendMessage(Messages.CPU_BENCHMARK_SCALING.format(FastFormat.percent(result.getScalingEfficiency(), 1), result.getThreads()));
+
+        for (final CpuBenchmarkResult.WorkloadResult workload : result.getWorkloads()) {
+            final BenchmarkStatistics single = workload.getSingle();
+            final BenchmarkStatistics multi = workload.getMulti();
+            sender.sendMessage(Messages.CPU_BENCHMARK_WORKLOAD.format(workload.getWorkload().getDisplayName(),
+                    FastFormat.fixed(single.getMean(), 0), FastFormat.percent(single.getRelativeDeviation(), 1),
+                    FastFormat.fixed(multi.getMean(), 0), FastFormat.percent(multi.getRelativeDeviation(), 1),
+                    FastFormat.percent(workload.getScalingEfficiency(), 1)));
+        }
+    }
+
+    /**
+     * Displays the results of a memory benchmark, together with the processor caches and memory modules.
+     *
+     * @param sender The command sender.
+     * @param result The benchmark results.
+     */
+    private void printResult(@NotNull CommandSender sender, @NotNull MemoryBenchmarkResult result) {
+        final SystemValues values = systemInfo.getSystemValues();
+        sender.sendMessage(Messages.MEMORY_BENCHMARK_HEADER.value(true));
+        sender.sendMessage(Messages.BENCHMARK_PROCESSOR.format(values.getCpuModelName()));
+
+        final StringBuilder caches = new StringBuilder();
+        for (final CentralProcessor.ProcessorCache cache : values.getProcessorCaches()) {
+            if (cache.getType() == CentralProcessor.ProcessorCache.Type.INSTRUCTION) {
+                continue;
+            }
+            caches.append(Messages.MEMORY_BENCHMARK_CACHE.format(cache.getLevel(), FastFormat.bytes(cache.getCacheSize())));
+        }
+        if (caches.length() != 0) {
+            sender.sendMessage(Messages.MEMORY_BENCHMARK_CACHES.format(caches));
+        }
+
+        sender.sendMessage(Messages.MEMORY_BENCHMARK_MEMORY.format(values.getMaxMemory()));
+        for (final PhysicalMemory module : values.getPhysicalMemory()) {
+            sender.sendMessage(Messages.MEMORY_BENCHMARK_MODULE.format(module.getBankLabel(), FastFormat.bytes(module.getCapacity()),
+                    module.getMemoryType(), module.getClockSpeed() / 1_000_000L, module.getManufacturer()));
+        }
+
+        sender.sendMessage(Messages.MEMORY_BENCHMARK_BANDWIDTH.format(result.getThreads(), FastFormat.bytes(result.getArrayBytes())));
+        for (final MemoryBenchmarkResult.Bandwidth bandwidth : result.getBandwidths()) {
+            sender.sendMessage(Messages.MEMORY_BENCHMARK_KERNEL.format(bandwidth.getKernel(), FastFormat.rate((long) bandwidth.getBest()),
+                    FastFormat.rate((long) bandwidth.getStatistics().getMean())));
+        }
+
+        sender.sendMessage(Messages.MEMORY_BENCHMARK_LATENCY.value(true));
+        for (final MemoryBenchmarkResult.Latency latency : result.getLatencies()) {
+            sender.sendMessage(Messages.MEMORY_BENCHMARK_WORKING_SET.format(FastFormat.bytes(latency.getWorkingSet()),
+                    FastFormat.fixed(latency.getBest(), 1), FastFormat.fixed(latency.getStatistics().getMean(), 1)));
+        }
+    }
+
+    /**
+     * Displays the results of a disk benchmark.
+     *
+     * @param sender The command sender.
+     * @param result The benchmark results.
+     */
+    private void printResult(@NotNull CommandSender sender, @NotNull DiskBenchmarkResult result) {
+        final BenchmarkStatistics sync = result.getSyncLatency();
+        sender.sendMessage(Messages.DISK_BENCHMARK_HEADER.value(true));
+        sender.sendMessage(Messages.DISK_BENCHMARK_FILESYSTEM.format(result.getStoreName(), result.getStoreType()));
+        sender.sendMessage(Messages.DISK_BENCHMARK_FILE.format(FastFormat.bytes(result.getFileSize()), result.getThreads()));
+        sender.sendMessage(Messages.DISK_BENCHMARK_SEQUENTIAL.format(FastFormat.rate((long) result.getSequentialRead()),
+                FastFormat.rate((long) result.getSequentialWrite())));
+        sender.sendMessage(Messages.DISK_BENCHMARK_RANDOM.format(FastFormat.fixed(result.getRandomReadIops(), 0),
+                FastFormat.fixed(result.getRandomWriteIops(), 0)));
+        sender.sendMessage(Messages.DISK_BENCHMARK_MAPPED.format(FastFormat.rate((long) result.getMappedRead())));
+        sender.sendMessage(Messages.DISK_BENCHMARK_SYNC.format(FastFormat.fixed(sync.getPercentile(0.50d) / 1E3d, 2),
+                FastFormat.fixed(sync.getPercentile(0.99d) / 1E3d, 2), FastFormat.fixed(sync.getMax() / 1E3d, 2)));
     }
 }
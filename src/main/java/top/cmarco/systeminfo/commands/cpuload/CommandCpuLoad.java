@@ -25,7 +25,7 @@ import oshi.util.Util;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.utils.Utils;
+import top.cmarco.systeminfo.utils.FastFormat;
 
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
@@ -66,6 +66,9 @@ public final class CommandCpuLoad extends SystemInfoCommand {
     public boolean execute(@NotNull CommandSender sender, @NotNull String s, String[] args) {
         if (args.length == 0) {
             if (sender.hasPermission("systeminfo.commands.cpuload")) {
+                if (warmingUp(sender)) {
+                    return true;
+                }
                 printCpuLoad(sender);
                 return true;
             } else {
@@ -108,10 +111,10 @@ public final class CommandCpuLoad extends SystemInfoCommand {
         final TaskScheduler scheduler = getScheduler();
 
         scheduler.runTaskAsynchronously(() -> {
-            StringBuilder cpuLoads = new StringBuilder("&7Load per core:&a");
+            StringBuilder cpuLoads = new StringBuilder();
             double[] load = systemInfo.getSystemValues().getProcessorCpuLoadBetweenTicks(previousMultiTicks);
             for (final double average : load) {
-                cpuLoads.append(String.format(" %.1f%%", average * 100));
+                FastFormat.appendPercent(cpuLoads.append(' '), average * 100, 1);
             }
             scheduler.runTask(() -> future.complete(cpuLoads.toString()));
         });
@@ -125,11 +128,11 @@ public final class CommandCpuLoad extends SystemInfoCommand {
      * @param sender The command sender.
      */
     private void printCpuLoad(@NotNull CommandSender sender) {
-        sender.sendMessage(Utils.color("&2» &7System load: &2«"));
+        sender.sendMessage(Messages.CPULOAD_HEADER.value(true));
 
         getCpuLoad().thenAcceptBothAsync(getAverageLoads(), (cpuload, loads) -> {
-            sender.sendMessage(Utils.color(String.format("&7Cpu load: &a%.2f%%", cpuload)));
-            sender.sendMessage(Utils.color(loads));
+            sender.sendMessage(Messages.CPULOAD_TOTAL.format(FastFormat.percent(cpuload, 2)));
+            sender.sendMessage(Messages.CPULOAD_CORES.format(loads));
         });
     }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import top.cmarco.systeminfo.plugin.SystemInfo;
 import top.cmarco.systeminfo.utils.Utils;
 
 import java.util.Collections;
+import java.util.List;
 /**
  * The `CommandDevices` class is a Spigot command that allows players with the appropriate permission to retrieve a list
  * of system devices using the "/devices" command.
@@ -58,6 +59,9 @@ public final class CommandDevices extends SystemInfoCommand {
     @Override
     public boolean execute(CommandSender sender, String name, String[] args) {
         if (sender.hasPermission("systeminfo.commands.devices")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
             if (args.length == 0) {
                 printDevices(sender);
                 return true;
@@ -71,26 +75,42 @@ public final class CommandDevices extends SystemInfoCommand {
     }
 
     /**
-     * Displays a list of system devices to the sender.
+     * Enumerates the system devices on a collector thread, then displays them to the sender.
      *
      * @param sender The command sender.
      */
     private void printDevices(CommandSender sender) {
-        sender.sendMessage(Utils.color("&2» &7Attached devices &2«"));
-        sender.sendMessage(Utils.color("&2» &7List:"));
-        for (UsbDevice usb : systemInfo.getSystemValues().getUsbDevices()) {
-            sender.sendMessage(Utils.color("&7- &a" + usb.getVendor() + " " + usb.getSerialNumber()));
+        systemInfo.getSystemValues().getUsbDevicesAsync().whenComplete((devices, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Messages.COLLECTOR_FAILED.format(throwable.getLocalizedMessage()));
+                return;
+            }
+            printDevices(sender, devices);
+        });
+    }
+
+    /**
+     * Displays a list of system devices to the sender.
+     *
+     * @param sender  The command sender.
+     * @param devices The USB devices attached to the system.
+     */
+    private void printDevices(CommandSender sender, List<UsbDevice> devices) {
+        sender.sendMessage(Messages.DEVICES_HEADER.value(true));
+        sender.sendMessage(Messages.DEVICES_LIST.value(true));
+        for (UsbDevice usb : devices) {
+            sender.sendMessage(Messages.DEVICES_DEVICE.format(usb.getVendor(), usb.getSerialNumber()));
 
             if (sender instanceof Player) {
                 Player player = (Player) sender;
                 player.spigot().sendMessage(Utils.builderHover(" &7Serial-ID &8[&a*&8]&r", usb.getSerialNumber()));
             } else {
-                sender.sendMessage(Utils.color(String.format(" &7Serial-ID &8[&a%s&8]&r", usb.getSerialNumber())));
+                sender.sendMessage(Messages.DEVICES_SERIAL.format(usb.getSerialNumber()));
             }
 
             usb.getConnectedDevices();
             for (final UsbDevice subUsb : usb.getConnectedDevices()) {
-                sender.sendMessage(Utils.color((" &7|- &a" + subUsb.getVendor() + " " + subUsb.getName())));
+                sender.sendMessage(Messages.DEVICES_CHILD.format(subUsb.getVendor(), subUsb.getName()));
             }
         }
     }
@@ -29,6 +29,7 @@ import top.cmarco.systeminfo.plugin.SystemInfo;
 import top.cmarco.systeminfo.utils.Utils;
 
 import java.util.Collections;
+import java.util.List;
 /**
  * The `CommandDisks` class is a Spigot command that allows players with the appropriate permission to retrieve a list
  * of system disks and their details using the "/disks" command.
@@ -58,12 +59,11 @@ public final class CommandDisks extends SystemInfoCommand {
     @Override
     public boolean execute(CommandSender sender, @NotNull String name, String[] args) {
         if (sender.hasPermission("systeminfo.commands.disks")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
             if (args.length == 0) {
-                try {
-                    printDisks(sender);
-                } catch (IllegalArgumentException e) {
-                    sender.sendMessage("&c» Could not obtain info from this system.");
-                }
+                printDisks(sender);
                 return true;
             } else {
                 sender.sendMessage(Messages.OUT_OF_ARGS.value(true));
@@ -75,15 +75,31 @@ public final class CommandDisks extends SystemInfoCommand {
     }
 
     /**
-     * Displays a list of system disks and their details to the sender.
+     * Enumerates the system disks on a collector thread, then displays them to the sender.
      *
      * @param sender The command sender.
      */
     private void printDisks(CommandSender sender) {
+        systemInfo.getSystemValues().getDiskStoresAsync().whenComplete((disks, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Messages.COLLECTOR_FAILED.format(throwable.getLocalizedMessage()));
+                return;
+            }
+            printDisks(sender, disks);
+        });
+    }
+
+    /**
+     * Displays a list of system disks and their details to the sender.
+     *
+     * @param sender The command sender.
+     * @param disks  The disks of the system.
+     */
+    private void printDisks(CommandSender sender, List<HWDiskStore> disks) {
 
         if (sender instanceof Player) {
             Player player = (Player) sender;
-            for (HWDiskStore disk : systemInfo.getSystemValues().getDiskStores()) {
+            for (HWDiskStore disk : disks) {
                 player.spigot().sendMessage(Utils.builderHover("&7[" + disk.getName() + " " + disk.getModel(),
                         "&7Serial: &a" + disk.getSerial()
                                 + "\n&7Disk Read: &a" + Utils.formatData(disk.getReadBytes())
@@ -94,7 +110,7 @@ public final class CommandDisks extends SystemInfoCommand {
                 }
             }
         } else {
-            for (HWDiskStore disk : systemInfo.getSystemValues().getDiskStores()) {
+            for (HWDiskStore disk : disks) {
                 final String diskStr = "&7[" + disk.getName() + " " + disk.getModel() +
                         "&7Serial: &a" + disk.getSerial()
                         + "\n&7Disk Read: &a" + Utils.formatData(disk.getReadBytes())
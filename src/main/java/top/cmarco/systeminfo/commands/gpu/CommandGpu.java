@@ -52,22 +52,25 @@ public class CommandGpu extends SystemInfoCommand {
     private void printGPUs(@NotNull CommandSender sender) {
         SystemValues systemValues = super.systemInfo.getSystemValues();
 
-        sender.sendMessage(Utils.color("&2«« &7GPUs info &2»»"));
+        sender.sendMessage(Messages.GPU_HEADER.value(true));
 
         List<GraphicsCard> gpus = systemValues.getGPUs();
         for (int i = 0; i < gpus.size(); i++) {
             final GraphicsCard gpu = gpus.get(i);
-            sender.sendMessage(Utils.color("&aGPU &l" + (i+1) + "&r&7:"));
-            sender.sendMessage(Utils.color(" &a| &7GPU Vendor: &a" + gpu.getVendor()));
-            sender.sendMessage(Utils.color(" &a| &7GPU Name: &a" + gpu.getName()));
-            sender.sendMessage(Utils.color(" &a| &7GPU Version: &a" + gpu.getVersionInfo()));
-            sender.sendMessage(Utils.color(" &a| &7GPU VRAM: &a" + Utils.formatDataBits(gpu.getVRam())));
+            sender.sendMessage(Messages.GPU_INDEX.format(i + 1));
+            sender.sendMessage(Messages.GPU_VENDOR.format(gpu.getVendor()));
+            sender.sendMessage(Messages.GPU_NAME.format(gpu.getName()));
+            sender.sendMessage(Messages.GPU_VERSION.format(gpu.getVersionInfo()));
+            sender.sendMessage(Messages.GPU_VRAM.format(Utils.formatDataBits(gpu.getVRam())));
         }
     }
 
     @Override
     public boolean execute(CommandSender sender, String s, String[] args) {
         if (sender.hasPermission("systeminfo.commands.gpu")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
             if (args.length == 0) {
                 printGPUs(sender);
                 return true;
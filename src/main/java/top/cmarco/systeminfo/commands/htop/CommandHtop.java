@@ -26,6 +26,7 @@ import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
 import top.cmarco.systeminfo.utils.Utils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -58,6 +59,9 @@ public final class CommandHtop extends SystemInfoCommand {
     @Override
     public boolean execute(CommandSender sender, @NotNull String name, String[] args) {
         if (sender.hasPermission("systeminfo.commands.htop")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
             if (args.length == 0) {
                 printHtop(sender);
                 return true;
@@ -75,27 +79,44 @@ public final class CommandHtop extends SystemInfoCommand {
     }
 
     /**
-     * Displays a list of processes running on the system to the sender.
+     * Lists the processes on a collector thread, then displays them to the sender.
      *
      * @param sender The command sender.
      */
     private void printHtop(CommandSender sender) {
-        sender.sendMessage(Utils.color("&2« &7Htop &2»"));
-        sender.sendMessage(Utils.color("&7Processes: &a" + systemInfo.getSystemValues().getRunningProcesses() +
-                " &7Threads: &a" + systemInfo.getSystemValues().getThreadCount()));
-        sender.sendMessage(Utils.color("&7    PID  %CPU %MEM     VSZ            NAME"));
-        List<OSProcess> processes = systemInfo.getSystemValues().getOSProcesses();
+        systemInfo.getSystemValues().getOSProcessesAsync().whenComplete((processes, throwable) -> {
+            if (throwable != null) {
+                sender.sendMessage(Messages.COLLECTOR_FAILED.format(throwable.getLocalizedMessage()));
+                return;
+            }
+            // the listing is shared with the other callers, sort a copy.
+            printHtop(sender, new ArrayList<>(processes));
+        });
+    }
+
+    /**
+     * Displays a list of processes running on the system to the sender.
+     *
+     * @param sender    The command sender.
+     * @param processes The processes running on the system.
+     */
+    private void printHtop(CommandSender sender, List<OSProcess> processes) {
+        sender.sendMessage(Messages.HTOP_HEADER.value(true));
+        sender.sendMessage(Messages.HTOP_SUMMARY.format(systemInfo.getSystemValues().getRunningProcesses(),
+                systemInfo.getSystemValues().getThreadCount()));
+        sender.sendMessage(Messages.HTOP_COLUMNS.value(true));
         processes.sort((proc1, proc2) -> (int) (getOsProcPercentage(proc2) - getOsProcPercentage(proc1)));
 
         for (int i = 0; i < processes.size() && i < 8; i++) {
             OSProcess osProcess = processes.get(i);
-            sender.sendMessage(Utils.color(String.format(" &8%5d &7%5.1f %s %9s %9s &a%s",
-                    osProcess.getProcessID(),
-                    100d * (osProcess.getKernelTime() + osProcess.getUserTime()) / osProcess.getUpTime(),
+            // the columns are padded here, the message only places them.
+            sender.sendMessage(Messages.HTOP_PROCESS.format(
+                    String.format("%5d", osProcess.getProcessID()),
+                    String.format("%5.1f", 100d * (osProcess.getKernelTime() + osProcess.getUserTime()) / osProcess.getUpTime()),
                     Utils.formatData(100 * osProcess.getResidentSetSize() / systemInfo.getSystemValues().getMaxMemory2()),
-                    Utils.formatData(osProcess.getVirtualSize()),
-                    Utils.formatData(osProcess.getResidentSetSize()),
-                    osProcess.getName())));
+                    String.format("%9s", Utils.formatData(osProcess.getVirtualSize())),
+                    String.format("%9s", Utils.formatData(osProcess.getResidentSetSize())),
+                    osProcess.getName()));
         }
     }
 }
@@ -23,11 +23,10 @@ import org.jetbrains.annotations.NotNull;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.utils.Utils;
+import top.cmarco.systeminfo.utils.ProcessUtils;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
-import java.lang.reflect.Method;
 import java.util.Collections;
 
 public final class CommandJava extends SystemInfoCommand {
@@ -49,15 +48,14 @@ public final class CommandJava extends SystemInfoCommand {
      */
     public static void printJava(@NotNull CommandSender sender) {
         final RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
-        sender.sendMessage(Utils.color("&2«« &7Java Information&2»»"));
-        sender.sendMessage(Utils.color("&7Version: &a" + runtimeMXBean.getSpecVersion()));
-        sender.sendMessage(Utils.color("&7Vendor: &a" + runtimeMXBean.getVmVendor()));
-        sender.sendMessage(Utils.color("&7Args: &a" + String.join(" ", runtimeMXBean.getInputArguments())));
-        try {
-            final Method getPidMethod = runtimeMXBean.getClass().getMethod("getPid");
-            final Object methodReturnVal = getPidMethod.invoke(runtimeMXBean);
-            sender.sendMessage(Utils.color("&7Process ID: &a" + methodReturnVal));
-        } catch (Exception ignored) {}
+        sender.sendMessage(Messages.JAVA_HEADER.value(true));
+        sender.sendMessage(Messages.JAVA_VERSION.format(runtimeMXBean.getSpecVersion()));
+        sender.sendMessage(Messages.JAVA_VENDOR.format(runtimeMXBean.getVmVendor()));
+        sender.sendMessage(Messages.JAVA_ARGS.format(String.join(" ", runtimeMXBean.getInputArguments())));
+        final long pid = ProcessUtils.getPid();
+        if (pid >= 0L) {
+            sender.sendMessage(Messages.JAVA_PID.format(pid));
+        }
     }
 
     /**
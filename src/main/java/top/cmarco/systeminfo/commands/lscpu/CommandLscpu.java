@@ -24,7 +24,6 @@ import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.oshi.SystemValues;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.utils.Utils;
 
 import java.util.Collections;
 
@@ -58,6 +57,9 @@ public final class CommandLscpu extends SystemInfoCommand {
     @Override
     public boolean execute(CommandSender sender, String name, String[] args) {
         if (sender.hasPermission("systeminfo.commands.lscpu")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
             if (args.length == 0) {
                 printLscpu(sender);
                 return true;
@@ -77,13 +79,13 @@ public final class CommandLscpu extends SystemInfoCommand {
      */
     private void printLscpu(CommandSender sender) {
         SystemValues values = systemInfo.getSystemValues();
-        sender.sendMessage(Utils.color("&2«« &7Cpu info &2»»"));
-        sender.sendMessage(Utils.color("&7Operating System: &a" + values.getOSFamily() + " " + values.getOSManufacturer() + " " + values.getOSVersion()));
-        sender.sendMessage(Utils.color("&7Cpu Vendor: &a" + values.getCpuVendor()));
-        sender.sendMessage(Utils.color("&7Cpu Model: &a" + values.getCpuModel() + " " + values.getCpuModelName()));
-        sender.sendMessage(Utils.color("&7Cpu Clock Rate: &a" + values.getCpuMaxFrequency()));
-        sender.sendMessage(Utils.color("&7Cpu Stepping: &a" + values.getCpuStepping()));
-        sender.sendMessage(Utils.color("&7Physical Cores: &a" + values.getCpuCores()));
-        sender.sendMessage(Utils.color("&7Logical Cores: &a" + values.getCpuThreads()));
+        sender.sendMessage(Messages.LSCPU_HEADER.value(true));
+        sender.sendMessage(Messages.LSCPU_OS.format(values.getOSFamily(), values.getOSManufacturer(), values.getOSVersion()));
+        sender.sendMessage(Messages.LSCPU_VENDOR.format(values.getCpuVendor()));
+        sender.sendMessage(Messages.LSCPU_MODEL.format(values.getCpuModel(), values.getCpuModelName()));
+        sender.sendMessage(Messages.LSCPU_CLOCK.format(values.getCpuMaxFrequency()));
+        sender.sendMessage(Messages.LSCPU_STEPPING.format(values.getCpuStepping()));
+        sender.sendMessage(Messages.LSCPU_PHYSICAL_CORES.format(values.getCpuCores()));
+        sender.sendMessage(Messages.LSCPU_LOGICAL_CORES.format(values.getCpuThreads()));
     }
 }
@@ -22,6 +22,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.HumanEntity;
 import org.jetbrains.annotations.NotNull;
+import oshi.hardware.GraphicsCard;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.oshi.SystemValues;
@@ -61,7 +62,8 @@ public final class CommandNeofetch extends SystemInfoCommand {
         strings.offerLast("&aKernel&f: " + values.getKernelVersion());
         strings.offerLast("&aUptime&f: " + (1 + ChronoUnit.MINUTES.between(instance.getStartupTime(), LocalDateTime.now())) + "m");
         strings.offerLast("&aCPU&f: " + values.getCpuModelName() + " (" + values.getCpuCores() + ") @ " + values.getCpuMaxFrequency() + "GHz");
-        strings.offerLast("&aGPU&f: " + values.getMainGPU().getVendor() + " " + values.getMainGPU().getName());
+        GraphicsCard gpu = values.getMainGPU();
+        strings.offerLast("&aGPU&f: " + (gpu == null ? "None" : gpu.getVendor() + " " + gpu.getName()));
         strings.offerLast("&aMemory&f: " + values.getUsedMemory() + " / " + values.getMaxMemory());
         strings.offerLast("&aJava&f: " + javaMx.getVmVendor() + " " + javaMx.getVmVersion());
         strings.offerLast("&aMinecraft Version&f: " + Bukkit.getBukkitVersion());
@@ -105,6 +107,9 @@ public final class CommandNeofetch extends SystemInfoCommand {
     @Override
     public boolean execute(CommandSender sender, String s, String[] args) {
         if (sender.hasPermission("systeminfo.commands.neofetch")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
 
             if (sender instanceof HumanEntity) {
                 sender.sendMessage(Messages.CONSOLE_ONLY.value(true));
@@ -1,17 +1,22 @@
 package top.cmarco.systeminfo.commands.network;
 
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
 import top.cmarco.systeminfo.protocol.BukkitNetworkingManager;
+import top.cmarco.systeminfo.protocol.TcpConnectionMonitor;
+import top.cmarco.systeminfo.protocol.TcpHealthData;
+import top.cmarco.systeminfo.protocol.TcpSocketStats;
 import top.cmarco.systeminfo.utils.Utils;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.lang.reflect.Method;
-import java.util.Collections;
+import java.util.*;
 
 public class CommandNetwork extends SystemInfoCommand {
     /**
@@ -22,18 +27,85 @@ public class CommandNetwork extends SystemInfoCommand {
     public CommandNetwork(@NotNull SystemInfo systemInfo) {
         super(systemInfo, "network",
                 "shows information about your Network",
-                "/<command>",
+                "/<command> [tcp [player]]",
                 Collections.emptyList());
     }
 
     public static void printNetwork(@NotNull CommandSender sender) {
-        sender.sendMessage(Utils.color("&2«« &7Network Info &2»»"));
-        sender.sendMessage(Utils.color("&7Packet received: &a" + SystemInfo.networkingManager.getTotalReceivedPackets()));
-        sender.sendMessage(Utils.color("&7Packet sent: &a" + SystemInfo.networkingManager.getTotalSentPackets()));
-        sender.sendMessage(Utils.color("&7Bytes received: &a" + Utils.formatData(SystemInfo.networkingManager.getTotalReceivedBytes())));
-        sender.sendMessage(Utils.color("&7Bytes sent: &a" + Utils.formatData(SystemInfo.networkingManager.getTotalSentBytes())));
+        sender.sendMessage(Messages.NETWORK_HEADER.value(true));
+        sender.sendMessage(Messages.NETWORK_PACKETS_RECEIVED.format(SystemInfo.networkingManager.getTotalReceivedPackets()));
+        sender.sendMessage(Messages.NETWORK_PACKETS_SENT.format(SystemInfo.networkingManager.getTotalSentPackets()));
+        sender.sendMessage(Messages.NETWORK_BYTES_RECEIVED.format(Utils.formatData(SystemInfo.networkingManager.getTotalReceivedBytes())));
+        sender.sendMessage(Messages.NETWORK_BYTES_SENT.format(Utils.formatData(SystemInfo.networkingManager.getTotalSentBytes())));
     }
 
+    /**
+     * Print the aggregate TCP health of all the player connections, and the players with the largest send queues.
+     *
+     * @param sender The CommandSender.
+     * @param data   The latest TCP health data.
+     */
+    private static void printTcpHealth(@NotNull CommandSender sender, @NotNull TcpHealthData data) {
+        sender.sendMessage(Messages.TCP_HEADER.value(true));
+        sender.sendMessage(Messages.TCP_CONNECTIONS.format(data.getPlayerStats().size()));
+        printDistribution(sender, "Send queue", data.getSendQueue(), true);
+        printDistribution(sender, "Receive queue", data.getReceiveQueue(), true);
+        printDistribution(sender, "Retransmits", data.getRetransmits(), false);
+        final TcpHealthData.Distribution rto = data.getRto();
+        sender.sendMessage(Messages.TCP_DISTRIBUTION.format("RTO", rto.getP50() + "ms", rto.getP95() + "ms",
+                rto.getP99() + "ms", rto.getMax() + "ms"));
+
+        final List<Map.Entry<UUID, TcpSocketStats>> entries = new ArrayList<>(data.getPlayerStats().entrySet());
+        entries.sort((first, second) -> Integer.compare(second.getValue().getSendQueue(), first.getValue().getSendQueue()));
+        for (int i = 0; i < entries.size() && i < 5; i++) {
+            final OfflinePlayer player = Bukkit.getOfflinePlayer(entries.get(i).getKey());
+            printSocket(sender, String.valueOf(player.getName()), entries.get(i).getValue());
+        }
+    }
+
+    private static void printDistribution(@NotNull CommandSender sender, @NotNull String name,
+                                          @NotNull TcpHealthData.Distribution distribution, boolean bytes) {
+        sender.sendMessage(Messages.TCP_DISTRIBUTION.format(name, format(distribution.getP50(), bytes),
+                format(distribution.getP95(), bytes), format(distribution.getP99(), bytes), format(distribution.getMax(), bytes)));
+    }
+
+    private static String format(long value, boolean bytes) {
+        return bytes ? Utils.formatData(value) : Long.toString(value);
+    }
+
+    private static void printSocket(@NotNull CommandSender sender, @NotNull String playerName, @NotNull TcpSocketStats stats) {
+        sender.sendMessage(Messages.TCP_SOCKET.format(playerName, Utils.formatData(stats.getSendQueue()),
+                Utils.formatData(stats.getReceiveQueue()), stats.getRetransmits(), stats.getRtoMillis(),
+                stats.getCongestionWindow(), stats.getTimerName(), stats.getTimerExpiresMillis()));
+    }
+
+    /**
+     * Handles the "/network tcp [player]" subcommand.
+     *
+     * @param sender The command sender.
+     * @param args   The command arguments.
+     */
+    private void tcp(@NotNull CommandSender sender, @NotNull String[] args) {
+        final TcpConnectionMonitor monitor = systemInfo.getTcpConnectionMonitor();
+        if (monitor == null) {
+            sender.sendMessage(Messages.TCP_DISABLED.value(true));
+            return;
+        }
+
+        final TcpHealthData data = monitor.getHealthData();
+        if (args.length == 1) {
+            printTcpHealth(sender, data);
+            return;
+        }
+
+        final OfflinePlayer player = Bukkit.getPlayerExact(args[1]);
+        final TcpSocketStats stats = player == null ? null : data.getPlayerStats(player.getUniqueId());
+        if (stats == null) {
+            sender.sendMessage(Messages.TCP_NOT_FOUND.format(args[1]));
+            return;
+        }
+        printSocket(sender, args[1], stats);
+    }
 
     @Override
     public boolean execute(CommandSender sender, @NotNull String name, String[] args) {
@@ -41,6 +113,9 @@ public class CommandNetwork extends SystemInfoCommand {
             if (args.length == 0) {
                 printNetwork(sender);
                 return true;
+            } else if (args.length <= 2 && args[0].equalsIgnoreCase("tcp")) {
+                tcp(sender, args);
+                return true;
             } else {
                 sender.sendMessage(Messages.OUT_OF_ARGS.value(true));
             }
@@ -20,6 +20,7 @@ package top.cmarco.systeminfo.commands.register;
 
 import org.jetbrains.annotations.NotNull;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
+import top.cmarco.systeminfo.commands.benchmark.CommandCPUBenchmark;
 import top.cmarco.systeminfo.commands.cpuload.CommandCpuLoad;
 import top.cmarco.systeminfo.commands.devices.CommandDevices;
 import top.cmarco.systeminfo.commands.disks.CommandDisks;
@@ -59,6 +60,7 @@ public enum CommandType {
     JAVA("Java", CommandJava.class),
     GPU("Gpu", CommandGpu.class),
     NEOFETCH("Neofetch", CommandNeofetch.class),
+    CPU_BENCHMARK("CPU Benchmark", CommandCPUBenchmark.class),
     ;
 
     private final String displayName;
@@ -57,10 +57,13 @@ public final class CommandSensors extends SystemInfoCommand {
     @Override
     public boolean execute(CommandSender sender, String s, String[] args) {
         if (sender.hasPermission("systeminfo.commands.sensors")) {
+            if (warmingUp(sender)) {
+                return true;
+            }
             if (args.length == 0) {
-                sender.sendMessage(Utils.color("&7Fans RPM: &a" + systemInfo.getSystemValues().getFansRPM()));
-                sender.sendMessage(Utils.color("&7Cpu Voltage: &a" + systemInfo.getSystemValues().getCpuVoltage()));
-                sender.sendMessage(Utils.color("&7Cpu Temperature: " + systemInfo.getSystemValues().getCpuTemperatureStatus()));
+                sender.sendMessage(Messages.SENSORS_FANS.format(systemInfo.getSystemValues().getFansRPM()));
+                sender.sendMessage(Messages.SENSORS_VOLTAGE.format(systemInfo.getSystemValues().getCpuVoltage()));
+                sender.sendMessage(Messages.SENSORS_TEMPERATURE.format(Utils.color(systemInfo.getSystemValues().getCpuTemperatureStatus())));
                 return true;
             }
         } else {
@@ -18,25 +18,35 @@
 
 package top.cmarco.systeminfo.commands.speedtest;
 
-import fr.bmartel.speedtest.SpeedTestSocket;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.benchmark.BenchmarkKind;
+import top.cmarco.systeminfo.benchmark.BenchmarkStatistics;
+import top.cmarco.systeminfo.benchmark.SpeedTest;
+import top.cmarco.systeminfo.benchmark.SpeedTestResult;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
+import top.cmarco.systeminfo.commands.benchmark.BenchmarkReports;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.FastFormat;
 import top.cmarco.systeminfo.utils.Utils;
 
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.Collections;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The `CommandSpeedtest` class is a Spigot command that allows players with the appropriate permission to perform
  * a network speedtest using the "/speedtest" command.
+ * The test runs parallel HTTP streams against a configured endpoint, which can be a self-hosted server,
+ * on the threads of the {@link top.cmarco.systeminfo.benchmark.BenchmarkExecutor}.
  */
 public final class CommandSpeedtest extends SystemInfoCommand {
 
-    private final SpeedTestSocket speedTestSocket = new SpeedTestSocket();
-
     /**
      * Initializes a new instance of the `CommandSpeedtest` class.
      *
@@ -45,31 +55,106 @@ public final class CommandSpeedtest extends SystemInfoCommand {
     public CommandSpeedtest(@NotNull SystemInfo systemInfo) {
         super(systemInfo, "speedtest",
                 "Perform a network speedtest",
-                "/<command> <GBs>",
+                "/<command> [endpoint]",
                 Collections.emptyList());
     }
 
     /**
      * Performs a network speedtest and provides results to the sender.
      *
-     * @param sender The command sender.
-     * @param size   The size of the test file to download (in GBs).
+     * @param sender   The command sender.
+     * @param endpoint The name of the configured endpoint.
      */
-    private void performSpeedtest(CommandSender sender, int size) {
-        sender.sendMessage(Utils.color("&2« &7Speedtest &2»"));
+    private void performSpeedtest(@NotNull CommandSender sender, @NotNull String endpoint) {
+        final SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+        final URL downloadUrl, uploadUrl;
+        try {
+            downloadUrl = parseUrl(config.getSpeedtestDownloadUrl(endpoint));
+            uploadUrl = parseUrl(config.getSpeedtestUploadUrl(endpoint));
+        } catch (MalformedURLException exception) {
+            sender.sendMessage(Messages.SPEEDTEST_INVALID_URL.format(endpoint, exception.getLocalizedMessage()));
+            return;
+        }
+        if (downloadUrl == null) {
+            sender.sendMessage(Messages.SPEEDTEST_INVALID_URL.format(endpoint, "missing download url"));
+            return;
+        }
 
-        SpeedTestSocket speedTestSocket = new SpeedTestSocket();
+        final SpeedTest speedTest = new SpeedTest(downloadUrl, uploadUrl, config.getSpeedtestDuration(),
+                config.getSpeedtestLatencySamples(), config.getSpeedtestUpdateFrequency(), new CustomSpeedtestListener(sender));
+        final CompletableFuture<SpeedTestResult> future = systemInfo.getBenchmarkExecutor()
+                .run(config.getSpeedtestStreams(), speedTest::run);
 
-        speedTestSocket.addSpeedTestListener(new CustomSpeedtestListener(sender, speedTestSocket, systemInfo));
+        if (future == null) {
+            sender.sendMessage(Messages.BENCHMARK_RUNNING.value(true));
+            return;
+        }
 
-        // Start the download test
-        speedTestSocket.startDownload(String.format("https://testfile.org/file-%dGB", size));
+        sender.sendMessage(Messages.SPEEDTEST_HEADER.value(true));
+        sender.sendMessage(Messages.SPEEDTEST_STARTED.format(downloadUrl.getHost(), FastFormat.duration(speedTest.getEstimatedMillis())));
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                printError(sender, throwable);
+                return;
+            }
+            printResult(sender, result);
+            BenchmarkReports.record(systemInfo, sender, BenchmarkKind.NETWORK, result.toMetrics());
+        });
     }
 
     /**
-     * A regular expression pattern to match numbers.
+     * Parses a configured endpoint url, only HTTP and HTTPS are supported.
+     *
+     * @param url The configured url, can be null or empty.
+     * @return The parsed url, or null when not configured.
+     * @throws MalformedURLException If the url is invalid or not HTTP.
      */
-    private final static Pattern NUMBER_PATTERN = Pattern.compile("^[0-9]+$");
+    private static URL parseUrl(String url) throws MalformedURLException {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        final URL parsed = new URL(url);
+        if (!parsed.getProtocol().equals("http") && !parsed.getProtocol().equals("https")) {
+            throw new MalformedURLException("only http and https are supported: " + url);
+        }
+        return parsed;
+    }
+
+    /**
+     * Displays the results of a speedtest.
+     *
+     * @param sender The command sender.
+     * @param result The speedtest results.
+     */
+    private void printResult(@NotNull CommandSender sender, @NotNull SpeedTestResult result) {
+        final BenchmarkStatistics latency = result.getLatency();
+        sender.sendMessage(Messages.SPEEDTEST_ENDPOINT.format(result.getHost(), result.getStreams()));
+        sender.sendMessage(Messages.SPEEDTEST_LATENCY.format(FastFormat.fixed(latency.getPercentile(0.50d), 1),
+                FastFormat.fixed(latency.getMin(), 1), FastFormat.fixed(result.getJitter(), 1)));
+        sender.sendMessage(Messages.SPEEDTEST_DOWNLOAD.format(FastFormat.rate((long) result.getDownload()),
+                FastFormat.bits((long) result.getDownload())));
+        if (result.hasUpload()) {
+            sender.sendMessage(Messages.SPEEDTEST_UPLOAD.format(FastFormat.rate((long) result.getUpload()),
+                    FastFormat.bits((long) result.getUpload())));
+        }
+    }
+
+    /**
+     * Displays why a speedtest failed.
+     *
+     * @param sender    The command sender.
+     * @param throwable The failure.
+     */
+    private void printError(@NotNull CommandSender sender, @NotNull Throwable throwable) {
+        final Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+        sender.sendMessage(Messages.SPEEDTEST_FAILED.value(true));
+        sender.sendMessage(Messages.SPEEDTEST_FAILED_HINT.value(true));
+        if (sender instanceof Player) {
+            ((Player) sender).spigot().sendMessage(Utils.builderHover("&7» &cError: &4&l" + cause.getClass().getSimpleName(), "&cError: " + cause.getLocalizedMessage()));
+        } else {
+            sender.sendMessage(Messages.SPEEDTEST_ERROR.format(cause.getLocalizedMessage()));
+        }
+    }
 
     /**
      * Executes the "/speedtest" command with the provided arguments.
@@ -81,30 +166,22 @@ public final class CommandSpeedtest extends SystemInfoCommand {
      */
     @Override
     public boolean execute(CommandSender commandSender, @NotNull String s, @NotNull String[] strings) {
-        if (commandSender.hasPermission("systeminfo.commands.speedtest")) {
-            if (strings.length == 0) {
-                performSpeedtest(commandSender, 1);
-                return true;
-            } else if (strings.length == 1) {
-                final String fSize = strings[0];
-                final Matcher matcher = NUMBER_PATTERN.matcher(fSize);
-                if (matcher.matches()) {
-                    final int fSizeNumber = Integer.parseInt(fSize);
-                    if (fSizeNumber == 1 || fSizeNumber == 10 || fSizeNumber == 100) {
-                        performSpeedtest(commandSender, fSizeNumber);
-                    } else {
-                        commandSender.sendMessage(Utils.color("&7» &cYou used a file size that is too big or invalid!"));
-                        commandSender.sendMessage(Utils.color("  &7The only available file sizes are:"));
-                        for (int i = 0; i < 3; i++) {
-                            commandSender.sendMessage(Utils.color(String.format("  &7- &c%d&7GB", (int) Math.pow(10, i))));
-                        }
-                    }
-                } else {
-                    commandSender.sendMessage(Utils.color("&7» &cYou did not use a number as the download size argument!"));
-                    return true;
-                }
-            }
+        if (!commandSender.hasPermission("systeminfo.commands.speedtest")) {
+            commandSender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return true;
+        }
+        if (strings.length > 1) {
+            commandSender.sendMessage(Messages.OUT_OF_ARGS.value(true));
+            return true;
+        }
+
+        final Set<String> endpoints = systemInfo.getSystemInfoConfig().getSpeedtestEndpoints();
+        final String endpoint = strings.length == 0 ? systemInfo.getSystemInfoConfig().getSpeedtestDefaultEndpoint() : strings[0];
+        if (!endpoints.contains(endpoint)) {
+            commandSender.sendMessage(Messages.SPEEDTEST_UNKNOWN.format(String.join(", ", endpoints)));
+            return true;
         }
-        return false;
+        performSpeedtest(commandSender, endpoint);
+        return true;
     }
 }
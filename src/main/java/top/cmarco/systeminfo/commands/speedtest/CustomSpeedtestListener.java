@@ -18,72 +18,32 @@
 
 package top.cmarco.systeminfo.commands.speedtest;
 
-import fr.bmartel.speedtest.SpeedTestReport;
-import fr.bmartel.speedtest.SpeedTestSocket;
-import fr.bmartel.speedtest.inter.ISpeedTestListener;
-import fr.bmartel.speedtest.model.SpeedTestError;
 import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
-import top.cmarco.systeminfo.plugin.SystemInfo;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.benchmark.SpeedTest;
+import top.cmarco.systeminfo.utils.FastFormat;
 import top.cmarco.systeminfo.utils.Utils;
 
 /**
- * A custom listener for handling speedtest events.
+ * A custom listener displaying the progress of a speedtest to its sender.
+ * Reports are throttled by the {@link SpeedTest} itself, by wall-clock time.
  */
-public final class CustomSpeedtestListener implements ISpeedTestListener {
+public final class CustomSpeedtestListener implements SpeedTest.ProgressListener {
 
     private final CommandSender sender;
-    private final SpeedTestSocket speedTestSocket;
-    private final SystemInfo plugin;
 
-    CustomSpeedtestListener(CommandSender sender, SpeedTestSocket speedTestSocket, SystemInfo plugin) {
+    CustomSpeedtestListener(@NotNull CommandSender sender) {
         this.sender = sender;
-        this.speedTestSocket = speedTestSocket;
-        this.plugin = plugin;
     }
 
     @Override
-    public void onCompletion(SpeedTestReport speedTestReport) {
-        sender.sendMessage(Utils.color("&7» &7Mode: &a" + speedTestReport.getSpeedTestMode().name()));
-        sender.sendMessage(Utils.color("&7» &7Result: &a" + Utils.formatData(speedTestReport.getTransferRateOctet().longValue()) + "/s" + " &7or &a" +
-                Utils.formatDataBits(speedTestReport.getTransferRateOctet().longValue()) + "/s"));
-        speedTestSocket.removeSpeedTestListener(this);
-        speedTestSocket.shutdownAndWait();
-    }
-
-    private float lastPercent = -1f;
-
-    @Override
-    public void onProgress(float v, SpeedTestReport speedTestReport) {
-        long startTime = speedTestReport.getStartTime();
-        float percent = speedTestReport.getProgressPercent();
-
-        if (Math.floor(percent - lastPercent) < 0.101f) {
-            return;
-        }
-
-        if (!((System.currentTimeMillis() - startTime) % plugin.getSystemInfoConfig().getSpeedtestUpdateFrequency() == 0)) {
-            return;
-        }
-
+    public void onProgress(@NotNull SpeedTest.Phase phase, double percent, double bytesPerSecond) {
         StringBuilder barBuilder = new StringBuilder("&7[");
         for (int i = 0; i < 100; i+=10) {
             barBuilder.append(i < percent ? "&a|" : "&c|");
         }
         barBuilder.append("&7]");
-        sender.sendMessage(Utils.color("&7| &aDownload Progress: &e" + barBuilder + "  " + String.format("%.1f", percent) + "%"));
-
-    }
-
-    @Override
-    public void onError(SpeedTestError speedTestError, String s) {
-        sender.sendMessage(Utils.color("&7» &cYour machine network is not configured properly."));
-        sender.sendMessage(Utils.color("&7» &cThe plugin was not able to perform a speedtest, contact your host or check your system firewall."));
-        if (sender instanceof Player) {
-            ((Player) sender).spigot().sendMessage(Utils.builderHover("&7» &cError Code: &4&l" + speedTestError.name(), "&cError: " + s));
-        } else {
-            sender.sendMessage(Utils.color("&7» &cError Code: &4&l" + speedTestError.name()));
-        }
-        speedTestSocket.shutdownAndWait();
+        sender.sendMessage(Utils.color("&7| &a" + phase.getDisplayName() + " Progress: &e" + barBuilder + "  "
+                + FastFormat.percent(percent, 1) + " &7at &a" + FastFormat.rate((long) bytesPerSecond)));
     }
 }
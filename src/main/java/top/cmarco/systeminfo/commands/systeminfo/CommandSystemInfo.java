@@ -21,16 +21,32 @@ package top.cmarco.systeminfo.commands.systeminfo;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.alert.AnomalyDetector;
+import top.cmarco.systeminfo.alert.AnomalyEvent;
+import top.cmarco.systeminfo.alert.AnomalyMetric;
+import top.cmarco.systeminfo.benchmark.BenchmarkKind;
+import top.cmarco.systeminfo.benchmark.BenchmarkRecord;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
+import top.cmarco.systeminfo.commands.benchmark.BenchmarkReports;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
 import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.graph.GraphMetric;
+import top.cmarco.systeminfo.hud.HudBar;
+import top.cmarco.systeminfo.jfr.JfrRecorder;
 import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.FastFormat;
 import top.cmarco.systeminfo.utils.Utils;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.SimpleDateFormat;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
 import java.util.stream.Stream;
 
 import static org.bukkit.World.Environment.*;
@@ -41,6 +57,9 @@ import static org.bukkit.World.Environment.*;
  */
 public final class CommandSystemInfo extends SystemInfoCommand {
 
+    private static final int BENCH_HISTORY_LINES = 10;
+    private static final int ANOMALY_LINES = 10;
+
     /**
      * Initializes a new instance of the `CommandSystemInfo` class.
      *
@@ -49,7 +68,7 @@ public final class CommandSystemInfo extends SystemInfoCommand {
     public CommandSystemInfo(@NotNull SystemInfo systemInfo) {
         super(systemInfo, "systeminfo",
                 "main command of SystemInfo plugin",
-                "/<command> [stats|version|reload|gui]",
+                "/<command> [stats|version|reload|gui|graph <metric>|hud [bar]|bench history [benchmark]|anomalies [metric]|jfr <start [profile]|stop|dump>]",
                 Collections.emptyList());
     }
 
@@ -65,15 +84,19 @@ public final class CommandSystemInfo extends SystemInfoCommand {
     public boolean execute(CommandSender sender, @NotNull String name, String[] args) {
         if (sender.hasPermission("systeminfo.commands.help")) {
             if (args.length == 0) {
-                systemInfo1(sender);
+                if (!warmingUp(sender)) {
+                    systemInfo1(sender);
+                }
                 return true;
             } else if (args.length == 1) {
                 switch (args[0].toLowerCase()) {
                     case "2":
-                        systemInfo2(sender);
+                        if (!warmingUp(sender)) {
+                            systemInfo2(sender);
+                        }
                         break;
                     case "version":
-                        sender.sendMessage(Utils.color("&2» &7SystemInfo version: &a" + systemInfo.getDescription().getVersion()));
+                        sender.sendMessage(Messages.VERSION.format(systemInfo.getDescription().getVersion()));
                         break;
                     case "stats":
                         stats(sender);
@@ -81,22 +104,255 @@ public final class CommandSystemInfo extends SystemInfoCommand {
                     case "reload":
                         reload(sender);
                         break;
+                    case "hud":
+                        hud(sender, HudBar.MSPT.getId());
+                        break;
+                    case "anomalies":
+                        anomalies(sender, null);
+                        break;
                     case "gui":
+                        if (warmingUp(sender)) {
+                            break;
+                        }
                         if (sender instanceof Player) {
                             systemInfo.getSystemInfoGui().createGui((Player) sender);
                         } else {
-                            sender.sendMessage(Utils.color("&4» &cYou cannot create GUIs inside a console"));
+                            sender.sendMessage(Messages.GUI_CONSOLE.value(true));
                         }
                         break;
                     default:
                         sender.sendMessage(Messages.INVALID_ARGS.value(true));
                         break;
                 }
+            } else if (args.length == 2 && args[0].equalsIgnoreCase("graph")) {
+                graph(sender, args[1]);
+            } else if (args.length == 2 && args[0].equalsIgnoreCase("hud")) {
+                hud(sender, args[1]);
+            } else if ((args.length == 2 || args.length == 3) && args[0].equalsIgnoreCase("bench") && args[1].equalsIgnoreCase("history")) {
+                benchHistory(sender, args.length == 3 ? args[2] : null);
+            } else if (args.length == 2 && args[0].equalsIgnoreCase("anomalies")) {
+                anomalies(sender, args[1]);
+            } else if ((args.length == 2 || args.length == 3) && args[0].equalsIgnoreCase("jfr")) {
+                jfr(sender, args[1].toLowerCase(), args.length == 3 ? args[2].toLowerCase() : "lag");
+            } else {
+                sender.sendMessage(Messages.INVALID_ARGS.value(true));
             }
         }
         return true;
     }
 
+    /**
+     * Toggles the live HUD of the sender.
+     *
+     * @param sender The command sender.
+     * @param barName The metric shown in the boss bar.
+     */
+    private void hud(@NotNull CommandSender sender, @NotNull String barName) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(Messages.HUD_CONSOLE.value(true));
+            return;
+        }
+        if (!sender.hasPermission("systeminfo.commands.hud")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+
+        final HudBar bar = HudBar.fromId(barName);
+        if (bar == null) {
+            sender.sendMessage(Messages.HUD_UNKNOWN.value(true));
+            return;
+        }
+
+        if (systemInfo.getHudManager().toggle((Player) sender, bar)) {
+            sender.sendMessage(Messages.HUD_ENABLED.format(bar.getId()));
+        } else {
+            sender.sendMessage(Messages.HUD_DISABLED.value(true));
+        }
+    }
+
+    /**
+     * Lists the most recent benchmark runs, with the hardware they ran on.
+     *
+     * @param sender The command sender.
+     * @param kindName The benchmark kind, or null for every kind.
+     */
+    private void benchHistory(@NotNull CommandSender sender, @Nullable String kindName) {
+        if (!sender.hasPermission("systeminfo.commands.benchhistory")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+
+        final BenchmarkKind kind = kindName == null ? null : BenchmarkKind.fromId(kindName);
+        if (kindName != null && kind == null) {
+            sender.sendMessage(Messages.BENCHMARK_HISTORY_UNKNOWN.value(true));
+            return;
+        }
+
+        final List<BenchmarkRecord> records = systemInfo.getBenchmarkHistory().getRecords(kind, BENCH_HISTORY_LINES);
+        if (records.isEmpty()) {
+            sender.sendMessage(Messages.BENCHMARK_HISTORY_EMPTY.value(true));
+            return;
+        }
+
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        sender.sendMessage(Messages.BENCHMARK_HISTORY_HEADER.value(true));
+        for (final BenchmarkRecord record : records) {
+            final StringBuilder metricsLine = new StringBuilder();
+            final List<BenchmarkRecord.Metric> metrics = record.getMetrics();
+            for (int i = 0; i < metrics.size() && (kind != null || i < 2); i++) {
+                final BenchmarkRecord.Metric metric = metrics.get(i);
+                metricsLine.append(Messages.BENCHMARK_HISTORY_METRIC.format(metric.getName(),
+                        BenchmarkReports.format(metric.getValue(), metric.getUnit())));
+            }
+            final Messages line = record.isRegressed() ? Messages.BENCHMARK_HISTORY_REGRESSED : Messages.BENCHMARK_HISTORY_RECORD;
+            sender.sendMessage(line.format(dateFormat.format(new Date(record.getTimestamp())), record.getKind().getDisplayName(),
+                    metricsLine, record.getFingerprint().getId()));
+        }
+    }
+
+    /**
+     * Shows the current score of every anomaly series and the most recent anomalies.
+     *
+     * @param sender The command sender.
+     * @param metricName The metric, or null for every metric.
+     */
+    private void anomalies(@NotNull CommandSender sender, @Nullable String metricName) {
+        if (!sender.hasPermission("systeminfo.commands.anomalies")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+
+        final AnomalyDetector detector = systemInfo.getAlertManager().getAnomalyDetector();
+        if (!detector.isEnabled()) {
+            sender.sendMessage(Messages.ANOMALIES_DISABLED.value(true));
+            return;
+        }
+
+        final AnomalyMetric selected = metricName == null ? null : AnomalyMetric.fromId(metricName);
+        if (metricName != null && selected == null) {
+            sender.sendMessage(Messages.ANOMALIES_UNKNOWN.value(true));
+            return;
+        }
+
+        sender.sendMessage(Messages.ANOMALIES_HEADER.value(true));
+        for (final AnomalyMetric metric : AnomalyMetric.values()) {
+            if (selected != null && metric != selected) {
+                continue;
+            }
+            final double value = detector.getLastValue(metric);
+            final double expected = detector.getExpected(metric);
+            if (Double.isNaN(value) || Double.isNaN(expected)) {
+                sender.sendMessage(Messages.ANOMALIES_LEARNING.format(metric.getDisplayName()));
+                continue;
+            }
+            final Messages line = detector.isAnomalous(metric) ? Messages.ANOMALIES_SCORE_ANOMALOUS : Messages.ANOMALIES_SCORE;
+            sender.sendMessage(line.format(metric.getDisplayName(), metric.format(value), metric.format(expected),
+                    FastFormat.fixed(detector.getScore(metric), 1), detector.isSeasonal(metric) ? "hour of day" : "short term"));
+        }
+
+        final List<AnomalyEvent> events = detector.getEvents(selected, ANOMALY_LINES);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        sender.sendMessage(Messages.ANOMALIES_RECENT_HEADER.value(true));
+        for (final AnomalyEvent event : events) {
+            final AnomalyMetric metric = event.getMetric();
+            sender.sendMessage(Messages.ANOMALIES_EVENT.format(dateFormat.format(new Date(event.getTimestamp())), metric.getDisplayName(),
+                    metric.format(event.getValue()), metric.format(event.getExpected()), FastFormat.fixed(event.getScore(), 1)));
+        }
+    }
+
+    /**
+     * Starts, stops or dumps the Java Flight Recorder recording of the plugin.
+     * Recordings are written asynchronously, they can take a while when large.
+     *
+     * @param sender The command sender.
+     * @param action The action: start, stop or dump.
+     * @param profile The settings profile of a new recording.
+     */
+    private void jfr(@NotNull CommandSender sender, @NotNull String action, @NotNull String profile) {
+        if (!sender.hasPermission("systeminfo.commands.jfr")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+        if (!JfrRecorder.isAvailable()) {
+            sender.sendMessage(Messages.JFR_UNAVAILABLE.value(true));
+            return;
+        }
+
+        final JfrRecorder recorder = systemInfo.getJfrRecorder();
+        switch (action) {
+            case "start":
+                if (!JfrRecorder.getProfiles().contains(profile)) {
+                    sender.sendMessage(Messages.JFR_UNKNOWN_PROFILE.format(String.join(", ", JfrRecorder.getProfiles())));
+                    return;
+                }
+                if (recorder.isRecording()) {
+                    sender.sendMessage(Messages.JFR_RUNNING.format(recorder.getProfile()));
+                    return;
+                }
+                try {
+                    recorder.start(profile, systemInfo.getSystemInfoConfig().getJfrMaxAge(), systemInfo.getSystemInfoConfig().getJfrMaxSize());
+                    sender.sendMessage(Messages.JFR_STARTED.format(profile));
+                } catch (IOException | IllegalStateException exception) {
+                    sender.sendMessage(Messages.JFR_FAILED.format(exception.getLocalizedMessage()));
+                }
+                break;
+            case "stop":
+            case "dump":
+                if (!recorder.isRecording()) {
+                    sender.sendMessage(Messages.JFR_NOT_RUNNING.value(true));
+                    return;
+                }
+                final boolean stop = action.equals("stop");
+                SystemInfo.getScheduler().runTaskAsynchronously(() -> {
+                    try {
+                        final File file = stop ? recorder.stop() : recorder.dump();
+                        sender.sendMessage((stop ? Messages.JFR_STOPPED : Messages.JFR_DUMPED).format("recordings/" + file.getName()));
+                    } catch (IOException | IllegalStateException exception) {
+                        sender.sendMessage(Messages.JFR_FAILED.format(exception.getLocalizedMessage()));
+                    }
+                });
+                break;
+            default:
+                sender.sendMessage(Messages.INVALID_ARGS.value(true));
+                break;
+        }
+    }
+
+    /**
+     * Gives the sender a map showing the live graph of a metric.
+     *
+     * @param sender The command sender.
+     * @param metricName The metric name.
+     */
+    private void graph(@NotNull CommandSender sender, @NotNull String metricName) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(Messages.GRAPH_CONSOLE.value(true));
+            return;
+        }
+        if (!sender.hasPermission("systeminfo.commands.graph")) {
+            sender.sendMessage(Messages.NO_PERMISSIONS.value(true));
+            return;
+        }
+
+        final GraphMetric metric = GraphMetric.fromId(metricName);
+        if (metric == null) {
+            final StringJoiner metrics = new StringJoiner(", ");
+            for (final GraphMetric graphMetric : GraphMetric.values()) {
+                metrics.add(graphMetric.getId());
+            }
+            sender.sendMessage(Messages.GRAPH_UNKNOWN.format(metrics));
+            return;
+        }
+
+        final Player player = (Player) sender;
+        player.getInventory().addItem(systemInfo.getGraphManager().createMapItem(player.getWorld(), metric));
+        sender.sendMessage(Messages.GRAPH_RECEIVED.format(metric.getDisplayName()));
+    }
+
     /**
      * Displays the first page of system information and commands in chat.
      *
@@ -136,22 +392,24 @@ public final class CommandSystemInfo extends SystemInfoCommand {
             Player player = (Player) sender;
             sender.sendMessage(Utils.color("&7&l&m--------------------------------------"));
             player.spigot().sendMessage(Utils.builderHover("&f- &7/htop &aget processes list! &8[&7*&8]", "get a list of processes"));
-            player.spigot().sendMessage(Utils.builderHover("&f- &7/systeminfo [reload&f|&7version&f|&7stats&f|&7gui] &8[&7*&8]", "available args = stats, version, gui"));
+            player.spigot().sendMessage(Utils.builderHover("&f- &7/systeminfo [reload&f|&7version&f|&7stats&f|&7gui&f|&7graph&f|&7hud&f|&7bench&f|&7anomalies&f|&7jfr] &8[&7*&8]", "available args = stats, version, gui, graph <cpu|mspt|bandwidth>, hud [cpu|mspt], bench history [cpu|memory|disk|network], anomalies [cpu|mspt|network], jfr <start [lag|memory|default|profile]|stop|dump>"));
             player.spigot().sendMessage(Utils.builderHover("&f- &7/uptime &aget the machine uptime! &8[&7*&8]", "get the total uptime of the machine"));
             player.spigot().sendMessage(Utils.builderHover("&f- &7/devices &aget devices list! &8[&7*&8]", "get every attached device"));
             player.spigot().sendMessage(Utils.builderHover("&f- &7/cpuload &aget the CPU load! &8[&7*&8]", "Get CPU current percentage load"));
-            player.spigot().sendMessage(Utils.builderHover("&f- &7/speedtest &aBenchmark your network! &8[&7*&8]", "Get your download\\upload speeds"));
+            player.spigot().sendMessage(Utils.builderHover("&f- &7/speedtest [endpoint] &aBenchmark your network! &8[&7*&8]", "Get your download\\upload speeds, latency and jitter"));
             player.spigot().sendMessage(Utils.builderHover("&f- &7/java &aGet information about Java! &8[&7*&8]", "Show Version, Brand, Args and PID of JVM."));
+            player.spigot().sendMessage(Utils.builderHover("&f- &7/cpubenchmark [memory&f|&7disk] &aBenchmark your CPU! &8[&7*&8]", "Single and multi-core scores of the host, memory for bandwidth and latency, disk for the world folder I/O"));
             sender.sendMessage(Utils.color("&7&l&m--------------------------------------"));
         } else {
             sender.sendMessage(Utils.color("&7&l&m--------------------------------------"));
             sender.sendMessage(Utils.color("&f- &7/htop &aget processes list!"));
-            sender.sendMessage(Utils.color("&f- &7/systeminfo [reload&f|&7version&f|&7stats&f|&7gui]"));
+            sender.sendMessage(Utils.color("&f- &7/systeminfo [reload&f|&7version&f|&7stats&f|&7gui&f|&7graph&f|&7hud&f|&7bench&f|&7anomalies&f|&7jfr]"));
             sender.sendMessage(Utils.color("&f- &7/uptime &aget the machine uptime!"));
             sender.sendMessage(Utils.color("&f- &7/devices &aget devices list!"));
             sender.sendMessage(Utils.color("&f- &7/cpuload &aget the CPU load!"));
-            sender.sendMessage(Utils.color("&f- &7/speedtest &aBenchmark your network!"));
+            sender.sendMessage(Utils.color("&f- &7/speedtest [endpoint] &aBenchmark your network!"));
             sender.sendMessage(Utils.color("&f- &7/java &aGet information about Java!"));
+            sender.sendMessage(Utils.color("&f- &7/cpubenchmark [memory&f|&7disk] &aBenchmark your CPU!"));
             sender.sendMessage(Utils.color("&7&l&m--------------------------------------"));
         }
     }
@@ -181,11 +439,13 @@ public final class CommandSystemInfo extends SystemInfoCommand {
      * @param sender The command sender.
      */
     private void stats(@NotNull CommandSender sender) {
-        sender.sendMessage(Utils.color("&2» &7Server stats &2«"));
-        sender.sendMessage(Utils.color("&2» &7Overworld Entities: &a" + Utils.countEntitiesInWorlds(NORMAL) + " &7Loaded Chunks: &a" + Utils.loadedChunksInWorlds(NORMAL)));
-        sender.sendMessage(Utils.color("&2» &7Nether Entities: &a" + Utils.countEntitiesInWorlds(NETHER) + " &7Loaded Chunks: &a" + Utils.loadedChunksInWorlds(NETHER)));
-        sender.sendMessage(Utils.color("&2» &7End Entities: &a" + Utils.countEntitiesInWorlds(THE_END) + " &7Loaded Chunks: &a" + Utils.loadedChunksInWorlds(THE_END)));
-        sender.sendMessage(Utils.color("&2» &7Server File Size: &a" + Utils.formatData(folderFileSize(systemInfo.getServer().getWorldContainer()))));
+        sender.sendMessage(Messages.STATS_HEADER.value(true));
+        sender.sendMessage(Messages.STATS_WORLD.format("Overworld", Utils.countEntitiesInWorlds(NORMAL), Utils.loadedChunksInWorlds(NORMAL)));
+        sender.sendMessage(Messages.STATS_WORLD.format("Nether", Utils.countEntitiesInWorlds(NETHER), Utils.loadedChunksInWorlds(NETHER)));
+        sender.sendMessage(Messages.STATS_WORLD.format("End", Utils.countEntitiesInWorlds(THE_END), Utils.loadedChunksInWorlds(THE_END)));
+        final File worldContainer = systemInfo.getServer().getWorldContainer();
+        systemInfo.getSystemValues().getCollectorExecutor().supply(() -> folderFileSize(worldContainer))
+                .thenAccept(size -> sender.sendMessage(Messages.STATS_FILE_SIZE.format(Utils.formatData(size))));
     }
 
     /**
@@ -197,6 +457,11 @@ public final class CommandSystemInfo extends SystemInfoCommand {
         Utils.cachedColor = null;
         Utils.cachedDarkColor = null;
         systemInfo.getSystemInfoConfig().reloadValues();
-        sender.sendMessage(Utils.color("&8» &aSuccessfully reloaded system values and config!"));
+        systemInfo.getMessagesConfig().compile();
+        systemInfo.getAlertManager().load();
+        final SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+        systemInfo.getSystemValues().setQueryTtls(config.getCollectorProcessesTtl(), config.getCollectorDisksTtl(),
+                config.getCollectorDevicesTtl());
+        sender.sendMessage(Messages.RELOADED.value(true));
     }
 }
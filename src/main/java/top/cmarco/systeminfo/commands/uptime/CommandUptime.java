@@ -23,7 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.utils.Utils;
+import top.cmarco.systeminfo.utils.FastFormat;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -76,9 +76,9 @@ public final class CommandUptime extends SystemInfoCommand {
      * @param sender The command sender.
      */
     private void uptime(CommandSender sender) {
-        final long uptime = ChronoUnit.MINUTES.between(systemInfo.getStartupTime(), LocalDateTime.now());
-        sender.sendMessage(Utils.color("&2»» &7Machine uptime &2««"));
-        sender.sendMessage(Utils.color("&2» &7JVM Uptime: &a" + uptime + " min."));
+        final long uptime = ChronoUnit.MILLIS.between(systemInfo.getStartupTime(), LocalDateTime.now());
+        sender.sendMessage(Messages.UPTIME_HEADER.value(true));
+        sender.sendMessage(Messages.UPTIME_JVM.format(FastFormat.duration(uptime)));
     }
 }
 
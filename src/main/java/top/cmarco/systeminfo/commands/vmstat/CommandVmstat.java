@@ -24,7 +24,6 @@ import top.cmarco.systeminfo.commands.SystemInfoCommand;
 import top.cmarco.systeminfo.enums.Messages;
 import top.cmarco.systeminfo.oshi.SystemValues;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.utils.Utils;
 
 import java.util.Collections;
 
@@ -58,6 +57,9 @@ public final class CommandVmstat extends SystemInfoCommand {
     public boolean execute(@NotNull CommandSender sender, @NotNull String name, String[] args) {
         if (args.length == 0) {
             if (sender.hasPermission("systeminfo.commands.vmstat")) {
+                if (warmingUp(sender)) {
+                    return true;
+                }
                 vmstat(sender);
                 return true;
             } else {
@@ -76,11 +78,11 @@ public final class CommandVmstat extends SystemInfoCommand {
      */
     private void vmstat(CommandSender sender) {
         SystemValues values = systemInfo.getSystemValues();
-        sender.sendMessage(Utils.color("&2«« &7Memory info &2»»"));
-        sender.sendMessage(Utils.color("&7Available memory: &a" + values.getAvailableMemory()));
-        sender.sendMessage(Utils.color("&7Allocated memory: &a" + values.getUsedMemory()));
-        sender.sendMessage(Utils.color("&7Total memory: &a" + values.getMaxMemory()));
-        sender.sendMessage(Utils.color("&7Swap total memory: &a" + values.getTotalSwap()));
-        sender.sendMessage(Utils.color("&7Swap used memory: &a" + values.getUsedSwap()));
+        sender.sendMessage(Messages.VMSTAT_HEADER.value(true));
+        sender.sendMessage(Messages.VMSTAT_AVAILABLE.format(values.getAvailableMemory()));
+        sender.sendMessage(Messages.VMSTAT_ALLOCATED.format(values.getUsedMemory()));
+        sender.sendMessage(Messages.VMSTAT_TOTAL.format(values.getMaxMemory()));
+        sender.sendMessage(Messages.VMSTAT_SWAP_TOTAL.format(values.getTotalSwap()));
+        sender.sendMessage(Messages.VMSTAT_SWAP_USED.format(values.getUsedSwap()));
     }
 }
\ No newline at end of file
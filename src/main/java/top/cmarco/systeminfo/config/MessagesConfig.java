@@ -0,0 +1,69 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.config;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.io.File;
+
+/**
+ * The messages class for this plugin.
+ * It is associated with the messages.yml and compiles every {@link Messages} template.
+ */
+public final class MessagesConfig {
+
+    private static final String FILE_NAME = "messages.yml";
+
+    private final SystemInfo plugin;
+    private final File file;
+
+    public MessagesConfig(@NotNull SystemInfo plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        if (!file.exists()) {
+            plugin.saveResource(FILE_NAME, false);
+        }
+    }
+
+    /**
+     * Reads messages.yml and compiles every message against the current color scheme.
+     * Must be called again whenever the config is reloaded.
+     */
+    public void compile() {
+        final FileConfiguration configuration = YamlConfiguration.loadConfiguration(file);
+
+        char light = 'a';
+        char dark = '2';
+        if (Utils.loadColorScheme()) {
+            light = Utils.cachedColor;
+            dark = Utils.cachedDarkColor;
+        } else {
+            plugin.getLogger().warning("Invalid color-scheme in config.yml, using the default colors for messages.");
+        }
+
+        for (final Messages message : Messages.values()) {
+            message.compile(configuration.getString(message.getKey(), message.getDefaultValue()), light, dark);
+        }
+    }
+}
@@ -18,10 +18,15 @@
 
 package top.cmarco.systeminfo.config;
 
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import top.cmarco.systeminfo.plugin.SystemInfo;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * The config class for this plugin.
  * It is associated with the config.yml.
@@ -58,4 +63,650 @@ public final class SystemInfoConfig {
     public int getSpeedtestUpdateFrequency() {
         return configuration.getInt("speedtest.update-frequency", 2500);
     }
+
+    /**
+     * Get the amount of parallel HTTP streams of the Speedtest command.
+     * @return The amount of streams.
+     */
+    public int getSpeedtestStreams() {
+        return Math.max(1, configuration.getInt("speedtest.streams", 4));
+    }
+
+    /**
+     * Get how long the download and upload tests of the Speedtest command run.
+     * @return The test time in milliseconds.
+     */
+    public long getSpeedtestDuration() {
+        return Math.max(1000L, configuration.getLong("speedtest.duration", 10000L));
+    }
+
+    /**
+     * Get the amount of TCP connects timed by the Speedtest command.
+     * @return The amount of latency samples.
+     */
+    public int getSpeedtestLatencySamples() {
+        return Math.max(1, configuration.getInt("speedtest.latency-samples", 10));
+    }
+
+    /**
+     * Get the endpoint used when the Speedtest command has no arguments.
+     * @return The endpoint name.
+     */
+    @NotNull
+    public String getSpeedtestDefaultEndpoint() {
+        return configuration.getString("speedtest.default-endpoint", "cloudflare");
+    }
+
+    /**
+     * Get the names of every configured speedtest endpoint.
+     * @return The endpoint names.
+     */
+    @NotNull
+    public Set<String> getSpeedtestEndpoints() {
+        final ConfigurationSection section = configuration.getConfigurationSection("speedtest.endpoints");
+        return section == null ? Collections.emptySet() : section.getKeys(false);
+    }
+
+    /**
+     * Get the url downloaded by a speedtest endpoint.
+     * @param endpoint The endpoint name.
+     * @return The download url, or null if not configured.
+     */
+    @Nullable
+    public String getSpeedtestDownloadUrl(@NotNull final String endpoint) {
+        return configuration.getString("speedtest.endpoints." + endpoint + ".download");
+    }
+
+    /**
+     * Get the url receiving the uploads of a speedtest endpoint.
+     * @param endpoint The endpoint name.
+     * @return The upload url, or null if the upload test is disabled.
+     */
+    @Nullable
+    public String getSpeedtestUploadUrl(@NotNull final String endpoint) {
+        return configuration.getString("speedtest.endpoints." + endpoint + ".upload");
+    }
+
+    /**
+     * Get the maximum amount of blocking collectors, such as process listing or disk enumeration, running at once.
+     * @return The amount of collectors.
+     */
+    public int getCollectorMaxConcurrentCalls() {
+        return Math.max(1, configuration.getInt("collectors.max-concurrent-calls", 4));
+    }
+
+    /**
+     * Get how long a process listing is shared by the commands asking for it.
+     * @return The time to live in milliseconds.
+     */
+    public long getCollectorProcessesTtl() {
+        return Math.max(0L, configuration.getLong("collectors.ttl.processes", 2000L));
+    }
+
+    /**
+     * Get how long a disk enumeration is shared by the commands asking for it.
+     * @return The time to live in milliseconds.
+     */
+    public long getCollectorDisksTtl() {
+        return Math.max(0L, configuration.getLong("collectors.ttl.disks", 5000L));
+    }
+
+    /**
+     * Get how long a USB device enumeration is shared by the commands asking for it.
+     * @return The time to live in milliseconds.
+     */
+    public long getCollectorDevicesTtl() {
+        return Math.max(0L, configuration.getLong("collectors.ttl.devices", 10000L));
+    }
+
+    /**
+     * Whether the kernel TCP table monitor should be started.
+     * @return True if the TCP monitor is enabled.
+     */
+    public boolean isTcpMonitorEnabled() {
+        return configuration.getBoolean("network.tcp-monitor.enabled", true);
+    }
+
+    /**
+     * Get how often the kernel TCP tables are read.
+     * @return The poll interval in ticks.
+     */
+    public long getTcpMonitorInterval() {
+        return Math.max(20L, configuration.getLong("network.tcp-monitor.interval", 100L));
+    }
+
+    /**
+     * Whether the embedded Prometheus endpoint should be started.
+     * @return True if the Prometheus exporter is enabled.
+     */
+    public boolean isPrometheusEnabled() {
+        return configuration.getBoolean("exporters.prometheus.enabled", false);
+    }
+
+    /**
+     * Get the address the Prometheus endpoint binds to.
+     * @return The bind address.
+     */
+    public String getPrometheusBindAddress() {
+        return configuration.getString("exporters.prometheus.bind-address", "127.0.0.1");
+    }
+
+    /**
+     * Get the port the Prometheus endpoint binds to.
+     * @return The port.
+     */
+    public int getPrometheusPort() {
+        return configuration.getInt("exporters.prometheus.port", 9225);
+    }
+
+    /**
+     * Get the bearer token scrapers must send to the Prometheus endpoint.
+     * @return The token, or an empty string if authentication is disabled.
+     */
+    public String getPrometheusAuthToken() {
+        return configuration.getString("exporters.prometheus.auth-token", "");
+    }
+
+    /**
+     * Whether the StatsD push exporter should be started.
+     * @return True if the StatsD exporter is enabled.
+     */
+    public boolean isStatsdEnabled() {
+        return configuration.getBoolean("exporters.statsd.enabled", false);
+    }
+
+    /**
+     * Get the host of the StatsD agent.
+     * @return The StatsD host.
+     */
+    public String getStatsdHost() {
+        return configuration.getString("exporters.statsd.host", "127.0.0.1");
+    }
+
+    /**
+     * Get the port of the StatsD agent.
+     * @return The StatsD port.
+     */
+    public int getStatsdPort() {
+        return configuration.getInt("exporters.statsd.port", 8125);
+    }
+
+    /**
+     * Get the prefix of every metric pushed to StatsD.
+     * @return The metric prefix.
+     */
+    public String getStatsdPrefix() {
+        return configuration.getString("exporters.statsd.prefix", "systeminfo");
+    }
+
+    /**
+     * Whether labels are sent as DogStatsD tags.
+     * @return True if DogStatsD tags are enabled.
+     */
+    public boolean isStatsdTagsEnabled() {
+        return configuration.getBoolean("exporters.statsd.dogstatsd-tags", false);
+    }
+
+    /**
+     * Get the largest datagram sent to StatsD.
+     * @return The maximum packet size in bytes.
+     */
+    public int getStatsdMaxPacketSize() {
+        return Math.max(512, configuration.getInt("exporters.statsd.max-packet-size", 1432));
+    }
+
+    /**
+     * Get how often metrics are pushed to StatsD.
+     * @return The flush interval in ticks.
+     */
+    public long getStatsdFlushInterval() {
+        return Math.max(20L, configuration.getLong("exporters.statsd.flush-interval", 200L));
+    }
+
+    /**
+     * Check whether the SystemInfo MXBeans should be registered.
+     * @return True if JMX is enabled.
+     */
+    public boolean isJmxEnabled() {
+        return configuration.getBoolean("exporters.jmx.enabled", true);
+    }
+
+    /**
+     * Get how long a rendered placeholder value is reused when it has no override.
+     * @return The time to live in milliseconds.
+     */
+    public long getPlaceholderDefaultTtl() {
+        return Math.max(0L, configuration.getLong("placeholders.default-ttl", 1000L));
+    }
+
+    /**
+     * Get how long a rendered placeholder value is reused.
+     * @param placeholder The placeholder name, without the "systeminfo_" prefix.
+     * @param defaultTtl The time to live used when the placeholder has no override.
+     * @return The time to live in milliseconds, or -1 if the value is never refreshed.
+     */
+    public long getPlaceholderTtl(@NotNull final String placeholder, final long defaultTtl) {
+        return Math.max(-1L, configuration.getLong("placeholders.ttl." + placeholder, defaultTtl));
+    }
+
+    /**
+     * Get how often the HUD of the subscribed players is refreshed.
+     * @return The refresh interval in ticks.
+     */
+    public long getHudInterval() {
+        return Math.max(1L, configuration.getLong("hud.interval", 20L));
+    }
+
+    /**
+     * Get the amount of worker threads of the multi-core benchmark runs.
+     * @return The amount of threads, 0 for every logical processor.
+     */
+    public int getBenchmarkThreads() {
+        return Math.max(0, configuration.getInt("benchmark.threads", 0));
+    }
+
+    /**
+     * Get the discarded iterations run before measuring the CPU benchmark.
+     * @return The amount of warmup iterations.
+     */
+    public int getCpuBenchmarkWarmupIterations() {
+        return Math.max(0, configuration.getInt("benchmark.cpu.warmup-iterations", 1));
+    }
+
+    /**
+     * Get the measured iterations of the CPU benchmark.
+     * @return The amount of iterations.
+     */
+    public int getCpuBenchmarkIterations() {
+        return Math.max(1, configuration.getInt("benchmark.cpu.iterations", 3));
+    }
+
+    /**
+     * Get how long every CPU benchmark iteration runs.
+     * @return The iteration time in milliseconds.
+     */
+    public long getCpuBenchmarkIterationTime() {
+        return Math.max(50L, configuration.getLong("benchmark.cpu.iteration-time", 500L));
+    }
+
+    /**
+     * Get the size of every array of the memory bandwidth test.
+     * @return The array size in bytes.
+     */
+    public long getMemoryBenchmarkArraySize() {
+        return Math.max(1L, Math.min(1024L, configuration.getLong("benchmark.memory.array-size", 64L))) << 20;
+    }
+
+    /**
+     * Get the largest working set of the memory latency test.
+     * @return The working set size in bytes.
+     */
+    public long getMemoryBenchmarkMaxWorkingSet() {
+        return Math.max(1L, Math.min(1024L, configuration.getLong("benchmark.memory.max-working-set", 128L))) << 20;
+    }
+
+    /**
+     * Get the measured iterations of every memory benchmark kernel.
+     * @return The amount of iterations.
+     */
+    public int getMemoryBenchmarkIterations() {
+        return Math.max(1, configuration.getInt("benchmark.memory.iterations", 5));
+    }
+
+    /**
+     * Get the amount of concurrent I/O streams of the disk benchmark.
+     * @return The amount of threads.
+     */
+    public int getDiskBenchmarkThreads() {
+        return Math.max(1, configuration.getInt("benchmark.disk.threads", 4));
+    }
+
+    /**
+     * Get the size of the disk benchmark test file.
+     * @return The file size in bytes.
+     */
+    public long getDiskBenchmarkFileSize() {
+        return Math.max(16L, configuration.getLong("benchmark.disk.file-size", 1024L)) << 20;
+    }
+
+    /**
+     * Get how long every random disk benchmark test runs.
+     * @return The test time in milliseconds.
+     */
+    public long getDiskBenchmarkRandomTime() {
+        return Math.max(100L, configuration.getLong("benchmark.disk.random-time", 5000L));
+    }
+
+    /**
+     * Get the amount of synced writes timed by the disk benchmark.
+     * @return The amount of samples.
+     */
+    public int getDiskBenchmarkSyncSamples() {
+        return Math.max(1, configuration.getInt("benchmark.disk.sync-samples", 200));
+    }
+
+    /**
+     * Get the maximum amount of benchmark runs kept in the history.
+     * @return The amount of runs.
+     */
+    public int getBenchmarkHistoryMaxRecords() {
+        return Math.max(1, configuration.getInt("benchmark.history.max-records", 1000));
+    }
+
+    /**
+     * Get the amount of previous runs a new benchmark run is compared with.
+     * @return The amount of baseline runs.
+     */
+    public int getBenchmarkBaselineRuns() {
+        return Math.max(3, configuration.getInt("benchmark.history.baseline-runs", 5));
+    }
+
+    /**
+     * Get the standard deviations a benchmark metric must be worse by to be flagged.
+     * @return The amount of standard deviations.
+     */
+    public double getBenchmarkRegressionThreshold() {
+        return Math.max(0d, configuration.getDouble("benchmark.history.regression-threshold", 3.0d));
+    }
+
+    /**
+     * Get the percentage a benchmark metric must be worse by to be flagged.
+     * @return The minimum change as a percentage.
+     */
+    public double getBenchmarkRegressionMinChange() {
+        return Math.max(0d, configuration.getDouble("benchmark.history.regression-min-change", 10.0d));
+    }
+
+    /**
+     * Check if the alert rules are evaluated.
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isAlertsEnabled() {
+        return configuration.getBoolean("alerts.enabled", true);
+    }
+
+    /**
+     * Get the permission required to receive alerts in game.
+     * @return The permission node.
+     */
+    @NotNull
+    public String getAlertPermission() {
+        return configuration.getString("alerts.permission", "systeminfo.alerts");
+    }
+
+    /**
+     * Check if alerts are also logged to the console.
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isAlertConsoleEnabled() {
+        return configuration.getBoolean("alerts.console", true);
+    }
+
+    /**
+     * Check if alerts are posted to a webhook.
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isAlertWebhookEnabled() {
+        return configuration.getBoolean("alerts.webhook.enabled", false);
+    }
+
+    /**
+     * Get the url alerts are posted to.
+     * @return The webhook url.
+     */
+    @NotNull
+    public String getAlertWebhookUrl() {
+        return configuration.getString("alerts.webhook.url", "");
+    }
+
+    /**
+     * Get the connect and read timeout of the alert webhook.
+     * @return The timeout in milliseconds.
+     */
+    public int getAlertWebhookTimeout() {
+        return Math.max(100, configuration.getInt("alerts.webhook.timeout", 5000));
+    }
+
+    /**
+     * Get the server name sent with every webhook alert.
+     * @return The server name.
+     */
+    @NotNull
+    public String getAlertWebhookServerName() {
+        return configuration.getString("alerts.webhook.server-name", "minecraft");
+    }
+
+    /**
+     * Get the names of every configured alert rule.
+     * @return The rule names.
+     */
+    @NotNull
+    public Set<String> getAlertRuleNames() {
+        final ConfigurationSection section = configuration.getConfigurationSection("alerts.rules");
+        return section == null ? Collections.emptySet() : section.getKeys(false);
+    }
+
+    /**
+     * Get the metric watched by an alert rule.
+     * @param rule The rule name.
+     * @return The metric id, or null if not configured.
+     */
+    @Nullable
+    public String getAlertRuleMetric(@NotNull final String rule) {
+        return configuration.getString("alerts.rules." + rule + ".metric");
+    }
+
+    /**
+     * Get the condition firing an alert rule.
+     * @param rule The rule name.
+     * @return The condition, such as "> 90".
+     */
+    @NotNull
+    public String getAlertRuleCondition(@NotNull final String rule) {
+        return configuration.getString("alerts.rules." + rule + ".condition", "");
+    }
+
+    /**
+     * Get the condition resolving a firing alert rule.
+     * @param rule The rule name.
+     * @return The condition, or null to resolve as soon as the firing condition stops holding.
+     */
+    @Nullable
+    public String getAlertRuleClear(@NotNull final String rule) {
+        return configuration.getString("alerts.rules." + rule + ".clear");
+    }
+
+    /**
+     * Get how long the condition of an alert rule must hold before it fires.
+     * @param rule The rule name.
+     * @return The duration in milliseconds.
+     */
+    public long getAlertRuleFor(@NotNull final String rule) {
+        return Math.max(0L, configuration.getLong("alerts.rules." + rule + ".for", 0L));
+    }
+
+    /**
+     * Get the minimum time between two notifications of an alert rule.
+     * @param rule The rule name.
+     * @return The cooldown in milliseconds.
+     */
+    public long getAlertRuleCooldown(@NotNull final String rule) {
+        return Math.max(0L, configuration.getLong("alerts.rules." + rule + ".cooldown", 300000L));
+    }
+
+    /**
+     * Check if the CPU, MSPT and network series are watched for anomalies.
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isAnomalyDetectionEnabled() {
+        return configuration.getBoolean("alerts.anomalies.enabled", true);
+    }
+
+    /**
+     * Get the smoothing factor of the short term anomaly baseline.
+     * @return The factor, between 0 and 1.
+     */
+    public double getAnomalyAlpha() {
+        return Math.max(0.0001d, Math.min(1d, configuration.getDouble("alerts.anomalies.alpha", 0.01d)));
+    }
+
+    /**
+     * Get the smoothing factor of the hour of day anomaly baselines.
+     * @return The factor, between 0 and 1.
+     */
+    public double getAnomalySeasonalAlpha() {
+        return Math.max(0.0001d, Math.min(1d, configuration.getDouble("alerts.anomalies.seasonal-alpha", 0.2d)));
+    }
+
+    /**
+     * Get the standard deviations a sample must be off its baseline by to be anomalous.
+     * @return The z-score threshold.
+     */
+    public double getAnomalyThreshold() {
+        return Math.max(1d, configuration.getDouble("alerts.anomalies.threshold", 4d));
+    }
+
+    /**
+     * Get the consecutive samples needed to start or end an anomaly.
+     * @return The amount of samples.
+     */
+    public int getAnomalyConsecutive() {
+        return Math.max(1, configuration.getInt("alerts.anomalies.consecutive", 10));
+    }
+
+    /**
+     * Get the samples learnt before the short term baseline scores.
+     * @return The amount of samples.
+     */
+    public long getAnomalyWarmup() {
+        return Math.max(1L, configuration.getLong("alerts.anomalies.warmup", 600L));
+    }
+
+    /**
+     * Get the days an hour of day baseline must learn before replacing the short term one.
+     * @return The amount of days.
+     */
+    public int getAnomalySeasonalWarmup() {
+        return Math.max(1, configuration.getInt("alerts.anomalies.seasonal-warmup", 3));
+    }
+
+    /**
+     * Get the maximum amount of anomalies kept for the anomalies command.
+     * @return The amount of anomalies.
+     */
+    public int getAnomalyMaxEvents() {
+        return Math.max(1, configuration.getInt("alerts.anomalies.max-events", 100));
+    }
+
+    /**
+     * Check if lag spikes are recorded.
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isFlightRecorderEnabled() {
+        return configuration.getBoolean("flight-recorder.enabled", false);
+    }
+
+    /**
+     * Get the tick duration that triggers a spike report.
+     * @return The threshold in milliseconds.
+     */
+    public long getFlightRecorderThreshold() {
+        return Math.max(50L, configuration.getLong("flight-recorder.threshold", 250L));
+    }
+
+    /**
+     * Get the interval between two tick thread stack samples.
+     * @return The interval in milliseconds.
+     */
+    public long getFlightRecorderSampleInterval() {
+        return Math.max(10L, configuration.getLong("flight-recorder.sample-interval", 100L));
+    }
+
+    /**
+     * Get the maximum amount of frames kept by a tick thread stack sample, innermost first.
+     * @return The amount of frames.
+     */
+    public int getFlightRecorderMaxDepth() {
+        return Math.max(1, configuration.getInt("flight-recorder.max-depth", 48));
+    }
+
+    /**
+     * Get how much history before a spike goes into its report.
+     * @return The window in milliseconds.
+     */
+    public long getFlightRecorderWindow() {
+        return Math.max(1000L, configuration.getLong("flight-recorder.window", 10000L));
+    }
+
+    /**
+     * Get how long the recorder keeps sampling after a spike before writing its report.
+     * @return The window in milliseconds.
+     */
+    public long getFlightRecorderPostWindow() {
+        return Math.max(0L, configuration.getLong("flight-recorder.post-window", 2000L));
+    }
+
+    /**
+     * Get the amount of system snapshots included in a spike report.
+     * @return The amount of snapshots.
+     */
+    public int getFlightRecorderSnapshots() {
+        return Math.max(2, configuration.getInt("flight-recorder.snapshots", 30));
+    }
+
+    /**
+     * Get the minimum time between two spike reports.
+     * @return The cooldown in milliseconds.
+     */
+    public long getFlightRecorderCooldown() {
+        return Math.max(1000L, configuration.getLong("flight-recorder.cooldown", 60000L));
+    }
+
+    /**
+     * Get the maximum amount of spike reports kept.
+     * @return The amount of reports.
+     */
+    public int getFlightRecorderMaxReports() {
+        return Math.max(1, configuration.getInt("flight-recorder.max-reports", 50));
+    }
+
+    /**
+     * Get the maximum size of the spike reports folder.
+     * @return The size in bytes.
+     */
+    public long getFlightRecorderMaxSize() {
+        return Math.max(1L, configuration.getLong("flight-recorder.max-size", 100L)) << 20;
+    }
+
+    /**
+     * Check if Flight Recorder events are streamed into the metrics, on Java 14 and newer.
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isJfrStreamEnabled() {
+        return configuration.getBoolean("jfr.stream-events", true);
+    }
+
+    /**
+     * Get the shortest safepoint or monitor contention counted by the event stream.
+     * @return The threshold in milliseconds.
+     */
+    public long getJfrStreamThreshold() {
+        return Math.max(0L, configuration.getLong("jfr.stream-threshold", 10L));
+    }
+
+    /**
+     * Get the oldest data kept by a recording started with /systeminfo jfr start.
+     * @return The maximum age in milliseconds.
+     */
+    public long getJfrMaxAge() {
+        return Math.max(1L, configuration.getLong("jfr.max-age", 30L)) * 60_000L;
+    }
+
+    /**
+     * Get the largest size of a recording started with /systeminfo jfr start.
+     * @return The maximum size in bytes.
+     */
+    public long getJfrMaxSize() {
+        return Math.max(1L, configuration.getLong("jfr.max-size", 256L)) << 20;
+    }
 }
@@ -19,29 +19,213 @@
 package top.cmarco.systeminfo.enums;
 
 import org.jetbrains.annotations.NotNull;
-import top.cmarco.systeminfo.utils.Utils;
+import top.cmarco.systeminfo.utils.MessageTemplate;
 
 /**
  * Some basic and frequent messages used by this plugin.
+ * The text of every message can be overridden in messages.yml under its key.
  */
 public enum Messages {
-    INVALID_ARGS("&4» &cInvalid arguments."),
-    OUT_OF_ARGS("&4» &cArguments number is incorrect."),
-    NO_PERMISSIONS("&4» &cInsufficient permissions."),
-    CONSOLE_ONLY("&4» &cConsole Only Command!");
+    INVALID_ARGS("invalid-args", "&4» &cInvalid arguments."),
+    OUT_OF_ARGS("out-of-args", "&4» &cArguments number is incorrect."),
+    NO_PERMISSIONS("no-permissions", "&4» &cInsufficient permissions."),
+    CONSOLE_ONLY("console-only", "&4» &cConsole Only Command!"),
+    VERSION("version", "&2» &7SystemInfo version: &a{0}"),
+    RELOADED("reloaded", "&8» &aSuccessfully reloaded system values and config!"),
+    GUI_CONSOLE("gui-console", "&4» &cYou cannot create GUIs inside a console"),
+    GRAPH_CONSOLE("graph-console", "&4» &cYou cannot receive graph maps inside a console"),
+    GRAPH_UNKNOWN("graph-unknown", "&4» &cUnknown metric, available metrics: {0}"),
+    GRAPH_RECEIVED("graph-received", "&2» &7You received the &a{0} &7graph."),
+    HUD_CONSOLE("hud-console", "&4» &cYou cannot show a HUD inside a console"),
+    HUD_UNKNOWN("hud-unknown", "&4» &cUnknown bar, available bars: cpu, mspt"),
+    HUD_ENABLED("hud-enabled", "&2» &7HUD enabled, showing &a{0}&7."),
+    HUD_DISABLED("hud-disabled", "&2» &7HUD disabled."),
+    BENCHMARK_RUNNING("benchmark-running", "&4» &cA benchmark is already running, please wait for its results."),
+    BENCHMARK_FAILED("benchmark-failed", "&4» &cThe benchmark failed: {0}"),
+    CPU_BENCHMARK_STARTED("cpu-benchmark-started", "&2» &7CPU benchmark started, results in about &a{0}&7."),
+    MEMORY_BENCHMARK_STARTED("memory-benchmark-started", "&2» &7Memory benchmark started, results in about a minute."),
+    DISK_BENCHMARK_STARTED("disk-benchmark-started", "&2» &7Disk benchmark started on &a{0}&7, results in a few minutes."),
+    SPEEDTEST_STARTED("speedtest-started", "&2» &7Testing against &a{0}&7, results in about &a{1}&7."),
+    SPEEDTEST_UNKNOWN("speedtest-unknown", "&4» &cUnknown speedtest endpoint, available endpoints: {0}"),
+    SPEEDTEST_INVALID_URL("speedtest-invalid-url", "&4» &cThe speedtest endpoint {0} is misconfigured: {1}"),
+    BENCHMARK_REGRESSION("benchmark-regression", "&4» &cRegression: &7{0} &c{1} &7vs baseline &a{2} &8({3})"),
+    BENCHMARK_HARDWARE_CHANGED("benchmark-hardware-changed", "&2» &7The hardware changed since the previous run: &a{0}"),
+    BENCHMARK_HISTORY_EMPTY("benchmark-history-empty", "&2» &7No benchmark has been recorded yet."),
+    BENCHMARK_HISTORY_UNKNOWN("benchmark-history-unknown", "&4» &cUnknown benchmark, available benchmarks: cpu, memory, disk, network"),
+    ALERT_FIRING("alert-firing", "&4» &c[{0}] &7{1} is &c{2} &8({3})"),
+    ALERT_RESOLVED("alert-resolved", "&2» &a[{0}] &7{1} is back to &a{2}"),
+    ANOMALY_DETECTED("anomaly-detected", "&4» &cAnomaly: &7{0} is &c{1} &7while &a{2} &7was expected &8(z={3}, {4} baseline)"),
+    ANOMALY_RESOLVED("anomaly-resolved", "&2» &7{0} is back to normal at &a{1}"),
+    ANOMALIES_DISABLED("anomalies-disabled", "&4» &cAnomaly detection is disabled in the config.yml."),
+    ANOMALIES_UNKNOWN("anomalies-unknown", "&4» &cUnknown metric, available metrics: cpu, mspt, network"),
+    JFR_UNAVAILABLE("jfr-unavailable", "&4» &cJava Flight Recorder is not available on this JVM."),
+    JFR_UNKNOWN_PROFILE("jfr-unknown-profile", "&4» &cUnknown profile, available profiles: {0}"),
+    JFR_RUNNING("jfr-running", "&4» &cA recording with the {0} profile is already running."),
+    JFR_NOT_RUNNING("jfr-not-running", "&4» &cNo recording is running."),
+    JFR_STARTED("jfr-started", "&2» &7Recording started with the &a{0} &7profile."),
+    JFR_DUMPED("jfr-dumped", "&2» &7Recording dumped to &a{0}&7, it keeps running."),
+    JFR_STOPPED("jfr-stopped", "&2» &7Recording stopped and saved to &a{0}&7."),
+    JFR_FAILED("jfr-failed", "&4» &cThe recording failed: {0}"),
+    COLLECTOR_FAILED("collector-failed", "&4» &cCould not obtain info from this system: {0}"),
+    WARMING_UP("warming-up", "&4» &cThe hardware is still being discovered, try again in a few seconds."),
+    CPU_BENCHMARK_HEADER("cpu-benchmark-header", "&2»» &7CPU Benchmark &2««"),
+    BENCHMARK_PROCESSOR("benchmark-processor", "&2» &7Processor: &a{0}"),
+    CPU_BENCHMARK_SCORES("cpu-benchmark-scores", "&2» &7Single-core score: &a{0} &7Multi-core score: &a{1}"),
+    CPU_BENCHMARK_SCALING("cpu-benchmark-scaling", "&2» &7Scaling efficiency: &a{0} &7on &a{1} &7threads"),
+    CPU_BENCHMARK_WORKLOAD("cpu-benchmark-workload", "&f- &7{0}: &a{1}&7/s ±{2} &8| &a{3}&7/s ±{4} &8| &7scaling &a{5}"),
+    MEMORY_BENCHMARK_HEADER("memory-benchmark-header", "&2»» &7Memory Benchmark &2««"),
+    MEMORY_BENCHMARK_CACHES("memory-benchmark-caches", "&2» &7Caches:{0}"),
+    MEMORY_BENCHMARK_CACHE("memory-benchmark-cache", " &7L{0} &a{1}"),
+    MEMORY_BENCHMARK_MEMORY("memory-benchmark-memory", "&2» &7Memory: &a{0}"),
+    MEMORY_BENCHMARK_MODULE("memory-benchmark-module", "&f- &7{0}: &a{1} &7{2} &a{3} &7MHz &8({4})"),
+    MEMORY_BENCHMARK_BANDWIDTH("memory-benchmark-bandwidth", "&2» &7Bandwidth on &a{0} &7threads, &a{1} &7arrays &8(best | average)"),
+    MEMORY_BENCHMARK_KERNEL("memory-benchmark-kernel", "&f- &7{0}: &a{1} &8| &a{2}"),
+    MEMORY_BENCHMARK_LATENCY("memory-benchmark-latency", "&2» &7Latency per working set &8(best | average)"),
+    MEMORY_BENCHMARK_WORKING_SET("memory-benchmark-working-set", "&f- &7{0}: &a{1} &7ns &8| &a{2} &7ns"),
+    DISK_BENCHMARK_HEADER("disk-benchmark-header", "&2»» &7Disk Benchmark &2««"),
+    DISK_BENCHMARK_FILESYSTEM("disk-benchmark-filesystem", "&2» &7Filesystem: &a{0} &8({1})"),
+    DISK_BENCHMARK_FILE("disk-benchmark-file", "&2» &7Test file: &a{0} &7with &a{1} &7streams"),
+    DISK_BENCHMARK_SEQUENTIAL("disk-benchmark-sequential", "&f- &7Sequential: &a{0} &7read &8| &a{1} &7write"),
+    DISK_BENCHMARK_RANDOM("disk-benchmark-random", "&f- &7Random 4K: &a{0} &7read IOPS &8| &a{1} &7write IOPS"),
+    DISK_BENCHMARK_MAPPED("disk-benchmark-mapped", "&f- &7Memory mapped: &a{0} &7read"),
+    DISK_BENCHMARK_SYNC("disk-benchmark-sync", "&f- &7Sync latency: &a{0} &7p50 &8| &a{1} &7p99 &8| &a{2} &7max &8(ms)"),
+    SPEEDTEST_HEADER("speedtest-header", "&2« &7Speedtest &2»"),
+    SPEEDTEST_ENDPOINT("speedtest-endpoint", "&7» &7Endpoint: &a{0} &7with &a{1} &7streams"),
+    SPEEDTEST_LATENCY("speedtest-latency", "&7» &7Latency: &a{0}ms &7min &a{1}ms &7jitter &a{2}ms"),
+    SPEEDTEST_DOWNLOAD("speedtest-download", "&7» &7Download: &a{0} &7or &a{1}/s"),
+    SPEEDTEST_UPLOAD("speedtest-upload", "&7» &7Upload: &a{0} &7or &a{1}/s"),
+    SPEEDTEST_FAILED("speedtest-failed", "&7» &cYour machine network is not configured properly."),
+    SPEEDTEST_FAILED_HINT("speedtest-failed-hint", "&7» &cThe plugin was not able to perform a speedtest, contact your host or check your system firewall."),
+    SPEEDTEST_ERROR("speedtest-error", "&7» &cError: &4&l{0}"),
+    NETWORK_HEADER("network-header", "&2«« &7Network Info &2»»"),
+    NETWORK_PACKETS_RECEIVED("network-packets-received", "&7Packet received: &a{0}"),
+    NETWORK_PACKETS_SENT("network-packets-sent", "&7Packet sent: &a{0}"),
+    NETWORK_BYTES_RECEIVED("network-bytes-received", "&7Bytes received: &a{0}"),
+    NETWORK_BYTES_SENT("network-bytes-sent", "&7Bytes sent: &a{0}"),
+    TCP_HEADER("tcp-header", "&2«« &7TCP Health &2»»"),
+    TCP_CONNECTIONS("tcp-connections", "&7Connections: &a{0}"),
+    TCP_DISTRIBUTION("tcp-distribution", "&7{0}: &ap50 {1} &7| &ap95 {2} &7| &ap99 {3} &7| &amax {4}"),
+    TCP_SOCKET("tcp-socket", "&7- &a{0} &7Send-Q: &a{1} &7Recv-Q: &a{2} &7Retrans: &a{3} &7RTO: &a{4}ms &7Cwnd: &a{5} &7Timer: &a{6} ({7}ms)"),
+    TCP_DISABLED("tcp-disabled", "&4» &cThe TCP monitor is disabled or not supported on this system."),
+    TCP_NOT_FOUND("tcp-not-found", "&4» &cNo TCP connection found for {0}."),
+    HTOP_HEADER("htop-header", "&2« &7Htop &2»"),
+    HTOP_SUMMARY("htop-summary", "&7Processes: &a{0} &7Threads: &a{1}"),
+    HTOP_COLUMNS("htop-columns", "&7    PID  %CPU %MEM     VSZ            NAME"),
+    HTOP_PROCESS("htop-process", " &8{0} &7{1} {2} {3} {4} &a{5}"),
+    STATS_HEADER("stats-header", "&2» &7Server stats &2«"),
+    STATS_WORLD("stats-world", "&2» &7{0} Entities: &a{1} &7Loaded Chunks: &a{2}"),
+    STATS_FILE_SIZE("stats-file-size", "&2» &7Server File Size: &a{0}"),
+    BENCHMARK_HISTORY_HEADER("benchmark-history-header", "&2»» &7Benchmark History &2««"),
+    BENCHMARK_HISTORY_RECORD("benchmark-history-record", "&f- &7{0} &a{1}{2} &8[{3}]"),
+    BENCHMARK_HISTORY_REGRESSED("benchmark-history-regressed", "&f- &7{0} &a{1}{2} &8[{3}] &c(regression)"),
+    BENCHMARK_HISTORY_METRIC("benchmark-history-metric", " &7{0} &a{1}"),
+    ANOMALIES_HEADER("anomalies-header", "&2»» &7Anomaly Detection &2««"),
+    ANOMALIES_LEARNING("anomalies-learning", "&f- &7{0} &8(learning)"),
+    ANOMALIES_SCORE("anomalies-score", "&f- &7{0} &a{1} &7expected &a{2} &7z &a{3} &8({4})"),
+    ANOMALIES_SCORE_ANOMALOUS("anomalies-score-anomalous", "&f- &7{0} &a{1} &7expected &a{2} &7z &a{3} &8({4}) &c(anomaly)"),
+    ANOMALIES_RECENT_HEADER("anomalies-recent-header", "&2»» &7Recent Anomalies &2««"),
+    ANOMALIES_EVENT("anomalies-event", "&f- &7{0} &a{1} &c{2} &7expected &a{3} &7z &c{4}"),
+    LSCPU_HEADER("lscpu-header", "&2«« &7Cpu info &2»»"),
+    LSCPU_OS("lscpu-os", "&7Operating System: &a{0} {1} {2}"),
+    LSCPU_VENDOR("lscpu-vendor", "&7Cpu Vendor: &a{0}"),
+    LSCPU_MODEL("lscpu-model", "&7Cpu Model: &a{0} {1}"),
+    LSCPU_CLOCK("lscpu-clock", "&7Cpu Clock Rate: &a{0}"),
+    LSCPU_STEPPING("lscpu-stepping", "&7Cpu Stepping: &a{0}"),
+    LSCPU_PHYSICAL_CORES("lscpu-physical-cores", "&7Physical Cores: &a{0}"),
+    LSCPU_LOGICAL_CORES("lscpu-logical-cores", "&7Logical Cores: &a{0}"),
+    VMSTAT_HEADER("vmstat-header", "&2«« &7Memory info &2»»"),
+    VMSTAT_AVAILABLE("vmstat-available", "&7Available memory: &a{0}"),
+    VMSTAT_ALLOCATED("vmstat-allocated", "&7Allocated memory: &a{0}"),
+    VMSTAT_TOTAL("vmstat-total", "&7Total memory: &a{0}"),
+    VMSTAT_SWAP_TOTAL("vmstat-swap-total", "&7Swap total memory: &a{0}"),
+    VMSTAT_SWAP_USED("vmstat-swap-used", "&7Swap used memory: &a{0}"),
+    GPU_HEADER("gpu-header", "&2«« &7GPUs info &2»»"),
+    GPU_INDEX("gpu-index", "&aGPU &l{0}&r&7:"),
+    GPU_VENDOR("gpu-vendor", " &a| &7GPU Vendor: &a{0}"),
+    GPU_NAME("gpu-name", " &a| &7GPU Name: &a{0}"),
+    GPU_VERSION("gpu-version", " &a| &7GPU Version: &a{0}"),
+    GPU_VRAM("gpu-vram", " &a| &7GPU VRAM: &a{0}"),
+    JAVA_HEADER("java-header", "&2«« &7Java Information&2»»"),
+    JAVA_VERSION("java-version", "&7Version: &a{0}"),
+    JAVA_VENDOR("java-vendor", "&7Vendor: &a{0}"),
+    JAVA_ARGS("java-args", "&7Args: &a{0}"),
+    JAVA_PID("java-pid", "&7Process ID: &a{0}"),
+    DEVICES_HEADER("devices-header", "&2» &7Attached devices &2«"),
+    DEVICES_LIST("devices-list", "&2» &7List:"),
+    DEVICES_DEVICE("devices-device", "&7- &a{0} {1}"),
+    DEVICES_SERIAL("devices-serial", " &7Serial-ID &8[&a{0}&8]&r"),
+    DEVICES_CHILD("devices-child", " &7|- &a{0} {1}"),
+    SENSORS_FANS("sensors-fans", "&7Fans RPM: &a{0}"),
+    SENSORS_VOLTAGE("sensors-voltage", "&7Cpu Voltage: &a{0}"),
+    SENSORS_TEMPERATURE("sensors-temperature", "&7Cpu Temperature: {0}"),
+    CPULOAD_HEADER("cpuload-header", "&2» &7System load: &2«"),
+    CPULOAD_TOTAL("cpuload-total", "&7Cpu load: &a{0}"),
+    CPULOAD_CORES("cpuload-cores", "&7Load per core:&a{0}"),
+    UPTIME_HEADER("uptime-header", "&2»» &7Machine uptime &2««"),
+    UPTIME_JVM("uptime-jvm", "&2» &7JVM Uptime: &a{0}");
 
-    private final String s;
+    private final String key;
+    private final String defaultValue;
+    private volatile String s;
+    private volatile MessageTemplate template;
 
-    Messages(@NotNull String value) {
+    Messages(@NotNull String key, @NotNull String value) {
+        this.key = key;
+        this.defaultValue = value;
         this.s = value;
     }
 
+    /**
+     * Replaces the text of this message and compiles it against the given color scheme.
+     * Called by {@link top.cmarco.systeminfo.config.MessagesConfig} on enable and reload.
+     *
+     * @param value The new text.
+     * @param light The color letter replacing {@code &a}.
+     * @param dark  The color letter replacing {@code &2}.
+     */
+    public void compile(@NotNull String value, char light, char dark) {
+        this.template = MessageTemplate.compile(value, light, dark);
+        this.s = value;
+    }
+
+    /**
+     * @return The key of this message in messages.yml.
+     */
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The text used when messages.yml does not override this message.
+     */
+    @NotNull
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
     /**
      * Colored message enabler.
      * @param color whether to color or not.
      * @return a colored text if true, default text otherwise.
      */
     public String value(boolean color) {
-        return color ? Utils.color(this.s) : this.s;
+        return color ? format() : this.s;
+    }
+
+    /**
+     * Renders the compiled message.
+     *
+     * @param args The values replacing the {@code {n}} slots of the message.
+     * @return The colored message.
+     */
+    @NotNull
+    public String format(@NotNull Object... args) {
+        MessageTemplate compiled = this.template;
+        if (compiled == null) {
+            compiled = MessageTemplate.compile(this.s, 'a', '2');
+            this.template = compiled;
+        }
+        return compiled.render(args);
     }
 }
@@ -0,0 +1,55 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.exporter;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A destination for the metrics of a {@link top.cmarco.systeminfo.oshi.SystemSnapshot}.
+ * <p>
+ * {@link SnapshotMetrics} announces every family once, followed by its samples, so implementations
+ * can render each format without building intermediate objects.
+ */
+public interface MetricSink {
+
+    /**
+     * Announces a new metric family. Every following sample belongs to it until the next family.
+     *
+     * @param name The family name, without unit or "_total" suffixes added by the format.
+     * @param help A description of the family.
+     * @param type The family type.
+     */
+    void family(@NotNull String name, @NotNull String help, @NotNull MetricType type);
+
+    /**
+     * Adds an unlabelled sample to the current family.
+     *
+     * @param value The sample value.
+     */
+    void sample(double value);
+
+    /**
+     * Adds a sample with a single label to the current family.
+     *
+     * @param labelName  The label name.
+     * @param labelValue The label value.
+     * @param value      The sample value.
+     */
+    void sample(@NotNull String labelName, @NotNull String labelValue, double value);
+}
@@ -0,0 +1,207 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.exporter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A reusable, growable byte buffer for text based metric formats.
+ * <p>
+ * Names and labels are plain ASCII, so they are copied char by char, and numbers are
+ * written digit by digit: rendering into a warmed up buffer does not allocate.
+ */
+public final class MetricsBuffer {
+
+    private static final byte[] NAN = {'N', 'a', 'N'};
+    private static final byte[] POSITIVE_INFINITY = {'+', 'I', 'n', 'f'};
+    private static final byte[] NEGATIVE_INFINITY = {'-', 'I', 'n', 'f'};
+    private static final long FRACTION_SCALE = 1_000_000L;
+    private static final int FRACTION_DIGITS = 6;
+
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * Creates a buffer with the given initial capacity.
+     *
+     * @param capacity The initial capacity in bytes.
+     */
+    public MetricsBuffer(final int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    /**
+     * Discards the buffer content, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return The amount of bytes written.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the amount of bytes written, dropping everything after it.
+     *
+     * @param size The new size, which must not exceed the current one.
+     */
+    public void truncate(final int size) {
+        this.size = size;
+    }
+
+    /**
+     * Moves the bytes after the given offset to the start of the buffer, discarding the ones before it.
+     *
+     * @param offset The offset of the first byte to keep.
+     */
+    public void compact(final int offset) {
+        System.arraycopy(bytes, offset, bytes, 0, size - offset);
+        size -= offset;
+    }
+
+    /**
+     * @return The backing array. Only the first {@link #size()} bytes are valid.
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * Writes the buffer content into an output stream.
+     *
+     * @param outputStream The destination stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeTo(@NotNull final OutputStream outputStream) throws IOException {
+        outputStream.write(bytes, 0, size);
+    }
+
+    public MetricsBuffer append(final char c) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) c;
+        return this;
+    }
+
+    public MetricsBuffer append(@NotNull final byte[] value) {
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+        return this;
+    }
+
+    /**
+     * Appends an ASCII string. Characters outside of the ASCII range are replaced by '?'.
+     *
+     * @param value The string to append.
+     * @return This buffer.
+     */
+    public MetricsBuffer append(@NotNull final CharSequence value) {
+        final int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            bytes[size++] = (byte) (c < 0x80 ? c : '?');
+        }
+        return this;
+    }
+
+    public MetricsBuffer append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        final int start = size;
+        do {
+            bytes[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        reverse(start, size - 1);
+        return this;
+    }
+
+    /**
+     * Appends a double with up to six fraction digits, dropping trailing zeros.
+     *
+     * @param value The value to append.
+     * @return This buffer.
+     */
+    public MetricsBuffer append(final double value) {
+        if (Double.isNaN(value)) {
+            return append(NAN);
+        } else if (Double.isInfinite(value)) {
+            return append(value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+        }
+
+        final double abs = Math.abs(value);
+        if (abs >= 1E12 || value == Math.rint(value)) {
+            return append(Math.round(value));
+        }
+
+        final long scaled = Math.round(abs * FRACTION_SCALE);
+        if (value < 0) {
+            append('-');
+        }
+        append(scaled / FRACTION_SCALE);
+        long fraction = scaled % FRACTION_SCALE;
+        if (fraction == 0) {
+            return this;
+        }
+
+        int digits = FRACTION_DIGITS;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        ensureCapacity(digits + 1);
+        bytes[size++] = '.';
+        final int start = size;
+        for (int i = 0; i < digits; i++) {
+            bytes[size++] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        reverse(start, size - 1);
+        return this;
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            final byte b = bytes[from];
+            bytes[from++] = bytes[to];
+            bytes[to--] = b;
+        }
+    }
+
+    private void ensureCapacity(final int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.exporter;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Renders metrics in the OpenMetrics text exposition format.
+ *
+ * @see <a href="https://github.com/OpenObservability/OpenMetrics/blob/main/specification/OpenMetrics.md">OpenMetrics specification</a>
+ */
+public final class OpenMetricsWriter implements MetricSink {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final MetricsBuffer buffer;
+    private String familyName = "";
+    private MetricType familyType = MetricType.GAUGE;
+
+    /**
+     * Creates a writer appending into the given buffer.
+     *
+     * @param buffer The destination buffer.
+     */
+    public OpenMetricsWriter(@NotNull final MetricsBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void family(@NotNull final String name, @NotNull final String help, @NotNull final MetricType type) {
+        this.familyName = name;
+        this.familyType = type;
+        buffer.append("# TYPE ").append(name).append(' ').append(type.getName()).append('\n');
+        buffer.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    @Override
+    public void sample(final double value) {
+        writeName();
+        buffer.append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void sample(@NotNull final String labelName, @NotNull final String labelValue, final double value) {
+        writeName();
+        buffer.append('{').append(labelName).append("=\"").append(labelValue).append("\"} ").append(value).append('\n');
+    }
+
+    /**
+     * Terminates the exposition, as required by the format.
+     */
+    public void end() {
+        buffer.append("# EOF\n");
+    }
+
+    private void writeName() {
+        buffer.append(familyName);
+        if (familyType == MetricType.COUNTER) {
+            buffer.append("_total");
+        }
+    }
+}
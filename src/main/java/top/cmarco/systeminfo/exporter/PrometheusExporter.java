@@ -0,0 +1,132 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.exporter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An embedded HTTP endpoint serving the latest {@link SystemSnapshot} at /metrics
+ * in the OpenMetrics text format, so Prometheus can scrape SystemInfo directly.
+ * <p>
+ * The exposition is rendered once per snapshot into a reused {@link MetricsBuffer};
+ * scrapes between two samples only copy the already rendered bytes.
+ */
+public final class PrometheusExporter {
+
+    private final SystemInfo plugin;
+    private final MetricsBuffer buffer = new MetricsBuffer(16 * 1024);
+    private final OpenMetricsWriter writer = new OpenMetricsWriter(buffer);
+    private final byte[] authorization;
+    private SystemSnapshot renderedSnapshot = null;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Constructs a new instance of PrometheusExporter with the provided SystemInfo plugin.
+     *
+     * @param plugin    The SystemInfo plugin instance.
+     * @param authToken The bearer token scrapers must send, or an empty string to disable authentication.
+     */
+    public PrometheusExporter(@NotNull final SystemInfo plugin, @NotNull final String authToken) {
+        this.plugin = plugin;
+        this.authorization = authToken.isEmpty() ? null : ("Bearer " + authToken).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Binds the HTTP server and starts serving scrapes.
+     *
+     * @param bindAddress The address to bind to.
+     * @param port        The port to bind to.
+     * @throws IOException If the server cannot be bound.
+     */
+    public void start(@NotNull final String bindAddress, final int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "SystemInfo Prometheus Exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        plugin.getLogger().info("Serving OpenMetrics on http://" + bindAddress + ":" + port + "/metrics");
+    }
+
+    /**
+     * Stops the HTTP server, if running.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Handles a single scrape. Scrapes are served one at a time by the exporter thread.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response cannot be written.
+     */
+    private void handle(@NotNull final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            if (authorization != null) {
+                final String header = exchange.getRequestHeaders().getFirst("Authorization");
+                if (header == null || !MessageDigest.isEqual(authorization, header.getBytes(StandardCharsets.UTF_8))) {
+                    exchange.sendResponseHeaders(401, -1);
+                    return;
+                }
+            }
+
+            final SystemSnapshot snapshot = plugin.getSystemValues().getSnapshot();
+            if (snapshot != renderedSnapshot) {
+                buffer.clear();
+                SnapshotMetrics.export(snapshot, writer);
+                writer.end();
+                renderedSnapshot = snapshot;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, buffer.size());
+            try (OutputStream body = exchange.getResponseBody()) {
+                buffer.writeTo(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.exporter;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.jfr.JfrStats;
+import top.cmarco.systeminfo.oshi.DiskSnapshot;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.protocol.TcpHealthData;
+import top.cmarco.systeminfo.tick.TickStats;
+
+import java.util.List;
+
+/**
+ * Describes every metric of a {@link SystemSnapshot} to a {@link MetricSink}.
+ * All exporters go through this class, so metric names stay identical across formats.
+ */
+public final class SnapshotMetrics {
+
+    private static volatile String[] processorLabels = new String[0];
+
+    private SnapshotMetrics() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Writes all the metrics of a snapshot into the given sink.
+     *
+     * @param snapshot The snapshot to export.
+     * @param sink     The destination of the metrics.
+     */
+    public static void export(@NotNull final SystemSnapshot snapshot, @NotNull final MetricSink sink) {
+        sink.family("systeminfo_cpu_load_percent", "Global CPU load.", MetricType.GAUGE);
+        sink.sample(snapshot.getCpuLoad());
+
+        final int processors = snapshot.getProcessorCount();
+        if (processors > 0) {
+            final String[] labels = processorLabels(processors);
+            sink.family("systeminfo_cpu_processor_load_percent", "Load of each logical processor.", MetricType.GAUGE);
+            for (int i = 0; i < processors; i++) {
+                sink.sample("processor", labels[i], snapshot.getProcessorLoad(i));
+            }
+        }
+
+        sink.family("systeminfo_cpu_temperature_celsius", "CPU temperature, 0 when unavailable.", MetricType.GAUGE);
+        sink.sample(snapshot.getCpuTemperature());
+
+        sink.family("systeminfo_memory_total_bytes", "Total physical memory.", MetricType.GAUGE);
+        sink.sample(snapshot.getMemoryTotal());
+        sink.family("systeminfo_memory_available_bytes", "Available physical memory.", MetricType.GAUGE);
+        sink.sample(snapshot.getMemoryAvailable());
+        sink.family("systeminfo_swap_total_bytes", "Total swap memory.", MetricType.GAUGE);
+        sink.sample(snapshot.getSwapTotal());
+        sink.family("systeminfo_swap_used_bytes", "Used swap memory.", MetricType.GAUGE);
+        sink.sample(snapshot.getSwapUsed());
+        sink.family("systeminfo_jvm_heap_used_bytes", "JVM heap in use.", MetricType.GAUGE);
+        sink.sample(snapshot.getJvmHeapUsed());
+        sink.family("systeminfo_jvm_heap_max_bytes", "Maximum JVM heap.", MetricType.GAUGE);
+        sink.sample(snapshot.getJvmHeapMax());
+
+        sink.family("systeminfo_processes", "Processes running on the system.", MetricType.GAUGE);
+        sink.sample(snapshot.getProcessCount());
+        sink.family("systeminfo_threads", "Threads running on the system.", MetricType.GAUGE);
+        sink.sample(snapshot.getThreadCount());
+
+        final TickStats tickStats = snapshot.getTickStats();
+        if (tickStats != null) {
+            sink.family("systeminfo_tick_mspt_average_milliseconds", "Average tick duration over the last minute.", MetricType.GAUGE);
+            sink.sample(tickStats.getAverageMspt());
+            sink.family("systeminfo_tick_mspt_p95_milliseconds", "95th percentile tick duration over the last minute.", MetricType.GAUGE);
+            sink.sample(tickStats.getP95Mspt());
+            sink.family("systeminfo_tick_mspt_max_milliseconds", "Longest tick over the last minute.", MetricType.GAUGE);
+            sink.sample(tickStats.getMaxMspt());
+            sink.family("systeminfo_tick_tps", "Ticks per second over the last five seconds.", MetricType.GAUGE);
+            sink.sample(tickStats.getTps());
+        }
+
+        final List<DiskSnapshot> disks = snapshot.getDisks();
+        if (!disks.isEmpty()) {
+            sink.family("systeminfo_disk_read_bytes", "Bytes read from each disk.", MetricType.COUNTER);
+            for (int i = 0; i < disks.size(); i++) {
+                sink.sample("disk", disks.get(i).getName(), disks.get(i).getReadBytes());
+            }
+            sink.family("systeminfo_disk_written_bytes", "Bytes written to each disk.", MetricType.COUNTER);
+            for (int i = 0; i < disks.size(); i++) {
+                sink.sample("disk", disks.get(i).getName(), disks.get(i).getWriteBytes());
+            }
+            sink.family("systeminfo_disk_transfer_time_milliseconds", "Time spent transferring data on each disk.", MetricType.COUNTER);
+            for (int i = 0; i < disks.size(); i++) {
+                sink.sample("disk", disks.get(i).getName(), disks.get(i).getTransferTime());
+            }
+        }
+
+        sink.family("systeminfo_world_disk_usable_bytes", "Usable space of the filesystem holding the worlds.", MetricType.GAUGE);
+        sink.sample(snapshot.getWorldDiskUsable());
+        sink.family("systeminfo_world_disk_total_bytes", "Total space of the filesystem holding the worlds.", MetricType.GAUGE);
+        sink.sample(snapshot.getWorldDiskTotal());
+
+        sink.family("systeminfo_interface_received_bytes", "Bytes received by the server network interface.", MetricType.COUNTER);
+        sink.sample(snapshot.getInterfaceBytesReceived());
+        sink.family("systeminfo_interface_sent_bytes", "Bytes sent by the server network interface.", MetricType.COUNTER);
+        sink.sample(snapshot.getInterfaceBytesSent());
+
+        final NetworkStatsData networkStats = snapshot.getNetworkStats();
+        if (networkStats != null) {
+            sink.family("systeminfo_packets_received", "Minecraft packets received.", MetricType.COUNTER);
+            sink.sample(networkStats.getTotalReceivedPackets());
+            sink.family("systeminfo_packets_sent", "Minecraft packets sent.", MetricType.COUNTER);
+            sink.sample(networkStats.getTotalSentPackets());
+            sink.family("systeminfo_packet_received_bytes", "Minecraft packet bytes received.", MetricType.COUNTER);
+            sink.sample(networkStats.getTotalReceivedBytes());
+            sink.family("systeminfo_packet_sent_bytes", "Minecraft packet bytes sent.", MetricType.COUNTER);
+            sink.sample(networkStats.getTotalSentBytes());
+        }
+
+        final TcpHealthData tcpHealth = snapshot.getTcpHealth();
+        if (tcpHealth != null) {
+            sink.family("systeminfo_tcp_connections", "Player connections matched in the kernel TCP table.", MetricType.GAUGE);
+            sink.sample(tcpHealth.getPlayerStats().size());
+            distribution(sink, "systeminfo_tcp_send_queue_bytes", "Send queue of player connections.", tcpHealth.getSendQueue());
+            distribution(sink, "systeminfo_tcp_receive_queue_bytes", "Receive queue of player connections.", tcpHealth.getReceiveQueue());
+            distribution(sink, "systeminfo_tcp_retransmits", "Unrecovered retransmits of player connections.", tcpHealth.getRetransmits());
+            distribution(sink, "systeminfo_tcp_rto_milliseconds", "Retransmission timeout of player connections.", tcpHealth.getRto());
+        }
+
+        final JfrStats jfrStats = snapshot.getJfrStats();
+        if (jfrStats != null) {
+            if (jfrStats.getMachineLoad() >= 0d) {
+                sink.family("systeminfo_jfr_jvm_user_load_percent", "CPU load of the JVM in user mode.", MetricType.GAUGE);
+                sink.sample(jfrStats.getJvmUserLoad());
+                sink.family("systeminfo_jfr_jvm_system_load_percent", "CPU load of the JVM in kernel mode.", MetricType.GAUGE);
+                sink.sample(jfrStats.getJvmSystemLoad());
+                sink.family("systeminfo_jfr_machine_load_percent", "CPU load of the machine seen by the JVM.", MetricType.GAUGE);
+                sink.sample(jfrStats.getMachineLoad());
+            }
+            sink.family("systeminfo_jfr_gc_collections", "Garbage collections.", MetricType.COUNTER);
+            sink.sample(jfrStats.getGcCount());
+            sink.family("systeminfo_jfr_gc_pause_milliseconds", "Time the application was paused by garbage collections.", MetricType.COUNTER);
+            sink.sample(jfrStats.getGcPauseMillis());
+            sink.family("systeminfo_jfr_safepoints", "Safepoints longer than the threshold.", MetricType.COUNTER);
+            sink.sample(jfrStats.getSafepointCount());
+            sink.family("systeminfo_jfr_safepoint_milliseconds", "Time spent in safepoints longer than the threshold.", MetricType.COUNTER);
+            sink.sample(jfrStats.getSafepointMillis());
+            sink.family("systeminfo_jfr_monitor_contentions", "Monitor enters blocked longer than the threshold.", MetricType.COUNTER);
+            sink.sample(jfrStats.getMonitorContentionCount());
+            sink.family("systeminfo_jfr_monitor_contention_milliseconds", "Time blocked on contended monitors.", MetricType.COUNTER);
+            sink.sample(jfrStats.getMonitorContentionMillis());
+            sink.family("systeminfo_jfr_allocated_bytes", "Heap allocations estimated from allocation samples.", MetricType.COUNTER);
+            sink.sample(jfrStats.getAllocatedBytes());
+        }
+    }
+
+    private static void distribution(@NotNull final MetricSink sink, @NotNull final String name, @NotNull final String help,
+                                     @NotNull final TcpHealthData.Distribution distribution) {
+        sink.family(name, help, MetricType.GAUGE);
+        sink.sample("percentile", "p50", distribution.getP50());
+        sink.sample("percentile", "p95", distribution.getP95());
+        sink.sample("percentile", "p99", distribution.getP99());
+        sink.sample("percentile", "max", distribution.getMax());
+    }
+
+    @NotNull
+    private static String[] processorLabels(final int processors) {
+        String[] labels = processorLabels;
+        if (labels.length < processors) {
+            labels = new String[processors];
+            for (int i = 0; i < processors; i++) {
+                labels[i] = Integer.toString(i);
+            }
+            processorLabels = labels;
+        }
+        return labels;
+    }
+}
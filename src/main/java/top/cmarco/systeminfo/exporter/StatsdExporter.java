@@ -0,0 +1,219 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.exporter;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pushes the metrics of a {@link SystemSnapshot} to a StatsD compatible agent over UDP.
+ * <p>
+ * All the metrics are batched into datagrams no larger than the configured packet size and written
+ * to a single non-blocking {@link DatagramChannel}: when the socket buffer is full the datagram is
+ * dropped instead of waiting, so a slow or missing agent can never stall the caller.
+ */
+public final class StatsdExporter implements MetricSink {
+
+    private static final String FAMILY_PREFIX = "systeminfo_";
+
+    private final InetSocketAddress target;
+    private final String prefix;
+    private final boolean tags;
+    private final int maxPacketSize;
+    private final MetricsBuffer packet;
+    private final Map<String, Map<String, double[]>> lastCounterValues = new HashMap<>();
+    private DatagramChannel channel;
+    private ByteBuffer datagram;
+
+    private String familyName = "";
+    private MetricType familyType = MetricType.GAUGE;
+    private long droppedPackets = 0L;
+
+    /**
+     * Creates a new StatsD exporter. Call {@link #open()} before flushing.
+     *
+     * @param target        The address of the StatsD agent.
+     * @param prefix        The prefix of every metric name, without the trailing dot.
+     * @param tags          Whether to use DogStatsD tags for labels instead of appending them to the name.
+     * @param maxPacketSize The maximum size of a datagram, usually the path MTU minus the IP and UDP headers.
+     */
+    public StatsdExporter(@NotNull final InetSocketAddress target, @NotNull final String prefix,
+                          final boolean tags, final int maxPacketSize) {
+        this.target = target;
+        this.prefix = prefix.isEmpty() ? "" : prefix + '.';
+        this.tags = tags;
+        this.maxPacketSize = maxPacketSize;
+        this.packet = new MetricsBuffer(maxPacketSize * 2);
+    }
+
+    /**
+     * Opens the non-blocking UDP channel.
+     *
+     * @throws IOException If the channel cannot be opened.
+     */
+    public void open() throws IOException {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.connect(target);
+    }
+
+    /**
+     * Closes the UDP channel.
+     */
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Sends every metric of a snapshot. Not thread-safe, callers must flush from a single task.
+     *
+     * @param snapshot The snapshot to send.
+     */
+    public void flush(@NotNull final SystemSnapshot snapshot) {
+        if (channel == null) {
+            return;
+        }
+        packet.clear();
+        SnapshotMetrics.export(snapshot, this);
+        if (packet.size() > 0) {
+            send(packet.size() - 1); // like every datagram, without the trailing newline
+            packet.clear();
+        }
+    }
+
+    /**
+     * @return The amount of datagrams dropped because the socket was not writable.
+     */
+    public long getDroppedPackets() {
+        return droppedPackets;
+    }
+
+    @Override
+    public void family(@NotNull final String name, @NotNull final String help, @NotNull final MetricType type) {
+        this.familyName = name;
+        this.familyType = type;
+    }
+
+    @Override
+    public void sample(final double value) {
+        final int lineStart = packet.size();
+        writeName();
+        writeValue(counterDelta("", value));
+        packet.append('\n');
+        lineWritten(lineStart);
+    }
+
+    @Override
+    public void sample(@NotNull final String labelName, @NotNull final String labelValue, final double value) {
+        final int lineStart = packet.size();
+        writeName();
+        if (!tags) {
+            packet.append('.').append(labelName).append('_').append(labelValue);
+        }
+        writeValue(counterDelta(labelValue, value));
+        if (tags) {
+            packet.append("|#").append(labelName).append(':').append(labelValue);
+        }
+        packet.append('\n');
+        lineWritten(lineStart);
+    }
+
+    private void writeName() {
+        packet.append(prefix);
+        if (familyName.startsWith(FAMILY_PREFIX)) {
+            for (int i = FAMILY_PREFIX.length(); i < familyName.length(); i++) {
+                packet.append(familyName.charAt(i));
+            }
+        } else {
+            packet.append(familyName);
+        }
+    }
+
+    private void writeValue(final double value) {
+        packet.append(':').append(value).append(familyType == MetricType.COUNTER ? "|c" : "|g");
+    }
+
+    /**
+     * StatsD counters are increments, while snapshots carry running totals.
+     */
+    private double counterDelta(@NotNull final String labelValue, final double total) {
+        if (familyType != MetricType.COUNTER) {
+            return total;
+        }
+        Map<String, double[]> series = lastCounterValues.get(familyName);
+        if (series == null) {
+            series = new HashMap<>();
+            lastCounterValues.put(familyName, series);
+        }
+        final double[] last = series.get(labelValue);
+        if (last == null) {
+            series.put(labelValue, new double[]{total});
+            return 0d;
+        }
+        final double delta = total - last[0];
+        last[0] = total;
+        return delta < 0 ? total : delta; // counter reset
+    }
+
+    /**
+     * Sends the datagram built so far if the last line made it exceed the packet size.
+     */
+    private void lineWritten(final int lineStart) {
+        if (packet.size() - 1 <= maxPacketSize) {
+            return;
+        }
+        if (lineStart == 0) {
+            send(packet.size() - 1); // a single line larger than a packet, send it whole
+            packet.clear();
+            return;
+        }
+        send(lineStart - 1); // drop the trailing newline of the previous line
+        packet.compact(lineStart);
+    }
+
+    private void send(final int length) {
+        if (datagram == null || datagram.array() != packet.array()) {
+            datagram = ByteBuffer.wrap(packet.array());
+        }
+        final Buffer buffer = datagram; // Buffer methods keep the bytecode compatible with Java 8
+        buffer.clear();
+        buffer.limit(length);
+        try {
+            if (channel.write(datagram) == 0) {
+                droppedPackets++;
+            }
+        } catch (IOException exception) {
+            droppedPackets++; // agent unreachable, keep pushing on the next flush
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.graph;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.MapMeta;
+import org.bukkit.map.MapRenderer;
+import org.bukkit.map.MapView;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Records the history of every {@link GraphMetric} and keeps the graph maps up to date.
+ * Every metric has a single map shared by all the players holding it. Map renderers only live in memory,
+ * so the map id of every metric is saved to graphs.yml and its renderer is attached again on startup.
+ */
+public final class GraphManager implements Consumer<SystemSnapshot> {
+
+    private static final int HISTORY_SIZE = 600; // ten minutes of snapshots.
+    private static final String FILE_NAME = "graphs.yml";
+
+    private final SystemInfo plugin;
+    private final File file;
+    private final Map<GraphMetric, MetricHistory> histories = new EnumMap<>(GraphMetric.class);
+    private final Map<GraphMetric, GraphRenderer> renderers = new ConcurrentHashMap<>();
+    private final Map<GraphMetric, MapView> mapViews = new ConcurrentHashMap<>();
+    private final double[] latest = new double[GraphMetric.values().length];
+    private SystemSnapshot previous = null;
+
+    /**
+     * Constructs a new instance of GraphManager with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public GraphManager(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        for (final GraphMetric metric : GraphMetric.values()) {
+            histories.put(metric, new MetricHistory(HISTORY_SIZE));
+        }
+    }
+
+    /**
+     * Attaches a renderer again to the maps handed out before the last restart or reload, so they keep showing
+     * their graph instead of the vanilla terrain. Maps that no longer exist are forgotten.
+     */
+    public void load() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        final YamlConfiguration configuration = YamlConfiguration.loadConfiguration(file);
+        boolean changed = false;
+        for (final String key : configuration.getKeys(false)) {
+            final GraphMetric metric = GraphMetric.fromId(key);
+            final MapView view = metric == null || !configuration.isInt(key) ? null : Bukkit.getMap(configuration.getInt(key));
+            if (view == null) {
+                changed = true;
+                continue;
+            }
+            attach(metric, view);
+        }
+
+        if (changed) {
+            save();
+        }
+    }
+
+    private void save() {
+        final YamlConfiguration configuration = new YamlConfiguration();
+        for (final Map.Entry<GraphMetric, MapView> entry : mapViews.entrySet()) {
+            configuration.set(entry.getKey().getId(), entry.getValue().getId());
+        }
+        try {
+            configuration.save(file);
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Could not save the graph maps, they will show the terrain after a restart!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Replaces the renderers of a map with the graph renderer of a metric.
+     */
+    private void attach(@NotNull final GraphMetric metric, @NotNull final MapView view) {
+        for (final MapRenderer renderer : view.getRenderers()) {
+            view.removeRenderer(renderer);
+        }
+        final GraphRenderer renderer = new GraphRenderer();
+        view.addRenderer(renderer);
+        renderers.put(metric, renderer);
+        mapViews.put(metric, view);
+    }
+
+    /**
+     * Records the latest snapshot and redraws the graphs that have a map.
+     *
+     * @param snapshot The latest snapshot.
+     */
+    @Override
+    public void accept(@NotNull final SystemSnapshot snapshot) {
+        for (final Map.Entry<GraphMetric, MetricHistory> entry : histories.entrySet()) {
+            final double value = entry.getKey().sample(previous, snapshot);
+            latest[entry.getKey().ordinal()] = value;
+            if (!Double.isNaN(value)) { // unavailable samples are skipped, the graph keeps its last values.
+                entry.getValue().add(value);
+            }
+        }
+        previous = snapshot;
+
+        for (final Map.Entry<GraphMetric, GraphRenderer> entry : renderers.entrySet()) {
+            entry.getValue().draw(entry.getKey(), histories.get(entry.getKey()), latest[entry.getKey().ordinal()]);
+        }
+    }
+
+    /**
+     * Creates a map item showing the graph of a metric, creating and saving the map the first time.
+     *
+     * @param world  The world used to create the map.
+     * @param metric The metric.
+     * @return The map item.
+     */
+    @NotNull
+    public ItemStack createMapItem(@NotNull final World world, @NotNull final GraphMetric metric) {
+        MapView mapView;
+        synchronized (mapViews) { // Folia players on different regions may ask for the same graph at once.
+            mapView = mapViews.get(metric);
+            if (mapView == null) {
+                mapView = Bukkit.createMap(world);
+                attach(metric, mapView);
+                save();
+            }
+        }
+
+        final ItemStack item = new ItemStack(Material.FILLED_MAP, 1);
+        final MapMeta meta = (MapMeta) item.getItemMeta();
+        assert meta != null;
+        meta.setMapId(mapView.getId());
+        meta.setDisplayName(Utils.color("&2" + metric.getDisplayName() + " Graph"));
+        item.setItemMeta(meta);
+        return item;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.graph;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.tick.TickStats;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+/**
+ * The metrics that can be drawn onto a graph map.
+ */
+public enum GraphMetric {
+
+    CPU("cpu", "CPU", 100d, true) {
+        @Override
+        double sample(@Nullable final SystemSnapshot previous, @NotNull final SystemSnapshot current) {
+            return Math.max(0d, current.getCpuLoad());
+        }
+
+        @NotNull
+        @Override
+        String format(final double value) {
+            return FastFormat.percent(value, 1);
+        }
+    },
+
+    MSPT("mspt", "MSPT", 50d, false) {
+        /**
+         * Not available when the ticks are only timed as intervals, which never drop below 50 ms on Spigot and Folia.
+         */
+        @Override
+        double sample(@Nullable final SystemSnapshot previous, @NotNull final SystemSnapshot current) {
+            final TickStats tickStats = current.getTickStats();
+            if (tickStats == null) {
+                return 0d;
+            }
+            return tickStats.isExact() ? tickStats.getAverageMspt() : Double.NaN;
+        }
+
+        @NotNull
+        @Override
+        String format(final double value) {
+            return FastFormat.fixed(value, 1) + "ms";
+        }
+
+        @NotNull
+        @Override
+        String unavailable() {
+            return "n/a (Paper only)";
+        }
+    },
+
+    BANDWIDTH("bandwidth", "Bandwidth", 1000d, false) {
+        /**
+         * Uses the Minecraft protocol traffic when available, otherwise the traffic of the server network interface.
+         */
+        @Override
+        double sample(@Nullable final SystemSnapshot previous, @NotNull final SystemSnapshot current) {
+            final NetworkStatsData networkStats = current.getNetworkStats();
+            if (networkStats != null) {
+                return networkStats.getLastSentBytes() + networkStats.getLastReceivedBytes();
+            }
+            if (previous == null || current.getTimestamp() <= previous.getTimestamp()) {
+                return 0d;
+            }
+            final long bytes = current.getInterfaceBytesSent() + current.getInterfaceBytesReceived()
+                    - previous.getInterfaceBytesSent() - previous.getInterfaceBytesReceived();
+            return Math.max(0d, bytes * 1000d / (current.getTimestamp() - previous.getTimestamp()));
+        }
+
+        @NotNull
+        @Override
+        String format(final double value) {
+            return FastFormat.rate((long) value);
+        }
+    };
+
+    private final String id;
+    private final String displayName;
+    private final double minimumScale;
+    private final boolean fixedScale;
+
+    GraphMetric(@NotNull final String id, @NotNull final String displayName, final double minimumScale, final boolean fixedScale) {
+        this.id = id;
+        this.displayName = displayName;
+        this.minimumScale = minimumScale;
+        this.fixedScale = fixedScale;
+    }
+
+    /**
+     * Extracts the value of this metric from a snapshot.
+     *
+     * @param previous The snapshot sampled before, null for the first sample.
+     * @param current  The latest snapshot.
+     * @return The metric value, or NaN when not available.
+     */
+    abstract double sample(@Nullable SystemSnapshot previous, @NotNull SystemSnapshot current);
+
+    /**
+     * @param value A metric value.
+     * @return The value with its unit of measure.
+     */
+    @NotNull
+    abstract String format(double value);
+
+    /**
+     * @return The text shown instead of the value while the metric is not available.
+     */
+    @NotNull
+    String unavailable() {
+        return "n/a";
+    }
+
+    /**
+     * @return The name used by the graph command.
+     */
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    @NotNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return The smallest top of the y axis, so that an idle metric does not look busy.
+     */
+    double getMinimumScale() {
+        return minimumScale;
+    }
+
+    /**
+     * @return True if the y axis always ends at the minimum scale, such as percentages.
+     */
+    boolean isFixedScale() {
+        return fixedScale;
+    }
+
+    /**
+     * Find a metric by its command name.
+     *
+     * @param id The command name, case insensitive.
+     * @return The metric, or null if none matches.
+     */
+    @Nullable
+    public static GraphMetric fromId(@NotNull final String id) {
+        for (final GraphMetric metric : values()) {
+            if (metric.id.equalsIgnoreCase(id)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.graph;
+
+import org.bukkit.entity.Player;
+import org.bukkit.map.MapCanvas;
+import org.bukkit.map.MapFont;
+import org.bukkit.map.MapPalette;
+import org.bukkit.map.MapRenderer;
+import org.bukkit.map.MapView;
+import org.bukkit.map.MinecraftFont;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Draws the history of a metric onto a map.
+ * <p>
+ * The graph is drawn into a reusable 128x128 pixel buffer on the snapshot thread. Columns that differ
+ * from the previously published frame are marked dirty, and the server thread copies only those columns
+ * onto the map canvas, so the server only sends the changed region of the map to its viewers.
+ */
+public final class GraphRenderer extends MapRenderer {
+
+    private static final int SIZE = 128;
+    private static final int PLOT_LEFT = 2, PLOT_RIGHT = SIZE - 3, PLOT_TOP = 12, PLOT_BOTTOM = SIZE - 3;
+    private static final int PLOT_WIDTH = PLOT_RIGHT - PLOT_LEFT + 1, PLOT_HEIGHT = PLOT_BOTTOM - PLOT_TOP + 1;
+
+    @SuppressWarnings("deprecation")
+    private static final byte BACKGROUND = MapPalette.matchColor(25, 25, 25),
+            GRID = MapPalette.matchColor(70, 70, 70),
+            LINE = MapPalette.matchColor(90, 220, 90),
+            TEXT = MapPalette.matchColor(255, 255, 255);
+
+    private final byte[] frame = new byte[SIZE * SIZE];
+    private final byte[] published = new byte[SIZE * SIZE];
+    private final boolean[] dirtyColumns = new boolean[SIZE];
+    private volatile boolean dirty = false;
+
+    private double[] values = new double[0];
+    private int[] points = new int[PLOT_WIDTH];
+
+    public GraphRenderer() {
+        super(false);
+    }
+
+    /**
+     * Draws the history of a metric and publishes the changed columns. Called by the snapshot thread.
+     *
+     * @param metric  The metric.
+     * @param history The metric history.
+     * @param latest  The latest sample, NaN when the metric is not available.
+     */
+    void draw(@NotNull final GraphMetric metric, @NotNull final MetricHistory history, final double latest) {
+        if (values.length < history.capacity()) {
+            values = new double[history.capacity()];
+        }
+        final int count = history.copyTo(values);
+
+        double max = metric.getMinimumScale();
+        if (!metric.isFixedScale()) {
+            for (int i = 0; i < count; i++) {
+                max = Math.max(max, values[i] * 1.1d);
+            }
+        }
+
+        Arrays.fill(frame, BACKGROUND);
+        for (int quarter = 1; quarter < 4; quarter++) {
+            final int y = PLOT_BOTTOM - (PLOT_HEIGHT - 1) * quarter / 4;
+            for (int x = PLOT_LEFT; x <= PLOT_RIGHT; x += 2) {
+                frame[y * SIZE + x] = GRID;
+            }
+        }
+        drawText(2, 2, metric.getDisplayName() + " " + (Double.isNaN(latest) ? metric.unavailable() : metric.format(latest)));
+
+        final int kept = Lttb.downsample(values, count, PLOT_WIDTH, points);
+        final int span = Math.max(1, history.capacity() - 1);
+        int previousX = -1, previousY = -1;
+        for (int i = 0; i < kept; i++) {
+            final int index = points[i];
+            // the time axis always spans the whole history, new samples enter from the right.
+            final int x = PLOT_RIGHT - (int) ((long) (count - 1 - index) * (PLOT_WIDTH - 1) / span);
+            final int y = PLOT_BOTTOM - (int) Math.round(Math.min(1d, Math.max(0d, values[index] / max)) * (PLOT_HEIGHT - 1));
+            if (previousX == -1) {
+                frame[y * SIZE + x] = LINE;
+            } else {
+                drawLine(previousX, previousY, x, y);
+            }
+            previousX = x;
+            previousY = y;
+        }
+
+        publish();
+    }
+
+    /**
+     * Copies the changed columns of the frame into the published buffer.
+     */
+    private synchronized void publish() {
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if (published[y * SIZE + x] != frame[y * SIZE + x]) {
+                    dirtyColumns[x] = true;
+                    dirty = true;
+                    break;
+                }
+            }
+            if (dirtyColumns[x]) {
+                for (int y = 0; y < SIZE; y++) {
+                    published[y * SIZE + x] = frame[y * SIZE + x];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void render(@NotNull final MapView map, @NotNull final MapCanvas canvas, @NotNull final Player player) {
+        if (!dirty) {
+            return;
+        }
+
+        synchronized (this) {
+            for (int x = 0; x < SIZE; x++) {
+                if (!dirtyColumns[x]) {
+                    continue;
+                }
+                for (int y = 0; y < SIZE; y++) {
+                    canvas.setPixel(x, y, published[y * SIZE + x]);
+                }
+                dirtyColumns[x] = false;
+            }
+            dirty = false;
+        }
+    }
+
+    private void drawLine(int x0, int y0, final int x1, final int y1) {
+        final int dx = Math.abs(x1 - x0), dy = -Math.abs(y1 - y0);
+        final int sx = x0 < x1 ? 1 : -1, sy = y0 < y1 ? 1 : -1;
+        int error = dx + dy;
+        while (true) {
+            frame[y0 * SIZE + x0] = LINE;
+            if (x0 == x1 && y0 == y1) {
+                return;
+            }
+            final int doubled = 2 * error;
+            if (doubled >= dy) {
+                error += dy;
+                x0 += sx;
+            }
+            if (doubled <= dx) {
+                error += dx;
+                y0 += sy;
+            }
+        }
+    }
+
+    private void drawText(int x, final int y, @NotNull final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            final MapFont.CharacterSprite sprite = MinecraftFont.Font.getChar(text.charAt(i));
+            if (sprite == null) {
+                continue;
+            }
+            for (int row = 0; row < sprite.getHeight(); row++) {
+                for (int column = 0; column < sprite.getWidth(); column++) {
+                    if (sprite.get(row, column) && x + column < SIZE && y + row < SIZE) {
+                        frame[(y + row) * SIZE + x + column] = TEXT;
+                    }
+                }
+            }
+            x += sprite.getWidth() + 1;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.graph;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling, which keeps the visual shape of a series
+ * (spikes included) while reducing it to one point per pixel column.
+ *
+ * @see <a href="https://skemman.is/handle/1946/15343">Sveinn Steinarsson, Downsampling Time Series for Visual Representation</a>
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Selects the points of an evenly spaced series to draw.
+     *
+     * @param data      The series values.
+     * @param length    The amount of values to consider.
+     * @param threshold The maximum amount of points to keep, at least 3.
+     * @param out       Receives the indexes of the kept points in ascending order, at least threshold long.
+     * @return The amount of kept points.
+     */
+    static int downsample(final double[] data, final int length, final int threshold, final int[] out) {
+        if (length <= threshold || length < 3) {
+            for (int i = 0; i < length; i++) {
+                out[i] = i;
+            }
+            return length;
+        }
+
+        final double every = (double) (length - 2) / (threshold - 2);
+        int kept = 0;
+        int a = 0;
+        out[kept++] = a;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average of the next bucket, the third vertex of the triangles.
+            final int averageStart = (int) ((bucket + 1) * every) + 1;
+            final int averageEnd = Math.min((int) ((bucket + 2) * every) + 1, length);
+            double averageX = 0d, averageY = 0d;
+            for (int i = averageStart; i < averageEnd; i++) {
+                averageX += i;
+                averageY += data[i];
+            }
+            final int averageLength = averageEnd - averageStart;
+            averageX /= averageLength;
+            averageY /= averageLength;
+
+            final int rangeStart = (int) (bucket * every) + 1;
+            final int rangeEnd = (int) ((bucket + 1) * every) + 1;
+            final double ay = data[a];
+            double maxArea = -1d;
+            int next = rangeStart;
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                final double area = Math.abs((a - averageX) * (data[i] - ay) - (a - i) * (averageY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+            out[kept++] = next;
+            a = next;
+        }
+
+        out[kept++] = length - 1;
+        return kept;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.graph;
+
+/**
+ * Ring buffer holding the most recent samples of a metric, one per snapshot.
+ * Only accessed by the snapshot thread.
+ */
+final class MetricHistory {
+
+    private final double[] values;
+    private int start = 0;
+    private int count = 0;
+
+    MetricHistory(final int capacity) {
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Appends a sample, overwriting the oldest one when the buffer is full.
+     *
+     * @param value The sample.
+     */
+    void add(final double value) {
+        if (count < values.length) {
+            values[(start + count++) % values.length] = value;
+        } else {
+            values[start] = value;
+            start = (start + 1) % values.length;
+        }
+    }
+
+    /**
+     * Copies the samples, oldest first.
+     *
+     * @param out The destination, at least {@link #capacity()} long.
+     * @return The amount of samples copied.
+     */
+    int copyTo(final double[] out) {
+        final int head = Math.min(count, values.length - start);
+        System.arraycopy(values, start, out, 0, head);
+        System.arraycopy(values, 0, out, head, count - head);
+        return count;
+    }
+
+    int capacity() {
+        return values.length;
+    }
+
+    int size() {
+        return count;
+    }
+}
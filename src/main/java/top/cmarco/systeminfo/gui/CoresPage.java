@@ -0,0 +1,55 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+/**
+ * Detail page showing the load of every logical processor.
+ */
+final class CoresPage extends ListGuiPage {
+
+    CoresPage(@NotNull final GuiPage parent) {
+        super(parent, "SystemInfo » CPU Cores");
+    }
+
+    @Override
+    int getEntryCount(@NotNull final SystemSnapshot snapshot) {
+        return snapshot.getProcessorCount();
+    }
+
+    @Override
+    void renderEntry(@NotNull final SystemSnapshot snapshot, final int index, final int slot, @NotNull final GuiFrame frame) {
+        final double load = snapshot.getProcessorLoad(index);
+        final Material material;
+        if (load < 50.0d) {
+            material = Material.LIME_STAINED_GLASS_PANE;
+        } else if (load < 80.0d) {
+            material = Material.YELLOW_STAINED_GLASS_PANE;
+        } else {
+            material = Material.RED_STAINED_GLASS_PANE;
+        }
+
+        frame.set(slot, material, SystemInfoGui.lines("&2Core #" + index,
+                "&7Load: &a" + FastFormat.percent(load, 2)));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.DiskSnapshot;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.utils.Utils;
+
+/**
+ * Detail page showing the I/O counters of every disk.
+ */
+final class DisksPage extends ListGuiPage {
+
+    DisksPage(@NotNull final GuiPage parent) {
+        super(parent, "SystemInfo » Disks");
+    }
+
+    @Override
+    int getEntryCount(@NotNull final SystemSnapshot snapshot) {
+        return snapshot.getDisks().size();
+    }
+
+    @Override
+    void renderEntry(@NotNull final SystemSnapshot snapshot, final int index, final int slot, @NotNull final GuiFrame frame) {
+        final DiskSnapshot disk = snapshot.getDisks().get(index);
+        frame.set(slot, Material.CHEST, SystemInfoGui.lines("&2" + disk.getName(),
+                "&7Model: &a" + disk.getModel(),
+                "&7Size: &a" + Utils.formatData(disk.getSize()),
+                "&7Reads: &a" + disk.getReads(),
+                "&7Writes: &a" + disk.getWrites(),
+                "&7Data Read: &a" + Utils.formatData(disk.getReadBytes()),
+                "&7Data Written: &a" + Utils.formatData(disk.getWriteBytes()),
+                "&7Transfer Time: &a" + disk.getTransferTime() + " ms"));
+    }
+}
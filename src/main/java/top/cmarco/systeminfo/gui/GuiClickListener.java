@@ -21,16 +21,26 @@ package top.cmarco.systeminfo.gui;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Listener used to prevent players from stealing or adding item into the plugin inventory.
  */
 public final class GuiClickListener implements Listener {
+
+    private final SystemInfoGui systemInfoGui;
+
+    public GuiClickListener(@NotNull SystemInfoGui systemInfoGui) {
+        this.systemInfoGui = systemInfoGui;
+    }
+
     /**
      * In this event we are listening for the player clicking in his inventory, if the inventory
-     * title equals to "SystemInfo" we are cancelling every action in order to prevent stealing
-     * or moving items inside the inventory.
+     * belongs to a SystemInfo GUI we are cancelling every action in order to prevent stealing
+     * or moving items inside the inventory. Clicks inside the GUI are forwarded to the page, which may open a detail page.
      *
      * @param inventoryClickEvent triggered whenever the player clicks inside an inventory.
      */
@@ -38,9 +48,24 @@ public final class GuiClickListener implements Listener {
     public void clickEvent(InventoryClickEvent inventoryClickEvent) {
         final Inventory inventory = inventoryClickEvent.getView().getTopInventory();
 
-        if (inventory.equals(SystemInfoGui.GUI)) {
+        if (inventory.getHolder() instanceof SystemInfoGuiHolder) {
             inventoryClickEvent.setCancelled(true);
+            systemInfoGui.click((SystemInfoGuiHolder) inventory.getHolder(), inventoryClickEvent.getRawSlot());
         }
 
     }
+
+    /**
+     * Stops refreshing the GUI of a player as soon as the player closes it.
+     *
+     * @param inventoryCloseEvent triggered whenever the player closes an inventory.
+     */
+    @EventHandler
+    public void closeEvent(InventoryCloseEvent inventoryCloseEvent) {
+        final InventoryHolder holder = inventoryCloseEvent.getInventory().getHolder();
+
+        if (holder instanceof SystemInfoGuiHolder) {
+            systemInfoGui.removeViewer((SystemInfoGuiHolder) holder);
+        }
+    }
 }
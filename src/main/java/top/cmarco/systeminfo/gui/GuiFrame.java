@@ -0,0 +1,61 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The rendered items of a GUI page: the display name and lore of every slot together with its material.
+ * Frames are rendered once per refresh and shared by every viewer of the same page.
+ */
+final class GuiFrame {
+
+    private final String[][] lines;
+    private final Material[] materials;
+
+    GuiFrame(final int size) {
+        this.lines = new String[size][];
+        this.materials = new Material[size];
+    }
+
+    /**
+     * Sets the item of a slot.
+     *
+     * @param slot     The 0-based inventory slot.
+     * @param material The item material.
+     * @param lines    The colored display name followed by the lore lines.
+     */
+    void set(final int slot, @NotNull final Material material, @NotNull final String[] lines) {
+        this.lines[slot] = lines;
+        this.materials[slot] = material;
+    }
+
+    int getSize() {
+        return lines.length;
+    }
+
+    String[] getLines(final int slot) {
+        return lines[slot];
+    }
+
+    Material getMaterial(final int slot) {
+        return materials[slot];
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of the SystemInfo GUI.
+ * Pages render their items from a {@link SystemSnapshot} only while someone is viewing them,
+ * so they never query OSHI themselves.
+ */
+abstract class GuiPage {
+
+    /**
+     * @return The inventory title.
+     */
+    @NotNull
+    abstract String getTitle();
+
+    /**
+     * @return The inventory size, a multiple of 9.
+     */
+    abstract int getSize();
+
+    /**
+     * Renders the items of this page.
+     *
+     * @param snapshot   The latest snapshot.
+     * @param pageNumber The 0-based page number.
+     * @param frame      The frame to fill.
+     */
+    abstract void render(@NotNull SystemSnapshot snapshot, int pageNumber, @NotNull GuiFrame frame);
+
+    /**
+     * Handles a click inside the page.
+     *
+     * @param gui    The GUI manager, used to open other pages.
+     * @param holder The holder of the clicked inventory.
+     * @param slot   The 0-based clicked slot.
+     */
+    abstract void click(@NotNull SystemInfoGui gui, @NotNull SystemInfoGuiHolder holder, int slot);
+
+    /**
+     * @return The 1-based slots filled by the opening animation, in animation order.
+     */
+    @NotNull
+    List<Integer> getBackgroundSlots() {
+        return Collections.emptyList();
+    }
+}
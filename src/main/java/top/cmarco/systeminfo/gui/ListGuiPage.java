@@ -0,0 +1,100 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+
+/**
+ * A detail page listing one item per entry, split over as many pages as needed,
+ * with navigation arrows and a button returning to the summary.
+ */
+abstract class ListGuiPage extends GuiPage {
+
+    private static final int ENTRIES_PER_PAGE = 45;
+    private static final int PREVIOUS_SLOT = 45, BACK_SLOT = 49, NEXT_SLOT = 53;
+
+    private final GuiPage parent;
+    private final String title;
+
+    ListGuiPage(@NotNull final GuiPage parent, @NotNull final String title) {
+        this.parent = parent;
+        this.title = title;
+    }
+
+    /**
+     * @param snapshot The latest snapshot.
+     * @return The amount of entries.
+     */
+    abstract int getEntryCount(@NotNull SystemSnapshot snapshot);
+
+    /**
+     * Renders a single entry.
+     *
+     * @param snapshot The latest snapshot.
+     * @param index    The entry index.
+     * @param slot     The slot of the entry.
+     * @param frame    The frame to fill.
+     */
+    abstract void renderEntry(@NotNull SystemSnapshot snapshot, int index, int slot, @NotNull GuiFrame frame);
+
+    @NotNull
+    @Override
+    final String getTitle() {
+        return title;
+    }
+
+    @Override
+    final int getSize() {
+        return 9 * 6;
+    }
+
+    @Override
+    final void render(@NotNull final SystemSnapshot snapshot, final int pageNumber, @NotNull final GuiFrame frame) {
+        final int count = getEntryCount(snapshot);
+        final int pages = Math.max(1, (count + ENTRIES_PER_PAGE - 1) / ENTRIES_PER_PAGE);
+        final int first = pageNumber * ENTRIES_PER_PAGE;
+
+        for (int index = first; index < count && index < first + ENTRIES_PER_PAGE; index++) {
+            renderEntry(snapshot, index, index - first, frame);
+        }
+
+        if (pageNumber > 0) {
+            frame.set(PREVIOUS_SLOT, Material.ARROW, SystemInfoGui.lines("&2Previous Page"));
+        }
+        frame.set(BACK_SLOT, Material.BARRIER, SystemInfoGui.lines("&2Back",
+                "&7Page: &a" + (pageNumber + 1) + "/" + pages));
+        if (pageNumber + 1 < pages) {
+            frame.set(NEXT_SLOT, Material.ARROW, SystemInfoGui.lines("&2Next Page"));
+        }
+    }
+
+    @Override
+    final void click(@NotNull final SystemInfoGui gui, @NotNull final SystemInfoGuiHolder holder, final int slot) {
+        final int pageNumber = holder.getPageNumber();
+        if (slot == PREVIOUS_SLOT && pageNumber > 0) {
+            gui.open(holder.getViewer(), this, pageNumber - 1);
+        } else if (slot == NEXT_SLOT && (pageNumber + 1) * ENTRIES_PER_PAGE < getEntryCount(gui.getSnapshot())) {
+            gui.open(holder.getViewer(), this, pageNumber + 1);
+        } else if (slot == BACK_SLOT) {
+            gui.open(holder.getViewer(), parent, 0);
+        }
+    }
+}
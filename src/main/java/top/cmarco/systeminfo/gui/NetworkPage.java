@@ -0,0 +1,64 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.InterfaceSnapshot;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.protocol.PacketTypeStats;
+import top.cmarco.systeminfo.utils.FastFormat;
+import top.cmarco.systeminfo.utils.Utils;
+
+/**
+ * Detail page showing every network interface, followed by the traffic of every Minecraft packet type.
+ */
+final class NetworkPage extends ListGuiPage {
+
+    NetworkPage(@NotNull final GuiPage parent) {
+        super(parent, "SystemInfo » Network");
+    }
+
+    @Override
+    int getEntryCount(@NotNull final SystemSnapshot snapshot) {
+        return snapshot.getInterfaces().size() + snapshot.getPacketTypes().size();
+    }
+
+    @Override
+    void renderEntry(@NotNull final SystemSnapshot snapshot, final int index, final int slot, @NotNull final GuiFrame frame) {
+        final int interfaces = snapshot.getInterfaces().size();
+        if (index < interfaces) {
+            final InterfaceSnapshot networkInterface = snapshot.getInterfaces().get(index);
+            frame.set(slot, Material.STRING, SystemInfoGui.lines("&2" + networkInterface.getName(),
+                    "&7Description: &a" + networkInterface.getDisplayName(),
+                    "&7Speed: &a" + FastFormat.rate(networkInterface.getSpeed() / Utils.BITS_IN_BYTE),
+                    "&7Data In Total: &a" + Utils.formatData(networkInterface.getBytesReceived()),
+                    "&7Data Out Total: &a" + Utils.formatData(networkInterface.getBytesSent()),
+                    "&7Packets In Total: &a" + networkInterface.getPacketsReceived(),
+                    "&7Packets Out Total: &a" + networkInterface.getPacketsSent()));
+            return;
+        }
+
+        final PacketTypeStats packetType = snapshot.getPacketTypes().get(index - interfaces);
+        frame.set(slot, packetType.isSent() ? Material.PAPER : Material.BOOK, SystemInfoGui.lines("&2" + packetType.getName(),
+                "&7Direction: &a" + (packetType.isSent() ? "Out" : "In"),
+                "&7Packets: &a" + packetType.getPackets(),
+                "&7Data: &a" + Utils.formatData(packetType.getBytes())));
+    }
+}
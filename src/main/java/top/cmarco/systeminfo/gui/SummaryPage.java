@@ -0,0 +1,180 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import com.google.common.collect.ImmutableList;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import oshi.hardware.GraphicsCard;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.oshi.SystemValues;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.utils.FastFormat;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * The summary page opened by the systeminfo gui command.
+ * Clicking the processor, networking or disks items opens the matching detail page.
+ */
+final class SummaryPage extends GuiPage {
+
+    private static final List<Integer> BACKGROUND_SLOTS = ImmutableList.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 18, 27, 26, 25, 24, 22, 21, 20, 19, 10);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("d\\M\\u h:m:s a");
+    private static final String DETAILS_HINT = "&8Click for details";
+    private static final int PROCESSOR_SLOT = 10, CPU_LOAD_SLOT = 11, NETWORK_SLOT = 15, DISKS_SLOT = 22;
+
+    private final SystemInfo systemInfo;
+    private final GuiPage coresPage = new CoresPage(this);
+    private final GuiPage disksPage = new DisksPage(this);
+    private final GuiPage networkPage = new NetworkPage(this);
+    private String osName = null, osVersion = null, interfaceName = null;
+    private volatile String[] processorItem = null; // written after the fields above, publishes them.
+    private volatile String[] gpuItem = null;
+
+    SummaryPage(@NotNull final SystemInfo systemInfo) {
+        this.systemInfo = systemInfo;
+        // the hardware description never changes, enumerate it once the background discovery has completed.
+        final SystemValues values = systemInfo.getSystemValues();
+        values.whenReady().thenRun(this::renderHardware).exceptionally(throwable -> {
+            if (values.isReady()) { // a failed discovery is already reported by the plugin.
+                systemInfo.getLogger().warning("Could not describe the hardware in the GUI!");
+                systemInfo.getLogger().warning(throwable.getLocalizedMessage());
+            }
+            return null;
+        });
+    }
+
+    private void renderHardware() {
+        final SystemValues values = systemInfo.getSystemValues();
+        osName = values.getOSFamily() + " " + values.getOSManufacturer();
+        osVersion = values.getOSVersion();
+        interfaceName = values.getNetworkInterfaceName();
+
+        processorItem = SystemInfoGui.lines("&2Processor",
+                "&7Vendor: &a" + values.getCpuVendor(),
+                "&7Model: &a" + values.getCpuModel() + " " + values.getCpuModelName(),
+                "&7Clock Speed: &a" + values.getCpuMaxFrequency() + " GHz",
+                "&7Physical Cores: &a" + values.getCpuCores(),
+                "&7Logical Cores: &a" + values.getCpuThreads(),
+                DETAILS_HINT);
+
+        final GraphicsCard gpu = values.getMainGPU();
+        gpuItem = gpu == null ? SystemInfoGui.lines("&2GPU", "&7No GPU detected") : SystemInfoGui.lines("&2GPU",
+                "&7GPU Model: &a" + gpu.getName(),
+                "&7GPU Vendor: &a" + gpu.getVendor(),
+                "&7GPU VRAM: &a" + Utils.formatData(gpu.getVRam()));
+    }
+
+    @NotNull
+    @Override
+    String getTitle() {
+        return "SystemInfo";
+    }
+
+    @Override
+    int getSize() {
+        return 9 * 3;
+    }
+
+    @NotNull
+    @Override
+    List<Integer> getBackgroundSlots() {
+        return BACKGROUND_SLOTS;
+    }
+
+    @Override
+    void render(@NotNull final SystemSnapshot snapshot, final int pageNumber, @NotNull final GuiFrame frame) {
+        final String[] processorItem = this.processorItem;
+        final boolean hardwareRendered = processorItem != null;
+        if (hardwareRendered) {
+            frame.set(PROCESSOR_SLOT, Material.GREEN_WOOL, processorItem);
+        }
+        final String[] gpuItem = this.gpuItem;
+        if (gpuItem != null) {
+            frame.set(13, Material.GOLD_INGOT, gpuItem);
+        }
+
+        frame.set(CPU_LOAD_SLOT, Material.REDSTONE_LAMP, SystemInfoGui.lines("&2CPU Load",
+                "&7Global Load: &a" + FastFormat.percent(snapshot.getCpuLoad(), 2),
+                DETAILS_HINT));
+
+        frame.set(12, Material.IRON_BLOCK, SystemInfoGui.lines("&2Memory",
+                "&7Total: &a" + Utils.formatData(snapshot.getMemoryTotal()),
+                "&7Available: &a" + Utils.formatData(snapshot.getMemoryAvailable()),
+                "&7Swap Used: &a" + Utils.formatData(snapshot.getSwapUsed()),
+                "&7Swap Allocated: &a" + Utils.formatData(snapshot.getSwapTotal())));
+
+        if (hardwareRendered) {
+            frame.set(14, Material.PAPER, SystemInfoGui.lines("&2Operating system",
+                    "&7Name: &a" + osName,
+                    "&7Version: &a" + osVersion,
+                    "&7Active Processes: &a" + snapshot.getProcessCount()));
+        }
+
+        final NetworkStatsData networkStatsData = snapshot.getNetworkStats();
+        if (networkStatsData != null && hardwareRendered) {
+            frame.set(NETWORK_SLOT, Material.STRING, SystemInfoGui.lines("&2Networking",
+                    "&7Name: &a" + interfaceName,
+                    "&7Packets Out: &a" + networkStatsData.getLastSentPackets() + "/s",
+                    "&7Packets In: &a" + networkStatsData.getLastReceivedPackets() + "/s",
+                    "&7Packets Out Total: &a" + networkStatsData.getTotalSentPackets(),
+                    "&7Packets In Total: &a" + networkStatsData.getTotalReceivedPackets(),
+                    "&7Data Out Total: &a" + Utils.formatData(networkStatsData.getTotalSentBytes()),
+                    "&7Data In Total: &a" + Utils.formatData(networkStatsData.getTotalReceivedBytes()),
+                    "&7Data Out: &a" + FastFormat.rate(networkStatsData.getLastSentBytes()),
+                    "&7Data In: &a" + FastFormat.rate(networkStatsData.getLastReceivedBytes()),
+                    DETAILS_HINT
+            ));
+        }
+
+        frame.set(16, Material.BEACON, SystemInfoGui.lines("&2Uptime",
+                "&7Jvm uptime: &a" + ChronoUnit.MINUTES.between(systemInfo.getStartupTime(), LocalDateTime.now()) + " min.",
+                "&7Current time: &a" + LocalDateTime.now().format(TIME_FORMATTER)));
+
+        frame.set(DISKS_SLOT, Material.CHEST, SystemInfoGui.lines("&2Disks",
+                "&7Disks: &a" + snapshot.getDisks().size(),
+                "&7World Disk Free: &a" + Utils.formatData(snapshot.getWorldDiskUsable()),
+                "&7World Disk Total: &a" + Utils.formatData(snapshot.getWorldDiskTotal()),
+                DETAILS_HINT));
+    }
+
+    @Override
+    void click(@NotNull final SystemInfoGui gui, @NotNull final SystemInfoGuiHolder holder, final int slot) {
+        switch (slot) {
+            case PROCESSOR_SLOT:
+            case CPU_LOAD_SLOT:
+                gui.open(holder.getViewer(), coresPage, 0);
+                break;
+            case NETWORK_SLOT:
+                gui.open(holder.getViewer(), networkPage, 0);
+                break;
+            case DISKS_SLOT:
+                gui.open(holder.getViewer(), disksPage, 0);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -19,48 +19,45 @@
 package top.cmarco.systeminfo.gui;
 
 import com.github.Anon8281.universalScheduler.scheduling.tasks.MyScheduledTask;
-import com.google.common.collect.ImmutableList;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
-import top.cmarco.systeminfo.oshi.SystemValues;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
 import top.cmarco.systeminfo.plugin.SystemInfo;
-import top.cmarco.systeminfo.protocol.BukkitNetworkingManager;
-import top.cmarco.systeminfo.protocol.NetworkStatsData;
 import top.cmarco.systeminfo.utils.Utils;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is used for the interactive GUI in the systeminfo gui command.
  * It displays basic information using Minecraft blocks and animations.
+ * <p>
+ * Every viewer gets its own inventory, while a single refresh loop renders the pages being
+ * viewed once per second and hands the same frame to every viewer of a page.
  */
 public final class SystemInfoGui {
 
     public SystemInfoGui(@NotNull SystemInfo systemInfo) {
         this.systemInfo = systemInfo;
+        this.summaryPage = new SummaryPage(systemInfo);
     }
 
     private final SystemInfo systemInfo;
-    private final Map<UUID, MyScheduledTask> tasks = new HashMap<>();
+    private final GuiPage summaryPage;
+    private final Map<UUID, SystemInfoGuiHolder> viewers = new ConcurrentHashMap<>();
 
     /* ---------------------------- */
-    private static final List<Integer> BACKGROUND_SLOTS = ImmutableList.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 18, 27, 26, 25, 24, 23, 22, 21, 20, 19, 10);
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("d\\M\\u h:m:s a");
-    public static final Inventory GUI = Bukkit.createInventory(null, 9*3, "SystemInfo");
+    private static final long CONTENT_PERIOD = 20L; // ticks between two content frames.
 
     /* ---------------------------- */
 
-    private MyScheduledTask fillTask = null;
+    private MyScheduledTask refreshTask = null;
+    private long refreshTicks = 0L;
 
     /* ---------------------------- */
 
@@ -70,61 +67,111 @@ public final class SystemInfoGui {
      * @param player a valid Player
      */
     public void createGui(@NotNull Player player) {
-        this.cleanBackground();
-        this.fillBackground();
-        player.openInventory(GUI);
-
-
-        final MyScheduledTask bukkitTask = SystemInfo.getScheduler().runTaskTimer(player, () -> {
-
-            final InventoryView inventoryView = player.getOpenInventory();
+        open(player, summaryPage, 0);
+    }
 
-            if (inventoryView.getTopInventory().equals(GUI)) {
+    /**
+     * Opens a page of the GUI to a player. The page items are rendered only now, from the latest snapshot.
+     *
+     * @param player     The player.
+     * @param page       The page to open.
+     * @param pageNumber The 0-based page number.
+     */
+    void open(@NotNull Player player, @NotNull GuiPage page, int pageNumber) {
+        final SystemInfoGuiHolder holder = new SystemInfoGuiHolder(player, page, pageNumber);
+        holder.apply(render(page, pageNumber, getSnapshot()));
+        viewers.put(player.getUniqueId(), holder);
+        player.openInventory(holder.getInventory());
+        startRefreshTask();
+    }
 
-                this.updateInventory();
+    /**
+     * Handles a click inside a GUI inventory.
+     * The click is handled on the next tick, since inventories must not be opened while handling a click.
+     *
+     * @param holder The holder of the clicked inventory.
+     * @param slot   The 0-based raw slot.
+     */
+    void click(@NotNull SystemInfoGuiHolder holder, int slot) {
+        if (slot < 0 || slot >= holder.getInventory().getSize()) {
+            return;
+        }
+        SystemInfo.getScheduler().runTask(holder.getViewer(), () -> {
+            if (holder.isViewing()) {
+                holder.getPage().click(this, holder, slot);
+            }
+        });
+    }
 
-            } else {
-                MyScheduledTask bt = this.tasks.get(player.getUniqueId());
+    /**
+     * Stops refreshing a GUI, called when its viewer closes the inventory.
+     *
+     * @param holder The holder of the closed inventory.
+     */
+    void removeViewer(@NotNull SystemInfoGuiHolder holder) {
+        viewers.remove(holder.getViewer().getUniqueId(), holder);
+    }
 
-                if (bt != null) {
-                    bt.cancel();
-                    this.tasks.remove(player.getUniqueId());
-                }
+    @NotNull
+    SystemSnapshot getSnapshot() {
+        return systemInfo.getSystemValues().getSnapshot();
+    }
 
-            }
-        }, 2L, 20L);
+    @NotNull
+    private static GuiFrame render(@NotNull GuiPage page, int pageNumber, @NotNull SystemSnapshot snapshot) {
+        final GuiFrame frame = new GuiFrame(page.getSize());
+        page.render(snapshot, pageNumber, frame);
+        return frame;
+    }
 
-        this.tasks.put(player.getUniqueId(), bukkitTask);
+    private synchronized void startRefreshTask() {
+        if (refreshTask == null) {
+            refreshTicks = 0L;
+            refreshTask = SystemInfo.getScheduler().runTaskTimer(this::refresh, 1L, 1L);
+        }
     }
 
     /**
-     * This method generates an animation that consists in taking a list of integers that represents
-     * inventory slots, then generating items with material parameter for each slot creating a cool effect
+     * Runs every tick while at least one player is viewing the GUI: advances the opening animations
+     * and, once per second, renders every viewed page once and lets every viewer diff it against its inventory.
      */
-    private void fillBackground() {
-        final Iterator<Integer> invSlotIterator = SystemInfoGui.BACKGROUND_SLOTS.iterator();
-
-        this.fillTask = SystemInfo.getScheduler().runTaskTimer( () -> {
+    private void refresh() {
+        synchronized (this) {
+            if (viewers.isEmpty()) {
+                if (refreshTask != null) {
+                    refreshTask.cancel();
+                    refreshTask = null;
+                }
+                return;
+            }
+        }
 
-            if (invSlotIterator.hasNext()) {
+        final boolean content = ++refreshTicks % CONTENT_PERIOD == 0L;
+        final SystemSnapshot snapshot = content ? getSnapshot() : null;
+        final Map<GuiPage, Map<Integer, GuiFrame>> frames = content ? new IdentityHashMap<>() : null;
 
-                setCustomItem(SystemInfoGui.GUI, Material.GLASS_PANE, invSlotIterator.next(), " ", " ");
+        for (final SystemInfoGuiHolder holder : viewers.values()) {
+            final GuiFrame frame = content ? frames.computeIfAbsent(holder.getPage(), page -> new HashMap<>())
+                    .computeIfAbsent(holder.getPageNumber(), pageNumber -> render(holder.getPage(), pageNumber, snapshot)) : null;
 
+            if (Utils.isFolia()) {
+                // inventories can only be changed by the region thread owning the viewer.
+                SystemInfo.getScheduler().runTask(holder.getViewer(), () -> update(holder, frame));
             } else {
-
-                if (this.fillTask != null) {
-                    this.fillTask.cancel();
-                    this.fillTask = null;
-                }
+                update(holder, frame);
             }
-
-        }, 1L, 1L);
+        }
     }
 
-    private void cleanBackground() {
-        for (int backgroundSlot : SystemInfoGui.BACKGROUND_SLOTS) {
-            final int slot = backgroundSlot - 1;
-            SystemInfoGui.GUI.setItem(slot, null);
+    private void update(@NotNull final SystemInfoGuiHolder holder, final GuiFrame frame) {
+        if (!holder.isViewing()) {
+            viewers.remove(holder.getViewer().getUniqueId(), holder);
+            return;
+        }
+
+        holder.animateBackground();
+        if (frame != null) {
+            holder.apply(frame);
         }
     }
 
@@ -140,77 +187,43 @@ public final class SystemInfoGui {
      */
     public static void setCustomItem(@NotNull Inventory inv, @NotNull Material material, int invSlot, @NotNull String displayName, String... loreText) {
         if ((invSlot >= 0 && invSlot <= inv.getSize())) {
-            ItemStack item;
-            List<String> lore = new ArrayList<>();
-            item = new ItemStack(material, 1);
-            ItemMeta meta = item.getItemMeta();
-            assert meta != null;
-            meta.setDisplayName(Utils.color(displayName));
-            for (String s : loreText) {
-                lore.add(Utils.color(s));
-            }
-            meta.setLore(lore);
-            meta.addItemFlags(ItemFlag.values());
-            item.setItemMeta(meta);
-            inv.setItem(invSlot - 1, item);
+            inv.setItem(invSlot - 1, createItem(material, lines(displayName, loreText)));
         }
     }
 
     /**
-     * This method updates the inventory with new items
+     * Creates an ItemStack from already colored lines.
+     *
+     * @param material the material of the ItemStack.
+     * @param lines    the display name followed by the lore lines.
+     * @return the new ItemStack.
      */
-    public void updateInventory() {
-        SystemValues values = this.systemInfo.getSystemValues();
-        setCustomItem(GUI, Material.GREEN_WOOL, 11, "&2Processor",
-                "&7Vendor: &a" + values.getCpuVendor(),
-                "&7Model: &a" + values.getCpuModel() + " " + values.getCpuModelName(),
-                "&7Clock Speed: &a" + values.getCpuMaxFrequency() + " GHz",
-                "&7Physical Cores: &a" + values.getCpuCores(),
-                "&7Logical Cores: &a" + values.getCpuThreads());
-
-        setCustomItem(GUI, Material.REDSTONE_LAMP, 12, "&2CPU Load",
-                "&7Global Load: &a" + String.format("%.2f", values.getLastCpuLoad()) + "%");
-
-        setCustomItem(GUI, Material.IRON_BLOCK, 13, "&2Memory",
-                "&7Total: &a" + values.getMaxMemory(),
-                "&7Available: &a" + values.getAvailableMemory(),
-                "&7Swap Used: &a" + values.getUsedSwap(),
-                "&7Swap Allocated: &a" + values.getTotalSwap());
-
-        setCustomItem(GUI, Material.GOLD_INGOT, 14, "&2GPU",
-                "&7GPU Model: &a" + values.getMainGPU().getName(),
-                "&7GPU Vendor: &a" + values.getMainGPU().getVendor(),
-                "&7GPU VRAM: &a" + Utils.formatData(values.getMainGPU().getVRam()));
-
-        setCustomItem(GUI, Material.PAPER, 15, "&2Operating system",
-                "&7Name: &a" + values.getOSFamily() + " " + values.getOSManufacturer(),
-                "&7Version: &a" + values.getOSVersion(),
-                "&7Active Processes: &a" + values.getRunningProcesses());
-
-        BukkitNetworkingManager networkingManager = systemInfo.getNetworkingManager();
-
-        if (networkingManager != null) {
-
-            final NetworkStatsData networkStatsData = networkingManager.getNetworkStats();
-
-            setCustomItem(GUI, Material.STRING, 16, "&2Networking",
-                    "&7Name: &a" + values.getNetworkInterfaceName(),
-                    "&7Packets Out: &a" + networkStatsData.getLastSentPackets() + "/s",
-                    "&7Packets In: &a" + networkStatsData.getLastReceivedPackets() + "/s",
-                    "&7Packets Out Total: &a" + networkStatsData.getTotalSentPackets(),
-                    "&7Packets In Total: &a" + networkStatsData.getTotalReceivedPackets(),
-                    "&7Data Out Total: &a" + Utils.formatData(networkStatsData.getTotalSentBytes()),
-                    "&7Data In Total: &a" + Utils.formatData(networkStatsData.getTotalReceivedBytes()),
-                    "&7Data Out: &a" + Utils.formatData(networkStatsData.getLastSentBytes()) + "/s",
-                    "&7Data In: &a" + Utils.formatData(networkStatsData.getLastReceivedBytes()) + "/s"
-            );
+    @NotNull
+    static ItemStack createItem(@NotNull Material material, @NotNull String[] lines) {
+        final ItemStack item = new ItemStack(material, 1);
+        final ItemMeta meta = item.getItemMeta();
+        assert meta != null;
+        meta.setDisplayName(lines[0]);
+        meta.setLore(Arrays.asList(lines).subList(1, lines.length));
+        meta.addItemFlags(ItemFlag.values());
+        item.setItemMeta(meta);
+        return item;
+    }
 
+    /**
+     * Colors a display name and its lore lines.
+     *
+     * @param displayName the display name (this does support color codes with &).
+     * @param loreText    the lore lines (this does support color codes with &).
+     * @return the colored display name followed by the colored lore lines.
+     */
+    @NotNull
+    static String[] lines(@NotNull String displayName, @NotNull String... loreText) {
+        final String[] lines = new String[loreText.length + 1];
+        lines[0] = Utils.color(displayName);
+        for (int i = 0; i < loreText.length; i++) {
+            lines[i + 1] = Utils.color(loreText[i]);
         }
-
-        setCustomItem(GUI, Material.BEACON, 17, "&2Uptime",
-                "&7Jvm uptime: &a" + ChronoUnit.MINUTES.between(systemInfo.getStartupTime(), LocalDateTime.now()) + " min.",
-                "&7Current time: &a" + LocalDateTime.now().format(TIME_FORMATTER));
-
-
+        return lines;
     }
 }
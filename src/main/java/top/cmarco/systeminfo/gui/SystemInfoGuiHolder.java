@@ -0,0 +1,118 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The inventory holder of a single SystemInfo GUI viewer, showing one page.
+ * It remembers the lore shown in every slot so that refreshes only rewrite the slots that changed.
+ */
+final class SystemInfoGuiHolder implements InventoryHolder {
+
+    private final Player viewer;
+    private final GuiPage page;
+    private final int pageNumber;
+    private final Inventory inventory;
+    private final String[][] shown;
+    private final Material[] shownMaterials;
+    private int backgroundIndex = 0;
+
+    SystemInfoGuiHolder(@NotNull final Player viewer, @NotNull final GuiPage page, final int pageNumber) {
+        this.viewer = viewer;
+        this.page = page;
+        this.pageNumber = pageNumber;
+        this.inventory = Bukkit.createInventory(this, page.getSize(), page.getTitle());
+        this.shown = new String[page.getSize()][];
+        this.shownMaterials = new Material[page.getSize()];
+    }
+
+    @NotNull
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @NotNull
+    Player getViewer() {
+        return viewer;
+    }
+
+    @NotNull
+    GuiPage getPage() {
+        return page;
+    }
+
+    int getPageNumber() {
+        return pageNumber;
+    }
+
+    /**
+     * Checks whether the viewer still has this inventory open.
+     *
+     * @return True if the viewer is online and looking at this inventory.
+     */
+    boolean isViewing() {
+        return viewer.isOnline() && viewer.getOpenInventory().getTopInventory().getHolder() == this;
+    }
+
+    /**
+     * Places the next glass pane of the opening animation, if the page has one.
+     */
+    void animateBackground() {
+        final List<Integer> slots = page.getBackgroundSlots();
+        if (backgroundIndex < slots.size()) {
+            SystemInfoGui.setCustomItem(inventory, Material.GLASS_PANE, slots.get(backgroundIndex++), " ", " ");
+        }
+    }
+
+    /**
+     * Writes the items of a frame, skipping every slot whose material, name and lore did not change since the last frame.
+     *
+     * @param frame The rendered frame of this page.
+     */
+    void apply(@NotNull final GuiFrame frame) {
+        for (int slot = 0; slot < frame.getSize(); slot++) {
+            final String[] lines = frame.getLines(slot);
+            final Material material = frame.getMaterial(slot);
+            if (lines == null) {
+                if (shown[slot] != null) { // the entry disappeared, e.g. a page got shorter.
+                    shown[slot] = null;
+                    shownMaterials[slot] = null;
+                    inventory.setItem(slot, null);
+                }
+                continue;
+            }
+            if (material == shownMaterials[slot] && (lines == shown[slot] || Arrays.equals(lines, shown[slot]))) {
+                continue;
+            }
+            shown[slot] = lines;
+            shownMaterials[slot] = material;
+            inventory.setItem(slot, SystemInfoGui.createItem(material, lines));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.hud;
+
+import org.bukkit.boss.BarColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.tick.TickStats;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+/**
+ * The metrics that can be shown in the HUD boss bar.
+ */
+public enum HudBar {
+
+    CPU("cpu") {
+        @Override
+        double value(@NotNull final SystemSnapshot snapshot) {
+            return Math.max(0d, snapshot.getCpuLoad());
+        }
+
+        @NotNull
+        @Override
+        String title(final double value) {
+            return "&7CPU Load: &a" + FastFormat.percent(value, 1);
+        }
+
+        @Override
+        double progress(final double value) {
+            return value / 100d;
+        }
+    },
+
+    MSPT("mspt") {
+        /**
+         * NaN when the ticks are only timed as intervals, which never drop below 50 ms on Spigot and Folia.
+         */
+        @Override
+        double value(@NotNull final SystemSnapshot snapshot) {
+            final TickStats tickStats = snapshot.getTickStats();
+            if (tickStats == null) {
+                return 0d;
+            }
+            return tickStats.isExact() ? tickStats.getAverageMspt() : Double.NaN;
+        }
+
+        @NotNull
+        @Override
+        String title(final double value) {
+            return Double.isNaN(value) ? "&7MSPT: &8n/a (Paper only)" : "&7MSPT: &a" + FastFormat.fixed(value, 1) + "ms";
+        }
+
+        @Override
+        double progress(final double value) {
+            return Double.isNaN(value) ? 0d : value / 50d; // a full bar means the server can no longer keep 20 TPS.
+        }
+    };
+
+    private final String id;
+
+    HudBar(@NotNull final String id) {
+        this.id = id;
+    }
+
+    /**
+     * @param snapshot The latest snapshot.
+     * @return The metric value.
+     */
+    abstract double value(@NotNull SystemSnapshot snapshot);
+
+    /**
+     * @param value The metric value.
+     * @return The boss bar title, with & color codes.
+     */
+    @NotNull
+    abstract String title(double value);
+
+    /**
+     * @param value The metric value.
+     * @return How full the bar is, unclamped.
+     */
+    abstract double progress(double value);
+
+    /**
+     * @param progress How full the bar is.
+     * @return The bar color for the given progress.
+     */
+    @NotNull
+    static BarColor color(final double progress) {
+        if (progress < 0.6d) {
+            return BarColor.GREEN;
+        } else if (progress < 0.9d) {
+            return BarColor.YELLOW;
+        }
+        return BarColor.RED;
+    }
+
+    /**
+     * @return The name used by the hud command.
+     */
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Find a bar by its command name.
+     *
+     * @param id The command name, case insensitive.
+     * @return The bar, or null if none matches.
+     */
+    @Nullable
+    public static HudBar fromId(@NotNull final String id) {
+        for (final HudBar bar : values()) {
+            if (bar.id.equalsIgnoreCase(id)) {
+                return bar;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.hud;
+
+import com.github.Anon8281.universalScheduler.scheduling.tasks.MyScheduledTask;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.utils.FastFormat;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live HUD for staff: a boss bar showing the CPU load or MSPT, and an action bar showing memory and network rates.
+ * <p>
+ * A single updater renders every distinct HUD string once per interval and fans it out to all the subscribers.
+ * Boss bars are shared between subscribers, so one title change reaches everyone, and nothing is sent when the
+ * rendered values did not change. Action bars fade out on the client, so an unchanged one is resent only as keep-alive.
+ */
+public final class HudManager implements Listener {
+
+    private static final long ACTION_BAR_KEEP_ALIVE_MILLIS = 2000L;
+
+    private final SystemInfo plugin;
+    private final Map<UUID, Player> subscribers = new ConcurrentHashMap<>();
+    private final Map<UUID, HudBar> subscribedBars = new ConcurrentHashMap<>();
+    private final Map<HudBar, BossBar> bossBars = new EnumMap<>(HudBar.class);
+    private final Map<HudBar, String> lastTitles = new EnumMap<>(HudBar.class);
+    private final Map<HudBar, Double> lastProgress = new EnumMap<>(HudBar.class);
+    private String lastActionBar = null;
+    private BaseComponent[] actionBar = null;
+    private long lastActionBarSent = 0L;
+    private volatile boolean forceActionBar = false;
+    private MyScheduledTask updateTask = null;
+
+    /**
+     * Constructs a new instance of HudManager with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public HudManager(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+        for (final HudBar bar : HudBar.values()) {
+            bossBars.put(bar, Bukkit.createBossBar("", BarColor.GREEN, BarStyle.SEGMENTED_10));
+        }
+    }
+
+    /**
+     * Toggles the HUD of a player.
+     * Selecting a different bar while subscribed switches the bar instead of hiding the HUD.
+     *
+     * @param player The player.
+     * @param bar    The metric shown in the boss bar.
+     * @return True if the HUD is now shown, false if it was hidden.
+     */
+    public synchronized boolean toggle(@NotNull final Player player, @NotNull final HudBar bar) {
+        final UUID uuid = player.getUniqueId();
+        final HudBar previous = subscribedBars.remove(uuid);
+        if (previous != null) {
+            bossBars.get(previous).removePlayer(player);
+            if (previous == bar) {
+                subscribers.remove(uuid);
+                return false;
+            }
+        }
+
+        subscribers.put(uuid, player);
+        subscribedBars.put(uuid, bar);
+        bossBars.get(bar).addPlayer(player);
+        forceActionBar = true;
+
+        if (updateTask == null) {
+            final long interval = plugin.getSystemInfoConfig().getHudInterval();
+            updateTask = SystemInfo.getScheduler().runTaskTimer(this::update, 1L, interval);
+        }
+        return true;
+    }
+
+    /**
+     * Hides the HUD of a player leaving the server.
+     *
+     * @param event The quit event.
+     */
+    @EventHandler
+    public void onQuit(@NotNull final PlayerQuitEvent event) {
+        final UUID uuid = event.getPlayer().getUniqueId();
+        synchronized (this) {
+            final HudBar bar = subscribedBars.remove(uuid);
+            if (bar != null) {
+                bossBars.get(bar).removePlayer(event.getPlayer());
+            }
+            subscribers.remove(uuid);
+        }
+    }
+
+    /**
+     * Renders the HUD once and sends it to every subscriber.
+     */
+    private void update() {
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                updateTask.cancel();
+                updateTask = null;
+                return;
+            }
+        }
+
+        final SystemSnapshot snapshot = plugin.getSystemValues().getSnapshot();
+        for (final Map.Entry<HudBar, BossBar> entry : bossBars.entrySet()) {
+            updateBossBar(entry.getKey(), entry.getValue(), snapshot);
+        }
+
+        final String text = renderActionBar(snapshot);
+        final long now = System.currentTimeMillis();
+        final boolean changed = !text.equals(lastActionBar);
+        if (!changed && !forceActionBar && now - lastActionBarSent < ACTION_BAR_KEEP_ALIVE_MILLIS) {
+            return;
+        }
+        if (changed) {
+            lastActionBar = text;
+            actionBar = TextComponent.fromLegacyText(text);
+        }
+        forceActionBar = false;
+        lastActionBarSent = now;
+
+        final BaseComponent[] components = actionBar;
+        for (final Player player : subscribers.values()) {
+            if (Utils.isFolia()) {
+                SystemInfo.getScheduler().runTask(player, () -> player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components));
+            } else {
+                player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+            }
+        }
+    }
+
+    private void updateBossBar(@NotNull final HudBar bar, @NotNull final BossBar bossBar, @NotNull final SystemSnapshot snapshot) {
+        if (!subscribedBars.containsValue(bar)) {
+            return;
+        }
+
+        final double value = bar.value(snapshot);
+        final String title = Utils.color(bar.title(value));
+        if (!title.equals(lastTitles.get(bar))) {
+            lastTitles.put(bar, title);
+            bossBar.setTitle(title);
+        }
+
+        final double progress = Math.min(1d, Math.max(0d, bar.progress(value)));
+        final Double previous = lastProgress.get(bar);
+        if (previous == null || previous != progress) {
+            lastProgress.put(bar, progress);
+            bossBar.setProgress(progress);
+            final BarColor color = HudBar.color(progress);
+            if (bossBar.getColor() != color) {
+                bossBar.setColor(color);
+            }
+        }
+    }
+
+    @NotNull
+    private static String renderActionBar(@NotNull final SystemSnapshot snapshot) {
+        final StringBuilder builder = new StringBuilder(96);
+        FastFormat.appendBytes(builder.append("&7Memory: &a"), snapshot.getMemoryUsed());
+        FastFormat.appendBytes(builder.append("&7/&a"), snapshot.getMemoryTotal());
+        FastFormat.appendBytes(builder.append(" &8| &7Heap: &a"), snapshot.getJvmHeapUsed());
+
+        final NetworkStatsData networkStats = snapshot.getNetworkStats();
+        if (networkStats != null) {
+            FastFormat.appendRate(builder.append(" &8| &7Net Out: &a"), networkStats.getLastSentBytes());
+            FastFormat.appendRate(builder.append(" &7In: &a"), networkStats.getLastReceivedBytes());
+        }
+        return Utils.color(builder.toString());
+    }
+
+    /**
+     * Hides every HUD, called when the plugin is disabled.
+     */
+    public synchronized void shutdown() {
+        if (updateTask != null) {
+            updateTask.cancel();
+            updateTask = null;
+        }
+        for (final BossBar bossBar : bossBars.values()) {
+            bossBar.removeAll();
+        }
+        subscribers.clear();
+        subscribedBars.clear();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jfr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Consumes Java Flight Recorder events in process with the RecordingStream of Java 14 and newer,
+ * and sums them into the counters of a {@link JfrStats}.
+ * <p>
+ * This implementation serves Java 14 to 16 and only reaches the streaming API through reflection. The methods are looked up once,
+ * and every event is handled on the single dispatch thread of the stream, which is the only writer of the counters.
+ * Java 17 and newer load the implementation calling the API directly from {@code META-INF/versions/17} of the multi-release jar.
+ */
+public final class JfrEventStream {
+
+    private static final String RECORDING_STREAM = "jdk.jfr.consumer.RecordingStream";
+    private static final Duration CPU_LOAD_PERIOD = Duration.ofSeconds(1L);
+    private static final Duration STREAM_MAX_AGE = Duration.ofSeconds(30L);
+
+    private final Logger logger;
+    private Object stream = null;
+    private Method getDouble, getLong, getDuration, getEventDuration;
+    private boolean warned = false;
+
+    private volatile double jvmUserLoad = -1d, jvmSystemLoad = -1d, machineLoad = -1d;
+    private volatile long gcCount = 0L, gcPauseNanos = 0L, safepointCount = 0L, safepointNanos = 0L;
+    private volatile long monitorContentionCount = 0L, monitorContentionNanos = 0L, allocatedBytes = 0L;
+
+    /**
+     * Constructs a new instance of JfrEventStream.
+     *
+     * @param logger The logger receiving read errors.
+     */
+    public JfrEventStream(@NotNull final Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Checks whether this JVM can stream Flight Recorder events.
+     *
+     * @return True on Java 14 and newer with Flight Recorder available.
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName(RECORDING_STREAM);
+            return JfrRecorder.isAvailable();
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts streaming the CPU load, garbage collection, safepoint, monitor contention and allocation events.
+     *
+     * @param thresholdMillis The shortest safepoint or monitor contention recorded.
+     * @throws ReflectiveOperationException If the streaming API could not be reached.
+     */
+    public void start(final long thresholdMillis) throws ReflectiveOperationException {
+        final Class<?> streamClass = Class.forName(RECORDING_STREAM);
+        final Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+        final Class<?> recordedObject = Class.forName("jdk.jfr.consumer.RecordedObject");
+        getDouble = recordedObject.getMethod("getDouble", String.class);
+        getLong = recordedObject.getMethod("getLong", String.class);
+        getDuration = recordedObject.getMethod("getDuration", String.class);
+        getEventDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+
+        final Object stream = streamClass.getConstructor().newInstance();
+        final Method enable = streamClass.getMethod("enable", String.class);
+        final Method withPeriod = settingsClass.getMethod("withPeriod", Duration.class);
+        final Method withThreshold = settingsClass.getMethod("withThreshold", Duration.class);
+        final Method withoutStackTrace = settingsClass.getMethod("withoutStackTrace");
+        final Method onEvent = streamClass.getMethod("onEvent", String.class, Consumer.class);
+        final Duration threshold = Duration.ofMillis(thresholdMillis);
+
+        withPeriod.invoke(enable.invoke(stream, "jdk.CPULoad"), CPU_LOAD_PERIOD);
+        enable.invoke(stream, "jdk.GarbageCollection");
+        withoutStackTrace.invoke(withThreshold.invoke(enable.invoke(stream, "jdk.SafepointBegin"), threshold));
+        withoutStackTrace.invoke(withThreshold.invoke(enable.invoke(stream, "jdk.JavaMonitorEnter"), threshold));
+        withoutStackTrace.invoke(enable.invoke(stream, "jdk.ObjectAllocationSample"));
+
+        onEvent.invoke(stream, "jdk.CPULoad", (Consumer<Object>) this::onCpuLoad);
+        onEvent.invoke(stream, "jdk.GarbageCollection", (Consumer<Object>) this::onGarbageCollection);
+        onEvent.invoke(stream, "jdk.SafepointBegin", (Consumer<Object>) this::onSafepoint);
+        onEvent.invoke(stream, "jdk.JavaMonitorEnter", (Consumer<Object>) this::onMonitorEnter);
+        onEvent.invoke(stream, "jdk.ObjectAllocationSample", (Consumer<Object>) this::onAllocationSample);
+
+        streamClass.getMethod("setMaxAge", Duration.class).invoke(stream, STREAM_MAX_AGE);
+        streamClass.getMethod("startAsync").invoke(stream);
+        this.stream = stream;
+    }
+
+    /**
+     * Closes the stream.
+     */
+    public void stop() {
+        final Object stream = this.stream;
+        this.stream = null;
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.getClass().getMethod("close").invoke(stream);
+        } catch (ReflectiveOperationException exception) {
+            logger.warning("Could not close the JFR event stream!");
+            logger.warning(exception.getLocalizedMessage());
+        }
+    }
+
+    private void onCpuLoad(@NotNull final Object event) {
+        jvmUserLoad = read(getDouble, event, "jvmUser") * 100d;
+        jvmSystemLoad = read(getDouble, event, "jvmSystem") * 100d;
+        machineLoad = read(getDouble, event, "machineTotal") * 100d;
+    }
+
+    private void onGarbageCollection(@NotNull final Object event) {
+        gcCount++;
+        gcPauseNanos += readDuration(getDuration, event, "sumOfPauses");
+    }
+
+    private void onSafepoint(@NotNull final Object event) {
+        safepointCount++;
+        safepointNanos += readDuration(getEventDuration, event, null);
+    }
+
+    private void onMonitorEnter(@NotNull final Object event) {
+        monitorContentionCount++;
+        monitorContentionNanos += readDuration(getEventDuration, event, null);
+    }
+
+    private void onAllocationSample(@NotNull final Object event) {
+        allocatedBytes += (long) read(getLong, event, "weight");
+    }
+
+    private double read(@NotNull final Method getter, @NotNull final Object event, @NotNull final String field) {
+        try {
+            return ((Number) getter.invoke(event, field)).doubleValue();
+        } catch (IllegalAccessException | InvocationTargetException exception) {
+            warnOnce(exception);
+            return 0d;
+        }
+    }
+
+    private long readDuration(@NotNull final Method getter, @NotNull final Object event, @Nullable final String field) {
+        try {
+            final Object duration = field == null ? getter.invoke(event) : getter.invoke(event, field);
+            return duration == null ? 0L : ((Duration) duration).toNanos();
+        } catch (IllegalAccessException | InvocationTargetException exception) {
+            warnOnce(exception);
+            return 0L;
+        }
+    }
+
+    private void warnOnce(@NotNull final ReflectiveOperationException exception) {
+        if (!warned) {
+            warned = true;
+            logger.warning("Could not read a JFR event!");
+            logger.warning(exception.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Get the JVM activity streamed so far.
+     *
+     * @return The latest JfrStats.
+     */
+    @NotNull
+    public JfrStats getStats() {
+        return new JfrStats(jvmUserLoad, jvmSystemLoad, machineLoad, gcCount, gcPauseNanos / 1E6,
+                safepointCount, safepointNanos / 1E6, monitorContentionCount, monitorContentionNanos / 1E6, allocatedBytes);
+    }
+}
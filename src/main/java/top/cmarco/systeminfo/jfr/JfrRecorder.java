@@ -0,0 +1,218 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jfr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Drives a single Java Flight Recorder recording from the plugin, with the settings profiles of the JDK
+ * or the ones bundled in the jar. Recordings are kept on disk within a maximum age and size,
+ * and can be dumped while they keep running.
+ * <p>
+ * The recording API is reached through reflection, so the plugin still loads on JVMs without Flight Recorder.
+ */
+public final class JfrRecorder {
+
+    private static final List<String> PROFILES = Collections.unmodifiableList(Arrays.asList("lag", "memory", "default", "profile"));
+    private static final List<String> BUNDLED_PROFILES = Arrays.asList("lag", "memory");
+
+    private final SystemInfo plugin;
+    private final File recordingsFolder;
+    private Object recording = null; // guarded by this.
+    private String profile = null;
+
+    /**
+     * Constructs a new instance of JfrRecorder with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public JfrRecorder(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+        this.recordingsFolder = new File(plugin.getDataFolder(), "recordings");
+    }
+
+    /**
+     * Checks whether Flight Recorder can record on this JVM.
+     *
+     * @return True on Java 11 and newer, or Java 8 update 262 and newer.
+     */
+    public static boolean isAvailable() {
+        try {
+            return (boolean) Class.forName("jdk.jfr.FlightRecorder").getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            return false;
+        }
+    }
+
+    /**
+     * @return The names of the settings profiles, bundled ones first.
+     */
+    @NotNull
+    public static List<String> getProfiles() {
+        return PROFILES;
+    }
+
+    /**
+     * Starts a new recording.
+     *
+     * @param profile      The settings profile, one of {@link #getProfiles()}.
+     * @param maxAgeMillis The oldest data kept by the recording.
+     * @param maxSizeBytes The largest size of the recording on disk.
+     * @throws IllegalStateException If a recording is already running.
+     * @throws IOException           If the recording could not be started.
+     */
+    public synchronized void start(@NotNull final String profile, final long maxAgeMillis, final long maxSizeBytes) throws IOException {
+        if (recording != null) {
+            throw new IllegalStateException("A recording is already running.");
+        }
+
+        try {
+            final Class<?> configurationClass = Class.forName("jdk.jfr.Configuration");
+            final Object configuration;
+            if (BUNDLED_PROFILES.contains(profile)) {
+                final InputStream resource = plugin.getResource("jfr/" + profile + ".jfc");
+                if (resource == null) {
+                    throw new IOException("The " + profile + " profile is missing from the jar.");
+                }
+                try (Reader reader = new InputStreamReader(resource, StandardCharsets.UTF_8)) {
+                    configuration = configurationClass.getMethod("create", Reader.class).invoke(null, reader);
+                }
+            } else {
+                configuration = configurationClass.getMethod("getConfiguration", String.class).invoke(null, profile);
+            }
+
+            final Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+            final Object created = recordingClass.getConstructor(configurationClass).newInstance(configuration);
+            recordingClass.getMethod("setName", String.class).invoke(created, "SystemInfo " + profile);
+            recordingClass.getMethod("setToDisk", boolean.class).invoke(created, true);
+            recordingClass.getMethod("setMaxAge", Duration.class).invoke(created, Duration.ofMillis(maxAgeMillis));
+            recordingClass.getMethod("setMaxSize", long.class).invoke(created, maxSizeBytes);
+            recordingClass.getMethod("start").invoke(created);
+            this.recording = created;
+            this.profile = profile;
+        } catch (InvocationTargetException exception) {
+            throw new IOException(exception.getCause().getLocalizedMessage(), exception.getCause());
+        } catch (ReflectiveOperationException exception) {
+            throw new IOException("Flight Recorder is not available: " + exception.getLocalizedMessage(), exception);
+        }
+    }
+
+    /**
+     * Writes the data recorded so far to a new file, the recording keeps running.
+     *
+     * @return The written file.
+     * @throws IllegalStateException If no recording is running.
+     * @throws IOException           If the recording could not be written.
+     */
+    @NotNull
+    public synchronized File dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No recording is running.");
+        }
+        return write(recording, profile);
+    }
+
+    /**
+     * Stops the recording and writes it to a new file.
+     *
+     * @return The written file.
+     * @throws IllegalStateException If no recording is running.
+     * @throws IOException           If the recording could not be written.
+     */
+    @NotNull
+    public synchronized File stop() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No recording is running.");
+        }
+
+        final Object stopped = recording;
+        final String stoppedProfile = profile;
+        recording = null;
+        profile = null;
+        try {
+            stopped.getClass().getMethod("stop").invoke(stopped);
+            return write(stopped, stoppedProfile);
+        } catch (InvocationTargetException exception) {
+            throw new IOException(exception.getCause().getLocalizedMessage(), exception.getCause());
+        } catch (ReflectiveOperationException exception) {
+            throw new IOException(exception.getLocalizedMessage(), exception);
+        } finally {
+            close(stopped);
+        }
+    }
+
+    /**
+     * @return True while a recording is running.
+     */
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * @return The settings profile of the running recording, or null if none is running.
+     */
+    @Nullable
+    public synchronized String getProfile() {
+        return profile;
+    }
+
+    @NotNull
+    private File write(@NotNull final Object recording, @NotNull final String profile) throws IOException {
+        if (!recordingsFolder.isDirectory() && !recordingsFolder.mkdirs()) {
+            throw new IOException("Could not create " + recordingsFolder.getAbsolutePath());
+        }
+
+        final File file = new File(recordingsFolder, "systeminfo-" + profile + "-"
+                + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()) + ".jfr");
+        try {
+            recording.getClass().getMethod("dump", Path.class).invoke(recording, file.toPath());
+        } catch (InvocationTargetException exception) {
+            throw new IOException(exception.getCause().getLocalizedMessage(), exception.getCause());
+        } catch (ReflectiveOperationException exception) {
+            throw new IOException(exception.getLocalizedMessage(), exception);
+        }
+        return file;
+    }
+
+    private void close(@NotNull final Object recording) {
+        try {
+            recording.getClass().getMethod("close").invoke(recording);
+        } catch (ReflectiveOperationException exception) {
+            plugin.getLogger().warning("Could not close the JFR recording!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+    }
+}
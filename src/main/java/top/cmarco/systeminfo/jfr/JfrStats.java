@@ -0,0 +1,117 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jfr;
+
+/**
+ * Immutable class representing the JVM activity streamed from Java Flight Recorder events.
+ * Counters only grow since the stream started.
+ */
+public final class JfrStats {
+
+    private final double jvmUserLoad, jvmSystemLoad, machineLoad;
+    private final long gcCount, safepointCount, monitorContentionCount, allocatedBytes;
+    private final double gcPauseMillis, safepointMillis, monitorContentionMillis;
+
+    JfrStats(final double jvmUserLoad, final double jvmSystemLoad, final double machineLoad,
+             final long gcCount, final double gcPauseMillis, final long safepointCount, final double safepointMillis,
+             final long monitorContentionCount, final double monitorContentionMillis, final long allocatedBytes) {
+        this.jvmUserLoad = jvmUserLoad;
+        this.jvmSystemLoad = jvmSystemLoad;
+        this.machineLoad = machineLoad;
+        this.gcCount = gcCount;
+        this.gcPauseMillis = gcPauseMillis;
+        this.safepointCount = safepointCount;
+        this.safepointMillis = safepointMillis;
+        this.monitorContentionCount = monitorContentionCount;
+        this.monitorContentionMillis = monitorContentionMillis;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return The CPU load of the JVM in user mode as a percentage, or a negative value before the first event.
+     */
+    public double getJvmUserLoad() {
+        return jvmUserLoad;
+    }
+
+    /**
+     * @return The CPU load of the JVM in kernel mode as a percentage, or a negative value before the first event.
+     */
+    public double getJvmSystemLoad() {
+        return jvmSystemLoad;
+    }
+
+    /**
+     * @return The CPU load of the whole machine as a percentage, or a negative value before the first event.
+     */
+    public double getMachineLoad() {
+        return machineLoad;
+    }
+
+    /**
+     * @return The amount of garbage collections.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return The total time the application was paused by garbage collections in milliseconds.
+     */
+    public double getGcPauseMillis() {
+        return gcPauseMillis;
+    }
+
+    /**
+     * @return The amount of safepoints longer than the recording threshold.
+     */
+    public long getSafepointCount() {
+        return safepointCount;
+    }
+
+    /**
+     * @return The total time spent in those safepoints in milliseconds.
+     */
+    public double getSafepointMillis() {
+        return safepointMillis;
+    }
+
+    /**
+     * @return The amount of threads blocked on a monitor longer than the contention threshold.
+     */
+    public long getMonitorContentionCount() {
+        return monitorContentionCount;
+    }
+
+    /**
+     * @return The total time those threads were blocked in milliseconds.
+     */
+    public double getMonitorContentionMillis() {
+        return monitorContentionMillis;
+    }
+
+    /**
+     * Gets the bytes allocated on the heap, estimated from the allocation samples of Java 16 and newer.
+     *
+     * @return The allocated bytes, 0 on older JVMs.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
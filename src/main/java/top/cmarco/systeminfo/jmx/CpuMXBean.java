@@ -0,0 +1,50 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jmx;
+
+/**
+ * JMX view of the CPU metrics of the latest snapshot.
+ */
+public interface CpuMXBean {
+
+    /**
+     * @return The global CPU load percentage.
+     */
+    double getLoadPercent();
+
+    /**
+     * @return The load percentage of every logical processor.
+     */
+    double[] getProcessorLoadPercents();
+
+    /**
+     * @return The CPU temperature in degrees Celsius, 0 when unavailable.
+     */
+    double getTemperatureCelsius();
+
+    /**
+     * @return The amount of processes running on the system.
+     */
+    int getProcessCount();
+
+    /**
+     * @return The amount of threads running on the system.
+     */
+    int getThreadCount();
+}
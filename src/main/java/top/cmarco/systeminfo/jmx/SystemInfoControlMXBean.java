@@ -0,0 +1,47 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jmx;
+
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+
+/**
+ * JMX operations of the SystemInfo plugin.
+ */
+public interface SystemInfoControlMXBean {
+
+    /**
+     * @return The UNIX time the latest snapshot was sampled at.
+     */
+    long getSnapshotTimestamp();
+
+    /**
+     * Resets the Minecraft protocol network statistics.
+     *
+     * @return The statistics before the reset, or null if the networking manager is not available.
+     */
+    NetworkStatsData resetNetworkStats();
+
+    /**
+     * Starts profiling the tick thread in the background.
+     *
+     * @param seconds The profile duration.
+     * @return A message describing where the profile will be written.
+     */
+    String triggerProfile(int seconds);
+}
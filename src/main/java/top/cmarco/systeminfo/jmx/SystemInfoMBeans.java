@@ -0,0 +1,316 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jmx;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.oshi.DiskSnapshot;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.protocol.BukkitNetworkingManager;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.tick.TickStats;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the SystemInfo MXBeans under the "top.cmarco.systeminfo" domain.
+ * <p>
+ * Every attribute is read from the latest {@link SystemSnapshot}, so JMX clients polling
+ * the beans never trigger an OSHI call.
+ */
+public final class SystemInfoMBeans {
+
+    private static final String DOMAIN = "top.cmarco.systeminfo";
+
+    private final SystemInfo plugin;
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    /**
+     * Constructs a new instance of SystemInfoMBeans with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public SystemInfoMBeans(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Registers all the beans in the platform MBean server.
+     */
+    public void registerAll() {
+        register("Cpu", new Cpu(), CpuMXBean.class);
+        register("Memory", new Memory(), SystemMemoryMXBean.class);
+        register("Network", new Network(), NetworkMXBean.class);
+        register("Disk", new Disk(), DiskMXBean.class);
+        register("Tick", new Tick(), TickMXBean.class);
+        register("Control", new Control(), SystemInfoControlMXBean.class);
+    }
+
+    /**
+     * Unregisters all the beans previously registered.
+     */
+    public void unregisterAll() {
+        for (final ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException ignored) {
+            }
+        }
+        registered.clear();
+    }
+
+    private <T> void register(@NotNull final String type, @NotNull final T bean, @NotNull final Class<T> mxBeanInterface) {
+        try {
+            final ObjectName name = new ObjectName(DOMAIN + ":type=" + type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name); // left over by a previous /reload
+            }
+            server.registerMBean(new StandardMBean(bean, mxBeanInterface, true), name);
+            registered.add(name);
+        } catch (JMException exception) {
+            plugin.getLogger().warning("Could not register the " + type + " MXBean!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+    }
+
+    @NotNull
+    private SystemSnapshot snapshot() {
+        return plugin.getSystemValues().getSnapshot();
+    }
+
+    @NotNull
+    private NetworkStatsData networkStats() {
+        final NetworkStatsData networkStats = snapshot().getNetworkStats();
+        return networkStats != null ? networkStats : new NetworkStatsData.Builder().build();
+    }
+
+    @NotNull
+    private TickStats tickStats() {
+        final TickStats tickStats = snapshot().getTickStats();
+        return tickStats != null ? tickStats : plugin.getTickMonitor().getStats();
+    }
+
+    private final class Cpu implements CpuMXBean {
+        @Override
+        public double getLoadPercent() {
+            return snapshot().getCpuLoad();
+        }
+
+        @Override
+        public double[] getProcessorLoadPercents() {
+            final SystemSnapshot snapshot = snapshot();
+            final double[] loads = new double[snapshot.getProcessorCount()];
+            for (int i = 0; i < loads.length; i++) {
+                loads[i] = snapshot.getProcessorLoad(i);
+            }
+            return loads;
+        }
+
+        @Override
+        public double getTemperatureCelsius() {
+            return snapshot().getCpuTemperature();
+        }
+
+        @Override
+        public int getProcessCount() {
+            return snapshot().getProcessCount();
+        }
+
+        @Override
+        public int getThreadCount() {
+            return snapshot().getThreadCount();
+        }
+    }
+
+    private final class Memory implements SystemMemoryMXBean {
+        @Override
+        public long getTotalBytes() {
+            return snapshot().getMemoryTotal();
+        }
+
+        @Override
+        public long getAvailableBytes() {
+            return snapshot().getMemoryAvailable();
+        }
+
+        @Override
+        public long getUsedBytes() {
+            return snapshot().getMemoryUsed();
+        }
+
+        @Override
+        public long getSwapTotalBytes() {
+            return snapshot().getSwapTotal();
+        }
+
+        @Override
+        public long getSwapUsedBytes() {
+            return snapshot().getSwapUsed();
+        }
+
+        @Override
+        public long getJvmHeapUsedBytes() {
+            return snapshot().getJvmHeapUsed();
+        }
+
+        @Override
+        public long getJvmHeapMaxBytes() {
+            return snapshot().getJvmHeapMax();
+        }
+    }
+
+    private final class Network implements NetworkMXBean {
+        @Override
+        public long getPacketsSentTotal() {
+            return networkStats().getTotalSentPackets();
+        }
+
+        @Override
+        public long getPacketsReceivedTotal() {
+            return networkStats().getTotalReceivedPackets();
+        }
+
+        @Override
+        public long getPacketBytesSentTotal() {
+            return networkStats().getTotalSentBytes();
+        }
+
+        @Override
+        public long getPacketBytesReceivedTotal() {
+            return networkStats().getTotalReceivedBytes();
+        }
+
+        @Override
+        public long getPacketsSentPerSecond() {
+            return networkStats().getLastSentPackets();
+        }
+
+        @Override
+        public long getPacketsReceivedPerSecond() {
+            return networkStats().getLastReceivedPackets();
+        }
+
+        @Override
+        public long getPacketBytesSentPerSecond() {
+            return networkStats().getLastSentBytes();
+        }
+
+        @Override
+        public long getPacketBytesReceivedPerSecond() {
+            return networkStats().getLastReceivedBytes();
+        }
+
+        @Override
+        public long getInterfaceBytesSent() {
+            return snapshot().getInterfaceBytesSent();
+        }
+
+        @Override
+        public long getInterfaceBytesReceived() {
+            return snapshot().getInterfaceBytesReceived();
+        }
+
+        @Override
+        public long getLastReset() {
+            return networkStats().getLastReset();
+        }
+    }
+
+    private final class Disk implements DiskMXBean {
+        @Override
+        public List<DiskSnapshot> getDisks() {
+            return snapshot().getDisks();
+        }
+
+        @Override
+        public long getWorldDiskUsableBytes() {
+            return snapshot().getWorldDiskUsable();
+        }
+
+        @Override
+        public long getWorldDiskTotalBytes() {
+            return snapshot().getWorldDiskTotal();
+        }
+    }
+
+    private final class Tick implements TickMXBean {
+        @Override
+        public double getAverageMspt() {
+            return tickStats().getAverageMspt();
+        }
+
+        @Override
+        public double getP95Mspt() {
+            return tickStats().getP95Mspt();
+        }
+
+        @Override
+        public double getMaxMspt() {
+            return tickStats().getMaxMspt();
+        }
+
+        @Override
+        public double getTps() {
+            return tickStats().getTps();
+        }
+
+        @Override
+        public boolean isExactDurations() {
+            return plugin.getTickMonitor().hasExactDurations();
+        }
+    }
+
+    private final class Control implements SystemInfoControlMXBean {
+        @Override
+        public long getSnapshotTimestamp() {
+            return snapshot().getTimestamp();
+        }
+
+        @Override
+        public NetworkStatsData resetNetworkStats() {
+            final BukkitNetworkingManager networkingManager = plugin.getNetworkingManager();
+            return networkingManager != null ? networkingManager.resetNetworkStats() : null;
+        }
+
+        @Override
+        public String triggerProfile(final int seconds) {
+            if (seconds <= 0 || seconds > 600) {
+                return "The profile duration must be between 1 and 600 seconds.";
+            }
+            if (plugin.getStackProfiler().isRunning()) {
+                return "A profile is already running.";
+            }
+            plugin.getStackProfiler().profile(seconds).whenComplete((file, throwable) -> {
+                if (throwable != null) {
+                    plugin.getLogger().warning("Profile failed: " + throwable.getLocalizedMessage());
+                } else {
+                    plugin.getLogger().info("Profile written to " + file.getAbsolutePath());
+                }
+            });
+            return "Profiling the tick thread for " + seconds + " seconds, the result will be written to the profiles folder.";
+        }
+    }
+}
@@ -41,33 +41,6 @@ public final class LibraryManager {
         this.libraryManager.addRepository("https://maven.aliyun.com/repository/public/");
     }
 
-    /**
-     * Load jspeedtest (and required compile dependencies).
-     * Library responsible for speed-test.
-     */
-    public void loadSpeedtestLibraries() {
-
-        Library jSpeedTest = Library.builder()
-                .groupId("fr{}bmartel")
-                .artifactId("jspeedtest")
-                .version("1.32.1")
-                .build();
-
-        Library httpEndec = Library.builder()
-                .groupId("fr{}bmartel")
-                .artifactId("http-endec")
-                .version("1.04")
-                .build();
-
-        Library apacheCommonsNet = Library.builder()
-                .groupId("commons-net")
-                .artifactId("commons-net")
-                .version("3.10.0")
-                .build();
-
-        this.libraryManager.loadLibraries(apacheCommonsNet, httpEndec, jSpeedTest);
-    }
-
     /**
      * Load oshi-core library (and required compile dependencies).
      * Library responsible for providing hardware values.
@@ -0,0 +1,112 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking collectors, such as process listing, disk and USB enumeration or folder walks,
+ * away from the Bukkit and Folia async scheduler threads that every plugin shares.
+ * <p>
+ * Collectors run on virtual threads on Java 21 and newer when the jar was built with JDK 21,
+ * and on a small bounded pool of platform threads otherwise.
+ * Either way a semaphore caps the amount of collectors inside a native call at once.
+ */
+public final class CollectorExecutor {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    /**
+     * Constructs a new instance of CollectorExecutor.
+     *
+     * @param maxConcurrentCalls The maximum amount of collectors running at once.
+     */
+    public CollectorExecutor(final int maxConcurrentCalls) {
+        this.executor = CollectorThreads.newExecutor(maxConcurrentCalls);
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Runs a blocking collector.
+     *
+     * @param collector The collector.
+     * @param <T>       The collected type.
+     * @return The future result, completed exceptionally if the collector throws or the executor is saturated.
+     */
+    @NotNull
+    public <T> CompletableFuture<T> supply(@NotNull final Supplier<T> collector) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(exception);
+                    return;
+                }
+                try {
+                    future.complete(collector.get());
+                } catch (final Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    /**
+     * Runs a blocking collector without a result.
+     *
+     * @param collector The collector.
+     * @return The future completion, completed exceptionally if the collector throws or the executor is saturated.
+     */
+    @NotNull
+    public CompletableFuture<Void> run(@NotNull final Runnable collector) {
+        return supply(() -> {
+            collector.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return True if every collector runs on its own virtual thread.
+     */
+    public boolean isVirtual() {
+        return CollectorThreads.isVirtual();
+    }
+
+    /**
+     * Interrupts the running collectors and discards the queued ones. Called when the plugin is disabled.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads running the blocking collectors of a {@link CollectorExecutor}.
+ * <p>
+ * This is the implementation for Java 8 to 20: a small bounded pool of daemon platform threads, which exit when idle.
+ * Java 21 and newer load the virtual thread implementation from {@code META-INF/versions/21} of the multi-release jar,
+ * which is only present when the jar was built with JDK 21 or newer.
+ */
+final class CollectorThreads {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private CollectorThreads() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * @return True if every collector runs on its own virtual thread.
+     */
+    static boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * Creates the executor of the collectors.
+     *
+     * @param threads The maximum amount of collectors running at once.
+     * @return The executor, rejecting collectors once its queue is full.
+     */
+    @NotNull
+    static ExecutorService newExecutor(final int threads) {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            final Thread thread = new Thread(runnable, "SystemInfo Collector #" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing the I/O counters of a single disk at a point in time.
+ */
+public final class DiskSnapshot {
+
+    private final String name, model;
+    private final long size, reads, writes, readBytes, writeBytes, transferTime;
+
+    DiskSnapshot(@NotNull final String name, @NotNull final String model, final long size, final long reads,
+                 final long writes, final long readBytes, final long writeBytes, final long transferTime) {
+        this.name = name;
+        this.model = model;
+        this.size = size;
+        this.reads = reads;
+        this.writes = writes;
+        this.readBytes = readBytes;
+        this.writeBytes = writeBytes;
+        this.transferTime = transferTime;
+    }
+
+    /**
+     * @return The disk name, such as "/dev/sda".
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The disk model.
+     */
+    @NotNull
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * @return The disk capacity in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return The amount of read operations since boot.
+     */
+    public long getReads() {
+        return reads;
+    }
+
+    /**
+     * @return The amount of write operations since boot.
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * @return The bytes read since boot.
+     */
+    public long getReadBytes() {
+        return readBytes;
+    }
+
+    /**
+     * @return The bytes written since boot.
+     */
+    public long getWriteBytes() {
+        return writeBytes;
+    }
+
+    /**
+     * @return The milliseconds spent transferring data since boot.
+     */
+    public long getTransferTime() {
+        return transferTime;
+    }
+}
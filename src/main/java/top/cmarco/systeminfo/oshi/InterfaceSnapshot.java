@@ -0,0 +1,92 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing the counters of a single network interface at a point in time.
+ */
+public final class InterfaceSnapshot {
+
+    private final String name, displayName;
+    private final long speed, bytesReceived, bytesSent, packetsReceived, packetsSent;
+
+    InterfaceSnapshot(@NotNull final String name, @NotNull final String displayName, final long speed,
+                      final long bytesReceived, final long bytesSent, final long packetsReceived, final long packetsSent) {
+        this.name = name;
+        this.displayName = displayName;
+        this.speed = speed;
+        this.bytesReceived = bytesReceived;
+        this.bytesSent = bytesSent;
+        this.packetsReceived = packetsReceived;
+        this.packetsSent = packetsSent;
+    }
+
+    /**
+     * @return The interface name, such as "eth0".
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The interface description.
+     */
+    @NotNull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return The link speed in bits per second, 0 when unknown.
+     */
+    public long getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return The bytes received since boot.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return The bytes sent since boot.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return The packets received since boot.
+     */
+    public long getPacketsReceived() {
+        return packetsReceived;
+    }
+
+    /**
+     * @return The packets sent since boot.
+     */
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+}
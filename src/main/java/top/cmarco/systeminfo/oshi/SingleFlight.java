@@ -0,0 +1,95 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent requests for the same expensive query into a single collector run.
+ * <p>
+ * Requests arriving while the query runs share its future, and a successful result is reused until its
+ * time to live expires, so a burst of commands costs one native enumeration. Failures are never cached.
+ * The result is shared between every caller and must not be modified.
+ *
+ * @param <T> The query result type.
+ */
+final class SingleFlight<T> {
+
+    private final CollectorExecutor executor;
+    private final Supplier<T> query;
+    private volatile long ttlNanos;
+    private CompletableFuture<T> inFlight = null, cached = null;
+    private long expiresAt;
+
+    /**
+     * Constructs a new instance of SingleFlight.
+     *
+     * @param executor  The executor running the query.
+     * @param query     The blocking query.
+     * @param ttlMillis How long a result is reused.
+     */
+    SingleFlight(@NotNull final CollectorExecutor executor, @NotNull final Supplier<T> query, final long ttlMillis) {
+        this.executor = executor;
+        this.query = query;
+        setTtl(ttlMillis);
+    }
+
+    /**
+     * Sets how long a result is reused, 0 only shares the in-flight query.
+     *
+     * @param ttlMillis The time to live in milliseconds.
+     */
+    void setTtl(final long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, ttlMillis));
+    }
+
+    /**
+     * Gets the cached result, joins the running query, or starts a new one.
+     *
+     * @return The future result.
+     */
+    @NotNull
+    synchronized CompletableFuture<T> get() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        if (cached != null && System.nanoTime() - expiresAt < 0L) {
+            return cached;
+        }
+
+        final CompletableFuture<T> future = executor.supply(query);
+        inFlight = future;
+        future.whenComplete((value, throwable) -> complete(future, throwable == null));
+        return future;
+    }
+
+    private synchronized void complete(@NotNull final CompletableFuture<T> future, final boolean success) {
+        if (inFlight == future) {
+            inFlight = null;
+        }
+        if (success) {
+            cached = future;
+            expiresAt = System.nanoTime() + ttlNanos;
+        }
+    }
+}
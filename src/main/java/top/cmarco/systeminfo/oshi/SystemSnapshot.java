@@ -0,0 +1,430 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.jfr.JfrStats;
+import top.cmarco.systeminfo.protocol.NetworkStatsData;
+import top.cmarco.systeminfo.protocol.PacketTypeStats;
+import top.cmarco.systeminfo.protocol.TcpHealthData;
+import top.cmarco.systeminfo.tick.TickStats;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable class representing every metric sampled by {@link SystemValues} at a point in time.
+ * Consumers such as exporters and placeholders read the latest snapshot instead of querying OSHI directly.
+ */
+public final class SystemSnapshot {
+
+    private static final double[] NO_LOADS = new double[0];
+
+    private final long timestamp;
+    private final double cpuLoad;
+    private final double[] processorLoads;
+    private final double cpuTemperature;
+    private final long memoryTotal, memoryAvailable, swapTotal, swapUsed;
+    private final long jvmHeapUsed, jvmHeapMax;
+    private final int processCount, threadCount;
+    private final long interfaceBytesReceived, interfaceBytesSent;
+    private final List<InterfaceSnapshot> interfaces;
+    private final NetworkStatsData networkStats;
+    private final List<PacketTypeStats> packetTypes;
+    private final TcpHealthData tcpHealth;
+    private final TickStats tickStats;
+    private final List<DiskSnapshot> disks;
+    private final long worldDiskUsable, worldDiskTotal;
+    private final JfrStats jfrStats;
+
+    /**
+     * Private constructor to enforce the use of the builder pattern.
+     *
+     * @param builder The builder instance used to construct this object.
+     */
+    private SystemSnapshot(@NotNull final Builder builder) {
+        this.timestamp = builder.timestamp;
+        this.cpuLoad = builder.cpuLoad;
+        this.processorLoads = builder.processorLoads;
+        this.cpuTemperature = builder.cpuTemperature;
+        this.memoryTotal = builder.memoryTotal;
+        this.memoryAvailable = builder.memoryAvailable;
+        this.swapTotal = builder.swapTotal;
+        this.swapUsed = builder.swapUsed;
+        this.jvmHeapUsed = builder.jvmHeapUsed;
+        this.jvmHeapMax = builder.jvmHeapMax;
+        this.processCount = builder.processCount;
+        this.threadCount = builder.threadCount;
+        this.interfaceBytesReceived = builder.interfaceBytesReceived;
+        this.interfaceBytesSent = builder.interfaceBytesSent;
+        this.interfaces = builder.interfaces;
+        this.networkStats = builder.networkStats;
+        this.packetTypes = builder.packetTypes;
+        this.tcpHealth = builder.tcpHealth;
+        this.tickStats = builder.tickStats;
+        this.disks = builder.disks;
+        this.worldDiskUsable = builder.worldDiskUsable;
+        this.worldDiskTotal = builder.worldDiskTotal;
+        this.jfrStats = builder.jfrStats;
+    }
+
+    /**
+     * Gets the UNIX time this snapshot was sampled at.
+     *
+     * @return The sample time in milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the global CPU load, or a negative value before two samples have been taken.
+     *
+     * @return The CPU load percentage.
+     */
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    /**
+     * Gets the amount of logical processors with a sampled load.
+     *
+     * @return The amount of logical processors.
+     */
+    public int getProcessorCount() {
+        return processorLoads.length;
+    }
+
+    /**
+     * Gets the load of a single logical processor.
+     *
+     * @param processor The logical processor index.
+     * @return The processor load percentage.
+     */
+    public double getProcessorLoad(final int processor) {
+        return processorLoads[processor];
+    }
+
+    /**
+     * Gets the CPU temperature, or 0 when the sensor is unavailable.
+     *
+     * @return The CPU temperature in degrees Celsius.
+     */
+    public double getCpuTemperature() {
+        return cpuTemperature;
+    }
+
+    /**
+     * @return The total physical memory in bytes.
+     */
+    public long getMemoryTotal() {
+        return memoryTotal;
+    }
+
+    /**
+     * @return The available physical memory in bytes.
+     */
+    public long getMemoryAvailable() {
+        return memoryAvailable;
+    }
+
+    /**
+     * @return The used physical memory in bytes.
+     */
+    public long getMemoryUsed() {
+        return memoryTotal - memoryAvailable;
+    }
+
+    /**
+     * @return The total swap memory in bytes.
+     */
+    public long getSwapTotal() {
+        return swapTotal;
+    }
+
+    /**
+     * @return The used swap memory in bytes.
+     */
+    public long getSwapUsed() {
+        return swapUsed;
+    }
+
+    /**
+     * @return The JVM heap currently in use in bytes.
+     */
+    public long getJvmHeapUsed() {
+        return jvmHeapUsed;
+    }
+
+    /**
+     * @return The maximum JVM heap in bytes.
+     */
+    public long getJvmHeapMax() {
+        return jvmHeapMax;
+    }
+
+    /**
+     * @return The amount of processes running on the system.
+     */
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    /**
+     * @return The amount of threads running on the system.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * @return The total bytes received by the server network interface.
+     */
+    public long getInterfaceBytesReceived() {
+        return interfaceBytesReceived;
+    }
+
+    /**
+     * @return The total bytes sent by the server network interface.
+     */
+    public long getInterfaceBytesSent() {
+        return interfaceBytesSent;
+    }
+
+    /**
+     * @return The counters of every network interface.
+     */
+    @NotNull
+    public List<InterfaceSnapshot> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * Gets the Minecraft protocol network statistics.
+     * Can be null when the networking manager is not available.
+     *
+     * @return The network statistics.
+     */
+    @Nullable
+    public NetworkStatsData getNetworkStats() {
+        return networkStats;
+    }
+
+    /**
+     * Gets the traffic of every Minecraft packet type, sorted by bytes.
+     * Empty when the networking manager is not available.
+     *
+     * @return The per packet type statistics.
+     */
+    @NotNull
+    public List<PacketTypeStats> getPacketTypes() {
+        return packetTypes;
+    }
+
+    /**
+     * Gets the kernel TCP health of the player connections.
+     * Can be null when the TCP monitor is disabled or unsupported.
+     *
+     * @return The TCP health data.
+     */
+    @Nullable
+    public TcpHealthData getTcpHealth() {
+        return tcpHealth;
+    }
+
+    /**
+     * Gets the tick timings of the server.
+     * Can be null when the tick monitor is not running.
+     *
+     * @return The tick stats.
+     */
+    @Nullable
+    public TickStats getTickStats() {
+        return tickStats;
+    }
+
+    /**
+     * @return The I/O counters of every disk.
+     */
+    @NotNull
+    public List<DiskSnapshot> getDisks() {
+        return disks;
+    }
+
+    /**
+     * @return The usable space of the filesystem holding the worlds in bytes.
+     */
+    public long getWorldDiskUsable() {
+        return worldDiskUsable;
+    }
+
+    /**
+     * @return The total space of the filesystem holding the worlds in bytes.
+     */
+    public long getWorldDiskTotal() {
+        return worldDiskTotal;
+    }
+
+    /**
+     * Gets the JVM activity streamed from Flight Recorder events.
+     * Can be null when streaming is disabled or needs a newer Java version.
+     *
+     * @return The JFR stats.
+     */
+    @Nullable
+    public JfrStats getJfrStats() {
+        return jfrStats;
+    }
+
+    /**
+     * Builder class for constructing {@link SystemSnapshot} instances.
+     */
+    public static class Builder {
+        private long timestamp;
+        private double cpuLoad = -1.00d;
+        private double[] processorLoads = NO_LOADS;
+        private double cpuTemperature;
+        private long memoryTotal, memoryAvailable, swapTotal, swapUsed;
+        private long jvmHeapUsed, jvmHeapMax;
+        private int processCount, threadCount;
+        private long interfaceBytesReceived, interfaceBytesSent;
+        private List<InterfaceSnapshot> interfaces = Collections.emptyList();
+        private NetworkStatsData networkStats;
+        private List<PacketTypeStats> packetTypes = Collections.emptyList();
+        private TcpHealthData tcpHealth;
+        private TickStats tickStats;
+        private List<DiskSnapshot> disks = Collections.emptyList();
+        private long worldDiskUsable, worldDiskTotal;
+        private JfrStats jfrStats;
+
+        /**
+         * Constructs a new {@link Builder} instance.
+         */
+        public Builder() {
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public Builder timestamp(final long timestamp) {
+            this.timestamp = timestamp;
+            return this;
+        }
+
+        public Builder cpuLoad(final double cpuLoad) {
+            this.cpuLoad = cpuLoad;
+            return this;
+        }
+
+        /**
+         * Sets the load of every logical processor. The array is not copied and must not be modified afterwards.
+         *
+         * @param processorLoads The processor load percentages.
+         * @return This builder instance.
+         */
+        public Builder processorLoads(@NotNull final double[] processorLoads) {
+            this.processorLoads = processorLoads;
+            return this;
+        }
+
+        public Builder cpuTemperature(final double cpuTemperature) {
+            this.cpuTemperature = cpuTemperature;
+            return this;
+        }
+
+        public Builder memory(final long memoryTotal, final long memoryAvailable) {
+            this.memoryTotal = memoryTotal;
+            this.memoryAvailable = memoryAvailable;
+            return this;
+        }
+
+        public Builder swap(final long swapTotal, final long swapUsed) {
+            this.swapTotal = swapTotal;
+            this.swapUsed = swapUsed;
+            return this;
+        }
+
+        public Builder jvmHeap(final long jvmHeapUsed, final long jvmHeapMax) {
+            this.jvmHeapUsed = jvmHeapUsed;
+            this.jvmHeapMax = jvmHeapMax;
+            return this;
+        }
+
+        public Builder processes(final int processCount, final int threadCount) {
+            this.processCount = processCount;
+            this.threadCount = threadCount;
+            return this;
+        }
+
+        public Builder interfaceBytes(final long interfaceBytesReceived, final long interfaceBytesSent) {
+            this.interfaceBytesReceived = interfaceBytesReceived;
+            this.interfaceBytesSent = interfaceBytesSent;
+            return this;
+        }
+
+        public Builder interfaces(@NotNull final List<InterfaceSnapshot> interfaces) {
+            this.interfaces = Collections.unmodifiableList(interfaces);
+            return this;
+        }
+
+        public Builder networkStats(@Nullable final NetworkStatsData networkStats) {
+            this.networkStats = networkStats;
+            return this;
+        }
+
+        public Builder packetTypes(@NotNull final List<PacketTypeStats> packetTypes) {
+            this.packetTypes = Collections.unmodifiableList(packetTypes);
+            return this;
+        }
+
+        public Builder tcpHealth(@Nullable final TcpHealthData tcpHealth) {
+            this.tcpHealth = tcpHealth;
+            return this;
+        }
+
+        public Builder tickStats(@Nullable final TickStats tickStats) {
+            this.tickStats = tickStats;
+            return this;
+        }
+
+        public Builder disks(@NotNull final List<DiskSnapshot> disks) {
+            this.disks = Collections.unmodifiableList(disks);
+            return this;
+        }
+
+        public Builder worldDisk(final long worldDiskUsable, final long worldDiskTotal) {
+            this.worldDiskUsable = worldDiskUsable;
+            this.worldDiskTotal = worldDiskTotal;
+            return this;
+        }
+
+        public Builder jfrStats(@Nullable final JfrStats jfrStats) {
+            this.jfrStats = jfrStats;
+            return this;
+        }
+
+        /**
+         * Builds a new {@link SystemSnapshot} instance.
+         *
+         * @return The constructed {@link SystemSnapshot} instance.
+         */
+        public SystemSnapshot build() {
+            return new SystemSnapshot(this);
+        }
+    }
+}
@@ -21,15 +21,30 @@ package top.cmarco.systeminfo.oshi;
 import org.bukkit.Bukkit;
 import org.bukkit.map.MinecraftFont;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 import oshi.hardware.*;
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
+import top.cmarco.systeminfo.jfr.JfrEventStream;
 import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.protocol.BukkitNetworkingManager;
+import top.cmarco.systeminfo.protocol.TcpConnectionMonitor;
+import top.cmarco.systeminfo.tick.TickMonitor;
+import top.cmarco.systeminfo.utils.FastFormat;
 import top.cmarco.systeminfo.utils.Utils;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
@@ -45,10 +60,32 @@ public final class SystemValues {
      * @param logger The logger to use for logging any errors or warnings during information retrieval.
      */
     public SystemValues(@NotNull Logger logger) {
+        this(logger, DEFAULT_COLLECTOR_CALLS);
+    }
+
+    /**
+     * Initializes a new instance of the `SystemValues` class with a provided logger.
+     *
+     * @param logger            The logger to use for logging any errors or warnings during information retrieval.
+     * @param maxCollectorCalls The maximum amount of blocking collectors running at once.
+     */
+    public SystemValues(@NotNull Logger logger, int maxCollectorCalls) {
         this.logger = logger;
+        this.collectorExecutor = new CollectorExecutor(maxCollectorCalls);
+        this.processesQuery = new SingleFlight<>(collectorExecutor, this::getOSProcesses, DEFAULT_PROCESSES_TTL);
+        this.diskStoresQuery = new SingleFlight<>(collectorExecutor, this::getDiskStores, DEFAULT_DISKS_TTL);
+        this.usbDevicesQuery = new SingleFlight<>(collectorExecutor, this::getUsbDevices, DEFAULT_DEVICES_TTL);
     }
 
+    private static final int DEFAULT_COLLECTOR_CALLS = 4;
+    private static final long DEFAULT_PROCESSES_TTL = 2000L, DEFAULT_DISKS_TTL = 5000L, DEFAULT_DEVICES_TTL = 10000L;
+
     private final Logger logger; // The logger for error and warning logging.
+    private final CollectorExecutor collectorExecutor; // Runs the blocking OSHI and filesystem calls.
+    private final CompletableFuture<Void> discovery = new CompletableFuture<>(); // Completed once the hardware is discovered.
+    private final SingleFlight<List<OSProcess>> processesQuery; // Coalesces the process listings.
+    private final SingleFlight<List<HWDiskStore>> diskStoresQuery; // Coalesces the disk enumerations.
+    private final SingleFlight<List<UsbDevice>> usbDevicesQuery; // Coalesces the USB enumerations.
 
     // Variables to store system information
     private OperatingSystem operatingSystem;
@@ -62,6 +99,12 @@ public final class SystemValues {
     private NetworkIF serverNetworkInterface;
     private double lastCpuLoad = -1.00d;
     private long[] previousTicks;
+    private long[][] previousProcessorTicks;
+    private List<HWDiskStore> sampledDiskStores;
+    private List<NetworkIF> sampledNetworkIFs;
+    private FileStore worldFileStore;
+    private volatile SystemSnapshot snapshot = new SystemSnapshot.Builder().build();
+    private final List<Consumer<SystemSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
 
     private static int CPU_CORES_CACHE = -1; // caching to improve performance.
     private static int CPU_THREADS_CACHE = -1; // caching to improve performance.
@@ -87,6 +130,45 @@ public final class SystemValues {
         return null;
     }
 
+    /**
+     * Loads the OSHI libraries and discovers the hardware on a collector thread, so the server does not wait for it.
+     * Nothing may touch OSHI before the returned future completes, since the libraries may not be loaded yet.
+     *
+     * @param loadLibraries Loads the OSHI libraries when the server does not bundle them.
+     * @return The future completed once the hardware is discovered.
+     */
+    @NotNull
+    public CompletableFuture<Void> discoverAsync(@NotNull final Runnable loadLibraries) {
+        collectorExecutor.run(() -> {
+            loadLibraries.run();
+            updateValues();
+        }).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                discovery.completeExceptionally(throwable);
+            }
+        });
+        return discovery;
+    }
+
+    /**
+     * Checks whether the hardware has been discovered, and the OSHI backed getters can be used.
+     *
+     * @return True once the hardware is discovered.
+     */
+    public boolean isReady() {
+        return discovery.isDone() && !discovery.isCompletedExceptionally();
+    }
+
+    /**
+     * Get the future completed once the hardware is discovered.
+     *
+     * @return The hardware discovery future.
+     */
+    @NotNull
+    public CompletableFuture<Void> whenReady() {
+        return discovery;
+    }
+
     /**
      * Updates the stored system information by querying various system-related data using the OSHI library.
      */
@@ -94,12 +176,35 @@ public final class SystemValues {
         oshi.SystemInfo systemInfo = checkSecurityExc(oshi.SystemInfo::new, "Could not create System Information instance. Plugin will not work properly!");
 
         if (systemInfo == null) {
-            Bukkit.getPluginManager().disablePlugin(top.cmarco.systeminfo.plugin.SystemInfo.INSTANCE);
+            discovery.completeExceptionally(new IllegalStateException("OSHI could not be initialized"));
             return;
         }
 
-        operatingSystem = checkSecurityExc(systemInfo::getOperatingSystem, "Could not obtain OS info");
-        hardwareAbstractionLayer = checkSecurityExc(systemInfo::getHardware, "Could not obtain HAL info");
+        updateValues(checkSecurityExc(systemInfo::getOperatingSystem, "Could not obtain OS info"),
+                checkSecurityExc(systemInfo::getHardware, "Could not obtain HAL info"));
+    }
+
+    /**
+     * Updates the stored system information from the given OSHI layers, and completes the hardware discovery.
+     * Allows benchmarks to run against a deterministic stub of OSHI.
+     *
+     * @param operatingSystem          The operating system, or null if it could not be obtained.
+     * @param hardwareAbstractionLayer The hardware abstraction layer, or null if it could not be obtained.
+     */
+    public void updateValues(@Nullable final OperatingSystem operatingSystem, @Nullable final HardwareAbstractionLayer hardwareAbstractionLayer) {
+        try {
+            loadLayers(operatingSystem, hardwareAbstractionLayer);
+        } catch (RuntimeException exception) {
+            discovery.completeExceptionally(exception);
+            throw exception;
+        }
+        // completing the future publishes the fields above to every thread checking isReady() first.
+        discovery.complete(null);
+    }
+
+    private void loadLayers(@Nullable final OperatingSystem operatingSystem, @Nullable final HardwareAbstractionLayer hardwareAbstractionLayer) {
+        this.operatingSystem = operatingSystem;
+        this.hardwareAbstractionLayer = hardwareAbstractionLayer;
 
         if (hardwareAbstractionLayer == null) {
             logger.warning("The hardware abstraction layer could not be obtained, many features will not work properly!");
@@ -170,6 +275,22 @@ public final class SystemValues {
         return Utils.formatData(virtualMemory.getSwapUsed());
     }
 
+    /**
+     * @return Returns the physical memory modules installed, empty when the firmware does not expose them.
+     */
+    @NotNull
+    public List<PhysicalMemory> getPhysicalMemory() {
+        return memory.getPhysicalMemory();
+    }
+
+    /**
+     * @return Returns the cache levels of the processor, empty when the operating system does not expose them.
+     */
+    @NotNull
+    public List<CentralProcessor.ProcessorCache> getProcessorCaches() {
+        return centralProcessor.getProcessorCaches();
+    }
+
     /**
      * @return Returns the cpu voltage with unit of measure if available, else return "Unavailable".
      */
@@ -183,7 +304,7 @@ public final class SystemValues {
      */
     @NotNull
     public String getCpuTemperature() {
-        return sensors.getCpuTemperature() != 0f ? String.format("%.1f", sensors.getCpuTemperature()) + "C°" : "Unavailable";
+        return sensors.getCpuTemperature() != 0f ? FastFormat.fixed(sensors.getCpuTemperature(), 1) + "C°" : "Unavailable";
     }
 
     /**
@@ -198,11 +319,11 @@ public final class SystemValues {
         double degrees = sensors.getCpuTemperature();
         if (degrees > 0.0) {
             if (degrees <= 50.0) {
-                return (String.format("&a%.1fC° &2Idle", degrees));
+                return "&a" + FastFormat.fixed(degrees, 1) + "C° &2Idle";
             } else if (degrees <= 75.0) {
-                return (String.format("&6%.1fC° &6Load", degrees));
+                return "&6" + FastFormat.fixed(degrees, 1) + "C° &6Load";
             } else if (degrees <= 90.0) {
-                return (String.format("&c%.1fC° &cOverload", degrees));
+                return "&c" + FastFormat.fixed(degrees, 1) + "C° &cOverload";
             }
         }
         return "&cNot available";
@@ -287,7 +408,7 @@ public final class SystemValues {
             CPU_MAX_FREQ = centralProcessor.getMaxFreq();
         }
 
-        return String.format("%.2f", CPU_MAX_FREQ / 1E9);
+        return FastFormat.fixed(CPU_MAX_FREQ / 1E9, 2);
     }
 
     /**
@@ -336,6 +457,18 @@ public final class SystemValues {
         return operatingSystem.getProcesses();
     }
 
+    /**
+     * Lists the processes on a collector thread, since it reads every process of the system.
+     * Concurrent requests share one listing, and its result is reused for a short time.
+     * The returned list is shared and must not be modified.
+     *
+     * @return The future processes.
+     */
+    @NotNull
+    public CompletableFuture<List<OSProcess>> getOSProcessesAsync() {
+        return processesQuery.get();
+    }
+
     /**
      * @return get the amount of total active processes
      */
@@ -360,6 +493,18 @@ public final class SystemValues {
         return hardwareAbstractionLayer.getDiskStores();
     }
 
+    /**
+     * Enumerates the disks on a collector thread.
+     * Concurrent requests share one enumeration, and its result is reused for a short time.
+     * The returned list is shared and must not be modified.
+     *
+     * @return The future disks.
+     */
+    @NotNull
+    public CompletableFuture<List<HWDiskStore>> getDiskStoresAsync() {
+        return diskStoresQuery.get();
+    }
+
     /**
      * @return get an array of USB devices attached to the machine
      * @see <a href=https://en.wikipedia.org/wiki/USB>Wikipedia USB</a>
@@ -369,6 +514,41 @@ public final class SystemValues {
         return hardwareAbstractionLayer.getUsbDevices(true);
     }
 
+    /**
+     * Enumerates the USB devices on a collector thread.
+     * Concurrent requests share one enumeration, and its result is reused for a short time.
+     * The returned list is shared and must not be modified.
+     *
+     * @return The future USB devices.
+     */
+    @NotNull
+    public CompletableFuture<List<UsbDevice>> getUsbDevicesAsync() {
+        return usbDevicesQuery.get();
+    }
+
+    /**
+     * Sets how long the results of the coalesced queries are reused.
+     *
+     * @param processesTtl How long a process listing is reused, in milliseconds.
+     * @param disksTtl     How long a disk enumeration is reused, in milliseconds.
+     * @param devicesTtl   How long a USB enumeration is reused, in milliseconds.
+     */
+    public void setQueryTtls(final long processesTtl, final long disksTtl, final long devicesTtl) {
+        processesQuery.setTtl(processesTtl);
+        diskStoresQuery.setTtl(disksTtl);
+        usbDevicesQuery.setTtl(devicesTtl);
+    }
+
+    /**
+     * Get the executor running the blocking OSHI and filesystem calls.
+     *
+     * @return The collector executor.
+     */
+    @NotNull
+    public CollectorExecutor getCollectorExecutor() {
+        return collectorExecutor;
+    }
+
     /**
      * Get all the GPUs currently available in this machine.
      *
@@ -383,12 +563,14 @@ public final class SystemValues {
 
     /**
      * Gets the main GPU used by this system.
+     * Most virtual machines and containers expose none.
      *
-     * @return The system main GPU.
+     * @return The system main GPU, or null if there is no GPU.
      */
-    @NotNull
+    @Nullable
     public GraphicsCard getMainGPU() {
-        return hardwareAbstractionLayer.getGraphicsCards().get(0x00);
+        final List<GraphicsCard> graphicsCards = hardwareAbstractionLayer.getGraphicsCards();
+        return graphicsCards.isEmpty() ? null : graphicsCards.get(0x00);
     }
 
     /**
@@ -440,20 +622,167 @@ public final class SystemValues {
     }
 
     /**
-     * Start a task that automatically updates the global CPU load.
+     * Start a task that automatically updates the global CPU load and the {@link SystemSnapshot}.
      */
     public void startUpdateCpuLoadTask() {
         if (top.cmarco.systeminfo.plugin.SystemInfo.INSTANCE == null) {
             return;
         }
 
-        SystemInfo.getScheduler()
-                .runTaskTimerAsynchronously(() -> {
-                    if (previousTicks != null) {
-                        lastCpuLoad = SystemInfo.INSTANCE.getSystemValues().getSystemCpuLoadBetweenTicks(previousTicks) * 100;
-                    }
-                    previousTicks = SystemInfo.INSTANCE.getSystemValues().getSystemCpuLoadTicks();
-                }, 20L, 20L);
+        SystemInfo.getScheduler().runTaskTimerAsynchronously(this::sampleSnapshot, 20L, 20L);
+    }
+
+    /**
+     * Samples every metric into a new {@link SystemSnapshot} and notifies the snapshot listeners.
+     * Must only be called by the update task, which skips its runs until the hardware is discovered.
+     */
+    private void sampleSnapshot() {
+        if (!isReady()) {
+            return;
+        }
+
+        final SystemSnapshot.Builder builder = new SystemSnapshot.Builder();
+
+        if (previousTicks != null) {
+            lastCpuLoad = getSystemCpuLoadBetweenTicks(previousTicks) * 100;
+        }
+        if (previousProcessorTicks != null) {
+            final double[] processorLoads = getProcessorCpuLoadBetweenTicks(previousProcessorTicks);
+            for (int i = 0; i < processorLoads.length; i++) {
+                processorLoads[i] *= 100;
+            }
+            builder.processorLoads(processorLoads);
+        }
+        previousTicks = getSystemCpuLoadTicks();
+        previousProcessorTicks = getProcessorCpuLoadTicks();
+
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        builder.cpuLoad(lastCpuLoad)
+                .cpuTemperature(sensors.getCpuTemperature())
+                .memory(memory.getTotal(), memory.getAvailable())
+                .swap(virtualMemory.getSwapTotal(), virtualMemory.getSwapUsed())
+                .jvmHeap(heap.getUsed(), heap.getMax())
+                .processes(operatingSystem.getProcessCount(), operatingSystem.getThreadCount());
+
+        builder.interfaces(sampleInterfaces());
+        if (serverNetworkInterface != null) {
+            builder.interfaceBytes(serverNetworkInterface.getBytesRecv(), serverNetworkInterface.getBytesSent());
+        }
+
+        builder.disks(sampleDisks());
+        sampleWorldDisk(builder);
+
+        final TickMonitor tickMonitor = SystemInfo.INSTANCE.getTickMonitor();
+        if (tickMonitor != null) {
+            builder.tickStats(tickMonitor.getStats());
+        }
+
+        final BukkitNetworkingManager networkingManager = SystemInfo.INSTANCE.getNetworkingManager();
+        if (networkingManager != null) {
+            builder.networkStats(networkingManager.getNetworkStats());
+            builder.packetTypes(networkingManager.getPacketTypeStats());
+        }
+
+        final TcpConnectionMonitor tcpConnectionMonitor = SystemInfo.INSTANCE.getTcpConnectionMonitor();
+        if (tcpConnectionMonitor != null) {
+            builder.tcpHealth(tcpConnectionMonitor.getHealthData());
+        }
+
+        final JfrEventStream jfrEventStream = SystemInfo.INSTANCE.getJfrEventStream();
+        if (jfrEventStream != null) {
+            builder.jfrStats(jfrEventStream.getStats());
+        }
+
+        final SystemSnapshot sampled = builder.build();
+        this.snapshot = sampled;
+        for (final Consumer<SystemSnapshot> listener : snapshotListeners) {
+            try {
+                listener.accept(sampled);
+            } catch (RuntimeException exception) {
+                logger.warning("A snapshot listener has thrown an exception!");
+                logger.warning(exception.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Refreshes the I/O counters of the disks, enumerated once on the first sample.
+     *
+     * @return The disk counters.
+     */
+    @NotNull
+    private List<DiskSnapshot> sampleDisks() {
+        if (sampledDiskStores == null) {
+            sampledDiskStores = hardwareAbstractionLayer.getDiskStores();
+        }
+
+        final List<DiskSnapshot> disks = new ArrayList<>(sampledDiskStores.size());
+        for (final HWDiskStore disk : sampledDiskStores) {
+            disk.updateAttributes();
+            disks.add(new DiskSnapshot(disk.getName(), disk.getModel(), disk.getSize(), disk.getReads(), disk.getWrites(),
+                    disk.getReadBytes(), disk.getWriteBytes(), disk.getTransferTime()));
+        }
+        return disks;
+    }
+
+    /**
+     * Refreshes the counters of the network interfaces, enumerated once on the first sample.
+     * The server network interface takes the place of its own entry, so it is refreshed as part of the list.
+     *
+     * @return The interface counters.
+     */
+    @NotNull
+    private List<InterfaceSnapshot> sampleInterfaces() {
+        if (sampledNetworkIFs == null) {
+            sampledNetworkIFs = new ArrayList<>(hardwareAbstractionLayer.getNetworkIFs());
+            if (serverNetworkInterface != null) {
+                sampledNetworkIFs.removeIf(networkIF -> networkIF.getName().equals(serverNetworkInterface.getName()));
+                sampledNetworkIFs.add(0, serverNetworkInterface);
+            }
+        }
+
+        final List<InterfaceSnapshot> interfaces = new ArrayList<>(sampledNetworkIFs.size());
+        for (final NetworkIF networkIF : sampledNetworkIFs) {
+            networkIF.updateAttributes();
+            interfaces.add(new InterfaceSnapshot(networkIF.getName(), networkIF.getDisplayName(), networkIF.getSpeed(),
+                    networkIF.getBytesRecv(), networkIF.getBytesSent(), networkIF.getPacketsRecv(), networkIF.getPacketsSent()));
+        }
+        return interfaces;
+    }
+
+    /**
+     * Samples the free space of the filesystem holding the server worlds.
+     *
+     * @param builder The snapshot builder.
+     */
+    private void sampleWorldDisk(@NotNull final SystemSnapshot.Builder builder) {
+        try {
+            if (worldFileStore == null) {
+                worldFileStore = Files.getFileStore(Bukkit.getWorldContainer().toPath());
+            }
+            builder.worldDisk(worldFileStore.getUsableSpace(), worldFileStore.getTotalSpace());
+        } catch (IOException exception) {
+            worldFileStore = null;
+        }
+    }
+
+    /**
+     * Get the most recently sampled snapshot of every metric.
+     *
+     * @return The latest snapshot.
+     */
+    @NotNull
+    public SystemSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Register a listener that is called asynchronously every time a new snapshot is sampled.
+     *
+     * @param listener The snapshot listener.
+     */
+    public void addSnapshotListener(@NotNull final Consumer<SystemSnapshot> listener) {
+        snapshotListeners.add(listener);
     }
 
     /**
@@ -20,6 +20,7 @@ package top.cmarco.systeminfo.plugin;
 
 import com.github.Anon8281.universalScheduler.UniversalScheduler;
 import com.github.Anon8281.universalScheduler.scheduling.schedulers.TaskScheduler;
+import com.github.Anon8281.universalScheduler.scheduling.tasks.MyScheduledTask;
 import com.github.retrooper.packetevents.PacketEvents;
 import io.github.retrooper.packetevents.factory.spigot.SpigotPacketEventsBuilder;
 import org.bstats.bukkit.Metrics;
@@ -29,18 +30,36 @@ import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.alert.AlertManager;
 import top.cmarco.systeminfo.api.SystemInfoPlaceholderExtension;
+import top.cmarco.systeminfo.benchmark.BenchmarkExecutor;
+import top.cmarco.systeminfo.benchmark.BenchmarkHistory;
 import top.cmarco.systeminfo.commands.register.CommandManager;
+import top.cmarco.systeminfo.config.MessagesConfig;
 import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.exporter.PrometheusExporter;
+import top.cmarco.systeminfo.exporter.StatsdExporter;
+import top.cmarco.systeminfo.graph.GraphManager;
 import top.cmarco.systeminfo.gui.GuiClickListener;
 import top.cmarco.systeminfo.gui.SystemInfoGui;
+import top.cmarco.systeminfo.hud.HudManager;
+import top.cmarco.systeminfo.jfr.JfrEventStream;
+import top.cmarco.systeminfo.jfr.JfrRecorder;
+import top.cmarco.systeminfo.jmx.SystemInfoMBeans;
 import top.cmarco.systeminfo.libraries.LibraryManager;
 import top.cmarco.systeminfo.oshi.SystemValues;
+import top.cmarco.systeminfo.profiler.FlightRecorder;
+import top.cmarco.systeminfo.profiler.StackProfiler;
 import top.cmarco.systeminfo.protocol.BukkitNetworkingManager;
+import top.cmarco.systeminfo.protocol.TcpConnectionMonitor;
+import top.cmarco.systeminfo.tick.TickMonitor;
 import top.cmarco.systeminfo.utils.Utils;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The main class of the SystemInfo Spigot plugin, responsible for initializing and managing the plugin's features.
@@ -55,9 +74,25 @@ public final class SystemInfo extends JavaPlugin {
     private SystemInfoPlaceholderExtension systemInfoExtension; // PlaceholderAPI extension for custom placeholders.
     private SystemValues systemValues; // Manager for system information values.
     private SystemInfoGui systemInfoGui; // Graphical User Interface for the plugin.
+    private GraphManager graphManager; // Metric graphs drawn onto maps.
+    private HudManager hudManager; // Boss bar and action bar dashboards.
+    private final BenchmarkExecutor benchmarkExecutor = new BenchmarkExecutor(); // Low priority threads of the hardware benchmarks.
+    private final BenchmarkHistory benchmarkHistory = new BenchmarkHistory(this); // Past benchmark runs, loaded on first use.
     private LibraryManager libraryManager; // Download and load dependencies.
     private SystemInfoConfig systemInfoConfig; // YAML configuration manager.
+    private MessagesConfig messagesConfig; // Compiled messages manager.
     public static BukkitNetworkingManager networkingManager;
+    private TcpConnectionMonitor tcpConnectionMonitor; // Kernel TCP state of player connections, Linux only.
+    private TickMonitor tickMonitor; // Measures the duration of every server tick.
+    private PrometheusExporter prometheusExporter; // Embedded OpenMetrics endpoint.
+    private StatsdExporter statsdExporter; // StatsD UDP push exporter.
+    private MyScheduledTask statsdTask;
+    private StackProfiler stackProfiler; // Samples the tick thread stack on demand.
+    private FlightRecorder flightRecorder; // Writes a report around every lag spike, null when disabled.
+    private SystemInfoMBeans systemInfoMBeans; // JMX MXBeans, null when disabled.
+    private AlertManager alertManager; // Threshold alert rules.
+    private JfrRecorder jfrRecorder; // Java Flight Recorder recordings started by command.
+    private JfrEventStream jfrEventStream; // Streamed JFR events, null when disabled or before Java 14.
     private static TaskScheduler taskScheduler;
     public static TaskScheduler getScheduler() {
         return taskScheduler;
@@ -79,18 +114,26 @@ public final class SystemInfo extends JavaPlugin {
      */
     @Override
     public void onEnable() {
+        final long enableStart = System.nanoTime();
         INSTANCE = this;
         taskScheduler = UniversalScheduler.getScheduler(this);
         setupConfig();
-        loadDependencies();
         setupPacketEvents();
+        setupTcpMonitor();
+        setupTickMonitor();
+        setupJfr();
         loadValues();
         loadCommands();
         loadGui();
         loadAPI();
         registerListener();
         setupConfig();
+        setupExporters();
+        setupJmx();
+        setupAlerts();
+        setupFlightRecorder();
         setupMetrics();
+        this.getLogger().info("Enabled in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enableStart) + " ms, discovering the hardware in the background.");
     }
 
     @Override
@@ -105,6 +148,50 @@ public final class SystemInfo extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (prometheusExporter != null) {
+            prometheusExporter.stop();
+        }
+
+        if (statsdExporter != null) {
+            statsdTask.cancel();
+            statsdExporter.close();
+        }
+
+        if (systemInfoMBeans != null) {
+            systemInfoMBeans.unregisterAll();
+        }
+
+        if (hudManager != null) {
+            hudManager.shutdown();
+        }
+
+        if (alertManager != null) {
+            alertManager.shutdown();
+        }
+
+        if (flightRecorder != null) {
+            flightRecorder.stop();
+        }
+
+        if (jfrEventStream != null) {
+            jfrEventStream.stop();
+        }
+
+        if (jfrRecorder != null && jfrRecorder.isRecording()) {
+            try {
+                this.getLogger().info("Saved the running JFR recording to " + jfrRecorder.stop().getName());
+            } catch (IOException exception) {
+                this.getLogger().warning("Could not save the running JFR recording!");
+                this.getLogger().warning(exception.getLocalizedMessage());
+            }
+        }
+
+        benchmarkExecutor.shutdown();
+
+        if (systemValues != null) {
+            systemValues.getCollectorExecutor().shutdown();
+        }
+
         final boolean hasPacketEvents = Bukkit.getPluginManager().getPlugin("packetevents") != null;
         if (!hasPacketEvents) {
             return;
@@ -122,21 +209,128 @@ public final class SystemInfo extends JavaPlugin {
         networkingManager.loadPacketListeners();
     }
 
+    /**
+     * Set up the kernel TCP table monitor.
+     * The method will do nothing if the monitor is disabled or the host is not running Linux.
+     */
+    private void setupTcpMonitor() {
+        if (!systemInfoConfig.isTcpMonitorEnabled() || !TcpConnectionMonitor.isSupported()) {
+            return;
+        }
+
+        tcpConnectionMonitor = new TcpConnectionMonitor(this);
+        tcpConnectionMonitor.startPollTask(systemInfoConfig.getTcpMonitorInterval());
+    }
+
+    /**
+     * Start measuring the duration of the server ticks.
+     */
+    private void setupTickMonitor() {
+        tickMonitor = new TickMonitor(this);
+        tickMonitor.start();
+        stackProfiler = new StackProfiler(this);
+    }
+
+    /**
+     * Set up the Flight Recorder control, and stream its events into the snapshots on Java 14 and newer.
+     */
+    private void setupJfr() {
+        jfrRecorder = new JfrRecorder(this);
+        if (!systemInfoConfig.isJfrStreamEnabled() || !JfrEventStream.isSupported()) {
+            return;
+        }
+
+        jfrEventStream = new JfrEventStream(getLogger());
+        try {
+            jfrEventStream.start(systemInfoConfig.getJfrStreamThreshold());
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            this.getLogger().warning("Could not stream the JFR events!");
+            this.getLogger().warning(exception.getLocalizedMessage());
+            jfrEventStream.stop();
+            jfrEventStream = null;
+        }
+    }
+
+    /**
+     * Set up the metric exporters enabled in the config.yml.
+     */
+    private void setupExporters() {
+        if (systemInfoConfig.isPrometheusEnabled()) {
+            prometheusExporter = new PrometheusExporter(this, systemInfoConfig.getPrometheusAuthToken());
+            try {
+                prometheusExporter.start(systemInfoConfig.getPrometheusBindAddress(), systemInfoConfig.getPrometheusPort());
+            } catch (IOException exception) {
+                this.getLogger().warning("Could not start the Prometheus exporter!");
+                this.getLogger().warning(exception.getLocalizedMessage());
+                prometheusExporter = null;
+            }
+        }
+
+        if (systemInfoConfig.isStatsdEnabled()) {
+            statsdExporter = new StatsdExporter(new InetSocketAddress(systemInfoConfig.getStatsdHost(), systemInfoConfig.getStatsdPort()),
+                    systemInfoConfig.getStatsdPrefix(), systemInfoConfig.isStatsdTagsEnabled(), systemInfoConfig.getStatsdMaxPacketSize());
+            try {
+                statsdExporter.open();
+            } catch (IOException exception) {
+                this.getLogger().warning("Could not start the StatsD exporter!");
+                this.getLogger().warning(exception.getLocalizedMessage());
+                statsdExporter = null;
+                return;
+            }
+
+            final long interval = systemInfoConfig.getStatsdFlushInterval();
+            statsdTask = taskScheduler.runTaskTimerAsynchronously(() -> statsdExporter.flush(systemValues.getSnapshot()), interval, interval);
+        }
+    }
+
+    /**
+     * Register the JMX MXBeans if enabled in the config.yml.
+     */
+    private void setupJmx() {
+        if (!systemInfoConfig.isJmxEnabled()) {
+            return;
+        }
+
+        systemInfoMBeans = new SystemInfoMBeans(this);
+        systemInfoMBeans.registerAll();
+    }
+
+    /**
+     * Compile the alert rules of the config.yml and start evaluating them on every snapshot.
+     */
+    private void setupAlerts() {
+        alertManager = new AlertManager(this);
+        alertManager.load();
+    }
+
+    /**
+     * Start recording lag spikes if enabled in the config.yml.
+     */
+    private void setupFlightRecorder() {
+        if (!systemInfoConfig.isFlightRecorderEnabled()) {
+            return;
+        }
+
+        flightRecorder = new FlightRecorder(this, systemInfoConfig);
+        flightRecorder.start();
+    }
+
     private void setupMetrics() {
         Metrics metrics = new Metrics(this, 5610);
     }
 
     private void setupConfig() {
         this.systemInfoConfig = new SystemInfoConfig(this);
+        this.messagesConfig = new MessagesConfig(this);
+        this.messagesConfig.compile();
     }
 
     /**
-     * Loads the dependencies necessary for this plugin at runtime.
-     * Loads: oshi-core and jspeedtest.
+     * Loads the dependencies necessary for this plugin at runtime, called on the hardware discovery thread.
+     * Loads: oshi-core.
      */
     private void loadDependencies() {
         this.libraryManager = new LibraryManager(this);
-        this.libraryManager.loadSpeedtestLibraries();
 
         if (checkVersion(this)) {
             this.libraryManager.loadOshiLibraries();
@@ -148,14 +342,32 @@ public final class SystemInfo extends JavaPlugin {
      */
     private void loadGui() {
         this.systemInfoGui = new SystemInfoGui(this);
+        this.graphManager = new GraphManager(this);
+        this.graphManager.load();
+        this.systemValues.addSnapshotListener(graphManager);
+        this.hudManager = new HudManager(this);
     }
 
     /**
-     * Initializes and updates the SystemValues.
+     * Initializes the SystemValues, and starts loading the dependencies and discovering the hardware in the background.
+     * Commands and placeholders answer with a warming up message until the discovery completes.
      */
     private void loadValues() {
-        systemValues = new SystemValues(getLogger());
-        systemValues.updateValues();
+        systemValues = new SystemValues(getLogger(), systemInfoConfig.getCollectorMaxConcurrentCalls());
+        systemValues.setQueryTtls(systemInfoConfig.getCollectorProcessesTtl(), systemInfoConfig.getCollectorDisksTtl(),
+                systemInfoConfig.getCollectorDevicesTtl());
+
+        final long discoveryStart = System.nanoTime();
+        systemValues.discoverAsync(this::loadDependencies).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                this.getLogger().warning("Could not discover the hardware!");
+                this.getLogger().warning(throwable.getLocalizedMessage());
+                this.getLogger().warning("Disabling plugin . . .");
+                taskScheduler.runTask(() -> pluginManager.disablePlugin(this));
+                return;
+            }
+            this.getLogger().info("Discovered the hardware in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - discoveryStart) + " ms.");
+        });
         systemValues.startUpdateCpuLoadTask();
     }
 
@@ -193,7 +405,8 @@ public final class SystemInfo extends JavaPlugin {
      * Registers the GuiClickListener as a listener to handle GUI interactions.
      */
     private void registerListener() {
-        pluginManager.registerEvents(new GuiClickListener(), this);
+        pluginManager.registerEvents(new GuiClickListener(systemInfoGui), this);
+        pluginManager.registerEvents(hudManager, this);
     }
 
     // Getters for class members
@@ -246,6 +459,65 @@ public final class SystemInfo extends JavaPlugin {
         return systemInfoGui;
     }
 
+    /**
+     * @return Gets the graph maps manager.
+     */
+    @NotNull
+    public GraphManager getGraphManager() {
+        return graphManager;
+    }
+
+    /**
+     * @return Gets the HUD manager.
+     */
+    @NotNull
+    public HudManager getHudManager() {
+        return hudManager;
+    }
+
+    /**
+     * @return Gets the executor running the hardware benchmarks.
+     */
+    @NotNull
+    public BenchmarkExecutor getBenchmarkExecutor() {
+        return benchmarkExecutor;
+    }
+
+    /**
+     * @return Gets the history of the benchmark runs.
+     */
+    @NotNull
+    public BenchmarkHistory getBenchmarkHistory() {
+        return benchmarkHistory;
+    }
+
+    /**
+     * @return Gets the threshold alert rules manager.
+     */
+    @NotNull
+    public AlertManager getAlertManager() {
+        return alertManager;
+    }
+
+    /**
+     * @return Gets the Java Flight Recorder recordings controller.
+     */
+    @NotNull
+    public JfrRecorder getJfrRecorder() {
+        return jfrRecorder;
+    }
+
+    /**
+     * Get the stream of Java Flight Recorder events.
+     * Can be null when streaming is disabled or the JVM is older than Java 14.
+     *
+     * @return The JFR event stream.
+     */
+    @Nullable
+    public JfrEventStream getJfrEventStream() {
+        return jfrEventStream;
+    }
+
     /**
      * @return Gets the mail config used by system info.
      */
@@ -254,6 +526,14 @@ public final class SystemInfo extends JavaPlugin {
         return systemInfoConfig;
     }
 
+    /**
+     * @return Gets the messages config used by system info.
+     */
+    @NotNull
+    public MessagesConfig getMessagesConfig() {
+        return messagesConfig;
+    }
+
     /**
      * Get the Bukkit server networking manager class of this plugin.
      * Can be null when ProtocolLib dependency is missing.
@@ -264,4 +544,31 @@ public final class SystemInfo extends JavaPlugin {
     public BukkitNetworkingManager getNetworkingManager() {
         return networkingManager;
     }
+
+    /**
+     * Get the kernel TCP table monitor of this plugin.
+     * Can be null when the monitor is disabled or the host is not running Linux.
+     *
+     * @return The TCP connection monitor.
+     */
+    @Nullable
+    public TcpConnectionMonitor getTcpConnectionMonitor() {
+        return tcpConnectionMonitor;
+    }
+
+    /**
+     * @return Gets the tick monitor.
+     */
+    @NotNull
+    public TickMonitor getTickMonitor() {
+        return tickMonitor;
+    }
+
+    /**
+     * @return Gets the tick thread stack profiler.
+     */
+    @NotNull
+    public StackProfiler getStackProfiler() {
+        return stackProfiler;
+    }
 }
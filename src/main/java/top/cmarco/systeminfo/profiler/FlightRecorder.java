@@ -0,0 +1,329 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.profiler;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.tick.TickMonitor;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records what the server was doing around lag spikes, so they can be explained after the fact.
+ * <p>
+ * A daemon thread keeps a rolling window of tick thread stack samples and of the garbage collections,
+ * and the latest snapshots are kept as they are sampled. Every stack sample is a VM operation, a global safepoint
+ * on older JVMs, so samples are sparse by default and only the innermost frames are captured. When a tick is longer than the threshold, the window
+ * around it is frozen once the post window has elapsed and a spike report is written to the spikes folder
+ * by a separate thread. Reports are rate limited, and the oldest ones are deleted past the configured count or size.
+ */
+public final class FlightRecorder implements TickMonitor.TickListener {
+
+    private static final int GC_EVENTS = 64;
+
+    private final SystemInfo plugin;
+    private final File reportsFolder;
+    private final long sampleIntervalMillis, thresholdNanos, windowNanos, postWindowMillis, cooldownNanos;
+    private final int maxReports, maxDepth;
+    private final long maxFolderBytes;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private final long[] sampleTimes; // guarded by samples.
+    private final StackTraceElement[][] samples;
+    private int sampleIndex = 0, sampleCount = 0;
+
+    private final SystemSnapshot[] snapshots; // guarded by snapshots.
+    private int snapshotIndex = 0, snapshotCount = 0;
+
+    private final GcEvent[] gcEvents = new GcEvent[GC_EVENTS]; // guarded by gcEvents.
+    private int gcIndex = 0, gcCount = 0;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[] collectionCounts = new long[collectors.size()], collectionTimes = new long[collectors.size()];
+
+    private final ScheduledExecutorService reportExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "SystemInfo Spike Reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Thread samplerThread = null;
+    private boolean triggered = false; // only accessed by the tick thread.
+    private long nextTrigger = 0L;
+
+    /**
+     * Constructs a new instance of FlightRecorder with the settings of the config.yml.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     * @param config The plugin config.
+     */
+    public FlightRecorder(@NotNull final SystemInfo plugin, @NotNull final SystemInfoConfig config) {
+        this.plugin = plugin;
+        this.reportsFolder = new File(plugin.getDataFolder(), "spikes");
+        this.sampleIntervalMillis = config.getFlightRecorderSampleInterval();
+        this.thresholdNanos = config.getFlightRecorderThreshold() * 1_000_000L;
+        this.windowNanos = config.getFlightRecorderWindow() * 1_000_000L;
+        this.postWindowMillis = config.getFlightRecorderPostWindow();
+        this.cooldownNanos = config.getFlightRecorderCooldown() * 1_000_000L;
+        this.maxReports = config.getFlightRecorderMaxReports();
+        this.maxFolderBytes = config.getFlightRecorderMaxSize();
+        this.maxDepth = config.getFlightRecorderMaxDepth();
+
+        final int capacity = (int) ((config.getFlightRecorderWindow() + postWindowMillis) / sampleIntervalMillis) + 1;
+        this.sampleTimes = new long[capacity];
+        this.samples = new StackTraceElement[capacity][];
+        this.snapshots = new SystemSnapshot[config.getFlightRecorderSnapshots()];
+    }
+
+    /**
+     * Starts sampling the tick thread and listening to the ticks and snapshots.
+     */
+    public void start() {
+        for (int i = 0; i < collectors.size(); i++) {
+            collectionCounts[i] = collectors.get(i).getCollectionCount();
+            collectionTimes[i] = collectors.get(i).getCollectionTime();
+        }
+
+        final Thread thread = new Thread(this::sampleLoop, "SystemInfo Flight Recorder");
+        thread.setDaemon(true);
+        samplerThread = thread;
+        thread.start();
+
+        plugin.getTickMonitor().setTickListener(this);
+        plugin.getSystemValues().addSnapshotListener(this::recordSnapshot);
+    }
+
+    /**
+     * Stops sampling, reports already triggered are dropped.
+     */
+    public void stop() {
+        plugin.getTickMonitor().setTickListener(null);
+        final Thread thread = samplerThread;
+        samplerThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        reportExecutor.shutdownNow();
+    }
+
+    private void sampleLoop() {
+        final Thread current = Thread.currentThread();
+        while (samplerThread == current) {
+            final Thread tickThread = plugin.getTickMonitor().getTickThread();
+            final ThreadInfo info = tickThread == null ? null : threadBean.getThreadInfo(tickThread.getId(), maxDepth);
+            if (info != null) {
+                final StackTraceElement[] frames = info.getStackTrace();
+                final long now = System.nanoTime();
+                synchronized (samples) {
+                    samples[sampleIndex] = frames;
+                    sampleTimes[sampleIndex] = now;
+                    sampleIndex = (sampleIndex + 1) % samples.length;
+                    if (sampleCount < samples.length) {
+                        sampleCount++;
+                    }
+                }
+            }
+            pollCollectors();
+
+            try {
+                Thread.sleep(sampleIntervalMillis);
+            } catch (InterruptedException exception) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Turns the collections counted since the previous sample into GC events.
+     */
+    private void pollCollectors() {
+        for (int i = 0; i < collectors.size(); i++) {
+            final GarbageCollectorMXBean collector = collectors.get(i);
+            final long count = collector.getCollectionCount();
+            if (count <= collectionCounts[i]) {
+                continue;
+            }
+            final long time = collector.getCollectionTime();
+            final GcEvent event = new GcEvent(System.currentTimeMillis(), collector.getName(),
+                    count - collectionCounts[i], time - collectionTimes[i]);
+            collectionCounts[i] = count;
+            collectionTimes[i] = time;
+            synchronized (gcEvents) {
+                gcEvents[gcIndex] = event;
+                gcIndex = (gcIndex + 1) % GC_EVENTS;
+                if (gcCount < GC_EVENTS) {
+                    gcCount++;
+                }
+            }
+        }
+    }
+
+    private void recordSnapshot(@NotNull final SystemSnapshot snapshot) {
+        synchronized (snapshots) {
+            snapshots[snapshotIndex] = snapshot;
+            snapshotIndex = (snapshotIndex + 1) % snapshots.length;
+            if (snapshotCount < snapshots.length) {
+                snapshotCount++;
+            }
+        }
+    }
+
+    /**
+     * Triggers a report when a tick is longer than the threshold, at most once per cooldown.
+     * Called by the tick thread.
+     */
+    @Override
+    public void onTick(final long durationNanos, final long endNanos) {
+        if (durationNanos < thresholdNanos || (triggered && endNanos - nextTrigger < 0L)) {
+            return;
+        }
+        triggered = true;
+        nextTrigger = endNanos + cooldownNanos;
+
+        final long endMillis = System.currentTimeMillis();
+        try {
+            reportExecutor.schedule(() -> report(endNanos - durationNanos, endNanos, endMillis), postWindowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // the recorder is stopping.
+        }
+    }
+
+    /**
+     * Freezes the window around a spike and writes its report. Called by the report thread.
+     */
+    private void report(final long startNanos, final long endNanos, final long endMillis) {
+        final Map<String, int[]> during = new HashMap<>(), around = new HashMap<>();
+        int duringSamples = 0, aroundSamples = 0;
+        final StringBuilder builder = new StringBuilder(1024);
+        synchronized (samples) {
+            for (int i = 0; i < sampleCount; i++) {
+                final int index = (sampleIndex - sampleCount + i + samples.length) % samples.length;
+                final long time = sampleTimes[index];
+                if (time - (startNanos - windowNanos) < 0L || samples[index].length == 0) {
+                    continue;
+                }
+                builder.setLength(0);
+                StackProfiler.appendCollapsed(builder, samples[index]);
+                if (time - startNanos >= 0L && time - endNanos <= 0L) {
+                    during.computeIfAbsent(builder.toString(), key -> new int[1])[0]++;
+                    duringSamples++;
+                } else {
+                    around.computeIfAbsent(builder.toString(), key -> new int[1])[0]++;
+                    aroundSamples++;
+                }
+            }
+        }
+
+        final double durationMillis = (endNanos - startNanos) / 1E6;
+        final long windowStartMillis = endMillis - (long) durationMillis - windowNanos / 1_000_000L;
+        final List<GcEvent> gcWindow = new ArrayList<>();
+        synchronized (gcEvents) {
+            for (int i = 0; i < gcCount; i++) {
+                final GcEvent event = gcEvents[(gcIndex - gcCount + i + GC_EVENTS) % GC_EVENTS];
+                if (event.timestamp >= windowStartMillis) {
+                    gcWindow.add(event);
+                }
+            }
+        }
+
+        final List<SystemSnapshot> snapshotWindow = new ArrayList<>();
+        synchronized (snapshots) {
+            for (int i = 0; i < snapshotCount; i++) {
+                snapshotWindow.add(snapshots[(snapshotIndex - snapshotCount + i + snapshots.length) % snapshots.length]);
+            }
+        }
+
+        final SpikeReport report = new SpikeReport(endMillis, durationMillis, thresholdNanos / 1E6,
+                plugin.getTickMonitor().hasExactDurations(), windowNanos / 1_000_000L, postWindowMillis, sampleIntervalMillis,
+                sort(during), duringSamples, sort(around), aroundSamples, gcWindow, snapshotWindow);
+        try {
+            final File file = report.write(reportsFolder);
+            plugin.getLogger().warning("Lag spike of " + FastFormat.fixed(durationMillis, 1) + "ms, report written to "
+                    + reportsFolder.getName() + File.separator + file.getName());
+            enforceRetention();
+        } catch (IOException exception) {
+            plugin.getLogger().warning("Could not write the lag spike report!");
+            plugin.getLogger().warning(exception.getLocalizedMessage());
+        }
+    }
+
+    @NotNull
+    private static List<Map.Entry<String, int[]>> sort(@NotNull final Map<String, int[]> stacks) {
+        final List<Map.Entry<String, int[]>> sorted = new ArrayList<>(stacks.entrySet());
+        sorted.sort((first, second) -> Integer.compare(second.getValue()[0], first.getValue()[0]));
+        return sorted;
+    }
+
+    /**
+     * Deletes the oldest reports until both the count and the size of the spikes folder are within their limits.
+     */
+    private void enforceRetention() {
+        final File[] files = reportsFolder.listFiles((folder, name) -> name.startsWith(SpikeReport.PREFIX) && name.endsWith(".txt"));
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        long totalBytes = 0L;
+        for (final File file : files) {
+            totalBytes += file.length();
+        }
+        for (int i = 0, remaining = files.length; i < files.length - 1 && (remaining > maxReports || totalBytes > maxFolderBytes); i++) {
+            final long length = files[i].length();
+            if (files[i].delete()) {
+                remaining--;
+                totalBytes -= length;
+            }
+        }
+    }
+
+    /**
+     * The collections a collector ran between two samples.
+     */
+    static final class GcEvent {
+
+        final long timestamp;
+        final String collector;
+        final long collections;
+        final long timeMillis;
+
+        GcEvent(final long timestamp, @NotNull final String collector, final long collections, final long timeMillis) {
+            this.timestamp = timestamp;
+            this.collector = collector;
+            this.collections = collections;
+            this.timeMillis = timeMillis;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.profiler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.oshi.DiskSnapshot;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.tick.TickStats;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The window frozen by the {@link FlightRecorder} around a lag spike, written as a plain text report.
+ * The stack sections use the collapsed stack format, so they can be pasted into flame graph tools.
+ */
+final class SpikeReport {
+
+    static final String PREFIX = "spike-";
+
+    private final long timestamp;
+    private final double durationMillis, thresholdMillis;
+    private final boolean exactDurations;
+    private final long windowMillis, postWindowMillis, sampleIntervalMillis;
+    private final List<Map.Entry<String, int[]>> duringStacks, aroundStacks;
+    private final int duringSamples, aroundSamples;
+    private final List<FlightRecorder.GcEvent> gcEvents;
+    private final List<SystemSnapshot> snapshots;
+
+    SpikeReport(final long timestamp, final double durationMillis, final double thresholdMillis, final boolean exactDurations,
+                final long windowMillis, final long postWindowMillis, final long sampleIntervalMillis,
+                @NotNull final List<Map.Entry<String, int[]>> duringStacks, final int duringSamples,
+                @NotNull final List<Map.Entry<String, int[]>> aroundStacks, final int aroundSamples,
+                @NotNull final List<FlightRecorder.GcEvent> gcEvents, @NotNull final List<SystemSnapshot> snapshots) {
+        this.timestamp = timestamp;
+        this.durationMillis = durationMillis;
+        this.thresholdMillis = thresholdMillis;
+        this.exactDurations = exactDurations;
+        this.windowMillis = windowMillis;
+        this.postWindowMillis = postWindowMillis;
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        this.duringStacks = duringStacks;
+        this.duringSamples = duringSamples;
+        this.aroundStacks = aroundStacks;
+        this.aroundSamples = aroundSamples;
+        this.gcEvents = gcEvents;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Writes the report to a new file of a folder.
+     *
+     * @param folder The reports folder, created if missing.
+     * @return The written file.
+     * @throws IOException If the report could not be written.
+     */
+    @NotNull
+    File write(@NotNull final File folder) throws IOException {
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder.getAbsolutePath());
+        }
+
+        final File file = new File(folder, PREFIX + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date(timestamp)) + ".txt");
+        final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("SystemInfo lag spike report");
+            writer.newLine();
+            writer.write("Time: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(timestamp)));
+            writer.newLine();
+            writer.write("Tick: " + FastFormat.fixed(durationMillis, 1) + "ms (threshold " + FastFormat.fixed(thresholdMillis, 1) + "ms, "
+                    + (exactDurations ? "measured by the server" : "measured as the interval between two ticks") + ")");
+            writer.newLine();
+            writer.write("Window: " + windowMillis + "ms before and " + postWindowMillis + "ms after the spike, tick thread sampled every "
+                    + sampleIntervalMillis + "ms");
+            writer.newLine();
+
+            writer.newLine();
+            writer.write("== Garbage collections in the window ==");
+            writer.newLine();
+            if (gcEvents.isEmpty()) {
+                writer.write("none");
+                writer.newLine();
+            }
+            for (final FlightRecorder.GcEvent event : gcEvents) {
+                writer.write(timeFormat.format(new Date(event.timestamp)) + ' ' + event.collector + ": " + event.collections
+                        + (event.collections == 1L ? " collection, " : " collections, ") + event.timeMillis + "ms");
+                writer.newLine();
+            }
+
+            writer.newLine();
+            writer.write("== System state ==");
+            writer.newLine();
+            writer.write("time          cpu     memory      swap        heap        mspt    disk read   disk write  net in      net out");
+            writer.newLine();
+            SystemSnapshot previous = null;
+            for (final SystemSnapshot snapshot : snapshots) {
+                writer.write(stateLine(timeFormat, previous, snapshot));
+                writer.newLine();
+                previous = snapshot;
+            }
+
+            writeStacks(writer, "== Tick thread stacks during the spike (" + duringSamples + " samples) ==", duringStacks);
+            writeStacks(writer, "== Tick thread stacks around the spike (" + aroundSamples + " samples) ==", aroundStacks);
+        }
+        return file;
+    }
+
+    @NotNull
+    private static String stateLine(@NotNull final SimpleDateFormat timeFormat, @Nullable final SystemSnapshot previous,
+                                    @NotNull final SystemSnapshot snapshot) {
+        final StringBuilder line = new StringBuilder(128);
+        pad(line.append(timeFormat.format(new Date(snapshot.getTimestamp()))), 14);
+        pad(line.append(snapshot.getCpuLoad() < 0d ? "-" : FastFormat.percent(snapshot.getCpuLoad(), 1)), 22);
+        pad(FastFormat.appendBytes(line, snapshot.getMemoryUsed()), 34);
+        pad(FastFormat.appendBytes(line, snapshot.getSwapUsed()), 46);
+        pad(FastFormat.appendBytes(line, snapshot.getJvmHeapUsed()), 58);
+        final TickStats tickStats = snapshot.getTickStats();
+        pad(line.append(tickStats == null ? "-" : FastFormat.fixed(tickStats.getAverageMspt(), 1)), 66);
+
+        final long elapsed = previous == null ? 0L : snapshot.getTimestamp() - previous.getTimestamp();
+        if (elapsed <= 0L) {
+            return line.append("-").toString();
+        }
+        long readBytes = 0L, writeBytes = 0L;
+        for (final DiskSnapshot disk : snapshot.getDisks()) {
+            readBytes += disk.getReadBytes();
+            writeBytes += disk.getWriteBytes();
+        }
+        for (final DiskSnapshot disk : previous.getDisks()) {
+            readBytes -= disk.getReadBytes();
+            writeBytes -= disk.getWriteBytes();
+        }
+        pad(FastFormat.appendRate(line, Math.max(0L, readBytes * 1000L / elapsed)), 78);
+        pad(FastFormat.appendRate(line, Math.max(0L, writeBytes * 1000L / elapsed)), 90);
+        pad(FastFormat.appendRate(line, Math.max(0L, (snapshot.getInterfaceBytesReceived() - previous.getInterfaceBytesReceived()) * 1000L / elapsed)), 102);
+        FastFormat.appendRate(line, Math.max(0L, (snapshot.getInterfaceBytesSent() - previous.getInterfaceBytesSent()) * 1000L / elapsed));
+        return line.toString();
+    }
+
+    private static void pad(@NotNull final StringBuilder line, final int column) {
+        do {
+            line.append(' ');
+        } while (line.length() < column);
+    }
+
+    private static void writeStacks(@NotNull final BufferedWriter writer, @NotNull final String title,
+                                    @NotNull final List<Map.Entry<String, int[]>> stacks) throws IOException {
+        writer.newLine();
+        writer.write(title);
+        writer.newLine();
+        for (final Map.Entry<String, int[]> entry : stacks) {
+            writer.write(entry.getKey());
+            writer.write(' ');
+            writer.write(Integer.toString(entry.getValue()[0]));
+            writer.newLine();
+        }
+    }
+}
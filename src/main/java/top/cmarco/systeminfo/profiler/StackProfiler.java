@@ -0,0 +1,157 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.profiler;
+
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A sampling profiler for the server tick thread.
+ * <p>
+ * A dedicated thread captures the stack of the tick thread at a fixed interval and writes the result
+ * in the collapsed stack format, which flame graph tools such as speedscope or flamegraph.pl read directly.
+ */
+public final class StackProfiler {
+
+    private static final int SAMPLE_INTERVAL_MILLIS = 10;
+
+    private final SystemInfo plugin;
+    private final File profilesFolder;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Constructs a new instance of StackProfiler with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public StackProfiler(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+        this.profilesFolder = new File(plugin.getDataFolder(), "profiles");
+    }
+
+    /**
+     * Profiles the tick thread for the given amount of seconds.
+     *
+     * @param seconds The profile duration.
+     * @return A future completed with the written profile, or completed exceptionally if
+     * another profile is running or the tick thread is not known yet.
+     */
+    @NotNull
+    public CompletableFuture<File> profile(final int seconds) {
+        final CompletableFuture<File> future = new CompletableFuture<>();
+        final Thread tickThread = plugin.getTickMonitor().getTickThread();
+        if (tickThread == null) {
+            future.completeExceptionally(new IllegalStateException("The tick thread is not known yet."));
+            return future;
+        }
+        if (!running.compareAndSet(false, true)) {
+            future.completeExceptionally(new IllegalStateException("A profile is already running."));
+            return future;
+        }
+
+        final Thread profilerThread = new Thread(() -> {
+            try {
+                future.complete(write(sample(tickThread, seconds * 1000L)));
+            } catch (IOException | RuntimeException exception) {
+                future.completeExceptionally(exception);
+            } finally {
+                running.set(false);
+            }
+        }, "SystemInfo Profiler");
+        profilerThread.setDaemon(true);
+        profilerThread.start();
+        return future;
+    }
+
+    /**
+     * @return True while a profile is being captured.
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @NotNull
+    private Map<String, int[]> sample(@NotNull final Thread thread, final long durationMillis) {
+        final Map<String, int[]> stacks = new HashMap<>();
+        final long end = System.currentTimeMillis() + durationMillis;
+        final StringBuilder builder = new StringBuilder(1024);
+
+        while (System.currentTimeMillis() < end) {
+            final StackTraceElement[] frames = thread.getStackTrace();
+            if (frames.length > 0) {
+                builder.setLength(0);
+                appendCollapsed(builder, frames);
+                stacks.computeIfAbsent(builder.toString(), key -> new int[1])[0]++;
+            }
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return stacks;
+    }
+
+    /**
+     * Appends a stack in the collapsed format: frames from the root to the leaf, separated by semicolons.
+     *
+     * @param builder The destination builder.
+     * @param frames  The stack frames, leaf first as returned by {@link Thread#getStackTrace()}.
+     */
+    static void appendCollapsed(@NotNull final StringBuilder builder, @NotNull final StackTraceElement[] frames) {
+        for (int i = frames.length - 1; i >= 0; i--) {
+            builder.append(frames[i].getClassName()).append('.').append(frames[i].getMethodName());
+            if (i > 0) {
+                builder.append(';');
+            }
+        }
+    }
+
+    @NotNull
+    private File write(@NotNull final Map<String, int[]> stacks) throws IOException {
+        if (!profilesFolder.isDirectory() && !profilesFolder.mkdirs()) {
+            throw new IOException("Could not create " + profilesFolder.getAbsolutePath());
+        }
+
+        final String name = "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt";
+        final File file = new File(profilesFolder, name);
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, int[]> entry : stacks.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(' ');
+                writer.write(Integer.toString(entry.getValue()[0]));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
@@ -22,16 +22,25 @@ import com.github.Anon8281.universalScheduler.scheduling.schedulers.TaskSchedule
 import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.event.EventManager;
 import com.github.retrooper.packetevents.event.PacketListenerPriority;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import top.cmarco.systeminfo.plugin.SystemInfo;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 public final class BukkitNetworkingManager {
 
     private final SystemInfo plugin;
     private final EventManager eventManager;
-    long lastSentPackets = -1L, lastReceivedPackets = -1L, lastSentBytes = -1L, lastReceivedBytes = -1L;
-    long totalSentPackets = -1L, totalReceivedPackets = -1L, totalSentBytes = -1L, totalReceivedBytes = -1L;
+    final TrafficCounter sent = new TrafficCounter(), received = new TrafficCounter();
     private long lastReset = -1L;
+    private final Map<PacketTypeCommon, PacketTypeCounter> sentPacketTypes = new ConcurrentHashMap<>();
+    private final Map<PacketTypeCommon, PacketTypeCounter> receivedPacketTypes = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new instance of BukkitNetworkingManager with the provided SystemInfo plugin.
@@ -49,10 +58,8 @@ public final class BukkitNetworkingManager {
     private void startPacketCountResetScheduler() {
         final TaskScheduler scheduler = SystemInfo.getScheduler();
         scheduler.runTaskTimerAsynchronously(() -> {
-            this.lastSentPackets = 0L;
-            this.lastReceivedPackets = 0L;
-            this.lastSentBytes = 0L;
-            this.lastReceivedBytes = 0L;
+            this.sent.resetInterval();
+            this.received.resetInterval();
             this.lastReset = System.currentTimeMillis();
         }, 20L, 20L);
     }
@@ -61,10 +68,6 @@ public final class BukkitNetworkingManager {
      * Loads packet listeners for both server and client packets.
      */
     public void loadPacketListeners() {
-        lastSentPackets = 0L;
-        lastReceivedPackets = 0L;
-        totalSentPackets = 0L;
-        totalReceivedPackets = 0L;
         this.startPacketCountResetScheduler();
 
         try {
@@ -75,6 +78,50 @@ public final class BukkitNetworkingManager {
         }
     }
 
+    /**
+     * Counts a packet of the given type. Called by the netty threads of every connection.
+     *
+     * @param packetType The packet type, or null if packetevents could not resolve it.
+     * @param sent       True for packets sent by the server.
+     * @param bytes      The packet size in bytes.
+     */
+    void countPacketType(@Nullable final PacketTypeCommon packetType, final boolean sent, final int bytes) {
+        if (packetType == null) {
+            return;
+        }
+
+        final Map<PacketTypeCommon, PacketTypeCounter> counters = sent ? sentPacketTypes : receivedPacketTypes;
+        PacketTypeCounter counter = counters.get(packetType);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(packetType, type -> new PacketTypeCounter());
+        }
+        counter.packets.increment();
+        counter.bytes.add(bytes);
+    }
+
+    /**
+     * Get the traffic of every packet type seen since the server started, sorted by bytes.
+     *
+     * @return The per packet type statistics.
+     */
+    @NotNull
+    public List<PacketTypeStats> getPacketTypeStats() {
+        final List<PacketTypeStats> stats = new ArrayList<>(sentPacketTypes.size() + receivedPacketTypes.size());
+        for (final Map.Entry<PacketTypeCommon, PacketTypeCounter> entry : sentPacketTypes.entrySet()) {
+            stats.add(new PacketTypeStats(entry.getKey().getName(), true, entry.getValue().packets.sum(), entry.getValue().bytes.sum()));
+        }
+        for (final Map.Entry<PacketTypeCommon, PacketTypeCounter> entry : receivedPacketTypes.entrySet()) {
+            stats.add(new PacketTypeStats(entry.getKey().getName(), false, entry.getValue().packets.sum(), entry.getValue().bytes.sum()));
+        }
+        stats.sort((a, b) -> Long.compare(b.getBytes(), a.getBytes()));
+        return stats;
+    }
+
+    private static final class PacketTypeCounter {
+        private final LongAdder packets = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+
     /* ---------------------- */
 
     /**
@@ -83,7 +130,7 @@ public final class BukkitNetworkingManager {
      * @return The most recent amount of sent packets.
      */
     public long getLastSentPackets() {
-        return lastSentPackets;
+        return sent.getLastPackets();
     }
 
     /**
@@ -92,7 +139,7 @@ public final class BukkitNetworkingManager {
      * @return The most recent amount of received packets.
      */
     public long getLastReceivedPackets() {
-        return lastReceivedPackets;
+        return received.getLastPackets();
     }
 
     /**
@@ -101,7 +148,7 @@ public final class BukkitNetworkingManager {
      * @return The total amount of sent packets.
      */
     public long getTotalSentPackets() {
-        return totalSentPackets;
+        return sent.getTotalPackets();
     }
 
     /**
@@ -110,7 +157,7 @@ public final class BukkitNetworkingManager {
      * @return The total amount of received packets.
      */
     public long getTotalReceivedPackets() {
-        return totalReceivedPackets;
+        return received.getTotalPackets();
     }
 
     /**
@@ -119,7 +166,7 @@ public final class BukkitNetworkingManager {
      * @return The number of bytes last sent.
      */
     public long getLastSentBytes() {
-        return lastSentBytes;
+        return sent.getLastBytes();
     }
 
     /**
@@ -128,7 +175,7 @@ public final class BukkitNetworkingManager {
      * @return The number of bytes last received.
      */
     public long getLastReceivedBytes() {
-        return lastReceivedBytes;
+        return received.getLastBytes();
     }
 
     /**
@@ -137,7 +184,7 @@ public final class BukkitNetworkingManager {
      * @return The total number of bytes sent.
      */
     public long getTotalSentBytes() {
-        return totalSentBytes;
+        return sent.getTotalBytes();
     }
 
     /**
@@ -146,7 +193,7 @@ public final class BukkitNetworkingManager {
      * @return The total number of bytes received.
      */
     public long getTotalReceivedBytes() {
-        return totalReceivedBytes;
+        return received.getTotalBytes();
     }
 
     /**
@@ -187,15 +234,11 @@ public final class BukkitNetworkingManager {
     @NotNull
     public NetworkStatsData resetNetworkStats() {
         NetworkStatsData lastAvailable = this.getNetworkStats();
-        this.lastReceivedBytes = 0;
-        this.lastSentBytes = 0;
-        this.lastReceivedPackets = 0;
-        this.lastSentPackets = 0;
-        this.totalReceivedBytes = 0;
-        this.totalSentBytes = 0;
-        this.totalReceivedPackets = 0;
-        this.totalSentPackets = 0;
+        this.sent.reset();
+        this.received.reset();
         this.lastReset = 0;
+        this.sentPacketTypes.clear();
+        this.receivedPacketTypes.clear();
         return lastAvailable;
     }
 }
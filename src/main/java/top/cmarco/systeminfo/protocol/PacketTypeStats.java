@@ -0,0 +1,67 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing the traffic of a single Minecraft packet type since the server started.
+ */
+public final class PacketTypeStats {
+
+    private final String name;
+    private final boolean sent;
+    private final long packets, bytes;
+
+    PacketTypeStats(@NotNull final String name, final boolean sent, final long packets, final long bytes) {
+        this.name = name;
+        this.sent = sent;
+        this.packets = packets;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return The packet type name, such as "CHUNK_DATA".
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return True for packets sent by the server, false for packets received from clients.
+     */
+    public boolean isSent() {
+        return sent;
+    }
+
+    /**
+     * @return The amount of packets of this type.
+     */
+    public long getPackets() {
+        return packets;
+    }
+
+    /**
+     * @return The amount of bytes carried by packets of this type.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Parser for the Linux /proc/net/tcp and /proc/net/tcp6 tables.
+ * <p>
+ * Every buffer is reused between parses, so after the first few calls the parser
+ * does not allocate: entries are stored in parallel primitive arrays and indexed
+ * by a primitive open-addressing table keyed on the remote address and port.
+ */
+final class ProcNetTcpParser {
+
+    /**
+     * The kernel state number of an established TCP connection.
+     */
+    private static final int STATE_ESTABLISHED = 0x01;
+
+    /**
+     * /proc/net/tcp prints every 32-bit address word in host byte order.
+     */
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    private byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int limit;
+
+    private int count;
+    private long[] keys = new long[256];
+    private int[] sendQueues = new int[256];
+    private int[] receiveQueues = new int[256];
+    private int[] retransmits = new int[256];
+    private int[] timerStates = new int[256];
+    private int[] timerExpires = new int[256];
+    private int[] rtos = new int[256];
+    private int[] congestionWindows = new int[256];
+
+    private long[] tableKeys = new long[512];
+    private int[] tableIndexes = new int[512];
+
+    /**
+     * Clears all the entries collected by previous parses.
+     */
+    void reset() {
+        count = 0;
+    }
+
+    /**
+     * Parses a /proc/net/tcp style table, keeping established sockets bound to the given local port.
+     *
+     * @param path      The table to read.
+     * @param localPort The local port the server is listening on.
+     * @param ipv6      Whether the table contains IPv6 addresses.
+     * @throws IOException If the table cannot be read.
+     */
+    void parse(@NotNull final String path, final int localPort, final boolean ipv6) throws IOException {
+        read(path);
+        skipLine(); // header
+
+        while (position < limit) {
+            skipSpaces();
+            skipToken(); // "sl:"
+            skipSpaces();
+
+            skipUntil(':'); // local address
+            position++;
+            final int port = (int) readHex();
+            if (port != localPort) {
+                skipLine();
+                continue;
+            }
+
+            skipSpaces();
+            final long remoteKey = ipv6 ? readIpv6Key() : readIpv4Key();
+
+            skipSpaces();
+            final int state = (int) readHex();
+            if (state != STATE_ESTABLISHED) {
+                skipLine();
+                continue;
+            }
+
+            ensureCapacity(count + 1);
+            skipSpaces();
+            sendQueues[count] = (int) readHex();
+            position++; // ':'
+            receiveQueues[count] = (int) readHex();
+            skipSpaces();
+            timerStates[count] = (int) readHex();
+            position++; // ':'
+            timerExpires[count] = (int) readHex();
+            skipSpaces();
+            retransmits[count] = (int) readHex();
+            skipSpaces();
+            skipToken(); // uid
+            skipSpaces();
+            skipToken(); // timeout
+            skipSpaces();
+            skipToken(); // inode
+            skipSpaces();
+            skipToken(); // refcount
+            skipSpaces();
+            skipToken(); // socket pointer
+            skipSpaces();
+            rtos[count] = (int) readDecimal();
+            skipSpaces();
+            skipToken(); // ato
+            skipSpaces();
+            skipToken(); // quick ack / ping-pong
+            skipSpaces();
+            congestionWindows[count] = (int) readDecimal();
+            keys[count] = remoteKey;
+            count++;
+            skipLine();
+        }
+    }
+
+    /**
+     * Rebuilds the lookup table after all the tables have been parsed.
+     */
+    void index() {
+        int capacity = tableKeys.length;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        if (capacity != tableKeys.length) {
+            tableKeys = new long[capacity];
+            tableIndexes = new int[capacity];
+        } else {
+            Arrays.fill(tableKeys, 0L);
+        }
+
+        final int mask = capacity - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = mix(keys[i]) & mask;
+            while (tableKeys[slot] != 0L) {
+                slot = (slot + 1) & mask;
+            }
+            tableKeys[slot] = keys[i];
+            tableIndexes[slot] = i;
+        }
+    }
+
+    /**
+     * Find the entry belonging to the given remote key.
+     *
+     * @param key The key, as computed by {@link #key(InetSocketAddress)}.
+     * @return The entry index, or -1 if no established socket matches.
+     */
+    int indexOf(final long key) {
+        final int mask = tableKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (tableKeys[slot] != 0L) {
+            if (tableKeys[slot] == key) {
+                return tableIndexes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getSendQueue(final int index) {
+        return sendQueues[index];
+    }
+
+    int getReceiveQueue(final int index) {
+        return receiveQueues[index];
+    }
+
+    int getRetransmits(final int index) {
+        return retransmits[index];
+    }
+
+    int getTimerState(final int index) {
+        return timerStates[index];
+    }
+
+    int getTimerExpires(final int index) {
+        return timerExpires[index];
+    }
+
+    int getRto(final int index) {
+        return rtos[index];
+    }
+
+    int getCongestionWindow(final int index) {
+        return congestionWindows[index];
+    }
+
+    /**
+     * Compute the lookup key of a player remote address, matching the keys built while parsing.
+     *
+     * @param address The remote socket address.
+     * @return The lookup key.
+     */
+    static long key(@NotNull final InetSocketAddress address) {
+        final InetAddress inetAddress = address.getAddress();
+        final byte[] bytes = inetAddress.getAddress();
+        if (inetAddress instanceof Inet4Address) {
+            return ipv4Key(toInt(bytes, 0), address.getPort());
+        }
+        return ipv6Key(toInt(bytes, 0), toInt(bytes, 4), toInt(bytes, 8), toInt(bytes, 12), address.getPort());
+    }
+
+    private static int toInt(final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16 | (bytes[offset + 2] & 0xFF) << 8 | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static long ipv4Key(final int address, final int port) {
+        return 1L << 48 | (address & 0xFFFFFFFFL) << 16 | port;
+    }
+
+    private static long ipv6Key(final int w0, final int w1, final int w2, final int w3, final int port) {
+        if (w0 == 0 && w1 == 0 && w2 == 0xFFFF) {
+            return ipv4Key(w3, port); // IPv4-mapped address
+        }
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (w0 & 0xFFFFFFFFL)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (w1 & 0xFFFFFFFFL)) * 0x94D049BB133111EBL;
+        hash = (hash ^ (w2 & 0xFFFFFFFFL)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (w3 & 0xFFFFFFFFL)) * 0x94D049BB133111EBL;
+        return Long.MIN_VALUE | (hash << 16) | port;
+    }
+
+    private static int mix(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /* ---------------------- */
+
+    private void read(@NotNull final String path) throws IOException {
+        position = 0;
+        limit = 0;
+        try (FileInputStream inputStream = new FileInputStream(path)) {
+            int read;
+            while ((read = inputStream.read(buffer, limit, buffer.length - limit)) != -1) {
+                limit += read;
+                if (limit == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        }
+    }
+
+    private long readIpv4Key() {
+        final int address = (int) readHexWord(8);
+        position++; // ':'
+        return ipv4Key(address, (int) readHex());
+    }
+
+    private long readIpv6Key() {
+        final int w0 = (int) readHexWord(8);
+        final int w1 = (int) readHexWord(8);
+        final int w2 = (int) readHexWord(8);
+        final int w3 = (int) readHexWord(8);
+        position++; // ':'
+        return ipv6Key(w0, w1, w2, w3, (int) readHex());
+    }
+
+    /**
+     * Reads one address word and converts it to network byte order.
+     */
+    private long readHexWord(final int digits) {
+        int value = 0;
+        for (int i = 0; i < digits; i++) {
+            value = value << 4 | hexDigit(buffer[position++]);
+        }
+        return (LITTLE_ENDIAN ? Integer.reverseBytes(value) : value) & 0xFFFFFFFFL;
+    }
+
+    private long readHex() {
+        long value = 0L;
+        int digit;
+        while (position < limit && (digit = hexDigit(buffer[position])) >= 0) {
+            value = value << 4 | digit;
+            position++;
+        }
+        return value;
+    }
+
+    private long readDecimal() {
+        boolean negative = false;
+        if (position < limit && buffer[position] == '-') {
+            negative = true;
+            position++;
+        }
+        long value = 0L;
+        while (position < limit && buffer[position] >= '0' && buffer[position] <= '9') {
+            value = value * 10 + (buffer[position++] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static int hexDigit(final byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        } else if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        } else if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private void skipSpaces() {
+        while (position < limit && buffer[position] == ' ') {
+            position++;
+        }
+    }
+
+    private void skipToken() {
+        while (position < limit && buffer[position] != ' ' && buffer[position] != '\n') {
+            position++;
+        }
+    }
+
+    private void skipUntil(final char c) {
+        while (position < limit && buffer[position] != c) {
+            position++;
+        }
+    }
+
+    private void skipLine() {
+        while (position < limit && buffer[position] != '\n') {
+            position++;
+        }
+        position++;
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required <= keys.length) {
+            return;
+        }
+        final int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        sendQueues = Arrays.copyOf(sendQueues, capacity);
+        receiveQueues = Arrays.copyOf(receiveQueues, capacity);
+        retransmits = Arrays.copyOf(retransmits, capacity);
+        timerStates = Arrays.copyOf(timerStates, capacity);
+        timerExpires = Arrays.copyOf(timerExpires, capacity);
+        rtos = Arrays.copyOf(rtos, capacity);
+        congestionWindows = Arrays.copyOf(congestionWindows, capacity);
+    }
+}
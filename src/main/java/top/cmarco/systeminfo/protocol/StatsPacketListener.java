@@ -21,8 +21,10 @@ package top.cmarco.systeminfo.protocol;
 import com.github.retrooper.packetevents.event.PacketListener;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class StatsPacketListener implements PacketListener {
 
@@ -34,32 +36,42 @@ public final class StatsPacketListener implements PacketListener {
 
     @Override
     public void onPacketReceive(final PacketReceiveEvent event) {
-        final ByteBuf byteBuf = (ByteBuf) event.getByteBuf();
-        final int bytes = byteBuf.readableBytes();
+        countReceived(event.getPacketType(), ((ByteBuf) event.getByteBuf()).readableBytes());
+    }
+
+    @Override
+    public void onPacketSend(final PacketSendEvent event) {
+        countSent(event.getPacketType(), ((ByteBuf) event.getByteBuf()).readableBytes());
+    }
 
+    /**
+     * Counts a packet received from a client.
+     *
+     * @param packetType The packet type, or null if packetevents could not resolve it.
+     * @param bytes      The packet size in bytes.
+     */
+    void countReceived(@Nullable final PacketTypeCommon packetType, final int bytes) {
         if (bytes <= 0x00) {
             return;
         }
 
-        bukkitNetworkingManager.totalReceivedBytes += bytes;
-        bukkitNetworkingManager.lastReceivedBytes += bytes;
-        ++bukkitNetworkingManager.lastReceivedPackets;
-        ++bukkitNetworkingManager.totalReceivedPackets;
+        bukkitNetworkingManager.countPacketType(packetType, false, bytes);
+        bukkitNetworkingManager.received.count(bytes);
     }
 
-    @Override
-    public void onPacketSend(final PacketSendEvent event) {
-        final ByteBuf byteBuf = (ByteBuf) event.getByteBuf();
-        final int bytes = byteBuf.readableBytes();
-
+    /**
+     * Counts a packet sent to a client.
+     *
+     * @param packetType The packet type, or null if packetevents could not resolve it.
+     * @param bytes      The packet size in bytes.
+     */
+    void countSent(@Nullable final PacketTypeCommon packetType, final int bytes) {
         if (bytes <= 0x00) {
             return;
         }
 
-        bukkitNetworkingManager.totalSentBytes += bytes;
-        bukkitNetworkingManager.lastSentBytes += bytes;
-        ++bukkitNetworkingManager.lastSentPackets;
-        ++bukkitNetworkingManager.totalSentPackets;
+        bukkitNetworkingManager.countPacketType(packetType, true, bytes);
+        bukkitNetworkingManager.sent.count(bytes);
     }
 
 }
@@ -0,0 +1,154 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Periodically reads the kernel TCP tables of Linux hosts and maps every socket bound
+ * to the server port to the player owning it, so staff can tell a slow client link
+ * apart from a congested server send queue.
+ */
+public final class TcpConnectionMonitor {
+
+    private static final String TCP4_TABLE = "/proc/net/tcp";
+    private static final String TCP6_TABLE = "/proc/net/tcp6";
+
+    private final SystemInfo plugin;
+    private final ProcNetTcpParser parser = new ProcNetTcpParser();
+    private long[] sendQueues = new long[64], receiveQueues = new long[64], retransmits = new long[64], rtos = new long[64];
+    private volatile TcpHealthData healthData = TcpHealthData.EMPTY;
+    private boolean warned = false;
+
+    /**
+     * Constructs a new instance of TcpConnectionMonitor with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public TcpConnectionMonitor(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Checks whether the kernel TCP tables can be read on this machine.
+     *
+     * @return True on Linux hosts exposing /proc/net/tcp.
+     */
+    public static boolean isSupported() {
+        return new File(TCP4_TABLE).canRead();
+    }
+
+    /**
+     * Starts the task that polls the kernel TCP tables.
+     *
+     * @param intervalTicks The poll interval in ticks.
+     */
+    public void startPollTask(final long intervalTicks) {
+        SystemInfo.getScheduler().runTaskTimerAsynchronously(this::poll, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Reads the kernel TCP tables and publishes a new {@link TcpHealthData}.
+     * Must only be called by the poll task.
+     */
+    private void poll() {
+        final int port = plugin.getServer().getPort();
+        parser.reset();
+        try {
+            parser.parse(TCP4_TABLE, port, false);
+            if (new File(TCP6_TABLE).canRead()) {
+                parser.parse(TCP6_TABLE, port, true);
+            }
+        } catch (IOException exception) {
+            if (!warned) {
+                warned = true;
+                plugin.getLogger().warning("Could not read the kernel TCP tables!");
+                plugin.getLogger().warning(exception.getLocalizedMessage());
+            }
+            return;
+        }
+        parser.index();
+
+        final Map<UUID, TcpSocketStats> playerStats = new HashMap<>();
+        int count = 0;
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final InetSocketAddress address = player.getAddress();
+            if (address == null || address.getAddress() == null) {
+                continue;
+            }
+
+            final int index = parser.indexOf(ProcNetTcpParser.key(address));
+            if (index < 0) {
+                continue;
+            }
+
+            final TcpSocketStats stats = new TcpSocketStats(parser.getSendQueue(index), parser.getReceiveQueue(index),
+                    parser.getRetransmits(index), parser.getTimerState(index),
+                    parser.getTimerExpires(index) * TcpSocketStats.MILLIS_PER_CLOCK_TICK,
+                    parser.getRto(index) * TcpSocketStats.MILLIS_PER_CLOCK_TICK, parser.getCongestionWindow(index));
+            playerStats.put(player.getUniqueId(), stats);
+
+            ensureCapacity(count + 1);
+            sendQueues[count] = stats.getSendQueue();
+            receiveQueues[count] = stats.getReceiveQueue();
+            retransmits[count] = stats.getRetransmits();
+            rtos[count] = stats.getRtoMillis();
+            count++;
+        }
+
+        healthData = new TcpHealthData(playerStats,
+                TcpHealthData.Distribution.of(sendQueues, count),
+                TcpHealthData.Distribution.of(receiveQueues, count),
+                TcpHealthData.Distribution.of(retransmits, count),
+                TcpHealthData.Distribution.of(rtos, count),
+                System.currentTimeMillis());
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required <= sendQueues.length) {
+            return;
+        }
+        final int capacity = sendQueues.length * 2;
+        sendQueues = Arrays.copyOf(sendQueues, capacity);
+        receiveQueues = Arrays.copyOf(receiveQueues, capacity);
+        retransmits = Arrays.copyOf(retransmits, capacity);
+        rtos = Arrays.copyOf(rtos, capacity);
+    }
+
+    /**
+     * Get the most recent TCP health of the player connections.
+     *
+     * @return The latest TcpHealthData.
+     */
+    @NotNull
+    public TcpHealthData getHealthData() {
+        return healthData;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable class representing the TCP health of every player connection at a point in time,
+ * together with aggregate percentiles across all players.
+ */
+public final class TcpHealthData {
+
+    /**
+     * The data published before the first poll completes.
+     */
+    static final TcpHealthData EMPTY = new TcpHealthData(Collections.emptyMap(), Distribution.EMPTY,
+            Distribution.EMPTY, Distribution.EMPTY, Distribution.EMPTY, 0L);
+
+    private final Map<UUID, TcpSocketStats> playerStats;
+    private final Distribution sendQueue, receiveQueue, retransmits, rto;
+    private final long timestamp;
+
+    TcpHealthData(@NotNull final Map<UUID, TcpSocketStats> playerStats, @NotNull final Distribution sendQueue,
+                  @NotNull final Distribution receiveQueue, @NotNull final Distribution retransmits,
+                  @NotNull final Distribution rto, final long timestamp) {
+        this.playerStats = playerStats;
+        this.sendQueue = sendQueue;
+        this.receiveQueue = receiveQueue;
+        this.retransmits = retransmits;
+        this.rto = rto;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Gets the TCP state of the connection of a player.
+     *
+     * @param uuid The player unique id.
+     * @return The player TCP state, or null if the player has no matching connection.
+     */
+    @Nullable
+    public TcpSocketStats getPlayerStats(@NotNull final UUID uuid) {
+        return playerStats.get(uuid);
+    }
+
+    /**
+     * Gets the TCP state of every matched player connection.
+     *
+     * @return An unmodifiable view of the player TCP states.
+     */
+    @NotNull
+    public Map<UUID, TcpSocketStats> getPlayerStats() {
+        return Collections.unmodifiableMap(playerStats);
+    }
+
+    /**
+     * @return The send queue distribution in bytes.
+     */
+    @NotNull
+    public Distribution getSendQueue() {
+        return sendQueue;
+    }
+
+    /**
+     * @return The receive queue distribution in bytes.
+     */
+    @NotNull
+    public Distribution getReceiveQueue() {
+        return receiveQueue;
+    }
+
+    /**
+     * @return The retransmits distribution.
+     */
+    @NotNull
+    public Distribution getRetransmits() {
+        return retransmits;
+    }
+
+    /**
+     * @return The retransmission timeout distribution in milliseconds.
+     */
+    @NotNull
+    public Distribution getRto() {
+        return rto;
+    }
+
+    /**
+     * Gets the UNIX time this data was collected at.
+     *
+     * @return The collection time.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Percentiles of a value across all player connections.
+     */
+    public static final class Distribution {
+
+        static final Distribution EMPTY = new Distribution(0L, 0L, 0L, 0L);
+
+        private final long p50, p95, p99, max;
+
+        private Distribution(final long p50, final long p95, final long p99, final long max) {
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        /**
+         * Computes the percentiles of the first values of an array. The array is sorted in place.
+         *
+         * @param values The values, reused by the caller.
+         * @param count  The amount of values to consider.
+         * @return The distribution.
+         */
+        @NotNull
+        static Distribution of(final long[] values, final int count) {
+            if (count == 0) {
+                return EMPTY;
+            }
+            Arrays.sort(values, 0, count);
+            return new Distribution(percentile(values, count, 0.50d), percentile(values, count, 0.95d),
+                    percentile(values, count, 0.99d), values[count - 1]);
+        }
+
+        private static long percentile(final long[] sorted, final int count, final double percentile) {
+            return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+}
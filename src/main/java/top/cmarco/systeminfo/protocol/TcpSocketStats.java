@@ -0,0 +1,122 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable class representing the kernel TCP state of a single player connection,
+ * as reported by /proc/net/tcp.
+ */
+public final class TcpSocketStats {
+
+    /**
+     * Linux reports timers in USER_HZ clock ticks, which is 100 on every mainstream architecture.
+     */
+    static final int MILLIS_PER_CLOCK_TICK = 10;
+
+    private static final String[] TIMER_NAMES = {"none", "retransmit", "keepalive", "time-wait", "zero-window-probe"};
+
+    private final int sendQueue, receiveQueue, retransmits, timerState, timerExpiresMillis, rtoMillis, congestionWindow;
+
+    TcpSocketStats(final int sendQueue, final int receiveQueue, final int retransmits, final int timerState,
+                   final int timerExpiresMillis, final int rtoMillis, final int congestionWindow) {
+        this.sendQueue = sendQueue;
+        this.receiveQueue = receiveQueue;
+        this.retransmits = retransmits;
+        this.timerState = timerState;
+        this.timerExpiresMillis = timerExpiresMillis;
+        this.rtoMillis = rtoMillis;
+        this.congestionWindow = congestionWindow;
+    }
+
+    /**
+     * Gets the amount of bytes written by the server and not yet acknowledged by the client.
+     *
+     * @return The send queue size in bytes.
+     */
+    public int getSendQueue() {
+        return sendQueue;
+    }
+
+    /**
+     * Gets the amount of bytes received from the client and not yet read by the server.
+     *
+     * @return The receive queue size in bytes.
+     */
+    public int getReceiveQueue() {
+        return receiveQueue;
+    }
+
+    /**
+     * Gets the amount of unrecovered retransmission timeouts of the connection.
+     *
+     * @return The retransmit count.
+     */
+    public int getRetransmits() {
+        return retransmits;
+    }
+
+    /**
+     * Gets the kernel timer currently armed on the connection.
+     *
+     * @return The timer state number.
+     */
+    public int getTimerState() {
+        return timerState;
+    }
+
+    /**
+     * Gets a readable name of the kernel timer currently armed on the connection.
+     *
+     * @return The timer state name.
+     */
+    @NotNull
+    public String getTimerName() {
+        return timerState >= 0 && timerState < TIMER_NAMES.length ? TIMER_NAMES[timerState] : "unknown";
+    }
+
+    /**
+     * Gets the time until the armed timer expires.
+     *
+     * @return The time in milliseconds.
+     */
+    public int getTimerExpiresMillis() {
+        return timerExpiresMillis;
+    }
+
+    /**
+     * Gets the retransmission timeout of the connection. The kernel derives it from the
+     * smoothed round-trip time plus four times its variance, so it is an upper bound of the RTT.
+     *
+     * @return The retransmission timeout in milliseconds.
+     */
+    public int getRtoMillis() {
+        return rtoMillis;
+    }
+
+    /**
+     * Gets the congestion window of the connection.
+     *
+     * @return The congestion window in segments.
+     */
+    public int getCongestionWindow() {
+        return congestionWindow;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Packet and byte counters of one traffic direction, incremented without locking by the netty threads of every connection.
+ * <p>
+ * This is the Java 8 implementation based on field updaters. Java 17 and newer load the {@code VarHandle} based
+ * implementation from {@code META-INF/versions/17} of the multi-release jar, which skips the receiver checks
+ * the updaters perform on every increment.
+ */
+final class TrafficCounter {
+
+    private static final AtomicLongFieldUpdater<TrafficCounter> LAST_PACKETS = AtomicLongFieldUpdater.newUpdater(TrafficCounter.class, "lastPackets");
+    private static final AtomicLongFieldUpdater<TrafficCounter> LAST_BYTES = AtomicLongFieldUpdater.newUpdater(TrafficCounter.class, "lastBytes");
+    private static final AtomicLongFieldUpdater<TrafficCounter> TOTAL_PACKETS = AtomicLongFieldUpdater.newUpdater(TrafficCounter.class, "totalPackets");
+    private static final AtomicLongFieldUpdater<TrafficCounter> TOTAL_BYTES = AtomicLongFieldUpdater.newUpdater(TrafficCounter.class, "totalBytes");
+
+    private volatile long lastPackets = 0L, lastBytes = 0L, totalPackets = 0L, totalBytes = 0L;
+
+    /**
+     * Counts a packet.
+     *
+     * @param bytes The packet size in bytes.
+     */
+    void count(final int bytes) {
+        LAST_PACKETS.incrementAndGet(this);
+        LAST_BYTES.addAndGet(this, bytes);
+        TOTAL_PACKETS.incrementAndGet(this);
+        TOTAL_BYTES.addAndGet(this, bytes);
+    }
+
+    /**
+     * Starts a new interval, keeping the totals.
+     */
+    void resetInterval() {
+        lastPackets = 0L;
+        lastBytes = 0L;
+    }
+
+    /**
+     * Clears the interval and the totals.
+     */
+    void reset() {
+        resetInterval();
+        totalPackets = 0L;
+        totalBytes = 0L;
+    }
+
+    long getLastPackets() {
+        return lastPackets;
+    }
+
+    long getLastBytes() {
+        return lastBytes;
+    }
+
+    long getTotalPackets() {
+        return totalPackets;
+    }
+
+    long getTotalBytes() {
+        return totalBytes;
+    }
+}
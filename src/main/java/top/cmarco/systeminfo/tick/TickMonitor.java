@@ -0,0 +1,193 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.tick;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Measures how long the server takes to run each tick.
+ * <p>
+ * On Paper based servers the exact tick duration is read from the ServerTickEndEvent, looked up reflectively
+ * so the plugin still loads on Spigot. Everywhere else a task running every tick measures the interval between
+ * two consecutive ticks, which equals the tick duration whenever the server is behind.
+ */
+public final class TickMonitor implements Listener {
+
+    private static final String PAPER_TICK_END_EVENT = "com.destroystokyo.paper.event.server.ServerTickEndEvent";
+    private static final int WINDOW = 1200; // one minute at 20 TPS
+    private static final long TPS_WINDOW_NANOS = 5_000_000_000L;
+
+    private final SystemInfo plugin;
+    private final long[] durations = new long[WINDOW];
+    private final long[] timestamps = new long[WINDOW];
+    private int index = 0;
+    private int count = 0;
+    private long lastTickStart = -1L;
+    private volatile boolean exactDurations = false;
+    private volatile Thread tickThread;
+    private volatile TickListener tickListener;
+
+    /**
+     * Constructs a new instance of TickMonitor with the provided SystemInfo plugin.
+     *
+     * @param plugin The SystemInfo plugin instance.
+     */
+    public TickMonitor(@NotNull final SystemInfo plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts measuring ticks, preferring the Paper tick event when available.
+     */
+    public void start() {
+        try {
+            if (Utils.isFolia()) {
+                throw new ClassNotFoundException("Folia does not fire " + PAPER_TICK_END_EVENT);
+            }
+            final Class<? extends Event> eventClass = Class.forName(PAPER_TICK_END_EVENT).asSubclass(Event.class);
+            final Method getTickDuration = eventClass.getMethod("getTickDuration");
+            plugin.getServer().getPluginManager().registerEvent(eventClass, this, EventPriority.MONITOR, (listener, event) -> {
+                if (!eventClass.isInstance(event)) {
+                    return;
+                }
+                try {
+                    record((long) ((double) getTickDuration.invoke(event) * 1E6), System.nanoTime());
+                } catch (ReflectiveOperationException ignored) {
+                }
+            }, plugin);
+            exactDurations = true;
+        } catch (ClassNotFoundException | NoSuchMethodException exception) {
+            SystemInfo.getScheduler().runTaskTimer(() -> {
+                final long now = System.nanoTime();
+                if (lastTickStart != -1L) {
+                    record(now - lastTickStart, now);
+                }
+                lastTickStart = now;
+            }, 1L, 1L);
+        }
+    }
+
+    /**
+     * Records a finished tick. Always called by the tick thread.
+     */
+    private void record(final long durationNanos, final long timestamp) {
+        synchronized (this) {
+            tickThread = Thread.currentThread();
+            durations[index] = durationNanos;
+            timestamps[index] = timestamp;
+            index = (index + 1) % WINDOW;
+            if (count < WINDOW) {
+                count++;
+            }
+        }
+
+        final TickListener listener = tickListener;
+        if (listener != null) {
+            listener.onTick(durationNanos, timestamp);
+        }
+    }
+
+    /**
+     * Sets the listener notified of every finished tick.
+     *
+     * @param tickListener The listener, or null to remove it.
+     */
+    public void setTickListener(@Nullable final TickListener tickListener) {
+        this.tickListener = tickListener;
+    }
+
+    /**
+     * Computes the tick timings over the last minute.
+     *
+     * @return The tick stats.
+     */
+    @NotNull
+    public TickStats getStats() {
+        final int samples;
+        final boolean exact;
+        final long[] sorted; // a copy per call, the snapshot and JMX threads may compute the stats at once.
+        final long now = System.nanoTime();
+        int recentTicks = 0;
+        synchronized (this) {
+            samples = count;
+            exact = exactDurations;
+            sorted = Arrays.copyOf(durations, samples);
+            for (int i = 0; i < samples; i++) {
+                if (now - timestamps[i] <= TPS_WINDOW_NANOS) {
+                    recentTicks++;
+                }
+            }
+        }
+
+        if (samples == 0) {
+            return TickStats.EMPTY;
+        }
+
+        long total = 0L;
+        for (int i = 0; i < samples; i++) {
+            total += sorted[i];
+        }
+        Arrays.sort(sorted);
+        final long p95 = sorted[Math.min(samples - 1, (int) Math.ceil(samples * 0.95d) - 1)];
+        final double tps = Math.min(20d, recentTicks / (TPS_WINDOW_NANOS / 1E9));
+        return new TickStats(total / (double) samples / 1E6, p95 / 1E6, sorted[samples - 1] / 1E6, tps, samples, exact);
+    }
+
+    /**
+     * Whether the tick durations are exact, or measured as the interval between two ticks.
+     *
+     * @return True if the durations come from the server itself.
+     */
+    public boolean hasExactDurations() {
+        return exactDurations;
+    }
+
+    /**
+     * Get the thread that ran the most recent tick.
+     * On Folia this is the thread of the global region.
+     *
+     * @return The tick thread, or null before the first tick.
+     */
+    @Nullable
+    public Thread getTickThread() {
+        return tickThread;
+    }
+
+    /**
+     * Receives the duration of every finished tick. Called by the tick thread, so it must return quickly.
+     */
+    @FunctionalInterface
+    public interface TickListener {
+
+        /**
+         * @param durationNanos The tick duration in nanoseconds.
+         * @param endNanos      The {@link System#nanoTime()} the tick ended at.
+         */
+        void onTick(long durationNanos, long endNanos);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.tick;
+
+/**
+ * Immutable class representing the tick timings of the server over the recent window.
+ */
+public final class TickStats {
+
+    static final TickStats EMPTY = new TickStats(0d, 0d, 0d, 20d, 0, false);
+
+    private final double averageMspt, p95Mspt, maxMspt, tps;
+    private final int samples;
+    private final boolean exact;
+
+    TickStats(final double averageMspt, final double p95Mspt, final double maxMspt, final double tps, final int samples,
+              final boolean exact) {
+        this.averageMspt = averageMspt;
+        this.p95Mspt = p95Mspt;
+        this.maxMspt = maxMspt;
+        this.tps = tps;
+        this.samples = samples;
+        this.exact = exact;
+    }
+
+    /**
+     * @return The average milliseconds per tick.
+     */
+    public double getAverageMspt() {
+        return averageMspt;
+    }
+
+    /**
+     * @return The 95th percentile of the milliseconds per tick.
+     */
+    public double getP95Mspt() {
+        return p95Mspt;
+    }
+
+    /**
+     * @return The longest tick in milliseconds.
+     */
+    public double getMaxMspt() {
+        return maxMspt;
+    }
+
+    /**
+     * @return The ticks per second, at most 20.
+     */
+    public double getTps() {
+        return tps;
+    }
+
+    /**
+     * @return The amount of ticks these stats were computed from.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Whether the milliseconds per tick are the exact tick durations reported by the server.
+     * Otherwise they are the intervals between two ticks, which never drop below 50 ms even on an idle server.
+     *
+     * @return True if the durations come from the server itself.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Formatting of numbers, byte sizes, rates, percentages and durations with a fixed precision.
+ * <p>
+ * Every {@code append} method writes straight into the given {@link StringBuilder} without going through
+ * {@link java.util.Formatter} and without boxing, so formatting does not allocate besides the builder growth.
+ * The {@link String} returning shortcuts reuse a per-thread builder and only allocate the result.
+ * Decimal separators are always a dot, regardless of the default locale.
+ */
+public final class FastFormat {
+
+    private static final String[] DATA_UNITS = {"B", "kB", "MB", "GB", "TB", "PB", "EB"};
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private FastFormat() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Appends a number rounded to a fixed amount of decimals, like {@code %.Nf}.
+     *
+     * @param out      The builder receiving the text.
+     * @param value    The number.
+     * @param decimals The amount of decimals, from 0 to 6.
+     * @return The given builder.
+     */
+    @NotNull
+    public static StringBuilder appendFixed(@NotNull final StringBuilder out, final double value, final int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported amount of decimals: " + decimals);
+        }
+        final long scale = POWERS_OF_TEN[decimals];
+        final double absolute = Math.abs(value);
+        if (Double.isNaN(value) || absolute * scale >= Long.MAX_VALUE) {
+            return out.append(value);
+        }
+
+        final long scaled = Math.round(absolute * scale);
+        if (value < 0d && scaled != 0L) {
+            out.append('-');
+        }
+        out.append(scaled / scale);
+        if (decimals > 0) {
+            final long fraction = scaled % scale;
+            out.append('.');
+            for (long power = scale / 10L; power > 1L && fraction < power; power /= 10L) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+        return out;
+    }
+
+    /**
+     * Appends a percentage with a fixed amount of decimals followed by {@code %}.
+     *
+     * @param out      The builder receiving the text.
+     * @param percent  The percentage, from 0 to 100.
+     * @param decimals The amount of decimals, from 0 to 6.
+     * @return The given builder.
+     */
+    @NotNull
+    public static StringBuilder appendPercent(@NotNull final StringBuilder out, final double percent, final int decimals) {
+        return appendFixed(out, percent, decimals).append('%');
+    }
+
+    /**
+     * Appends an amount of bytes with one decimal using the SI units (1 kB = 1000 B).
+     *
+     * @param out   The builder receiving the text.
+     * @param bytes The amount of bytes.
+     * @return The given builder.
+     */
+    @NotNull
+    public static StringBuilder appendBytes(@NotNull final StringBuilder out, final long bytes) {
+        final long value = bytes == Long.MIN_VALUE ? Long.MAX_VALUE : bytes;
+
+        int unitIndex = 0;
+        double size = Math.abs(value);
+        while (size >= 1000d && unitIndex < DATA_UNITS.length - 1) {
+            size /= 1000d;
+            unitIndex++;
+        }
+
+        if (value < 0L) {
+            out.append('-');
+        }
+        return appendFixed(out, size, 1).append(' ').append(DATA_UNITS[unitIndex]);
+    }
+
+    /**
+     * Appends a transfer rate with one decimal using the SI units, followed by {@code /s}.
+     *
+     * @param out            The builder receiving the text.
+     * @param bytesPerSecond The amount of bytes transferred per second.
+     * @return The given builder.
+     */
+    @NotNull
+    public static StringBuilder appendRate(@NotNull final StringBuilder out, final long bytesPerSecond) {
+        return appendBytes(out, bytesPerSecond).append("/s");
+    }
+
+    /**
+     * Appends an amount of bytes converted to bits, using the units of {@link Utils#formatDataBits(long)}.
+     *
+     * @param out   The builder receiving the text.
+     * @param bytes The amount of bytes.
+     * @return The given builder.
+     */
+    @NotNull
+    public static StringBuilder appendBits(@NotNull final StringBuilder out, final long bytes) {
+        final long bits = Math.abs(Utils.BITS_IN_BYTE * bytes);
+
+        if (bits / 10E3 <= 99) {
+            return appendFixed(out, bits / 10E2, 1).append(" KiB");
+        } else if (bits / 10E6 <= 99) {
+            return appendFixed(out, bits / 10E5, 1).append(" MiB");
+        } else if (bits / 10E9 <= 99) {
+            return appendFixed(out, bits / 10E8, 2).append(" GiB");
+        } else {
+            return appendFixed(out, bits / 10E11, 3).append(" TiB");
+        }
+    }
+
+    /**
+     * Appends a duration as days, hours, minutes and seconds, omitting the leading zero units.
+     * Durations shorter than a second are written in milliseconds.
+     *
+     * @param out    The builder receiving the text.
+     * @param millis The duration in milliseconds.
+     * @return The given builder.
+     */
+    @NotNull
+    public static StringBuilder appendDuration(@NotNull final StringBuilder out, final long millis) {
+        if (millis < 1000L) {
+            return out.append(Math.max(0L, millis)).append("ms");
+        }
+
+        final long seconds = millis / 1000L;
+        final long days = seconds / 86_400L;
+        final long hours = seconds / 3_600L % 24L;
+        final long minutes = seconds / 60L % 60L;
+        if (days > 0L) {
+            out.append(days).append("d ");
+        }
+        if (days > 0L || hours > 0L) {
+            out.append(hours).append("h ");
+        }
+        if (days > 0L || hours > 0L || minutes > 0L) {
+            out.append(minutes).append("m ");
+        }
+        return out.append(seconds % 60L).append('s');
+    }
+
+    /* ---------------------- */
+
+    /**
+     * @see #appendFixed(StringBuilder, double, int)
+     */
+    @NotNull
+    public static String fixed(final double value, final int decimals) {
+        return appendFixed(builder(), value, decimals).toString();
+    }
+
+    /**
+     * @see #appendPercent(StringBuilder, double, int)
+     */
+    @NotNull
+    public static String percent(final double percent, final int decimals) {
+        return appendPercent(builder(), percent, decimals).toString();
+    }
+
+    /**
+     * @see #appendBytes(StringBuilder, long)
+     */
+    @NotNull
+    public static String bytes(final long bytes) {
+        return appendBytes(builder(), bytes).toString();
+    }
+
+    /**
+     * @see #appendRate(StringBuilder, long)
+     */
+    @NotNull
+    public static String rate(final long bytesPerSecond) {
+        return appendRate(builder(), bytesPerSecond).toString();
+    }
+
+    /**
+     * @see #appendBits(StringBuilder, long)
+     */
+    @NotNull
+    public static String bits(final long bytes) {
+        return appendBits(builder(), bytes).toString();
+    }
+
+    /**
+     * @see #appendDuration(StringBuilder, long)
+     */
+    @NotNull
+    public static String duration(final long millis) {
+        return appendDuration(builder(), millis).toString();
+    }
+
+    @NotNull
+    private static StringBuilder builder() {
+        final StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        return builder;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chat message parsed once into literal segments and argument slots.
+ * <p>
+ * Color codes are resolved against the configured color scheme while compiling, so rendering
+ * is a single pass appending the pre-colored literals and the arguments into a reused builder.
+ * Arguments are referenced as {@code {0}}, {@code {1}}, ... and are inserted as they are.
+ */
+public final class MessageTemplate {
+
+    private static final int NO_ARGUMENT = -1;
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final String[] literals;
+    private final int[] arguments;
+    private final String constant;
+
+    private MessageTemplate(@NotNull final String[] literals, @NotNull final int[] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+        this.constant = literals.length == 1 && arguments[0] == NO_ARGUMENT ? literals[0] : null;
+    }
+
+    /**
+     * Parses a message into a template.
+     *
+     * @param raw   The message using {@code &} color codes and {@code {n}} argument slots.
+     * @param light The color letter replacing {@code &a}.
+     * @param dark  The color letter replacing {@code &2}.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull final String raw, final char light, final char dark) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> arguments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder(raw.length());
+        final int length = raw.length();
+
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (raw.charAt(i) != '{') {
+                continue;
+            }
+            final int end = raw.indexOf('}', i);
+            final int argument = end < 0 ? NO_ARGUMENT : parseIndex(raw, i + 1, end);
+            if (argument == NO_ARGUMENT) {
+                continue;
+            }
+            Utils.translateColors(raw, start, i, literal, light, dark);
+            literals.add(literal.toString());
+            arguments.add(argument);
+            literal.setLength(0);
+            start = end + 1;
+            i = end;
+        }
+        Utils.translateColors(raw, start, length, literal, light, dark);
+        literals.add(literal.toString());
+        arguments.add(NO_ARGUMENT);
+
+        final int[] argumentArray = new int[arguments.size()];
+        for (int i = 0; i < argumentArray.length; i++) {
+            argumentArray[i] = arguments.get(i);
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), argumentArray);
+    }
+
+    private static int parseIndex(@NotNull final String raw, final int from, final int to) {
+        if (from == to || to - from > 2) {
+            return NO_ARGUMENT;
+        }
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            final char c = raw.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_ARGUMENT;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * Renders the message, replacing every argument slot with the matching argument.
+     * Slots without a matching argument are left empty.
+     *
+     * @param args The arguments.
+     * @return The colored message.
+     */
+    @NotNull
+    public String render(@NotNull final Object... args) {
+        if (constant != null) {
+            return constant;
+        }
+        final StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        for (int i = 0; i < literals.length; i++) {
+            builder.append(literals[i]);
+            final int argument = arguments[i];
+            if (argument != NO_ARGUMENT && argument < args.length) {
+                builder.append(args[argument]);
+            }
+        }
+        return builder.toString();
+    }
+}
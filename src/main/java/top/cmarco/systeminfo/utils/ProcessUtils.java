@@ -0,0 +1,58 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Information about the process running the server.
+ * <p>
+ * This is the Java 8 implementation. Java 17 and newer load the {@link ProcessHandle} based implementation
+ * from {@code META-INF/versions/17} of the multi-release jar.
+ */
+public final class ProcessUtils {
+
+    private static final long PID = readPid();
+
+    private ProcessUtils() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Gets the id of the process running the server.
+     *
+     * @return The process id, or -1 if it could not be determined.
+     */
+    public static long getPid() {
+        return PID;
+    }
+
+    /**
+     * The runtime name of every HotSpot based JVM is formatted as {@code pid@hostname}.
+     */
+    private static long readPid() {
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        final int separator = name.indexOf('@');
+        try {
+            return Long.parseLong(separator < 0 ? name : name.substring(0, separator));
+        } catch (NumberFormatException exception) {
+            return -1L;
+        }
+    }
+}
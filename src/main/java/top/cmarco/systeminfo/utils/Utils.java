@@ -36,6 +36,24 @@ import java.util.Map;
 public class Utils {
 
     private static Base64.Decoder decoder = null;
+    private static Boolean folia = null;
+
+    /**
+     * Checks whether the server is running Folia, where every region ticks on its own thread.
+     *
+     * @return True if the server is running Folia.
+     */
+    public static boolean isFolia() {
+        if (folia == null) {
+            try {
+                Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+                folia = true;
+            } catch (ClassNotFoundException exception) {
+                folia = false;
+            }
+        }
+        return folia;
+    }
 
     public static String normalize(final String encodedText) {
         if (decoder == null) {
@@ -62,63 +80,95 @@ public class Utils {
         LIGHT_DARK_CHARACTER_MAP.put('9', '1');
     }
 
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+    private static final ThreadLocal<StringBuilder> COLOR_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
     /**
-     * This method takes a String as input and replaces & with color codes.
+     * Resolves the configured color scheme into {@link #cachedColor} and {@link #cachedDarkColor}.
      *
-     * @param input a non-null String
-     * @return returns the string with colors which can be displayed inside Minecraft chat/console
+     * @return False if the configured color scheme is not a valid color.
      */
-    public static String color(String input) {
-        if (SystemInfo.INSTANCE == null) {
-            return ChatColor.translateAlternateColorCodes('&', input);
-        } else {
-            if (cachedColor == null) {
-                SystemInfo systemInfo = SystemInfo.INSTANCE;
-                SystemInfoConfig config = systemInfo.getSystemInfoConfig();
-                String colorName = config.getColorScheme();
-                ChatColor chatColor = null;
-
-                for (ChatColor color : ChatColor.values()) {
-                    if (color.name().equalsIgnoreCase(colorName) || color.name().replace("_", " ").equalsIgnoreCase(colorName)) {
-                        chatColor = color;
-                        break;
-                    }
-                }
+    public static boolean loadColorScheme() {
+        if (cachedColor != null) {
+            return true;
+        }
 
-                if (chatColor == null) {
-                    return "§cFix your config.yml &e`color-scheme` &c!!!";
-                }
+        SystemInfo systemInfo = SystemInfo.INSTANCE;
+        SystemInfoConfig config = systemInfo.getSystemInfoConfig();
+        String colorName = config.getColorScheme();
+        ChatColor chatColor = null;
 
-                char currentChar = chatColor.getChar();
+        for (ChatColor color : ChatColor.values()) {
+            if (color.name().equalsIgnoreCase(colorName) || color.name().replace("_", " ").equalsIgnoreCase(colorName)) {
+                chatColor = color;
+                break;
+            }
+        }
 
-                cachedColor = currentChar;
-                cachedDarkColor = LIGHT_DARK_CHARACTER_MAP.get(currentChar);
+        if (chatColor == null) {
+            return false;
+        }
 
-            }
+        char currentChar = chatColor.getChar();
+        Character darkChar = LIGHT_DARK_CHARACTER_MAP.get(currentChar);
 
-            input = input.replace("&a", String.format("&%c", cachedColor));
-            input = input.replace("&2", String.format("&%c", cachedDarkColor));
+        cachedDarkColor = darkChar == null ? currentChar : darkChar;
+        cachedColor = currentChar;
+        return true;
+    }
 
-            return ChatColor.translateAlternateColorCodes('&', input);
+    /**
+     * Appends a part of a text translating {@code &} color codes, replacing {@code &a} and {@code &2}
+     * with the color scheme, in a single pass.
+     *
+     * @param input  The text.
+     * @param from   The first index to translate, inclusive.
+     * @param to     The last index to translate, exclusive.
+     * @param output The builder receiving the translated text.
+     * @param light  The color letter replacing {@code &a}.
+     * @param dark   The color letter replacing {@code &2}.
+     */
+    public static void translateColors(String input, int from, int to, StringBuilder output, char light, char dark) {
+        for (int i = from; i < to; i++) {
+            final char c = input.charAt(i);
+            if (c == '&' && i + 1 < to && COLOR_CODES.indexOf(input.charAt(i + 1)) >= 0) {
+                final char code = input.charAt(++i);
+                output.append(ChatColor.COLOR_CHAR).append(code == 'a' ? light : code == '2' ? dark : Character.toLowerCase(code));
+            } else {
+                output.append(c);
+            }
         }
     }
 
-    public static String formatData(long bytes) {
-        final String[] units = {"B", "kB", "MB", "GB", "TB", "PB", "EB"};
-
-        if (bytes == Long.MIN_VALUE) {
-            bytes = Long.MAX_VALUE;
+    /**
+     * This method takes a String as input and replaces & with color codes.
+     * Fixed messages should rather be compiled once into a {@link MessageTemplate}.
+     *
+     * @param input a non-null String
+     * @return returns the string with colors which can be displayed inside Minecraft chat/console
+     */
+    public static String color(String input) {
+        if (SystemInfo.INSTANCE == null) {
+            return ChatColor.translateAlternateColorCodes('&', input);
         }
-
-        int unitIndex = 0;
-        double size = Math.abs(bytes);
-
-        while (size >= 1000 && unitIndex < units.length - 1) {
-            size /= 1000;
-            unitIndex++;
+        if (!loadColorScheme()) {
+            return "§cFix your config.yml &e`color-scheme` &c!!!";
         }
 
-        return String.format("%s%.1f %s", bytes < 0 ? "-" : "", size, units[unitIndex]);
+        final StringBuilder builder = COLOR_BUILDER.get();
+        builder.setLength(0);
+        translateColors(input, 0, input.length(), builder, cachedColor, cachedDarkColor);
+        return builder.toString();
+    }
+
+    /**
+     * Display an amount of bytes with one decimal using the SI units.
+     * @param bytes The total bytes.
+     * @return formatted output.
+     * @see FastFormat#appendBytes(StringBuilder, long)
+     */
+    public static String formatData(long bytes) {
+        return FastFormat.bytes(bytes);
     }
 
 
@@ -133,17 +183,7 @@ public class Utils {
      * @return formatted output.
      */
     public static String formatDataBits(final long bytes) {
-        final long bits = Math.abs(BITS_IN_BYTE * bytes);
-
-        if (bits / 10E3 <= 99) {
-            return String.format("%.1f KiB", bits / 10E2);
-        } else if (bits / 10E6 <= 99) {
-            return String.format("%.1f MiB", bits / 10E5);
-        } else if (bits / 10E9 <= 99) {
-            return String.format("%.2f GiB", bits / 10E8);
-        } else {
-            return String.format("%.3f TiB", bits / 10E11);
-        }
+        return FastFormat.bits(bytes);
     }
 
     /**
@@ -0,0 +1,147 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.logging.Logger;
+
+/**
+ * Consumes Java Flight Recorder events in process with a {@link RecordingStream},
+ * and sums them into the counters of a {@link JfrStats}.
+ * <p>
+ * Every event is handled on the single dispatch thread of the stream, which is the only writer of the counters.
+ */
+public final class JfrEventStream {
+
+    private static final Duration CPU_LOAD_PERIOD = Duration.ofSeconds(1L);
+    private static final Duration STREAM_MAX_AGE = Duration.ofSeconds(30L);
+
+    private final Logger logger;
+    private RecordingStream stream = null;
+    private boolean warned = false;
+
+    private volatile double jvmUserLoad = -1d, jvmSystemLoad = -1d, machineLoad = -1d;
+    private volatile long gcCount = 0L, gcPauseNanos = 0L, safepointCount = 0L, safepointNanos = 0L;
+    private volatile long monitorContentionCount = 0L, monitorContentionNanos = 0L, allocatedBytes = 0L;
+
+    /**
+     * Constructs a new instance of JfrEventStream.
+     *
+     * @param logger The logger receiving stream errors.
+     */
+    public JfrEventStream(@NotNull final Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Checks whether this JVM can stream Flight Recorder events.
+     *
+     * @return True when Flight Recorder is available.
+     */
+    public static boolean isSupported() {
+        return JfrRecorder.isAvailable();
+    }
+
+    /**
+     * Starts streaming the CPU load, garbage collection, safepoint, monitor contention and allocation events.
+     *
+     * @param thresholdMillis The shortest safepoint or monitor contention recorded.
+     * @throws ReflectiveOperationException Never thrown, kept for parity with the Java 8 implementation.
+     */
+    public void start(final long thresholdMillis) throws ReflectiveOperationException {
+        final RecordingStream stream = new RecordingStream();
+        final Duration threshold = Duration.ofMillis(thresholdMillis);
+
+        stream.enable("jdk.CPULoad").withPeriod(CPU_LOAD_PERIOD);
+        stream.enable("jdk.GarbageCollection");
+        stream.enable("jdk.SafepointBegin").withThreshold(threshold).withoutStackTrace();
+        stream.enable("jdk.JavaMonitorEnter").withThreshold(threshold).withoutStackTrace();
+        stream.enable("jdk.ObjectAllocationSample").withoutStackTrace();
+
+        stream.onEvent("jdk.CPULoad", this::onCpuLoad);
+        stream.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+        stream.onEvent("jdk.SafepointBegin", this::onSafepoint);
+        stream.onEvent("jdk.JavaMonitorEnter", this::onMonitorEnter);
+        stream.onEvent("jdk.ObjectAllocationSample", this::onAllocationSample);
+        stream.onError(this::warnOnce);
+
+        stream.setMaxAge(STREAM_MAX_AGE);
+        stream.startAsync();
+        this.stream = stream;
+    }
+
+    /**
+     * Closes the stream.
+     */
+    public void stop() {
+        final RecordingStream stream = this.stream;
+        this.stream = null;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onCpuLoad(@NotNull final RecordedEvent event) {
+        jvmUserLoad = event.getDouble("jvmUser") * 100d;
+        jvmSystemLoad = event.getDouble("jvmSystem") * 100d;
+        machineLoad = event.getDouble("machineTotal") * 100d;
+    }
+
+    private void onGarbageCollection(@NotNull final RecordedEvent event) {
+        gcCount++;
+        gcPauseNanos += event.getDuration("sumOfPauses").toNanos();
+    }
+
+    private void onSafepoint(@NotNull final RecordedEvent event) {
+        safepointCount++;
+        safepointNanos += event.getDuration().toNanos();
+    }
+
+    private void onMonitorEnter(@NotNull final RecordedEvent event) {
+        monitorContentionCount++;
+        monitorContentionNanos += event.getDuration().toNanos();
+    }
+
+    private void onAllocationSample(@NotNull final RecordedEvent event) {
+        allocatedBytes += event.getLong("weight");
+    }
+
+    private void warnOnce(@NotNull final Throwable throwable) {
+        if (!warned) {
+            warned = true;
+            logger.warning("Could not read a JFR event!");
+            logger.warning(throwable.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Get the JVM activity streamed so far.
+     *
+     * @return The latest JfrStats.
+     */
+    @NotNull
+    public JfrStats getStats() {
+        return new JfrStats(jvmUserLoad, jvmSystemLoad, machineLoad, gcCount, gcPauseNanos / 1E6,
+                safepointCount, safepointNanos / 1E6, monitorContentionCount, monitorContentionNanos / 1E6, allocatedBytes);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Packet and byte counters of one traffic direction, incremented without locking by the netty threads of every connection.
+ * <p>
+ * The fields are only accessed through static final {@link VarHandle}s, which the JIT compiles down to
+ * a single atomic add per increment. Readers use opaque reads, since they only need a recent value.
+ */
+final class TrafficCounter {
+
+    private static final VarHandle LAST_PACKETS, LAST_BYTES, TOTAL_PACKETS, TOTAL_BYTES;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            LAST_PACKETS = lookup.findVarHandle(TrafficCounter.class, "lastPackets", long.class);
+            LAST_BYTES = lookup.findVarHandle(TrafficCounter.class, "lastBytes", long.class);
+            TOTAL_PACKETS = lookup.findVarHandle(TrafficCounter.class, "totalPackets", long.class);
+            TOTAL_BYTES = lookup.findVarHandle(TrafficCounter.class, "totalBytes", long.class);
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private long lastPackets = 0L, lastBytes = 0L, totalPackets = 0L, totalBytes = 0L;
+
+    /**
+     * Counts a packet.
+     *
+     * @param bytes The packet size in bytes.
+     */
+    void count(final int bytes) {
+        LAST_PACKETS.getAndAdd(this, 1L);
+        LAST_BYTES.getAndAdd(this, (long) bytes);
+        TOTAL_PACKETS.getAndAdd(this, 1L);
+        TOTAL_BYTES.getAndAdd(this, (long) bytes);
+    }
+
+    /**
+     * Starts a new interval, keeping the totals.
+     */
+    void resetInterval() {
+        LAST_PACKETS.setVolatile(this, 0L);
+        LAST_BYTES.setVolatile(this, 0L);
+    }
+
+    /**
+     * Clears the interval and the totals.
+     */
+    void reset() {
+        resetInterval();
+        TOTAL_PACKETS.setVolatile(this, 0L);
+        TOTAL_BYTES.setVolatile(this, 0L);
+    }
+
+    long getLastPackets() {
+        return (long) LAST_PACKETS.getOpaque(this);
+    }
+
+    long getLastBytes() {
+        return (long) LAST_BYTES.getOpaque(this);
+    }
+
+    long getTotalPackets() {
+        return (long) TOTAL_PACKETS.getOpaque(this);
+    }
+
+    long getTotalBytes() {
+        return (long) TOTAL_BYTES.getOpaque(this);
+    }
+}
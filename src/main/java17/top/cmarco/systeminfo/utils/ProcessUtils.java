@@ -0,0 +1,40 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.utils;
+
+/**
+ * Information about the process running the server, read through {@link ProcessHandle}.
+ */
+public final class ProcessUtils {
+
+    private static final long PID = ProcessHandle.current().pid();
+
+    private ProcessUtils() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Gets the id of the process running the server.
+     *
+     * @return The process id, or -1 if it could not be determined.
+     */
+    public static long getPid() {
+        return PID;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the threads running the blocking collectors of a {@link CollectorExecutor}.
+ * <p>
+ * Every collector gets its own virtual thread, so blocking reads never hold a platform thread of the server.
+ * OSHI reaches the operating system through JNA, and a virtual thread inside a native call pins its carrier thread,
+ * which is why the {@link CollectorExecutor} still caps the amount of collectors running at once.
+ */
+final class CollectorThreads {
+
+    private CollectorThreads() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * @return True if every collector runs on its own virtual thread.
+     */
+    static boolean isVirtual() {
+        return true;
+    }
+
+    /**
+     * Creates the executor of the collectors.
+     *
+     * @param threads The maximum amount of collectors running at once, enforced by the caller.
+     * @return The executor, starting a virtual thread per collector.
+     */
+    @NotNull
+    static ExecutorService newExecutor(final int threads) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SystemInfo Collector #", 1L).factory());
+    }
+}
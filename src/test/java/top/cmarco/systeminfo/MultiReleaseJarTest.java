@@ -0,0 +1,91 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package top.cmarco.systeminfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.jar.JarFile;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the JVM running the tests picked the classes of its own version out of the multi-release jar.
+ * Skipped when the tests run against target/classes, where only the Java 8 classes are visible.
+ */
+class MultiReleaseJarTest {
+
+    private static final String[] JAVA_17_CLASSES = {
+            "top.cmarco.systeminfo.utils.ProcessUtils",
+            "top.cmarco.systeminfo.protocol.TrafficCounter",
+            "top.cmarco.systeminfo.jfr.JfrEventStream"
+    };
+    private static final String JAVA_21_CLASS = "top.cmarco.systeminfo.oshi.CollectorThreads";
+
+    /**
+     * @return The feature version of the running JVM, 8 for "1.8".
+     */
+    static int javaVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+    private static String location(final String className) throws ClassNotFoundException {
+        final Class<?> type = Class.forName(className);
+        final URL resource = type.getResource(type.getSimpleName() + ".class");
+        assertNotNull(resource, className);
+        return resource.toString();
+    }
+
+    private static boolean fromJar() throws ClassNotFoundException {
+        return location(JAVA_17_CLASSES[0]).startsWith("jar:");
+    }
+
+    @Test
+    void loadsTheClassesOfTheRunningVersion() throws ClassNotFoundException {
+        assumeTrue(fromJar(), "the tests run against target/classes");
+        for (final String className : JAVA_17_CLASSES) {
+            final boolean versioned = location(className).contains("!/META-INF/versions/17/");
+            if (javaVersion() >= 17) {
+                assertTrue(versioned, className + " must come from META-INF/versions/17");
+            } else {
+                assertFalse(versioned, className + " must come from the jar root");
+            }
+        }
+    }
+
+    @Test
+    void loadsTheJava21ClassesWhenPackaged() throws ClassNotFoundException, IOException {
+        assumeTrue(javaVersion() >= 21, "the JVM is older than Java 21");
+        assumeTrue(fromJar(), "the tests run against target/classes");
+        final String jarLocation = location(JAVA_17_CLASSES[0]);
+        final String jarPath = URLDecoder.decode(jarLocation.substring("jar:file:".length(), jarLocation.indexOf("!/")), "UTF-8");
+        try (JarFile jar = new JarFile(jarPath)) {
+            assumeTrue(jar.getJarEntry("META-INF/versions/21/" + JAVA_21_CLASS.replace('.', '/') + ".class") != null,
+                    "the jar was built without the java21 profile");
+        }
+        assertTrue(location(JAVA_21_CLASS).contains("!/META-INF/versions/21/"), JAVA_21_CLASS + " must come from META-INF/versions/21");
+    }
+}
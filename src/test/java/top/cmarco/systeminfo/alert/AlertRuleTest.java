@@ -0,0 +1,119 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package top.cmarco.systeminfo.alert;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertRuleTest {
+
+    @Test
+    void firesOnceTheConditionHeldForTheDuration() {
+        final AlertRule rule = new AlertRule("cpu", AlertMetric.CPU, "> 90", null, 10_000L, 0L);
+
+        assertNull(rule.evaluate(95d, 0L));
+        assertNull(rule.evaluate(95d, 9_999L));
+        final Alert alert = rule.evaluate(96d, 10_000L);
+        assertNotNull(alert);
+        assertEquals(Alert.State.FIRING, alert.getState());
+        assertEquals("cpu", alert.getName());
+        assertEquals("cpu", alert.getMetricId());
+        assertEquals("> 90", alert.getCondition());
+        assertEquals(96d, alert.getValue());
+        assertEquals(10_000L, alert.getTimestamp());
+        assertTrue(rule.isFiring());
+        assertNull(rule.evaluate(97d, 11_000L));
+    }
+
+    @Test
+    void restartsTheDurationWhenTheConditionBreaks() {
+        final AlertRule rule = new AlertRule("cpu", AlertMetric.CPU, "> 90", null, 10_000L, 0L);
+
+        assertNull(rule.evaluate(95d, 0L));
+        assertNull(rule.evaluate(50d, 5_000L));
+        assertNull(rule.evaluate(95d, 6_000L));
+        assertNull(rule.evaluate(95d, 15_000L));
+        assertNotNull(rule.evaluate(95d, 16_000L));
+    }
+
+    @Test
+    void resolvesOnlyOnTheClearCondition() {
+        final AlertRule rule = new AlertRule("tps", AlertMetric.TPS, "< 18", "> 19.5", 0L, 0L);
+
+        assertEquals(Alert.State.FIRING, rule.evaluate(17d, 0L).getState());
+        // between the two thresholds the rule keeps firing instead of flapping.
+        assertNull(rule.evaluate(18.5d, 1_000L));
+        assertNull(rule.evaluate(19.5d, 2_000L));
+        assertTrue(rule.isFiring());
+
+        final Alert resolved = rule.evaluate(20d, 3_000L);
+        assertNotNull(resolved);
+        assertEquals(Alert.State.RESOLVED, resolved.getState());
+        assertEquals(20d, resolved.getValue());
+        assertFalse(rule.isFiring());
+    }
+
+    @Test
+    void resolvesWhenTheTriggerStopsWithoutAClearCondition() {
+        final AlertRule rule = new AlertRule("cpu", AlertMetric.CPU, ">= 90", " ", 0L, 0L);
+
+        assertEquals(Alert.State.FIRING, rule.evaluate(90d, 0L).getState());
+        assertEquals(Alert.State.RESOLVED, rule.evaluate(89.9d, 1_000L).getState());
+    }
+
+    @Test
+    void staysSilentDuringTheCooldown() {
+        final AlertRule rule = new AlertRule("cpu", AlertMetric.CPU, "> 90", null, 0L, 60_000L);
+
+        assertEquals(Alert.State.FIRING, rule.evaluate(95d, 0L).getState());
+        assertEquals(Alert.State.RESOLVED, rule.evaluate(50d, 1_000L).getState());
+
+        // fires again within the cooldown: neither the firing nor its resolution are sent.
+        assertNull(rule.evaluate(95d, 2_000L));
+        assertTrue(rule.isFiring());
+        assertNull(rule.evaluate(50d, 3_000L));
+        assertFalse(rule.isFiring());
+
+        assertEquals(Alert.State.FIRING, rule.evaluate(95d, 60_000L).getState());
+    }
+
+    @Test
+    void ignoresNaNSamples() {
+        final AlertRule rule = new AlertRule("mspt", AlertMetric.MSPT, "> 50", null, 10_000L, 0L);
+
+        assertNull(rule.evaluate(60d, 0L));
+        assertNull(rule.evaluate(Double.NaN, 5_000L));
+        assertNotNull(rule.evaluate(60d, 10_000L));
+        assertNull(rule.evaluate(Double.NaN, 11_000L));
+        assertTrue(rule.isFiring());
+        assertEquals(Alert.State.RESOLVED, rule.evaluate(40d, 12_000L).getState());
+    }
+
+    @Test
+    void rejectsInvalidConditions() {
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("cpu", AlertMetric.CPU, "~ 90", null, 0L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("cpu", AlertMetric.CPU, "> high", null, 0L, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("cpu", AlertMetric.CPU, "> 90", "<", 0L, 0L));
+    }
+}
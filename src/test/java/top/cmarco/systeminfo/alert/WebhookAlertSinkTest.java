@@ -0,0 +1,174 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package top.cmarco.systeminfo.alert;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookAlertSinkTest {
+
+    private static final int QUEUE_SIZE = 64;
+
+    private final BlockingQueue<String> bodies = new LinkedBlockingQueue<>();
+    private final List<String> warnings = new CopyOnWriteArrayList<>();
+    private volatile int status = 204;
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private final CountDownLatch handling = new CountDownLatch(1);
+    private HttpServer server;
+    private Logger logger;
+    private WebhookAlertSink sink;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hook", this::handle);
+        server.start();
+
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                warnings.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        sink = new WebhookAlertSink(new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/hook"), 5_000, "Lobby \"1\"", logger);
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        sink.close();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[512];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+        }
+        handling.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        bodies.add(exchange.getRequestMethod() + ' ' + exchange.getRequestHeaders().getFirst("Content-Type") + ' '
+                + new String(body.toByteArray(), StandardCharsets.UTF_8));
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    @Test
+    void postsFiringAlertsAsJson() throws InterruptedException {
+        sink.deliver(new Alert("cpu", "cpu", "> 90", Alert.State.FIRING, 95.5d, 1_000L),
+                "§4» §c[cpu] §7CPU \"load\" is\\high\n\u0001");
+
+        assertEquals("POST application/json; charset=utf-8 {\"server\":\"Lobby \\\"1\\\"\",\"rule\":\"cpu\",\"metric\":\"cpu\","
+                        + "\"condition\":\"> 90\",\"state\":\"firing\",\"value\":95.5,\"timestamp\":1000,"
+                        + "\"content\":\"» [cpu] CPU \\\"load\\\" is\\\\high\\n\\u0001\","
+                        + "\"text\":\"» [cpu] CPU \\\"load\\\" is\\\\high\\n\\u0001\"}",
+                bodies.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void postsResolvedAlertsWithoutAFiniteValue() throws InterruptedException {
+        sink.deliver(new Alert("mspt", "mspt", "> 50", Alert.State.RESOLVED, Double.NaN, 2_000L), "mspt is back");
+
+        final String body = bodies.poll(5, TimeUnit.SECONDS);
+        assertNotNull(body);
+        assertTrue(body.contains("\"state\":\"resolved\",\"value\":null,\"timestamp\":2000,"), body);
+        assertTrue(body.endsWith("\"content\":\"mspt is back\",\"text\":\"mspt is back\"}"), body);
+    }
+
+    @Test
+    void logsServerErrors() throws InterruptedException {
+        status = 503;
+        sink.deliver(new Alert("cpu", "cpu", "> 90", Alert.State.FIRING, 95d, 1_000L), "cpu");
+
+        assertNotNull(bodies.poll(5, TimeUnit.SECONDS));
+        final long deadline = System.currentTimeMillis() + 5_000L;
+        while (warnings.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals("Could not deliver an alert to the webhook!", warnings.get(0));
+        assertEquals("HTTP 503 from 127.0.0.1", warnings.get(1));
+    }
+
+    @Test
+    void dropsAlertsWhenTheQueueIsFull() throws InterruptedException {
+        release = new CountDownLatch(1);
+        // one alert blocks the webhook thread, the next ones fill its queue.
+        sink.deliver(new Alert("blocked", "cpu", "> 90", Alert.State.FIRING, 95d, 1_000L), "blocked");
+        assertTrue(handling.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            sink.deliver(new Alert("queued", "cpu", "> 90", Alert.State.FIRING, 95d, 1_000L), "queued");
+        }
+        assertTrue(warnings.isEmpty(), warnings.toString());
+
+        sink.deliver(new Alert("overflow", "cpu", "> 90", Alert.State.FIRING, 95d, 1_000L), "overflow");
+        assertEquals(1, warnings.size());
+        assertEquals("Dropped the alert overflow, the webhook is not keeping up!", warnings.get(0));
+
+        release.countDown();
+        for (int i = 0; i < QUEUE_SIZE + 1; i++) {
+            final String body = bodies.poll(5, TimeUnit.SECONDS);
+            assertNotNull(body);
+            assertFalse(body.contains("overflow"), body);
+        }
+        assertNull(bodies.poll(200, TimeUnit.MILLISECONDS));
+    }
+}
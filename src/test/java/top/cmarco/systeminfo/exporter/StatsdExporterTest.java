@@ -0,0 +1,200 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package top.cmarco.systeminfo.exporter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsdExporterTest {
+
+    private static final String LINE = "[a-z_.0-9]+:-?[0-9.]+\\|[gc](\\|#[a-z]+:[a-z0-9]+)?";
+
+    private DatagramChannel agent;
+    private Selector selector;
+    private final List<StatsdExporter> exporters = new ArrayList<>();
+
+    @BeforeEach
+    void bindAgent() throws IOException {
+        agent = DatagramChannel.open();
+        agent.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        agent.configureBlocking(false);
+        selector = Selector.open();
+        agent.register(selector, SelectionKey.OP_READ);
+    }
+
+    @AfterEach
+    void closeAgent() throws IOException {
+        for (final StatsdExporter exporter : exporters) {
+            exporter.close();
+        }
+        selector.close();
+        agent.close();
+    }
+
+    @Test
+    void sendsGaugesAndCounterDeltas() throws IOException {
+        final StatsdExporter exporter = open(false, 1432);
+
+        exporter.flush(snapshot(1_000L, 500L).build());
+        final List<String> first = lines(receive());
+        assertTrue(first.contains("systeminfo.cpu_load_percent:12.5|g"), first.toString());
+        assertTrue(first.contains("systeminfo.memory_total_bytes:16000|g"), first.toString());
+        assertTrue(first.contains("systeminfo.memory_available_bytes:4000|g"), first.toString());
+        assertTrue(first.contains("systeminfo.threads:2000|g"), first.toString());
+        // the first flush only records the running totals.
+        assertTrue(first.contains("systeminfo.interface_received_bytes:0|c"), first.toString());
+        assertTrue(first.contains("systeminfo.interface_sent_bytes:0|c"), first.toString());
+
+        exporter.flush(snapshot(1_500L, 800L).build());
+        final List<String> second = lines(receive());
+        assertTrue(second.contains("systeminfo.interface_received_bytes:500|c"), second.toString());
+        assertTrue(second.contains("systeminfo.interface_sent_bytes:300|c"), second.toString());
+        assertTrue(second.contains("systeminfo.cpu_load_percent:12.5|g"), second.toString());
+    }
+
+    @Test
+    void sendsTheTotalWhenACounterResets() throws IOException {
+        final StatsdExporter exporter = open(false, 1432);
+
+        exporter.flush(snapshot(1_000L, 500L).build());
+        receive();
+        exporter.flush(snapshot(200L, 500L).build());
+        final List<String> lines = lines(receive());
+
+        assertTrue(lines.contains("systeminfo.interface_received_bytes:200|c"), lines.toString());
+        assertTrue(lines.contains("systeminfo.interface_sent_bytes:0|c"), lines.toString());
+    }
+
+    @Test
+    void writesLabelsAsDogStatsdTags() throws IOException {
+        final StatsdExporter exporter = open(true, 1432);
+
+        exporter.flush(snapshot(0L, 0L).processorLoads(new double[]{10d, 20.25d}).build());
+        final List<String> lines = lines(receive());
+
+        assertTrue(lines.contains("systeminfo.cpu_processor_load_percent:10|g|#processor:0"), lines.toString());
+        assertTrue(lines.contains("systeminfo.cpu_processor_load_percent:20.25|g|#processor:1"), lines.toString());
+    }
+
+    @Test
+    void appendsLabelsToTheNameWithoutTags() throws IOException {
+        final StatsdExporter exporter = open(false, 1432);
+
+        exporter.flush(snapshot(0L, 0L).processorLoads(new double[]{10d, 20.25d}).build());
+        final List<String> lines = lines(receive());
+
+        assertTrue(lines.contains("systeminfo.cpu_processor_load_percent.processor_0:10|g"), lines.toString());
+        assertTrue(lines.contains("systeminfo.cpu_processor_load_percent.processor_1:20.25|g"), lines.toString());
+        for (final String line : lines) {
+            assertFalse(line.contains("|#"), line);
+        }
+    }
+
+    @Test
+    void splitsDatagramsOnLineBoundaries() throws IOException {
+        final int maxPacketSize = 128;
+        final double[] loads = new double[64];
+        Arrays.fill(loads, 42.5d);
+
+        open(false, 65_000).flush(snapshot(1_000L, 500L).processorLoads(loads).build());
+        final List<String> expected = lines(receive());
+        open(false, maxPacketSize).flush(snapshot(1_000L, 500L).processorLoads(loads).build());
+        final List<String> datagrams = receive();
+
+        assertTrue(datagrams.size() > 1, "expected several datagrams");
+        for (final String datagram : datagrams) {
+            assertTrue(datagram.getBytes(StandardCharsets.UTF_8).length <= maxPacketSize, datagram);
+            assertFalse(datagram.endsWith("\n"), datagram);
+            for (final String line : datagram.split("\n", -1)) {
+                assertTrue(line.matches(LINE), line);
+            }
+        }
+        assertEquals(expected, lines(datagrams));
+    }
+
+    @Test
+    void sendsALineLargerThanAPacketAlone() throws IOException {
+        open(false, 16).flush(snapshot(1_000L, 500L).build());
+        final List<String> datagrams = receive();
+
+        assertFalse(datagrams.isEmpty());
+        for (final String datagram : datagrams) {
+            assertTrue(datagram.matches(LINE), datagram);
+        }
+    }
+
+    private StatsdExporter open(final boolean tags, final int maxPacketSize) throws IOException {
+        final StatsdExporter exporter = new StatsdExporter((InetSocketAddress) agent.getLocalAddress(), "systeminfo", tags, maxPacketSize);
+        exporter.open();
+        exporters.add(exporter);
+        return exporter;
+    }
+
+    private static SystemSnapshot.Builder snapshot(final long received, final long sent) {
+        return new SystemSnapshot.Builder()
+                .cpuLoad(12.5d)
+                .memory(16_000L, 4_000L)
+                .processes(100, 2_000)
+                .interfaceBytes(received, sent);
+    }
+
+    /**
+     * Reads every datagram sent so far, waiting for the first one.
+     */
+    private List<String> receive() throws IOException {
+        final List<String> datagrams = new ArrayList<>();
+        final ByteBuffer buffer = ByteBuffer.allocate(65_536);
+        long timeout = 2_000L;
+        while (selector.select(timeout) > 0) {
+            selector.selectedKeys().clear();
+            while (agent.receive(buffer) != null) {
+                buffer.flip();
+                datagrams.add(StandardCharsets.UTF_8.decode(buffer).toString());
+                buffer.clear();
+            }
+            timeout = 100L;
+        }
+        return datagrams;
+    }
+
+    private static List<String> lines(final List<String> datagrams) {
+        final List<String> lines = new ArrayList<>();
+        for (final String datagram : datagrams) {
+            lines.addAll(Arrays.asList(datagram.split("\n", -1)));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package top.cmarco.systeminfo.jfr;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JfrEventStreamTest {
+
+    private static final long TIMEOUT_MILLIS = 15_000L;
+
+    private final List<String> warnings = new CopyOnWriteArrayList<>();
+    private final Logger logger = Logger.getAnonymousLogger();
+    private JfrEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                warnings.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        stream = new JfrEventStream(logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    private static int javaVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+    private boolean await(final Predicate<JfrStats> condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.test(stream.getStats())) {
+                return true;
+            }
+            System.gc();
+            Thread.sleep(100L);
+        }
+        return false;
+    }
+
+    @Test
+    void isSupportedFromJava14() {
+        if (javaVersion() < 14) {
+            assertFalse(JfrEventStream.isSupported());
+        } else {
+            assumeTrue(JfrRecorder.isAvailable(), "Flight Recorder is not available on this JVM");
+            assertTrue(JfrEventStream.isSupported());
+        }
+    }
+
+    @Test
+    void streamsCpuLoadAndGarbageCollections() throws Exception {
+        assumeTrue(JfrEventStream.isSupported(), "the JVM cannot stream Flight Recorder events");
+        stream.start(0L);
+
+        assertTrue(await(stats -> stats.getJvmUserLoad() >= 0d && stats.getMachineLoad() >= 0d), "no CPU load event");
+        assertTrue(await(stats -> stats.getGcCount() > 0L), "no garbage collection event");
+        assertTrue(stream.getStats().getGcPauseMillis() >= 0d);
+        assertEquals(0, warnings.size(), () -> "unexpected warnings " + warnings);
+    }
+
+    @Test
+    void sumsAllocationSamples() throws Exception {
+        assumeTrue(JfrEventStream.isSupported(), "the JVM cannot stream Flight Recorder events");
+        assumeTrue(javaVersion() >= 16, "jdk.ObjectAllocationSample was added in Java 16");
+        stream.start(0L);
+
+        final List<byte[]> garbage = new CopyOnWriteArrayList<>();
+        assertTrue(await(stats -> {
+            for (int i = 0; i < 1024; i++) {
+                garbage.add(new byte[64 * 1024]);
+            }
+            garbage.clear();
+            return stats.getAllocatedBytes() > 0L;
+        }), "no allocation sample event");
+        assertEquals(0, warnings.size(), () -> "unexpected warnings " + warnings);
+    }
+
+    @Test
+    void stopIsIdempotent() throws Exception {
+        assumeTrue(JfrEventStream.isSupported(), "the JVM cannot stream Flight Recorder events");
+        stream.start(0L);
+        stream.stop();
+        stream.stop();
+        assertEquals(0, warnings.size(), () -> "unexpected warnings " + warnings);
+    }
+}
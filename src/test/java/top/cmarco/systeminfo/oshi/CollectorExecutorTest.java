@@ -0,0 +1,88 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package top.cmarco.systeminfo.oshi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollectorExecutorTest {
+
+    private final CollectorExecutor executor = new CollectorExecutor(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void suppliesTheCollectedValue() throws Exception {
+        assertEquals("collected", executor.supply(() -> "collected").get(5L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void completesExceptionallyWhenTheCollectorThrows() {
+        final CompletableFuture<Object> future = executor.supply(() -> {
+            throw new IllegalStateException("unreadable");
+        });
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5L, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void capsTheConcurrentCollectors() throws Exception {
+        final AtomicInteger running = new AtomicInteger(), peak = new AtomicInteger();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            futures.add(executor.run(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20L);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10L, TimeUnit.SECONDS);
+
+        assertTrue(peak.get() <= 3, () -> "peak of " + peak.get() + " collectors");
+    }
+
+    @Test
+    void runsOnTheAdvertisedThreads() throws Exception {
+        final String thread = executor.supply(() -> Thread.currentThread().toString()).get(5L, TimeUnit.SECONDS);
+
+        assertTrue(thread.contains("SystemInfo Collector #"), thread);
+        assertEquals(executor.isVirtual(), thread.startsWith("VirtualThread"), thread);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package top.cmarco.systeminfo.protocol;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrafficCounterTest {
+
+    @Test
+    void countsPacketsAndBytes() {
+        final TrafficCounter counter = new TrafficCounter();
+        counter.count(100);
+        counter.count(28);
+
+        assertEquals(2L, counter.getLastPackets());
+        assertEquals(128L, counter.getLastBytes());
+        assertEquals(2L, counter.getTotalPackets());
+        assertEquals(128L, counter.getTotalBytes());
+    }
+
+    @Test
+    void resetIntervalKeepsTheTotals() {
+        final TrafficCounter counter = new TrafficCounter();
+        counter.count(64);
+        counter.resetInterval();
+        counter.count(16);
+
+        assertEquals(1L, counter.getLastPackets());
+        assertEquals(16L, counter.getLastBytes());
+        assertEquals(2L, counter.getTotalPackets());
+        assertEquals(80L, counter.getTotalBytes());
+    }
+
+    @Test
+    void resetClearsEverything() {
+        final TrafficCounter counter = new TrafficCounter();
+        counter.count(64);
+        counter.reset();
+
+        assertEquals(0L, counter.getLastPackets());
+        assertEquals(0L, counter.getLastBytes());
+        assertEquals(0L, counter.getTotalPackets());
+        assertEquals(0L, counter.getTotalBytes());
+    }
+
+    @Test
+    void countsLargeTotalsWithoutOverflow() {
+        final TrafficCounter counter = new TrafficCounter();
+        for (int i = 0; i < 4; i++) {
+            counter.count(Integer.MAX_VALUE);
+        }
+
+        assertEquals(4L * Integer.MAX_VALUE, counter.getTotalBytes());
+    }
+
+    @Test
+    void losesNoIncrementUnderContention() throws InterruptedException {
+        final int threads = 8, packets = 100_000;
+        final TrafficCounter counter = new TrafficCounter();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+                for (int packet = 0; packet < packets; packet++) {
+                    counter.count(3);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * packets, counter.getLastPackets());
+        assertEquals(3L * threads * packets, counter.getLastBytes());
+        assertEquals((long) threads * packets, counter.getTotalPackets());
+        assertEquals(3L * threads * packets, counter.getTotalBytes());
+    }
+}
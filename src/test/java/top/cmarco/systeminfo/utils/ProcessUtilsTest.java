@@ -0,0 +1,52 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package top.cmarco.systeminfo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ProcessUtilsTest {
+
+    @Test
+    void returnsAPositivePid() {
+        assertTrue(ProcessUtils.getPid() > 0L);
+    }
+
+    @Test
+    void matchesTheRuntimeName() {
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        assumeTrue(name.matches("\\d+@.*"), "the runtime name is not formatted as pid@hostname");
+        assertEquals(Long.parseLong(name.substring(0, name.indexOf('@'))), ProcessUtils.getPid());
+    }
+
+    @Test
+    void matchesProcSelf() throws IOException {
+        final File self = new File("/proc/self");
+        assumeTrue(self.exists(), "/proc/self only exists on Linux");
+        assertEquals(Long.parseLong(self.getCanonicalFile().getName()), ProcessUtils.getPid());
+    }
+}
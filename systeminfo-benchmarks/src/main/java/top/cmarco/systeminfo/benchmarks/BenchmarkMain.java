@@ -0,0 +1,58 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks, writing the results as JSON unless another result format is given.
+ * <p>
+ * The default result file is {@code results/systeminfo-<version>.json}, so the results of two
+ * versions can be compared side by side, for example with https://jmh.morethan.io.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            final String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+            final File results = new File("results", "systeminfo-" + (version == null ? "dev" : version) + ".json");
+            if (!results.getParentFile().isDirectory() && !results.getParentFile().mkdirs()) {
+                throw new IOException("Could not create " + results.getParentFile().getAbsolutePath());
+            }
+            arguments.add("-rff");
+            arguments.add(results.getPath());
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.cmarco.systeminfo.utils.FastFormat;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FastFormat} against the {@link String#format(String, Object...)} based implementations it replaced.
+ * Run with {@code -prof gc} to compare the allocation rates as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FormatBenchmark {
+
+    @Param({"512", "1048576", "68719476736"})
+    public long bytes;
+
+    private final StringBuilder builder = new StringBuilder(32);
+    private double percent;
+
+    @Setup
+    public void setup() {
+        percent = bytes % 10_000L / 100d;
+    }
+
+    @Benchmark
+    public String legacyBytes() {
+        return LegacyFormat.formatData(bytes);
+    }
+
+    @Benchmark
+    public String fastBytes() {
+        return FastFormat.bytes(bytes);
+    }
+
+    @Benchmark
+    public StringBuilder fastBytesAppend() {
+        builder.setLength(0);
+        return FastFormat.appendBytes(builder, bytes);
+    }
+
+    @Benchmark
+    public String legacyBits() {
+        return LegacyFormat.formatDataBits(bytes);
+    }
+
+    @Benchmark
+    public String fastBits() {
+        return FastFormat.bits(bytes);
+    }
+
+    @Benchmark
+    public String legacyPercent() {
+        return LegacyFormat.formatPercent(percent);
+    }
+
+    @Benchmark
+    public String fastPercent() {
+        return FastFormat.percent(percent, 2);
+    }
+
+    @Benchmark
+    public StringBuilder fastPercentAppend() {
+        builder.setLength(0);
+        return FastFormat.appendPercent(builder, percent, 2);
+    }
+}
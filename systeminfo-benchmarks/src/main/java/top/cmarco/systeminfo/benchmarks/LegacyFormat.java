@@ -0,0 +1,66 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+/**
+ * The formatting implementations used before {@link top.cmarco.systeminfo.utils.FastFormat},
+ * kept as the baseline of {@link FormatBenchmark}.
+ */
+final class LegacyFormat {
+
+    private LegacyFormat() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    static String formatData(long bytes) {
+        final String[] units = {"B", "kB", "MB", "GB", "TB", "PB", "EB"};
+
+        if (bytes == Long.MIN_VALUE) {
+            bytes = Long.MAX_VALUE;
+        }
+
+        int unitIndex = 0;
+        double size = Math.abs(bytes);
+
+        while (size >= 1000 && unitIndex < units.length - 1) {
+            size /= 1000;
+            unitIndex++;
+        }
+
+        return String.format("%s%.1f %s", bytes < 0 ? "-" : "", size, units[unitIndex]);
+    }
+
+    static String formatDataBits(final long bytes) {
+        final long bits = Math.abs(8 * bytes);
+
+        if (bits / 10E3 <= 99) {
+            return String.format("%.1f KiB", bits / 10E2);
+        } else if (bits / 10E6 <= 99) {
+            return String.format("%.1f MiB", bits / 10E5);
+        } else if (bits / 10E9 <= 99) {
+            return String.format("%.2f GiB", bits / 10E8);
+        } else {
+            return String.format("%.3f TiB", bits / 10E11);
+        }
+    }
+
+    static String formatPercent(final double percent) {
+        return String.format("%.2f", percent) + "%";
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import org.bukkit.OfflinePlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.cmarco.systeminfo.api.SystemInfoPlaceholderExtension;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SystemInfoPlaceholderExtension#onRequest(OfflinePlayer, String)} for every placeholder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlaceholderBenchmark {
+
+    @Param({"packet_count_sent_total", "packet_count_recv_total", "packet_data_sent_total", "packet_data_recv_total",
+            "packet_count_sent_now", "packet_count_recv_now", "packet_data_sent_now", "packet_data_recv_now",
+            "cpu-model", "cpu-frequency", "cpu-temperature", "cpu-load", "swap-max", "swap-used",
+            "memory-max", "memory-available", "memory-used", "processes",
+            "tcp_send_queue", "tcp_recv_queue", "tcp_retransmits", "tcp_rto", "unknown"})
+    public String params;
+
+    private SystemInfoPlaceholderExtension extension;
+    private OfflinePlayer player;
+
+    @Setup
+    public void setup() {
+        extension = new SystemInfoPlaceholderExtension(PluginStubs.plugin());
+        // a plain proxy rather than a mock, so the tcp placeholders do not measure the mock framework.
+        final UUID uuid = new UUID(0L, 1L);
+        player = (OfflinePlayer) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{OfflinePlayer.class},
+                (proxy, method, args) -> method.getName().equals("getUniqueId") ? uuid : null);
+    }
+
+    @Benchmark
+    public String onRequest() {
+        return extension.onRequest(player, params);
+    }
+}
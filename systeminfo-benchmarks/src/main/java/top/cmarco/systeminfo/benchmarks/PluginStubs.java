@@ -0,0 +1,82 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.PacketEventsAPI;
+import top.cmarco.systeminfo.config.SystemInfoConfig;
+import top.cmarco.systeminfo.oshi.SystemValues;
+import top.cmarco.systeminfo.plugin.SystemInfo;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds a stub of the plugin environment: a mocked {@link SystemInfo} whose {@link SystemValues}
+ * read from {@link StubOshi}, a default config and a mocked packetevents API.
+ * Mocks are only used while setting up, benchmarked code never calls into them.
+ */
+public final class PluginStubs {
+
+    private static SystemInfo plugin = null;
+
+    private PluginStubs() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Gets the stub plugin, also published as {@link SystemInfo#INSTANCE}.
+     *
+     * @return The stub plugin.
+     */
+    public static synchronized SystemInfo plugin() {
+        if (plugin != null) {
+            return plugin;
+        }
+
+        final Logger logger = Logger.getLogger("SystemInfo");
+        final SystemValues values = new SystemValues(logger);
+        values.updateValues(StubOshi.operatingSystem(), StubOshi.hardware());
+
+        final SystemInfoConfig config = mock(SystemInfoConfig.class);
+        when(config.getColorScheme()).thenReturn("GREEN");
+        when(config.getPlaceholderDefaultTtl()).thenReturn(1000L);
+        when(config.getPlaceholderTtl(anyString(), anyLong())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        final SystemInfo systemInfo = mock(SystemInfo.class);
+        when(systemInfo.getLogger()).thenReturn(logger);
+        when(systemInfo.getSystemValues()).thenReturn(values);
+        when(systemInfo.getSystemInfoConfig()).thenReturn(config);
+
+        SystemInfo.INSTANCE = systemInfo;
+        Utils.cachedColor = null;
+        Utils.cachedDarkColor = null;
+        Utils.loadColorScheme();
+        PacketEvents.setAPI(mock(PacketEventsAPI.class, RETURNS_DEEP_STUBS));
+
+        plugin = systemInfo;
+        return plugin;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A deterministic stand-in for the OSHI layer, so benchmarks do not depend on the hardware they run on.
+ * <p>
+ * Every OSHI interface is implemented by a {@link Proxy} returning fixed values picked by return type:
+ * numbers are constant, strings repeat the method name, lists contain {@link #LIST_SIZE} stubs and
+ * nested interfaces are stubbed the same way. Returned objects are cached, so every call is as cheap
+ * as a map lookup and returns the same value.
+ */
+public final class StubOshi {
+
+    static final int LIST_SIZE = 4;
+    static final long LONG_VALUE = 8L * 1024L * 1024L * 1024L;
+    static final int INT_VALUE = 8;
+    static final double DOUBLE_VALUE = 42.5d;
+
+    private StubOshi() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * @return A stub operating system.
+     */
+    public static OperatingSystem operatingSystem() {
+        return stub(OperatingSystem.class);
+    }
+
+    /**
+     * @return A stub hardware abstraction layer.
+     */
+    public static HardwareAbstractionLayer hardware() {
+        return stub(HardwareAbstractionLayer.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T stub(final Class<T> type) {
+        return (T) Proxy.newProxyInstance(StubOshi.class.getClassLoader(), new Class<?>[]{type}, new StubHandler(type));
+    }
+
+    private static final class StubHandler implements InvocationHandler {
+
+        private final Class<?> type;
+        private final Map<Method, Object> results = new ConcurrentHashMap<>();
+
+        private StubHandler(final Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Stub" + type.getSimpleName();
+                default:
+                    final Object result = results.get(method);
+                    if (result != null) {
+                        return result;
+                    }
+                    final Object created = create(method.getName(), method.getReturnType(), method.getGenericReturnType());
+                    return created == null ? null : results.computeIfAbsent(method, key -> created);
+            }
+        }
+    }
+
+    private static Object create(final String name, final Class<?> type, final Type genericType) {
+        if (type == long.class || type == Long.class) {
+            return LONG_VALUE;
+        } else if (type == int.class || type == Integer.class) {
+            return INT_VALUE;
+        } else if (type == double.class || type == Double.class) {
+            return DOUBLE_VALUE;
+        } else if (type == float.class || type == Float.class) {
+            return (float) DOUBLE_VALUE;
+        } else if (type == short.class || type == Short.class) {
+            return (short) INT_VALUE;
+        } else if (type == byte.class || type == Byte.class) {
+            return (byte) INT_VALUE;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean.TRUE;
+        } else if (type == char.class) {
+            return 'x';
+        } else if (type == String.class) {
+            return name.startsWith("get") ? name.substring(3) : name;
+        } else if (type.isArray()) {
+            return array(name, type.getComponentType());
+        } else if (type == List.class) {
+            return list(name, genericType);
+        } else if (type == CentralProcessor.ProcessorIdentifier.class) {
+            return new CentralProcessor.ProcessorIdentifier("StubVendor", "Stub CPU", "6", "158", "10", "StubId", true);
+        } else if (type == OperatingSystem.OSVersionInfo.class) {
+            return new OperatingSystem.OSVersionInfo("1.0", "Stub", "1");
+        } else if (type.isInterface()) {
+            return stub(type);
+        } else if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        return null;
+    }
+
+    private static Object array(final String name, final Class<?> componentType) {
+        final Object array = Array.newInstance(componentType, LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            Array.set(array, i, create(name, componentType, componentType));
+        }
+        return array;
+    }
+
+    private static List<?> list(final String name, final Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return Collections.emptyList();
+        }
+        final Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        if (!(elementType instanceof Class)) {
+            return Collections.emptyList();
+        }
+        final List<Object> list = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            final Object element = create(name, (Class<?>) elementType, elementType);
+            if (element != null) {
+                list.add(element);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+}
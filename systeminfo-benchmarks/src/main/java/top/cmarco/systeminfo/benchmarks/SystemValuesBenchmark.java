@@ -0,0 +1,104 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+import top.cmarco.systeminfo.oshi.SystemValues;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link SystemValues} getters used by the commands, reading from {@link StubOshi}
+ * so the cost measured is the plugin formatting and not the host hardware queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SystemValuesBenchmark {
+
+    private SystemValues values;
+
+    @Setup
+    public void setup() {
+        values = PluginStubs.plugin().getSystemValues();
+    }
+
+    @Benchmark
+    public String maxMemory() {
+        return values.getMaxMemory();
+    }
+
+    @Benchmark
+    public String usedMemory() {
+        return values.getUsedMemory();
+    }
+
+    @Benchmark
+    public String usedSwap() {
+        return values.getUsedSwap();
+    }
+
+    @Benchmark
+    public String cpuTemperature() {
+        return values.getCpuTemperature();
+    }
+
+    @Benchmark
+    public String cpuTemperatureStatus() {
+        return values.getCpuTemperatureStatus();
+    }
+
+    @Benchmark
+    public String cpuMaxFrequency() {
+        return values.getCpuMaxFrequency();
+    }
+
+    @Benchmark
+    public String cpuCores() {
+        return values.getCpuCores();
+    }
+
+    @Benchmark
+    public String fansRpm() {
+        return values.getFansRPM();
+    }
+
+    @Benchmark
+    public String osVersion() {
+        return values.getOSVersion();
+    }
+
+    @Benchmark
+    public SystemSnapshot snapshot() {
+        return values.getSnapshot();
+    }
+}
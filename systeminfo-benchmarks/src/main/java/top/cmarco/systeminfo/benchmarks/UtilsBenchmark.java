@@ -0,0 +1,89 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.cmarco.systeminfo.enums.Messages;
+import top.cmarco.systeminfo.utils.Utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Utils#color(String)} against the compiled {@link Messages} templates, and {@link Utils#formatData(long)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UtilsBenchmark {
+
+    private static final String SHORT_MESSAGE = "&2» &7HUD disabled.";
+    private static final String LONG_MESSAGE = "&2» &7Overworld Entities: &a1204 &7Loaded Chunks: &a2890 &8| &7Nether Entities: &a87 &7Loaded Chunks: &a144";
+
+    private long bytes;
+    private String version;
+
+    @Setup
+    public void setup() {
+        PluginStubs.plugin();
+        bytes = 123_456_789L;
+        version = "1.8.9";
+    }
+
+    @Benchmark
+    public String colorShort() {
+        return Utils.color(SHORT_MESSAGE);
+    }
+
+    @Benchmark
+    public String colorLong() {
+        return Utils.color(LONG_MESSAGE);
+    }
+
+    @Benchmark
+    public String templateConstant() {
+        return Messages.HUD_DISABLED.value(true);
+    }
+
+    @Benchmark
+    public String templateArgument() {
+        return Messages.VERSION.format(version);
+    }
+
+    @Benchmark
+    public String formatData() {
+        return Utils.formatData(bytes);
+    }
+
+    @Benchmark
+    public String formatDataBits() {
+        return Utils.formatDataBits(bytes);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.gui;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.cmarco.systeminfo.benchmarks.PluginStubs;
+import top.cmarco.systeminfo.oshi.SnapshotFixtures;
+import top.cmarco.systeminfo.oshi.SystemSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the rendering done by every GUI refresh, which replaced the old {@code SystemInfoGui.updateInventory}.
+ * Applying a frame to an inventory needs a running server, so only the page rendering is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GuiRenderBenchmark {
+
+    @Param({"8", "64"})
+    public int entries;
+
+    private SystemSnapshot snapshot;
+    private GuiPage coresPage, disksPage, networkPage;
+
+    @Setup
+    public void setup() {
+        PluginStubs.plugin();
+        snapshot = SnapshotFixtures.snapshot(entries, entries, entries);
+        final GuiPage parent = new ParentPage();
+        coresPage = new CoresPage(parent);
+        disksPage = new DisksPage(parent);
+        networkPage = new NetworkPage(parent);
+    }
+
+    @Benchmark
+    public GuiFrame cores() {
+        return render(coresPage);
+    }
+
+    @Benchmark
+    public GuiFrame disks() {
+        return render(disksPage);
+    }
+
+    @Benchmark
+    public GuiFrame network() {
+        return render(networkPage);
+    }
+
+    private GuiFrame render(@NotNull final GuiPage page) {
+        final GuiFrame frame = new GuiFrame(page.getSize());
+        page.render(snapshot, 0, frame);
+        return frame;
+    }
+
+    /**
+     * The page the benchmarked pages go back to, never rendered.
+     */
+    private static final class ParentPage extends GuiPage {
+
+        @NotNull
+        @Override
+        String getTitle() {
+            return "Benchmark";
+        }
+
+        @Override
+        int getSize() {
+            return 9;
+        }
+
+        @Override
+        void render(@NotNull final SystemSnapshot snapshot, final int pageNumber, @NotNull final GuiFrame frame) {
+        }
+
+        @Override
+        void click(@NotNull final SystemInfoGui gui, @NotNull final SystemInfoGuiHolder holder, final int slot) {
+        }
+    }
+}
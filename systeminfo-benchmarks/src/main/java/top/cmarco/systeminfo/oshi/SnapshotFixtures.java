@@ -0,0 +1,78 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.oshi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds deterministic {@link SystemSnapshot} instances for the benchmarks.
+ * Lives in the plugin package to reach the package-private snapshot constructors.
+ */
+public final class SnapshotFixtures {
+
+    private SnapshotFixtures() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Builds a snapshot of a machine with the given amount of processors, disks and network interfaces.
+     *
+     * @param processors The amount of logical processors.
+     * @param disks      The amount of disks.
+     * @param interfaces The amount of network interfaces.
+     * @return The snapshot.
+     */
+    @NotNull
+    public static SystemSnapshot snapshot(final int processors, final int disks, final int interfaces) {
+        final double[] loads = new double[processors];
+        for (int i = 0; i < processors; i++) {
+            loads[i] = i * 97 % 100;
+        }
+
+        final List<DiskSnapshot> diskSnapshots = new ArrayList<>(disks);
+        for (int i = 0; i < disks; i++) {
+            diskSnapshots.add(new DiskSnapshot("/dev/sd" + (char) ('a' + i % 26), "Stub Disk", 1_000_204_886_016L,
+                    1_000L * i, 2_000L * i, 4_096_000L * i, 8_192_000L * i, 10L * i));
+        }
+
+        final List<InterfaceSnapshot> interfaceSnapshots = new ArrayList<>(interfaces);
+        for (int i = 0; i < interfaces; i++) {
+            interfaceSnapshots.add(new InterfaceSnapshot("eth" + i, "Stub Ethernet " + i, 1_000_000_000L,
+                    123_456_789L * i, 98_765_432L * i, 100_000L * i, 80_000L * i));
+        }
+
+        return new SystemSnapshot.Builder()
+                .timestamp(0L)
+                .cpuLoad(37.5d)
+                .processorLoads(loads)
+                .cpuTemperature(55.0d)
+                .memory(32_000_000_000L, 12_000_000_000L)
+                .swap(8_000_000_000L, 1_000_000_000L)
+                .jvmHeap(4_000_000_000L, 8_000_000_000L)
+                .processes(420, 4_200)
+                .interfaceBytes(123_456_789L, 98_765_432L)
+                .disks(diskSnapshots)
+                .interfaces(interfaceSnapshots)
+                .worldDisk(400_000_000_000L, 1_000_204_886_016L)
+                .build();
+    }
+}
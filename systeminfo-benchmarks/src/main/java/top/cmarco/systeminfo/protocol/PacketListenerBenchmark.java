@@ -0,0 +1,88 @@
+/*
+ *     SystemInfo - The Master of Server Hardware
+ *     Copyright © 2024 CMarco
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package top.cmarco.systeminfo.protocol;
+
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import top.cmarco.systeminfo.benchmarks.PluginStubs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the packet counting of {@link StatsPacketListener}, which runs on the netty thread of every connection.
+ * The listener is shared, so the multi-threaded runs measure the contention between connections.
+ * Run with {@code -t N} to pick another amount of threads than 1 and all available processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PacketListenerBenchmark {
+
+    private static final PacketTypeCommon RECEIVED_TYPE = PacketType.Play.Client.PLAYER_POSITION;
+    private static final PacketTypeCommon SENT_TYPE = PacketType.Play.Server.CHUNK_DATA;
+
+    @Param({"32", "8192"})
+    public int bytes;
+
+    private StatsPacketListener listener;
+
+    @Setup
+    public void setup() {
+        listener = new StatsPacketListener(new BukkitNetworkingManager(PluginStubs.plugin()));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void receiveSingleThread() {
+        listener.countReceived(RECEIVED_TYPE, bytes);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void receiveAllThreads() {
+        listener.countReceived(RECEIVED_TYPE, bytes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void sendSingleThread() {
+        listener.countSent(SENT_TYPE, bytes);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void sendAllThreads() {
+        listener.countSent(SENT_TYPE, bytes);
+    }
+}